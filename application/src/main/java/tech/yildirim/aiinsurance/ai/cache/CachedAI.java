@@ -0,0 +1,36 @@
+package tech.yildirim.aiinsurance.ai.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the successful responses of a read-only AI function. Used next to {@code @SecuredAI} on
+ * the bean factory method; the cache is consulted only after the authorization check has passed.
+ *
+ * <p>Entries are keyed by the request record, so two calls with equal request components share a
+ * result. Functions annotated with {@link EvictsCachedAI} drop the entries describing the resources
+ * they change.
+ *
+ * @see ToolResultCacheAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedAI {
+
+  /**
+   * How long a response is served from the cache. Accepts Spring Boot duration values such as
+   * {@code 2m} and property placeholders.
+   *
+   * @return the time to live of an entry
+   */
+  String ttl() default "${insurance.cache.tools.ttl:2m}";
+
+  /**
+   * The maximum number of responses cached for this function.
+   *
+   * @return the maximum cache size
+   */
+  long maximumSize() default 1000;
+}
@@ -0,0 +1,25 @@
+package tech.yildirim.aiinsurance.ai.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an AI function that changes resources whose cached reads must be dropped. After each call,
+ * entries of the listed {@link CachedAI} functions that describe the policy, claim or customer
+ * targeted by the request or returned in the response are evicted.
+ *
+ * @see ToolResultCacheAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EvictsCachedAI {
+
+  /**
+   * The names of the cached functions to evict from, see {@code Functions}.
+   *
+   * @return the cached function names
+   */
+  String[] value();
+}
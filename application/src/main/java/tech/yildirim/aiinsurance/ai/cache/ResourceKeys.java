@@ -0,0 +1,67 @@
+package tech.yildirim.aiinsurance.ai.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.IClaimIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.ICustomerIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyNumberIdentifiableReq;
+
+/**
+ * Derives the identities of the policies, claims and customers an AI function call is about, used
+ * to match writes against cached reads.
+ */
+final class ResourceKeys {
+
+  private ResourceKeys() {}
+
+  /**
+   * Collects the resources named by the request marker interfaces and by the entity in a
+   * successful response.
+   *
+   * @param request the AI function request
+   * @param response the function response, or {@code null} if the call failed
+   * @return keys such as {@code policy:42}, {@code policy-number:POL-1} or {@code claim:AUTO:7}
+   */
+  static Set<String> of(Object request, Object response) {
+    Set<String> keys = new HashSet<>();
+    switch (request) {
+      case IPolicyIDIdentifiableReq req -> addPolicy(keys, req.policyId(), null);
+      case IPolicyNumberIdentifiableReq req -> addPolicy(keys, null, req.policyNumber());
+      case IClaimIdentifiableReq req -> addClaim(keys, req.claimType(), req.claimId());
+      case ICustomerIdentifiableReq req -> add(keys, "customer:", req.customerId());
+      case null, default -> {}
+    }
+    if (response instanceof ResponseWrapper<?> wrapper && wrapper.isSuccess()) {
+      switch (wrapper.getData()) {
+        case PolicyDto policy -> addPolicy(keys, policy.getId(), policy.getPolicyNumber());
+        case AutoClaimDto claim -> addClaim(keys, ClaimType.AUTO, claim.getId());
+        case HomeClaimDto claim -> addClaim(keys, ClaimType.HOME, claim.getId());
+        case HealthClaimDto claim -> addClaim(keys, ClaimType.HEALTH, claim.getId());
+        case null, default -> {}
+      }
+    }
+    return keys;
+  }
+
+  private static void addPolicy(Set<String> keys, Long policyId, String policyNumber) {
+    add(keys, "policy:", policyId);
+    add(keys, "policy-number:", policyNumber);
+  }
+
+  private static void addClaim(Set<String> keys, ClaimType type, Long claimId) {
+    add(keys, "claim:" + type + ":", claimId);
+  }
+
+  private static void add(Set<String> keys, String prefix, Object id) {
+    if (id != null) {
+      keys.add(prefix + id);
+    }
+  }
+}
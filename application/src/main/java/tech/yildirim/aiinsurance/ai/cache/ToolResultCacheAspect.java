@@ -0,0 +1,168 @@
+package tech.yildirim.aiinsurance.ai.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.outbox.OutboxReceipt;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+
+/**
+ * Applies {@link CachedAI} and {@link EvictsCachedAI} to AI function beans.
+ *
+ * <p>The aspect runs inside {@link SecurityAspect}: the function it wraps is in turn wrapped by the
+ * authorization check, so a cached response is only returned to a caller who passed that check for
+ * the same request. Only successful responses are cached; failures and exceptions always reach the
+ * backend again on the next call.
+ *
+ * <p>Each cached function has its own Caffeine cache, shared by all instances of prototype-scoped
+ * function beans and exported to Micrometer as {@code cache.gets} with the cache name {@code
+ * tool.<function>}, which yields a hit rate per tool. A write evicts the cached reads describing
+ * the resources it changed, and a read that was started before an eviction of its cache does not
+ * store its possibly stale response. A write queued by the outbox evicts nothing when it is
+ * queued; the outbox calls {@link #evict} once it was dispatched.
+ */
+@Aspect
+@Component
+@Order(SecurityAspect.ORDER + 10)
+@RequiredArgsConstructor
+public class ToolResultCacheAspect {
+
+  private final MeterRegistry meterRegistry;
+  private final Environment environment;
+  private final Map<String, ToolCache> caches = new ConcurrentHashMap<>();
+
+  /** The cached responses of one function with the resources they describe. */
+  private record ToolCache(Cache<Object, CachedResult> results, AtomicLong evictions) {}
+
+  private record CachedResult(Object response, Set<String> resources) {}
+
+  /**
+   * Wraps a {@link CachedAI} function so that successful responses are served from memory.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param cachedAI the cache settings of the function
+   * @return the caching function, or the original bean if it is not a {@code Function}
+   * @throws Throwable if the factory method fails
+   */
+  @Around("@annotation(cachedAI)")
+  public Object cacheResults(ProceedingJoinPoint joinPoint, CachedAI cachedAI) throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function)) {
+      return bean;
+    }
+    ToolCache cache =
+        caches.computeIfAbsent(joinPoint.getSignature().getName(), name -> create(name, cachedAI));
+    return caching(function, cache);
+  }
+
+  /**
+   * Wraps an {@link EvictsCachedAI} function so that each call drops the related cached reads.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param evictsCachedAI the cached functions to evict from
+   * @return the evicting function, or the original bean if it is not a {@code Function}
+   * @throws Throwable if the factory method fails
+   */
+  @Around("@annotation(evictsCachedAI)")
+  public Object evictResults(ProceedingJoinPoint joinPoint, EvictsCachedAI evictsCachedAI)
+      throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function)) {
+      return bean;
+    }
+    return evicting(function, evictsCachedAI.value());
+  }
+
+  private <T, R> Function<T, R> caching(Function<T, R> function, ToolCache cache) {
+    return request -> {
+      CachedResult cached = cache.results().getIfPresent(request);
+      if (cached != null) {
+        @SuppressWarnings("unchecked")
+        R response = (R) cached.response();
+        return response;
+      }
+      long evictions = cache.evictions().get();
+      R response = function.apply(request);
+      if (response instanceof ResponseWrapper<?> wrapper
+          && wrapper.isSuccess()
+          && wrapper.getData() != null
+          && cache.evictions().get() == evictions) {
+        cache
+            .results()
+            .put(request, new CachedResult(response, ResourceKeys.of(request, response)));
+      }
+      return response;
+    };
+  }
+
+  private <T, R> Function<T, R> evicting(Function<T, R> function, String[] cacheNames) {
+    return request -> {
+      R response = null;
+      try {
+        response = function.apply(request);
+        return response;
+      } finally {
+        if (!OutboxReceipt.isReceipt(response)) {
+          evict(cacheNames, request, response);
+        }
+      }
+    };
+  }
+
+  /**
+   * Evicts the cached reads describing the resources a write changed.
+   *
+   * @param cacheNames the names of the cached functions to evict from, see {@code Functions}
+   * @param request the write request
+   * @param response the write response, or {@code null} if the write failed with an exception
+   */
+  public void evict(String[] cacheNames, Object request, Object response) {
+    evict(cacheNames, ResourceKeys.of(request, response));
+  }
+
+  private void evict(String[] cacheNames, Set<String> changed) {
+    if (changed.isEmpty()) {
+      return;
+    }
+    for (String cacheName : cacheNames) {
+      ToolCache cache = caches.get(cacheName);
+      if (cache != null) {
+        cache.evictions().incrementAndGet();
+        cache
+            .results()
+            .asMap()
+            .values()
+            .removeIf(result -> !Collections.disjoint(result.resources(), changed));
+      }
+    }
+  }
+
+  private ToolCache create(String name, CachedAI cachedAI) {
+    Duration ttl = DurationStyle.detectAndParse(environment.resolvePlaceholders(cachedAI.ttl()));
+    Cache<Object, CachedResult> results =
+        Caffeine.newBuilder()
+            .maximumSize(cachedAI.maximumSize())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, results, "tool." + name);
+    return new ToolCache(results, new AtomicLong());
+  }
+}
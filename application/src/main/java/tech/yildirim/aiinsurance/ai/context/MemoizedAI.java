@@ -0,0 +1,22 @@
+package tech.yildirim.aiinsurance.ai.context;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only AI function whose successful responses are reused within a {@link
+ * TurnContext}. Used next to {@code @SecuredAI} on the bean factory method.
+ *
+ * <p>When the model calls the function again with an equal request in the same turn, the earlier
+ * response is returned without repeating the authorization check or the backend call. The memo is
+ * dropped when the turn ends or when a {@code @SecuredAI} function without this annotation, i.e. a
+ * write, is called. Functions with {@code @SecuredAI(blockedForAI = true)} are not annotated:
+ * the model's calls to them never succeed, so there is nothing to reuse.
+ *
+ * @see TurnMemoAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MemoizedAI {}
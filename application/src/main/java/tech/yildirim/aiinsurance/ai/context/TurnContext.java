@@ -0,0 +1,279 @@
+package tech.yildirim.aiinsurance.ai.context;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State scoped to a single conversation turn, i.e. one user message and every tool call the model
+ * makes while answering it.
+ *
+ * <p>Spring AI executes tool calls on the thread that issued the chat request, so the active turn
+ * is bound to that thread by {@link #open(Duration)} and released by {@link #close()}. The context
+ * itself is thread-safe and may be handed to helper threads working on behalf of the turn.
+ *
+ * <p>The entity store lets a DTO loaded during authorization be reused by the tool function that
+ * runs right after it, instead of fetching the same entity from the backend twice. Entities are only
+ * served while they are younger than the configured maximum age.
+ *
+ * <p>Entities may also be prefetched speculatively before the model asks for them. The turn tracks
+ * which prefetched entities were actually read, see {@link #prefetchStats()}. Text identifiers such
+ * as policy numbers are matched ignoring case, because the customer, the prefetcher and the model
+ * may each write the same number differently.
+ *
+ * <p>The tool result memo returns the response of a read tool to a repeated call with an equal
+ * request, and counts such duplicate calls per function, see {@link #duplicateCalls()}.
+ *
+ * <p>A turn opened for a chat request carries the ID of the conversation it belongs to, which stays
+ * the same when the client retries the turn.
+ */
+public final class TurnContext implements AutoCloseable {
+
+  private static final ThreadLocal<TurnContext> CURRENT = new ThreadLocal<>();
+
+  private record EntityKey(Class<?> type, Object id) {
+
+    static EntityKey of(Class<?> type, Object id) {
+      return new EntityKey(type, id instanceof String text ? text.toUpperCase(Locale.ROOT) : id);
+    }
+  }
+
+  private record ToolCall(String function, Object request) {}
+
+  private record Entry(Object entity, long loadedAtNanos, boolean prefetched, AtomicBoolean read) {
+
+    static Entry of(Object entity, boolean prefetched) {
+      return new Entry(entity, System.nanoTime(), prefetched, new AtomicBoolean());
+    }
+  }
+
+  /**
+   * How the entities prefetched into a turn were used.
+   *
+   * @param stored the number of prefetched entities stored in the turn
+   * @param read the number of those that were read at least once
+   */
+  public record PrefetchStats(int stored, int read) {}
+
+  private final long entityMaxAgeNanos;
+  private final String conversationId;
+  private final Map<EntityKey, Entry> entities = new ConcurrentHashMap<>();
+  private final Map<ToolCall, Object> toolResults = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> duplicateCalls = new ConcurrentHashMap<>();
+  private final TurnContext previous;
+
+  private TurnContext(Duration entityMaxAge, String conversationId, TurnContext previous) {
+    this.entityMaxAgeNanos = entityMaxAge.toNanos();
+    this.conversationId = conversationId;
+    this.previous = previous;
+  }
+
+  /**
+   * Opens a new turn and binds it to the current thread.
+   *
+   * @param entityMaxAge how long a stored entity is considered fresh
+   * @return the opened turn, to be closed when the turn ends
+   */
+  public static TurnContext open(Duration entityMaxAge) {
+    return open(entityMaxAge, null);
+  }
+
+  /**
+   * Opens a new turn of a conversation and binds it to the current thread.
+   *
+   * @param entityMaxAge how long a stored entity is considered fresh
+   * @param conversationId the ID of the conversation, or {@code null} if the turn has none
+   * @return the opened turn, to be closed when the turn ends
+   */
+  public static TurnContext open(Duration entityMaxAge, String conversationId) {
+    TurnContext turn = new TurnContext(entityMaxAge, conversationId, CURRENT.get());
+    CURRENT.set(turn);
+    return turn;
+  }
+
+  /**
+   * Returns the turn bound to the current thread.
+   *
+   * @return the active turn, or empty when called outside of a chat turn
+   */
+  public static Optional<TurnContext> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Returns the ID of the conversation this turn belongs to.
+   *
+   * @return the conversation ID, or empty when the turn was opened without one
+   */
+  public Optional<String> conversationId() {
+    return Optional.ofNullable(conversationId);
+  }
+
+  /**
+   * Stores an entity loaded during this turn.
+   *
+   * @param type the entity type
+   * @param id the identifier the entity was loaded by
+   * @param entity the entity, ignored when {@code null}
+   * @param <T> the entity type
+   */
+  public <T> void putEntity(Class<T> type, Object id, T entity) {
+    if (id != null && entity != null) {
+      entities.put(EntityKey.of(type, id), Entry.of(entity, false));
+    }
+  }
+
+  /**
+   * Stores an entity loaded speculatively for this turn, unless an entity is already stored under
+   * the same key.
+   *
+   * @param type the entity type
+   * @param id the identifier the entity is expected to be looked up by
+   * @param entity the entity, ignored when {@code null}
+   * @param <T> the entity type
+   */
+  public <T> void prefetchEntity(Class<T> type, Object id, T entity) {
+    if (id != null && entity != null) {
+      entities.putIfAbsent(EntityKey.of(type, id), Entry.of(entity, true));
+    }
+  }
+
+  /**
+   * Counts the prefetched entities still stored in this turn and how many of them were read.
+   *
+   * @return the prefetch statistics of this turn
+   */
+  public PrefetchStats prefetchStats() {
+    int stored = 0;
+    int read = 0;
+    for (Entry entry : entities.values()) {
+      if (entry.prefetched()) {
+        stored++;
+        read += entry.read().get() ? 1 : 0;
+      }
+    }
+    return new PrefetchStats(stored, read);
+  }
+
+  /**
+   * Returns an entity stored during this turn if it is still fresh.
+   *
+   * @param type the entity type
+   * @param id the identifier the entity was loaded by
+   * @param <T> the entity type
+   * @return the stored entity, or empty when absent or stale
+   */
+  public <T> Optional<T> findEntity(Class<T> type, Object id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+    Entry entry = entities.get(EntityKey.of(type, id));
+    if (entry == null || System.nanoTime() - entry.loadedAtNanos() >= entityMaxAgeNanos) {
+      return Optional.empty();
+    }
+    entry.read().set(true);
+    return Optional.of(type.cast(entry.entity()));
+  }
+
+  /**
+   * Removes every stored entity of the given type, used after a write makes them stale.
+   *
+   * @param type the entity type
+   */
+  public void evictEntities(Class<?> type) {
+    entities.keySet().removeIf(key -> key.type() == type);
+  }
+
+  /**
+   * Returns the response of an earlier call of a read tool in this turn with an equal request, and
+   * counts the call as a duplicate if there is one.
+   *
+   * @param function the function name
+   * @param request the function request
+   * @return the earlier response, or empty if the tool was not called with this request yet
+   */
+  public Optional<Object> findToolResult(String function, Object request) {
+    Object result = toolResults.get(new ToolCall(function, request));
+    if (result != null) {
+      duplicateCalls.computeIfAbsent(function, name -> new AtomicInteger()).incrementAndGet();
+    }
+    return Optional.ofNullable(result);
+  }
+
+  /**
+   * Stores the response of a read tool call for the rest of this turn.
+   *
+   * @param function the function name
+   * @param request the function request
+   * @param result the response, ignored when {@code null}
+   */
+  public void putToolResult(String function, Object request, Object result) {
+    if (result != null) {
+      toolResults.put(new ToolCall(function, request), result);
+    }
+  }
+
+  /** Drops every stored tool response, used after a write tool made them stale. */
+  public void clearToolResults() {
+    toolResults.clear();
+  }
+
+  /**
+   * Returns how many calls of each tool in this turn were answered from the tool result memo.
+   *
+   * @return the duplicate call count by function name, without functions that had none
+   */
+  public Map<String, Integer> duplicateCalls() {
+    Map<String, Integer> counts = new TreeMap<>();
+    duplicateCalls.forEach((function, count) -> counts.put(function, count.get()));
+    return counts;
+  }
+
+  /**
+   * Looks up a fresh entity in the turn bound to the current thread.
+   *
+   * @param type the entity type
+   * @param id the identifier the entity was loaded by
+   * @param <T> the entity type
+   * @return the stored entity, or empty outside of a turn or when absent or stale
+   */
+  public static <T> Optional<T> currentEntity(Class<T> type, Object id) {
+    return current().flatMap(turn -> turn.findEntity(type, id));
+  }
+
+  /**
+   * Stores an entity in the turn bound to the current thread, if any.
+   *
+   * @param type the entity type
+   * @param id the identifier the entity was loaded by
+   * @param entity the entity, ignored when {@code null}
+   * @param <T> the entity type
+   */
+  public static <T> void rememberEntity(Class<T> type, Object id, T entity) {
+    current().ifPresent(turn -> turn.putEntity(type, id, entity));
+  }
+
+  /**
+   * Evicts entities of the given type from the turn bound to the current thread, if any.
+   *
+   * @param type the entity type
+   */
+  public static void forgetEntities(Class<?> type) {
+    current().ifPresent(turn -> turn.evictEntities(type));
+  }
+
+  /** Ends the turn and restores the turn that was active before it, if any. */
+  @Override
+  public void close() {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package tech.yildirim.aiinsurance.ai.context;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.security.SecuredAI;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+
+/**
+ * Applies {@link MemoizedAI} to AI function beans.
+ *
+ * <p>The aspect runs outside {@link SecurityAspect}: a repeated call in the same turn was made by
+ * the same customer with an equal request, so its authorization decision cannot differ and the
+ * ownership check is skipped together with the backend call, and no second audit event is written.
+ * Only successful responses are stored; calls outside of a turn are never memoized.
+ *
+ * <p>Every other {@code @SecuredAI} function is treated as a write and drops the memo of the
+ * current turn once it returns, so a read after a write in the same turn reaches the backend again.
+ * Functions blocked for the AI are left alone: they are never memoized, and a rejected call
+ * changes nothing that was memoized.
+ */
+@Aspect
+@Component
+@Order(SecurityAspect.ORDER - 10)
+public class TurnMemoAspect {
+
+  /**
+   * Wraps a {@link MemoizedAI} function so that repeated calls within a turn are answered from the
+   * turn.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param memoizedAI the marker annotation
+   * @return the memoizing function, or the original bean if it is not a {@code Function}
+   * @throws Throwable if the factory method fails
+   */
+  @Around("@annotation(memoizedAI)")
+  public Object memoize(ProceedingJoinPoint joinPoint, MemoizedAI memoizedAI) throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function)) {
+      return bean;
+    }
+    return memoizing(function, joinPoint.getSignature().getName());
+  }
+
+  /**
+   * Wraps the other secured functions so that each call drops the memo of the current turn.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param securedAI the security annotation
+   * @return the clearing function, or the original bean if it is not a {@code Function} or is
+   *     blocked for the AI
+   * @throws Throwable if the factory method fails
+   */
+  @Around(
+      "@annotation(securedAI)"
+          + " && !@annotation(tech.yildirim.aiinsurance.ai.context.MemoizedAI)")
+  public Object clearOnWrite(ProceedingJoinPoint joinPoint, SecuredAI securedAI)
+      throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function) || securedAI.blockedForAI()) {
+      return bean;
+    }
+    return clearing(function);
+  }
+
+  private <T, R> Function<T, R> memoizing(Function<T, R> function, String name) {
+    return request -> {
+      Optional<TurnContext> turn = TurnContext.current();
+      if (turn.isEmpty()) {
+        return function.apply(request);
+      }
+      Optional<Object> memoized = turn.get().findToolResult(name, request);
+      if (memoized.isPresent()) {
+        @SuppressWarnings("unchecked")
+        R response = (R) memoized.get();
+        return response;
+      }
+      R response = function.apply(request);
+      if (response instanceof ResponseWrapper<?> wrapper && wrapper.isSuccess()) {
+        turn.get().putToolResult(name, request, response);
+      }
+      return response;
+    };
+  }
+
+  private <T, R> Function<T, R> clearing(Function<T, R> function) {
+    return request -> {
+      try {
+        return function.apply(request);
+      } finally {
+        TurnContext.current().ifPresent(TurnContext::clearToolResults);
+      }
+    };
+  }
+}
@@ -7,10 +7,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import tech.yildirim.aiinsurance.ai.cache.CachedAI;
+import tech.yildirim.aiinsurance.ai.cache.EvictsCachedAI;
+import tech.yildirim.aiinsurance.ai.context.MemoizedAI;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.ai.idempotency.IdempotentAI;
+import tech.yildirim.aiinsurance.ai.outbox.OutboxAI;
 import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
 import tech.yildirim.aiinsurance.model.ai.request.AssignAdjusterToAutoClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.AssignAdjusterToHealthClaimReq;
@@ -31,6 +38,7 @@ import tech.yildirim.aiinsurance.model.ai.request.UpdateAutoClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateHealthClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateHomeClaimReq;
 import tech.yildirim.aiinsurance.security.SecuredAI;
+import tech.yildirim.aiinsurance.service.OwnershipCache;
 
 /** Defines all AI-callable functions related to claim management. */
 @Configuration
@@ -39,11 +47,14 @@ import tech.yildirim.aiinsurance.security.SecuredAI;
 public class ClaimFunctions {
 
   private final ClaimsApiClient claimsApiClient;
+  private final OwnershipCache ownershipCache;
 
   // --- AUTO CLAIM FUNCTIONS ---
 
   @Bean(Functions.CREATE_AUTO_CLAIM)
   @SecuredAI
+  @IdempotentAI
+  @OutboxAI
   @Description(
       "Creates a new auto insurance claim for vehicle accidents or damages. Use this function when: "
           + "1) Customer reports a car accident, collision, or vehicle damage, "
@@ -66,6 +77,8 @@ public class ClaimFunctions {
 
   @Bean(Functions.GET_AUTO_CLAIM_BY_ID)
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves detailed auto claim information using the unique claim ID. Use this function when: "
           + "1) Customer provides their auto claim number or ID, "
@@ -77,7 +90,10 @@ public class ClaimFunctions {
     return request ->
         ResponseWrapper.<AutoClaimDto>builder()
             .success(true)
-            .data(claimsApiClient.getAutoClaimById(request.claimId()).getBody())
+            .data(
+                TurnContext.currentEntity(AutoClaimDto.class, request.claimId())
+                    .orElseGet(
+                        () -> claimsApiClient.getAutoClaimById(request.claimId()).getBody()))
             .build();
   }
 
@@ -103,6 +119,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.UPDATE_AUTO_CLAIM)
   @SecuredAI
+  @EvictsCachedAI(Functions.GET_AUTO_CLAIM_BY_ID)
   @Description(
       "Updates existing auto claim information. Use this function when: "
           + "1) Customer provides additional information about the auto accident or damage, "
@@ -112,18 +129,18 @@ public class ClaimFunctions {
           + "5) Processing workflow requires claim updates. "
           + "Requires claim ID and updated auto claim object. Returns the updated claim with modifications applied.")
   public Function<UpdateAutoClaimReq, ResponseWrapper<AutoClaimDto>> updateAutoClaim() {
-    return request ->
-        ResponseWrapper.<AutoClaimDto>builder()
-            .success(true)
-            .data(
-                claimsApiClient
-                    .updateAutoClaim(request.claimId(), request.autoClaimDto())
-                    .getBody())
-            .build();
+    return request -> {
+      AutoClaimDto updated =
+          claimsApiClient.updateAutoClaim(request.claimId(), request.autoClaimDto()).getBody();
+      ownershipCache.evictClaim(ClaimType.AUTO, request.claimId());
+      TurnContext.forgetEntities(AutoClaimDto.class);
+      return ResponseWrapper.<AutoClaimDto>builder().success(true).data(updated).build();
+    };
   }
 
   @Bean(Functions.DELETE_AUTO_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_AUTO_CLAIM_BY_ID)
   @Description(
       "Permanently deletes an auto claim from the system. Use this function ONLY when: "
           + "1) Customer explicitly requests auto claim cancellation or withdrawal, "
@@ -135,6 +152,7 @@ public class ClaimFunctions {
   public Function<DeleteAutoClaimReq, ResponseWrapper<String>> deleteAutoClaim() {
     return request -> {
       claimsApiClient.deleteAutoClaim(request.claimId());
+      TurnContext.forgetEntities(AutoClaimDto.class);
       return ResponseWrapper.<String>builder()
           .success(true)
           .data("Auto claim deleted successfully.")
@@ -144,6 +162,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.ASSIGN_ADJUSTER_TO_AUTO_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_AUTO_CLAIM_BY_ID)
   @Description(
       "Assigns an insurance adjuster to an auto claim for investigation and assessment. Use this function when: "
           + "1) Auto claim requires professional assessment and investigation, "
@@ -169,6 +188,8 @@ public class ClaimFunctions {
 
   @Bean(Functions.CREATE_HOME_CLAIM)
   @SecuredAI
+  @IdempotentAI
+  @OutboxAI
   @Description(
       "Creates a new home insurance claim for property damage or loss. Use this function when: "
           + "1) Customer reports home damage from fire, water, storm, or other covered perils, "
@@ -189,6 +210,8 @@ public class ClaimFunctions {
 
   @Bean(Functions.GET_HOME_CLAIM_BY_ID)
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves detailed home claim information using the unique claim ID. Use this function when: "
           + "1) Customer provides their home claim number or ID, "
@@ -200,7 +223,10 @@ public class ClaimFunctions {
     return request ->
         ResponseWrapper.<HomeClaimDto>builder()
             .success(true)
-            .data(claimsApiClient.getHomeClaimById(request.claimId()).getBody())
+            .data(
+                TurnContext.currentEntity(HomeClaimDto.class, request.claimId())
+                    .orElseGet(
+                        () -> claimsApiClient.getHomeClaimById(request.claimId()).getBody()))
             .build();
   }
 
@@ -226,6 +252,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.UPDATE_HOME_CLAIM)
   @SecuredAI
+  @EvictsCachedAI(Functions.GET_HOME_CLAIM_BY_ID)
   @Description(
       "Updates existing home claim information. Use this function when: "
           + "1) Customer provides additional information about the property damage, "
@@ -235,18 +262,18 @@ public class ClaimFunctions {
           + "5) Processing workflow requires claim updates. "
           + "Requires claim ID and updated home claim object. Returns the updated claim with modifications applied.")
   public Function<UpdateHomeClaimReq, ResponseWrapper<HomeClaimDto>> updateHomeClaim() {
-    return request ->
-        ResponseWrapper.<HomeClaimDto>builder()
-            .success(true)
-            .data(
-                claimsApiClient
-                    .updateHomeClaim(request.claimId(), request.homeClaimDto())
-                    .getBody())
-            .build();
+    return request -> {
+      HomeClaimDto updated =
+          claimsApiClient.updateHomeClaim(request.claimId(), request.homeClaimDto()).getBody();
+      ownershipCache.evictClaim(ClaimType.HOME, request.claimId());
+      TurnContext.forgetEntities(HomeClaimDto.class);
+      return ResponseWrapper.<HomeClaimDto>builder().success(true).data(updated).build();
+    };
   }
 
   @Bean(Functions.DELETE_HOME_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_HOME_CLAIM_BY_ID)
   @Description(
       "Permanently deletes a home claim from the system. Use this function ONLY when: "
           + "1) Customer explicitly requests home claim cancellation or withdrawal, "
@@ -258,6 +285,7 @@ public class ClaimFunctions {
   public Function<DeleteHomeClaimReq, ResponseWrapper<String>> deleteHomeClaim() {
     return request -> {
       claimsApiClient.deleteHomeClaim(request.claimId());
+      TurnContext.forgetEntities(HomeClaimDto.class);
       return ResponseWrapper.<String>builder()
           .success(true)
           .data("Home claim deleted successfully.")
@@ -267,6 +295,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.ASSIGN_ADJUSTER_TO_HOME_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_HOME_CLAIM_BY_ID)
   @Description(
       "Assigns an insurance adjuster to a home claim for investigation and assessment. Use this function when: "
           + "1) Home claim requires professional assessment and investigation, "
@@ -292,6 +321,8 @@ public class ClaimFunctions {
 
   @Bean(Functions.CREATE_HEALTH_CLAIM)
   @SecuredAI
+  @IdempotentAI
+  @OutboxAI
   @Description(
       "Creates a new health insurance claim for medical expenses or treatments. Use this function when: "
           + "1) Customer needs to file a medical expense claim or reimbursement request, "
@@ -312,6 +343,8 @@ public class ClaimFunctions {
 
   @Bean(Functions.GET_HEALTH_CLAIM_BY_ID)
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves detailed health claim information using the unique claim ID. Use this function when: "
           + "1) Customer provides their health claim number or ID, "
@@ -323,7 +356,10 @@ public class ClaimFunctions {
     return request ->
         ResponseWrapper.<HealthClaimDto>builder()
             .success(true)
-            .data(claimsApiClient.getHealthClaimById(request.claimId()).getBody())
+            .data(
+                TurnContext.currentEntity(HealthClaimDto.class, request.claimId())
+                    .orElseGet(
+                        () -> claimsApiClient.getHealthClaimById(request.claimId()).getBody()))
             .build();
   }
 
@@ -350,6 +386,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.UPDATE_HEALTH_CLAIM)
   @SecuredAI
+  @EvictsCachedAI(Functions.GET_HEALTH_CLAIM_BY_ID)
   @Description(
       "Updates existing health claim information. Use this function when: "
           + "1) Customer provides additional medical documentation or information, "
@@ -359,18 +396,18 @@ public class ClaimFunctions {
           + "5) Processing workflow requires claim updates. "
           + "Requires claim ID and updated health claim object. Returns the updated claim with modifications applied.")
   public Function<UpdateHealthClaimReq, ResponseWrapper<HealthClaimDto>> updateHealthClaim() {
-    return request ->
-        ResponseWrapper.<HealthClaimDto>builder()
-            .success(true)
-            .data(
-                claimsApiClient
-                    .updateHealthClaim(request.claimId(), request.healthClaimDto())
-                    .getBody())
-            .build();
+    return request -> {
+      HealthClaimDto updated =
+          claimsApiClient.updateHealthClaim(request.claimId(), request.healthClaimDto()).getBody();
+      ownershipCache.evictClaim(ClaimType.HEALTH, request.claimId());
+      TurnContext.forgetEntities(HealthClaimDto.class);
+      return ResponseWrapper.<HealthClaimDto>builder().success(true).data(updated).build();
+    };
   }
 
   @Bean(Functions.DELETE_HEALTH_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_HEALTH_CLAIM_BY_ID)
   @Description(
       "Permanently deletes a health claim from the system. Use this function ONLY when: "
           + "1) Customer explicitly requests health claim cancellation or withdrawal, "
@@ -382,6 +419,7 @@ public class ClaimFunctions {
   public Function<DeleteHealthClaimReq, ResponseWrapper<String>> deleteHealthClaim() {
     return request -> {
       claimsApiClient.deleteHealthClaim(request.claimId());
+      TurnContext.forgetEntities(HealthClaimDto.class);
       return ResponseWrapper.<String>builder()
           .success(true)
           .data("Health claim deleted successfully.")
@@ -391,6 +429,7 @@ public class ClaimFunctions {
 
   @Bean(Functions.ASSIGN_ADJUSTER_TO_HEALTH_CLAIM)
   @SecuredAI(blockedForAI = true)
+  @EvictsCachedAI(Functions.GET_HEALTH_CLAIM_BY_ID)
   @Description(
       "Assigns an insurance adjuster to a health claim for investigation and assessment. Use this function when: "
           + "1) Health claim requires professional assessment and investigation, "
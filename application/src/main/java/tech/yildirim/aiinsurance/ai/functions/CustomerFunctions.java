@@ -1,24 +1,33 @@
 package tech.yildirim.aiinsurance.ai.functions;
 
-import java.util.List;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
 import org.springframework.context.annotation.Scope;
+import tech.yildirim.aiinsurance.ai.cache.CachedAI;
+import tech.yildirim.aiinsurance.ai.cache.EvictsCachedAI;
+import tech.yildirim.aiinsurance.ai.context.MemoizedAI;
+import tech.yildirim.aiinsurance.ai.idempotency.IdempotentAI;
 import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.CustomerSnapshot;
+import tech.yildirim.aiinsurance.model.ListPage;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
 import tech.yildirim.aiinsurance.model.ai.request.CreateCustomerReq;
 import tech.yildirim.aiinsurance.model.ai.request.DeleteCustomerReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetAllCustomersReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByIdRequestReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByPolicyNumberReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerSnapshotReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetPoliciesByCustomerIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateCustomerRequestReq;
 import tech.yildirim.aiinsurance.security.SecuredAI;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+import tech.yildirim.aiinsurance.service.ListShapes;
 
 /** Defines all AI-callable functions related to customer management. */
 @Configuration
@@ -27,10 +36,13 @@ import tech.yildirim.aiinsurance.security.SecuredAI;
 public class CustomerFunctions {
 
   private final CustomersApiClient customersApiClient;
+  private final ListPaginator listPaginator;
+  private final CustomerSnapshotService customerSnapshotService;
 
   @Bean(Functions.GET_CUSTOMER_BY_POLICY_NUMBER)
   @Scope("prototype")
   @SecuredAI
+  @MemoizedAI
   @Description(
       "Retrieves customer information by searching with a policy number. Use this function when: "
           + "1) Customer provides their policy number (format: POL-XXXXX or similar), "
@@ -49,24 +61,31 @@ public class CustomerFunctions {
 
   @Bean(Functions.GET_POLICIES_BY_CUSTOMER_ID)
   @SecuredAI
+  @MemoizedAI
   @Description(
       "Retrieves all insurance policies belonging to a specific customer using their internal customer ID. "
           + "Use this function when: "
           + "1) You already have the customer's ID from a previous lookup, "
           + "2) Customer asks 'what policies do I have?', 'show me all my insurance', or 'list my coverage', "
           + "3) You need to display all policies for a known customer. "
-          + "Returns a list of all policies with details like policy numbers, types, coverage amounts, and status.")
-  public Function<GetPoliciesByCustomerIdReq, ResponseWrapper<List<PolicyDto>>>
+          + "Returns one page of policies, most recent first, with a summary of all policies "
+          + "(count by status, total premium); pass 'nextCursor' as 'cursor' to get the next page.")
+  public Function<GetPoliciesByCustomerIdReq, ResponseWrapper<ListPage<PolicyDto>>>
       getPoliciesByCustomerId() {
     return request ->
-        ResponseWrapper.<List<PolicyDto>>builder()
+        ResponseWrapper.<ListPage<PolicyDto>>builder()
             .success(true)
-            .data(customersApiClient.getPoliciesByCustomerId(request.customerId()).getBody())
+            .data(
+                listPaginator.page(
+                    customersApiClient.getPoliciesByCustomerId(request.customerId()).getBody(),
+                    request.cursor(),
+                    ListShapes.POLICIES))
             .build();
   }
 
   @Bean(Functions.CREATE_CUSTOMER)
   @SecuredAI(blockedForAI = true)
+  @IdempotentAI
   @Description(
       "Creates a new customer record in the insurance system. Use this function when: "
           + "1) A new person wants to become a customer and needs registration, "
@@ -112,18 +131,26 @@ public class CustomerFunctions {
           + "3) You need to search when policy number is not available, "
           + "4) Administrative task requires customer list or search. "
           + "If 'name' parameter is provided, searches in both first name and last name fields. "
-          + "If 'name' is null/empty, returns all customers (use carefully - may return large dataset).")
-  public Function<GetAllCustomersReq, ResponseWrapper<List<CustomerDto>>> getAllCustomers() {
+          + "If 'name' is null/empty, returns all customers. "
+          + "Returns one page of customers with the total count; pass 'nextCursor' as 'cursor' "
+          + "to get the next page.")
+  public Function<GetAllCustomersReq, ResponseWrapper<ListPage<CustomerDto>>> getAllCustomers() {
     return request ->
-        ResponseWrapper.<List<CustomerDto>>builder()
+        ResponseWrapper.<ListPage<CustomerDto>>builder()
             .success(true)
-            .data(customersApiClient.getAllCustomers(request.name()).getBody())
+            .data(
+                listPaginator.page(
+                    customersApiClient.getAllCustomers(request.name()).getBody(),
+                    request.cursor(),
+                    ListShapes.CUSTOMERS))
             .build();
   }
 
   @Bean(Functions.GET_CUSTOMER_BY_ID)
   @Scope("prototype")
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves detailed customer information using their unique internal customer ID. "
           + "Use this function when: "
@@ -141,8 +168,31 @@ public class CustomerFunctions {
             .build();
   }
 
+  @Bean(Functions.GET_CUSTOMER_SNAPSHOT)
+  @SecuredAI
+  @MemoizedAI
+  @Description(
+      "Retrieves an overview of a customer in a single call: the customer profile, the most "
+          + "recent policies with a summary of all policies, and the most recent claims of those "
+          + "policies across auto, home and health claims with a claim summary. "
+          + "Use this function when: "
+          + "1) You know the customer's ID and need to understand their situation, "
+          + "2) Customer asks 'what is the status of my insurance?' or 'give me an overview', "
+          + "3) You would otherwise call the policy and claim list functions one after another. "
+          + "Pass 'policies.nextCursor' as 'cursor' to getPoliciesByCustomerId for more policies. "
+          + "'unavailable' lists claim lookups that failed; mention them to the customer.")
+  public Function<GetCustomerSnapshotReq, ResponseWrapper<CustomerSnapshot>>
+      getCustomerSnapshot() {
+    return request ->
+        ResponseWrapper.<CustomerSnapshot>builder()
+            .success(true)
+            .data(customerSnapshotService.snapshot(request.customerId()))
+            .build();
+  }
+
   @Bean(Functions.UPDATE_CUSTOMER)
   @SecuredAI
+  @EvictsCachedAI(Functions.GET_CUSTOMER_BY_ID)
   @Description(
       "Updates existing customer information in the system. Use this function when: "
           + "1) Customer wants to change their personal details (address, phone, email), "
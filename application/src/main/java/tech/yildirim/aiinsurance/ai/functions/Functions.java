@@ -13,9 +13,11 @@ public final class Functions {
   public static final String GET_ALL_CUSTOMERS = "getAllCustomers";
   public static final String GET_CUSTOMER_BY_ID = "getCustomerById";
   public static final String UPDATE_CUSTOMER = "updateCustomer";
+  public static final String GET_CUSTOMER_SNAPSHOT = "getCustomerSnapshot";
   public static final String CREATE_POLICY = "createPolicy";
   public static final String GET_ALL_POLICIES = "getAllPolicies";
   public static final String UPDATE_POLICY = "updatePolicy";
+  public static final String GET_CLAIMS_BY_POLICY_IDS = "getClaimsByPolicyIds";
 
   public static final String GET_POLICY_CONDITIONS = "getPolicyConditions";
   public static final String UPDATE_POLICY_CONDITIONS = "updatePolicyConditions";
@@ -59,9 +61,11 @@ public final class Functions {
           GET_ALL_CUSTOMERS,
           GET_CUSTOMER_BY_ID,
           UPDATE_CUSTOMER,
+          GET_CUSTOMER_SNAPSHOT,
           CREATE_POLICY,
           GET_ALL_POLICIES,
           UPDATE_POLICY,
+          GET_CLAIMS_BY_POLICY_IDS,
           GET_POLICY_CONDITIONS,
           UPDATE_POLICY_CONDITIONS,
           CREATE_AUTO_CLAIM,
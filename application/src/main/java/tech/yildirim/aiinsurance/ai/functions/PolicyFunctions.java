@@ -1,22 +1,32 @@
 package tech.yildirim.aiinsurance.ai.functions;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import tech.yildirim.aiinsurance.ai.cache.CachedAI;
+import tech.yildirim.aiinsurance.ai.cache.EvictsCachedAI;
+import tech.yildirim.aiinsurance.ai.context.MemoizedAI;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.ai.idempotency.IdempotentAI;
+import tech.yildirim.aiinsurance.ai.outbox.OutboxAI;
 import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyConditionsDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.BackendPages;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.model.PolicyClaimsPage;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.TypedClaim;
 import tech.yildirim.aiinsurance.model.ai.request.CreatePolicyReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetAllPoliciesReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimsByPolicyIdReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetClaimsByPolicyIdsReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetHealthClaimsByPolicyIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetHomeClaimsByPolicyIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetPolicyByIdReq;
@@ -25,6 +35,12 @@ import tech.yildirim.aiinsurance.model.ai.request.GetPolicyConditionsReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdatePolicyConditionsReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdatePolicyReq;
 import tech.yildirim.aiinsurance.security.SecuredAI;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+import tech.yildirim.aiinsurance.service.ListShapes;
+import tech.yildirim.aiinsurance.service.OwnershipCache;
+import tech.yildirim.aiinsurance.service.PolicyClaimsLoader;
+import tech.yildirim.aiinsurance.service.PolicyClaimsLoader.PolicyClaims;
+import tech.yildirim.aiinsurance.service.PolicyConditionsCache;
 
 /** Defines all AI-callable functions related to policy management. */
 @Configuration
@@ -33,9 +49,15 @@ import tech.yildirim.aiinsurance.security.SecuredAI;
 public class PolicyFunctions {
 
   private final PoliciesApiClient policiesApiClient;
+  private final OwnershipCache ownershipCache;
+  private final PolicyConditionsCache policyConditionsCache;
+  private final ListPaginator listPaginator;
+  private final PolicyClaimsLoader policyClaimsLoader;
 
   @Bean(Functions.GET_POLICY_BY_ID)
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves detailed policy information using the policy's unique internal ID. Use this function when: "
           + "1) You have a policy ID from previous customer or policy lookups, "
@@ -49,13 +71,18 @@ public class PolicyFunctions {
         ResponseWrapper.<PolicyDto>builder()
             .success(true)
             .data(
-                Objects.requireNonNull(
-                    policiesApiClient.getPolicyById(request.policyId()).getBody()))
+                TurnContext.currentEntity(PolicyDto.class, request.policyId())
+                    .orElseGet(
+                        () ->
+                            Objects.requireNonNull(
+                                policiesApiClient.getPolicyById(request.policyId()).getBody())))
             .build();
   }
 
   @Bean(Functions.GET_POLICY_BY_POLICY_NUMBER)
   @SecuredAI
+  @MemoizedAI
+  @CachedAI
   @Description(
       "Retrieves policy information by searching with the policy number. Use this function when: "
           + "1) Customer provides their policy number (format: POL-XXXXX, POLICY-12345, or similar), "
@@ -70,13 +97,20 @@ public class PolicyFunctions {
         ResponseWrapper.<PolicyDto>builder()
             .success(true)
             .data(
-                Objects.requireNonNull(
-                    policiesApiClient.getPolicyByPolicyNumber(request.policyNumber()).getBody()))
+                TurnContext.currentEntity(PolicyDto.class, request.policyNumber())
+                    .orElseGet(
+                        () ->
+                            Objects.requireNonNull(
+                                policiesApiClient
+                                    .getPolicyByPolicyNumber(request.policyNumber())
+                                    .getBody())))
             .build();
   }
 
   @Bean(Functions.CREATE_POLICY)
   @SecuredAI
+  @IdempotentAI
+  @OutboxAI
   @Description(
       "Creates a new insurance policy in the system. Use this function when: "
           + "1) Customer wants to purchase a new insurance policy, "
@@ -104,19 +138,23 @@ public class PolicyFunctions {
           + "2) Customer service representative needs to browse all policies, "
           + "3) Reporting or analysis tasks need policy overview, "
           + "4) System maintenance or audit processes require policy enumeration. "
-          + "WARNING: This may return a large dataset depending on system size. "
-          + "Use carefully and consider if more specific searches would be more appropriate. "
-          + "Returns a list of all policies with basic information including policy numbers, types, and status.")
-  public Function<GetAllPoliciesReq, ResponseWrapper<List<PolicyDto>>> getAllPolicies() {
+          + "Returns one page of policies, most recent first, with a summary of all policies "
+          + "(count by status, total premium); pass 'nextCursor' as 'cursor' to get the next page.")
+  public Function<GetAllPoliciesReq, ResponseWrapper<ListPage<PolicyDto>>> getAllPolicies() {
     return request ->
-        ResponseWrapper.<List<PolicyDto>>builder()
+        ResponseWrapper.<ListPage<PolicyDto>>builder()
             .success(true)
-            .data(policiesApiClient.getAllPolicies().getBody())
+            .data(
+                listPaginator.page(
+                    policiesApiClient.getAllPolicies().getBody(),
+                    request.cursor(),
+                    ListShapes.POLICIES))
             .build();
   }
 
   @Bean(Functions.UPDATE_POLICY)
   @SecuredAI
+  @EvictsCachedAI({Functions.GET_POLICY_BY_ID, Functions.GET_POLICY_BY_POLICY_NUMBER})
   @Description(
       "Updates existing policy information in the system. Use this function when: "
           + "1) Customer requests policy modifications like coverage changes or beneficiary updates, "
@@ -128,15 +166,18 @@ public class PolicyFunctions {
           + "Always verify changes with customer and explain any premium implications. "
           + "Returns the updated policy object with all modifications applied.")
   public Function<UpdatePolicyReq, ResponseWrapper<PolicyDto>> updatePolicy() {
-    return request ->
-        ResponseWrapper.<PolicyDto>builder()
-            .success(true)
-            .data(policiesApiClient.updatePolicy(request.policyId(), request.policyDto()).getBody())
-            .build();
+    return request -> {
+      PolicyDto updated =
+          policiesApiClient.updatePolicy(request.policyId(), request.policyDto()).getBody();
+      ownershipCache.evictPolicy(request.policyId());
+      TurnContext.forgetEntities(PolicyDto.class);
+      return ResponseWrapper.<PolicyDto>builder().success(true).data(updated).build();
+    };
   }
 
   @Bean(Functions.GET_AUTO_CLAIMS_BY_POLICY_ID)
   @SecuredAI
+  @MemoizedAI
   @Description(
       "Retrieves all auto claims associated with a specific policy from policy perspective. Use this function when: "
           + "1) Customer asks 'show me auto claims for my policy', 'what car claims do I have', or 'policy claim history', "
@@ -144,22 +185,28 @@ public class PolicyFunctions {
           + "3) Customer wants to see vehicle-related claims while reviewing their policy details, "
           + "4) Policy-focused conversations that need to include auto claim information. "
           + "This provides the same data as auto claim functions but from a policy management perspective. "
-          + "Supports pagination and status filtering. Returns list of auto claims for the policy.")
-  public Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<List<AutoClaimDto>>>
+          + "Supports status filtering. Returns one page of auto claims, most recent incident first, "
+          + "with a summary of all matching claims (count by status, total estimated amount); "
+          + "pass 'nextCursor' as 'cursor' to get the next page.")
+  public Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<ListPage<AutoClaimDto>>>
       getAutoClaimsByPolicyId() {
     return request ->
-        ResponseWrapper.<List<AutoClaimDto>>builder()
+        ResponseWrapper.<ListPage<AutoClaimDto>>builder()
             .success(true)
             .data(
-                policiesApiClient
-                    .getAutoClaimsByPolicyId(
-                        request.policyId(), request.page(), request.size(), request.status())
-                    .getBody())
+                listPaginator.page(
+                    BackendPages.fetchAll(
+                        (page, size) ->
+                            policiesApiClient.getAutoClaimsByPolicyId(
+                                request.policyId(), page, size, request.status())),
+                    request.cursor(),
+                    ListShapes.AUTO_CLAIMS))
             .build();
   }
 
   @Bean(Functions.GET_HOME_CLAIMS_BY_POLICY_ID)
   @SecuredAI
+  @MemoizedAI
   @Description(
       "Retrieves all home claims associated with a specific policy from policy perspective. Use this function when: "
           + "1) Customer asks 'show me home claims for my policy', 'what property claims do I have', or 'policy claim history', "
@@ -167,22 +214,28 @@ public class PolicyFunctions {
           + "3) Customer wants to see property-related claims while reviewing their policy details, "
           + "4) Policy-focused conversations that need to include home claim information. "
           + "This provides the same data as home claim functions but from a policy management perspective. "
-          + "Supports pagination and status filtering. Returns list of home claims for the policy.")
-  public Function<GetHomeClaimsByPolicyIdReq, ResponseWrapper<List<HomeClaimDto>>>
+          + "Supports status filtering. Returns one page of home claims, most recent incident first, "
+          + "with a summary of all matching claims (count by status, total estimated amount); "
+          + "pass 'nextCursor' as 'cursor' to get the next page.")
+  public Function<GetHomeClaimsByPolicyIdReq, ResponseWrapper<ListPage<HomeClaimDto>>>
       getHomeClaimsByPolicyId() {
     return request ->
-        ResponseWrapper.<List<HomeClaimDto>>builder()
+        ResponseWrapper.<ListPage<HomeClaimDto>>builder()
             .success(true)
             .data(
-                policiesApiClient
-                    .getHomeClaimsByPolicyId(
-                        request.policyId(), request.page(), request.size(), request.status())
-                    .getBody())
+                listPaginator.page(
+                    BackendPages.fetchAll(
+                        (page, size) ->
+                            policiesApiClient.getHomeClaimsByPolicyId(
+                                request.policyId(), page, size, request.status())),
+                    request.cursor(),
+                    ListShapes.HOME_CLAIMS))
             .build();
   }
 
   @Bean(Functions.GET_HEALTH_CLAIMS_BY_POLICY_ID)
   @SecuredAI
+  @MemoizedAI
   @Description(
       "Retrieves all health claims associated with a specific policy from policy perspective. Use this function when: "
           + "1) Customer asks 'show me health claims for my policy', 'what medical claims do I have', or 'policy claim history', "
@@ -190,20 +243,67 @@ public class PolicyFunctions {
           + "3) Customer wants to see medical-related claims while reviewing their policy details, "
           + "4) Policy-focused conversations that need to include health claim information. "
           + "This provides the same data as health claim functions but from a policy management perspective. "
-          + "Supports pagination and status filtering. Returns list of health claims for the policy.")
-  public Function<GetHealthClaimsByPolicyIdReq, ResponseWrapper<List<HealthClaimDto>>>
+          + "Supports status filtering. Returns one page of health claims, most recent incident first, "
+          + "with a summary of all matching claims (count by status, total estimated amount); "
+          + "pass 'nextCursor' as 'cursor' to get the next page.")
+  public Function<GetHealthClaimsByPolicyIdReq, ResponseWrapper<ListPage<HealthClaimDto>>>
       getHealthClaimsByPolicyId() {
     return request ->
-        ResponseWrapper.<List<HealthClaimDto>>builder()
+        ResponseWrapper.<ListPage<HealthClaimDto>>builder()
             .success(true)
             .data(
-                policiesApiClient
-                    .getHealthClaimsByPolicyId(
-                        request.policyId(), request.page(), request.size(), request.status())
-                    .getBody())
+                listPaginator.page(
+                    BackendPages.fetchAll(
+                        (page, size) ->
+                            policiesApiClient.getHealthClaimsByPolicyId(
+                                request.policyId(), page, size, request.status())),
+                    request.cursor(),
+                    ListShapes.HEALTH_CLAIMS))
             .build();
   }
 
+  @Bean(Functions.GET_CLAIMS_BY_POLICY_IDS)
+  @SecuredAI
+  @MemoizedAI
+  @Description(
+      "Retrieves the auto, home and health claims of one or more policies in a single call. "
+          + "Use this function when: "
+          + "1) Customer asks about 'my claim' without saying whether it is an auto, home or "
+          + "health claim, "
+          + "2) You need the claims of several policies of the customer, "
+          + "3) You would otherwise call getAutoClaimsByPolicyId, getHomeClaimsByPolicyId and "
+          + "getHealthClaimsByPolicyId one after another. "
+          + "All policies must belong to the customer, and the number of policies per call is "
+          + "limited. "
+          + "Supports status filtering. "
+          + "Returns one page of claims, each tagged with its 'type' (AUTO, HOME, HEALTH), most "
+          + "recent incident first, with a summary of all claims; pass 'nextCursor' as 'cursor' "
+          + "with the same policy IDs to get the next page. "
+          + "'unavailable' lists claim lookups that failed; mention them to the customer.")
+  public Function<GetClaimsByPolicyIdsReq, ResponseWrapper<PolicyClaimsPage>>
+      getClaimsByPolicyIds() {
+    return request -> {
+      if (!policyClaimsLoader.withinLimit(request.policyIds())) {
+        return ResponseWrapper.<PolicyClaimsPage>builder()
+            .success(false)
+            .errorMessage(
+                "At most "
+                    + policyClaimsLoader.maxPolicyIds()
+                    + " policies can be queried at once. Ask for the claims of fewer policies.")
+            .build();
+      }
+      PolicyClaims claims = policyClaimsLoader.load(request.policyIds(), request.status());
+      ListPage<TypedClaim> page =
+          listPaginator.page(claims.claims(), request.cursor(), ListShapes.TYPED_CLAIMS);
+      return ResponseWrapper.<PolicyClaimsPage>builder()
+          .success(true)
+          .data(
+              new PolicyClaimsPage(
+                  page.items(), page.summary(), page.nextCursor(), claims.failures()))
+          .build();
+    };
+  }
+
   @Bean(Functions.GET_POLICY_CONDITIONS)
   @Description(
       "Retrieves the current set of policy conditions and terms for the insurance system. Use this function when: "
@@ -218,7 +318,7 @@ public class PolicyFunctions {
     return request ->
         ResponseWrapper.<PolicyConditionsDto>builder()
             .success(true)
-            .data(Objects.requireNonNull(policiesApiClient.getPolicyConditions().getBody()))
+            .data(policyConditionsCache.get())
             .build();
   }
 
@@ -236,14 +336,21 @@ public class PolicyFunctions {
           + "Returns the updated policy conditions with all modifications applied.")
   public Function<UpdatePolicyConditionsReq, ResponseWrapper<PolicyConditionsDto>>
       updatePolicyConditions() {
-    return request ->
-        ResponseWrapper.<PolicyConditionsDto>builder()
-            .success(true)
-            .data(
-                Objects.requireNonNull(
-                    policiesApiClient
-                        .updatePolicyConditions(request.policyConditionsDto())
-                        .getBody()))
+    return request -> {
+      PolicyConditionsDto updated =
+          policiesApiClient.updatePolicyConditions(request.policyConditionsDto()).getBody();
+      if (updated == null) {
+        // The update went through, but its result is unknown: load the conditions on the next read
+        policyConditionsCache.invalidate();
+        return ResponseWrapper.<PolicyConditionsDto>builder()
+            .success(false)
+            .errorMessage(
+                "The policy conditions may have been updated, but the insurance system returned "
+                    + "no result. Please check the current policy conditions.")
             .build();
+      }
+      policyConditionsCache.replace(updated);
+      return ResponseWrapper.<PolicyConditionsDto>builder().success(true).data(updated).build();
+    };
   }
 }
@@ -0,0 +1,197 @@
+package tech.yildirim.aiinsurance.ai.idempotency;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+
+/**
+ * Applies {@link IdempotentAI} to AI function beans.
+ *
+ * <p>The idempotency key of a call is the conversation ID of the current {@link TurnContext} and a
+ * SHA-256 digest of the normalized request: the request is serialized to JSON with sorted
+ * properties, without {@code null} or empty values, with strings trimmed, whitespace collapsed and
+ * lower-cased, and with numbers stripped of trailing zeros. A model that retries a call, or a turn
+ * that is resent after a timeout, therefore produces the same key even if it formats the request
+ * slightly differently. Calls outside of a conversation are never deduplicated.
+ *
+ * <p>The aspect runs inside {@link SecurityAspect}, so a replay is authorized like the original
+ * call. Only successful responses are kept; after a failure or an exception the next call with the
+ * same key reaches the backend again. A replay that arrives while the original call is running
+ * waits for its response. Replays are counted as {@code tool.idempotency.replays} per function.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(SecurityAspect.ORDER + 20)
+public class IdempotencyAspect {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final MeterRegistry meterRegistry;
+  private final Environment environment;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Cache<String, CompletableFuture<Object>>> calls =
+      new ConcurrentHashMap<>();
+
+  public IdempotencyAspect(MeterRegistry meterRegistry, Environment environment) {
+    this.meterRegistry = meterRegistry;
+    this.environment = environment;
+    this.objectMapper =
+        JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+  }
+
+  /**
+   * Wraps an {@link IdempotentAI} function so that replayed calls return the original response.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param idempotentAI the idempotency settings of the function
+   * @return the idempotent function, or the original bean if it is not a {@code Function}
+   * @throws Throwable if the factory method fails
+   */
+  @Around("@annotation(idempotentAI)")
+  public Object deduplicate(ProceedingJoinPoint joinPoint, IdempotentAI idempotentAI)
+      throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function)) {
+      return bean;
+    }
+    String name = joinPoint.getSignature().getName();
+    Cache<String, CompletableFuture<Object>> cache =
+        calls.computeIfAbsent(name, ignored -> create(idempotentAI));
+    Counter replays =
+        Counter.builder("tool.idempotency.replays")
+            .description("Create tool calls answered with the response of an earlier call")
+            .tag("function", name)
+            .register(meterRegistry);
+    return idempotent(function, name, cache, replays);
+  }
+
+  private <T, R> Function<T, R> idempotent(
+      Function<T, R> function,
+      String name,
+      Cache<String, CompletableFuture<Object>> cache,
+      Counter replays) {
+    return request -> {
+      String conversationId =
+          TurnContext.current().flatMap(TurnContext::conversationId).orElse(null);
+      if (conversationId == null || request == null) {
+        return function.apply(request);
+      }
+      String key = conversationId + ':' + digest(request);
+      CompletableFuture<Object> call = new CompletableFuture<>();
+      CompletableFuture<Object> original = cache.asMap().putIfAbsent(key, call);
+      if (original != null) {
+        replays.increment();
+        log.info("Replaying {} for conversation {}", name, conversationId);
+        return replay(original);
+      }
+      try {
+        R response = function.apply(request);
+        if (!(response instanceof ResponseWrapper<?> wrapper && wrapper.isSuccess())) {
+          cache.asMap().remove(key, call);
+        }
+        call.complete(response);
+        return response;
+      } catch (RuntimeException | Error e) {
+        cache.asMap().remove(key, call);
+        call.completeExceptionally(e);
+        throw e;
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R replay(CompletableFuture<Object> original) {
+    try {
+      return (R) original.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private String digest(Object request) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(normalize(objectMapper.valueToTree(request)));
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Could not derive the idempotency key of a request", e);
+    }
+  }
+
+  private static JsonNode normalize(JsonNode node) {
+    if (node.isTextual()) {
+      String text = WHITESPACE.matcher(node.textValue().strip()).replaceAll(" ");
+      return TextNode.valueOf(text.toLowerCase(Locale.ROOT));
+    }
+    if (node.isNumber()) {
+      return DecimalNode.valueOf(node.decimalValue().stripTrailingZeros());
+    }
+    if (node instanceof ObjectNode object) {
+      ObjectNode normalized = object.objectNode();
+      for (Map.Entry<String, JsonNode> property : object.properties()) {
+        normalized.set(property.getKey(), normalize(property.getValue()));
+      }
+      return normalized;
+    }
+    if (node instanceof ArrayNode array) {
+      ArrayNode normalized = array.arrayNode();
+      array.forEach(element -> normalized.add(normalize(element)));
+      return normalized;
+    }
+    return node;
+  }
+
+  private Cache<String, CompletableFuture<Object>> create(IdempotentAI idempotentAI) {
+    Duration window =
+        DurationStyle.detectAndParse(environment.resolvePlaceholders(idempotentAI.window()));
+    return Caffeine.newBuilder()
+        .maximumSize(idempotentAI.maximumSize())
+        .expireAfterWrite(window)
+        .build();
+  }
+}
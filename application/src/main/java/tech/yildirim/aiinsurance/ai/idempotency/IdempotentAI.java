@@ -0,0 +1,36 @@
+package tech.yildirim.aiinsurance.ai.idempotency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes a creating AI function idempotent within a conversation. Used next to {@code @SecuredAI} on
+ * the bean factory method; replays are detected only after the authorization check has passed.
+ *
+ * <p>A call is a replay when the same conversation made a call with the same normalized request
+ * within the window. A replay returns the response of the original call instead of creating the
+ * resource again, and waits for it when the original call is still running.
+ *
+ * @see IdempotencyAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IdempotentAI {
+
+  /**
+   * How long the response of a call is returned to replays. Accepts Spring Boot duration values
+   * such as {@code 10m} and property placeholders.
+   *
+   * @return the replay window
+   */
+  String window() default "${insurance.idempotency.window:10m}";
+
+  /**
+   * The maximum number of responses kept for this function.
+   *
+   * @return the maximum number of remembered calls
+   */
+  long maximumSize() default 10000;
+}
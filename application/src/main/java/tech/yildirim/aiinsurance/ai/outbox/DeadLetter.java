@@ -0,0 +1,14 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import java.time.Instant;
+
+/**
+ * A write request the {@link Outbox} gave up, kept so that it can be looked up and handled by an
+ * operator.
+ *
+ * @param entry the request as it was queued
+ * @param attempts the number of dispatch attempts made
+ * @param reason why the request was given up
+ * @param failedAt when the request was given up
+ */
+public record DeadLetter(OutboxEntry entry, int attempts, String reason, Instant failedAt) {}
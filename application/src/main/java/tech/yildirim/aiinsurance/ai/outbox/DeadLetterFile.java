@@ -0,0 +1,99 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file keeping the {@link DeadLetter}s of the {@link Outbox}, one JSON line each.
+ *
+ * <p>Unlike the {@link OutboxFile}, the file is never compacted: a request given up stays in it
+ * until an operator has handled it and removes the file. Each line is forced to the storage device
+ * before the method returns.
+ *
+ * <p>This class is not thread-safe; the outbox serializes access to it.
+ */
+@Slf4j
+class DeadLetterFile implements AutoCloseable {
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+
+  private FileChannel channel;
+
+  DeadLetterFile(Path file, ObjectMapper objectMapper) {
+    this.file = file;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Reads the dead letters written so far and opens the file for appending. A line torn by a crash
+   * while it was written is skipped.
+   *
+   * @return the dead letters, oldest first
+   * @throws IOException if the file cannot be read or opened
+   */
+  List<DeadLetter> load() throws IOException {
+    List<DeadLetter> deadLetters = new ArrayList<>();
+    if (Files.exists(file)) {
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        String text;
+        while ((text = reader.readLine()) != null) {
+          if (text.isBlank()) {
+            continue;
+          }
+          try {
+            deadLetters.add(objectMapper.readValue(text, DeadLetter.class));
+          } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable dead letter line in {}", file);
+          }
+        }
+      }
+    }
+    close();
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    return deadLetters;
+  }
+
+  /**
+   * Durably records a request that was given up.
+   *
+   * @param deadLetter the request
+   * @throws IOException if the line cannot be written
+   */
+  void append(DeadLetter deadLetter) throws IOException {
+    if (channel == null) {
+      throw new IOException("Dead letter file " + file + " is closed");
+    }
+    byte[] json = objectMapper.writeValueAsBytes(deadLetter);
+    ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+}
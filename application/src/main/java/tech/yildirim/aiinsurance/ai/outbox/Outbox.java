@@ -0,0 +1,488 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
+import tech.yildirim.aiinsurance.config.ConcurrencyConfig;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+
+/**
+ * Durable queue of write requests that are acknowledged before they reach the backend.
+ *
+ * <p>{@link #enqueue} appends the request to an {@link OutboxFile} and returns once it is on disk.
+ * A background dispatcher thread then calls the AI function the request was made for, on the
+ * backend executor. Requests of the same customer are dispatched one at a time in the order they
+ * were accepted; requests of different customers are dispatched in parallel.
+ *
+ * <p>A request that fails with a server error or a timeout is retried with exponential backoff, and
+ * the requests queued behind it for the same customer wait. A request that is rejected by the
+ * backend with a client error, returns a failed response or exhausts its attempts is given up: it
+ * is logged with its reference and kept as a {@link DeadLetter} in a second file, which survives
+ * restarts. Requests still pending at shutdown are dispatched after the next start, so a request
+ * can reach the backend more than once if the application stops while it is in flight.
+ *
+ * <p>{@link #status} tells by reference whether a request is still queued, was dispatched or was
+ * given up; dispatched requests are remembered for the last {@code status-retention} references
+ * only. The number of pending requests is exported as {@code outbox.depth}, the age of the oldest
+ * one as {@code outbox.lag}, the number of dead letters as {@code outbox.dead-letters}, and every
+ * dispatch attempt as {@code outbox.dispatches} with {@code result=success}, {@code retry} or
+ * {@code failed}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "insurance.outbox.enabled", havingValue = "true")
+public class Outbox implements SmartLifecycle {
+
+  private enum Outcome {
+    SUCCESS,
+    RETRY,
+    FAILED
+  }
+
+  /** The outcome of one dispatch attempt, with the reason unless it succeeded. */
+  private record Result(Outcome outcome, String reason) {
+
+    private static final Result SUCCESS = new Result(Outcome.SUCCESS, null);
+
+    private static Result retry(String reason) {
+      return new Result(Outcome.RETRY, reason);
+    }
+
+    private static Result failed(String reason) {
+      return new Result(Outcome.FAILED, reason);
+    }
+  }
+
+  /** An AI function requests are dispatched to. */
+  private record Target(
+      Function<Object, Object> function, Class<?> requestType, DispatchListener listener) {}
+
+  /** Work to do once the backend accepted a request, which the caller could not do at enqueue. */
+  @FunctionalInterface
+  public interface DispatchListener {
+
+    /**
+     * Called on the backend executor after a successful dispatch.
+     *
+     * @param customerId the customer the request was made for, or {@code null} if unknown
+     * @param request the dispatched request
+     * @param response the response of the function
+     */
+    void dispatched(Long customerId, Object request, Object response);
+  }
+
+  /** A queued request with its delivery state, guarded by the outbox lock. */
+  private static final class Pending {
+
+    private final OutboxEntry entry;
+    private int attempts;
+    private long notBeforeNanos = System.nanoTime();
+
+    private Pending(OutboxEntry entry) {
+      this.entry = entry;
+    }
+  }
+
+  private final OutboxFile file;
+  private final DeadLetterFile deadLetterFile;
+  private final ObjectMapper objectMapper;
+  private final Executor executor;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final long pollIntervalNanos;
+  private final Map<String, Target> targets = new ConcurrentHashMap<>();
+  private final Map<Long, Deque<Pending>> queues = new LinkedHashMap<>();
+  private final Set<Long> inFlight = new HashSet<>();
+  private final Map<String, DeadLetter> deadLetters = new LinkedHashMap<>();
+  private final Map<String, String> dispatched;
+  private final Counter succeeded;
+  private final Counter retried;
+  private final Counter failed;
+
+  private volatile boolean running;
+  private volatile Thread dispatcherThread;
+
+  public Outbox(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Qualifier(ConcurrencyConfig.BACKEND_EXECUTOR) Executor executor,
+      @Value("${insurance.outbox.file:data/outbox.log}") Path file,
+      @Value("${insurance.outbox.max-attempts:10}") int maxAttempts,
+      @Value("${insurance.outbox.initial-backoff:1s}") Duration initialBackoff,
+      @Value("${insurance.outbox.max-backoff:5m}") Duration maxBackoff,
+      @Value("${insurance.outbox.poll-interval:200ms}") Duration pollInterval,
+      @Value("${insurance.outbox.dead-letter-file:data/outbox-dead-letters.log}")
+          Path deadLetterFile,
+      @Value("${insurance.outbox.status-retention:1000}") int statusRetention) {
+    this.objectMapper = objectMapper;
+    this.executor = executor;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.pollIntervalNanos = pollInterval.toNanos();
+    this.dispatched = references(statusRetention);
+    this.file = new OutboxFile(file, objectMapper);
+    this.deadLetterFile = new DeadLetterFile(deadLetterFile, objectMapper);
+    try {
+      // Loaded before the web server accepts requests, so recovered requests keep their place
+      this.file.load().forEach(this::queue);
+      this.deadLetterFile
+          .load()
+          .forEach(deadLetter -> deadLetters.put(deadLetter.entry().reference(), deadLetter));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Outbox " + file + " could not be loaded", e);
+    }
+    if (depth() > 0) {
+      log.info("Recovered {} pending outbox requests from {}", depth(), file);
+    }
+    if (!deadLetters.isEmpty()) {
+      log.warn("{} outbox requests were given up, see {}", deadLetters.size(), deadLetterFile);
+    }
+    Gauge.builder("outbox.depth", this, Outbox::depth)
+        .description("Write requests waiting in the outbox")
+        .register(meterRegistry);
+    TimeGauge.builder("outbox.lag", this, TimeUnit.MILLISECONDS, Outbox::lagMillis)
+        .description("Age of the oldest write request waiting in the outbox")
+        .register(meterRegistry);
+    Gauge.builder("outbox.dead-letters", this, outbox -> outbox.deadLetters().size())
+        .description("Write requests the outbox gave up")
+        .register(meterRegistry);
+    this.succeeded = dispatches(meterRegistry, "success");
+    this.retried = dispatches(meterRegistry, "retry");
+    this.failed = dispatches(meterRegistry, "failed");
+  }
+
+  /** Keeps the given number of most recently added references. */
+  private static Map<String, String> references(int capacity) {
+    return new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  private static Counter dispatches(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("outbox.dispatches")
+        .description("Outbox dispatch attempts")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Registers the AI function that queued requests of the given name are dispatched to.
+   *
+   * @param function the function name, see {@code Functions}
+   * @param requestType the request type of the function
+   * @param target the function, without the outbox in front of it
+   */
+  public void register(String function, Class<?> requestType, Function<?, ?> target) {
+    register(function, requestType, target, (customerId, request, response) -> {});
+  }
+
+  /**
+   * Registers the AI function that queued requests of the given name are dispatched to, with work
+   * to do after each successful dispatch. A failing listener is logged; the request is not
+   * dispatched again.
+   *
+   * @param function the function name, see {@code Functions}
+   * @param requestType the request type of the function
+   * @param target the function, without the outbox in front of it
+   * @param listener called after each successful dispatch
+   */
+  @SuppressWarnings("unchecked")
+  public void register(
+      String function, Class<?> requestType, Function<?, ?> target, DispatchListener listener) {
+    targets.put(function, new Target((Function<Object, Object>) target, requestType, listener));
+  }
+
+  /**
+   * Durably queues a request for the given function.
+   *
+   * @param function the function name
+   * @param customerId the customer the request is made for, or {@code null} if unknown
+   * @param request the authorized function request
+   * @return the receipt to send to the model
+   * @throws UncheckedIOException if the request could not be written to the outbox file
+   */
+  public synchronized OutboxReceipt enqueue(String function, Long customerId, Object request) {
+    OutboxEntry entry =
+        new OutboxEntry(
+            "OUT-" + UUID.randomUUID(),
+            function,
+            customerId,
+            Instant.now(),
+            objectMapper.valueToTree(request));
+    try {
+      file.append(entry);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Outbox request could not be written", e);
+    }
+    queue(entry);
+    LockSupport.unpark(dispatcherThread);
+    return OutboxReceipt.queued(entry.reference());
+  }
+
+  private void queue(OutboxEntry entry) {
+    queues.computeIfAbsent(entry.customerId(), id -> new ArrayDeque<>()).add(new Pending(entry));
+  }
+
+  /**
+   * Returns the number of requests waiting to be dispatched.
+   *
+   * @return the outbox depth
+   */
+  public synchronized int depth() {
+    return queues.values().stream().mapToInt(Deque::size).sum();
+  }
+
+  /**
+   * Returns where a request stands.
+   *
+   * @param reference the reference from the receipt
+   * @return the status, or empty if the reference is unknown or its dispatch was too long ago
+   */
+  public synchronized Optional<OutboxStatus> status(String reference) {
+    for (Deque<Pending> queue : queues.values()) {
+      for (Pending pending : queue) {
+        if (pending.entry.reference().equals(reference)) {
+          return Optional.of(
+              new OutboxStatus(
+                  reference, pending.entry.function(), OutboxStatus.State.QUEUED, null));
+        }
+      }
+    }
+    String function = dispatched.get(reference);
+    if (function != null) {
+      return Optional.of(
+          new OutboxStatus(reference, function, OutboxStatus.State.DISPATCHED, null));
+    }
+    return Optional.ofNullable(deadLetters.get(reference))
+        .map(
+            deadLetter ->
+                new OutboxStatus(
+                    reference,
+                    deadLetter.entry().function(),
+                    OutboxStatus.State.FAILED,
+                    deadLetter.reason()));
+  }
+
+  /**
+   * Returns the requests that were given up.
+   *
+   * @return the dead letters, oldest first
+   */
+  public synchronized List<DeadLetter> deadLetters() {
+    return List.copyOf(deadLetters.values());
+  }
+
+  private synchronized double lagMillis() {
+    Instant oldest = null;
+    for (Deque<Pending> queue : queues.values()) {
+      Instant createdAt = queue.getFirst().entry.createdAt();
+      if (oldest == null || createdAt.isBefore(oldest)) {
+        oldest = createdAt;
+      }
+    }
+    return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis();
+  }
+
+  /**
+   * Hands the first request of every customer without a request in flight to the executor, once
+   * its backoff has elapsed.
+   *
+   * @return whether any request was handed over
+   */
+  boolean dispatchReady() {
+    List<Pending> ready = new ArrayList<>();
+    synchronized (this) {
+      long now = System.nanoTime();
+      for (Map.Entry<Long, Deque<Pending>> queue : queues.entrySet()) {
+        Pending head = queue.getValue().getFirst();
+        if (!inFlight.contains(queue.getKey()) && now - head.notBeforeNanos >= 0) {
+          inFlight.add(queue.getKey());
+          ready.add(head);
+        }
+      }
+    }
+    for (Pending pending : ready) {
+      executor.execute(() -> completed(pending, dispatch(pending.entry)));
+    }
+    return !ready.isEmpty();
+  }
+
+  private Result dispatch(OutboxEntry entry) {
+    Target target = targets.get(entry.function());
+    if (target == null) {
+      log.warn(
+          "Outbox request {} waits for {} to be registered", entry.reference(), entry.function());
+      return Result.retry(entry.function() + " is not registered");
+    }
+    try {
+      Object request = objectMapper.treeToValue(entry.request(), target.requestType());
+      Object response = target.function().apply(request);
+      if (response instanceof ResponseWrapper<?> wrapper && !wrapper.isSuccess()) {
+        log.error(
+            "Outbox request {} for {} failed: {}",
+            entry.reference(),
+            entry.function(),
+            wrapper.getErrorMessage());
+        return Result.failed(wrapper.getErrorMessage());
+      }
+      log.info("Outbox request {} for {} dispatched", entry.reference(), entry.function());
+      dispatched(target, entry, request, response);
+      return Result.SUCCESS;
+    } catch (JsonProcessingException e) {
+      log.error("Outbox request {} could not be read", entry.reference(), e);
+      return Result.failed("The request could not be read: " + e.getOriginalMessage());
+    } catch (RuntimeException e) {
+      RuntimeException failure = BackendFailures.unwrap(e);
+      if (failure instanceof FeignException.FeignClientException clientError) {
+        log.error(
+            "Outbox request {} for {} rejected", entry.reference(), entry.function(), failure);
+        return Result.failed("Rejected by the backend with status " + clientError.status());
+      }
+      log.warn("Outbox request {} for {} will be retried", entry.reference(), entry.function(), e);
+      return Result.retry(String.valueOf(failure.getMessage()));
+    }
+  }
+
+  private void dispatched(Target target, OutboxEntry entry, Object request, Object response) {
+    try {
+      target.listener().dispatched(entry.customerId(), request, response);
+    } catch (RuntimeException e) {
+      log.warn("Follow-up of outbox request {} failed", entry.reference(), e);
+    }
+  }
+
+  private synchronized void completed(Pending pending, Result result) {
+    Long customerId = pending.entry.customerId();
+    inFlight.remove(customerId);
+    pending.attempts++;
+    if (result.outcome() == Outcome.RETRY && pending.attempts < maxAttempts) {
+      retried.increment();
+      pending.notBeforeNanos = System.nanoTime() + backoff(pending.attempts).toNanos();
+      return;
+    }
+    if (result.outcome() == Outcome.SUCCESS) {
+      succeeded.increment();
+      dispatched.put(pending.entry.reference(), pending.entry.function());
+    } else {
+      failed.increment();
+      String reason = result.reason();
+      if (result.outcome() == Outcome.RETRY) {
+        log.error(
+            "Outbox request {} for {} given up after {} attempts",
+            pending.entry.reference(),
+            pending.entry.function(),
+            pending.attempts);
+        reason = "Given up after " + pending.attempts + " attempts: " + reason;
+      }
+      // Written before the request leaves the outbox file, so a crash cannot lose it
+      deadLetter(new DeadLetter(pending.entry, pending.attempts, reason, Instant.now()));
+    }
+    Deque<Pending> queue = queues.get(customerId);
+    queue.removeFirst();
+    if (queue.isEmpty()) {
+      queues.remove(customerId);
+    }
+    try {
+      file.remove(pending.entry.reference());
+      if (queues.isEmpty()) {
+        file.reset();
+      }
+    } catch (IOException e) {
+      log.error("Outbox request {} could not be removed from the file", pending.entry.reference());
+    }
+    LockSupport.unpark(dispatcherThread);
+  }
+
+  private void deadLetter(DeadLetter deadLetter) {
+    deadLetters.put(deadLetter.entry().reference(), deadLetter);
+    try {
+      deadLetterFile.append(deadLetter);
+    } catch (IOException e) {
+      log.error(
+          "Outbox request {} could not be written to the dead letter file",
+          deadLetter.entry().reference(),
+          e);
+    }
+  }
+
+  private Duration backoff(int attempts) {
+    Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+    return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    dispatcherThread = Thread.ofPlatform().name("outbox-dispatcher").daemon().start(this::run);
+  }
+
+  private void run() {
+    while (running) {
+      if (!dispatchReady()) {
+        LockSupport.parkNanos(pollIntervalNanos);
+      }
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (dispatcherThread != null) {
+      LockSupport.unpark(dispatcherThread);
+      try {
+        dispatcherThread.join(Duration.ofSeconds(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    synchronized (this) {
+      try {
+        file.close();
+        deadLetterFile.close();
+      } catch (IOException e) {
+        log.warn("Outbox file could not be closed", e);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
@@ -0,0 +1,22 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets a write AI function be acknowledged before it reaches the backend. Used next to {@code
+ * @SecuredAI} on the bean factory method; only requests that passed the authorization check are
+ * queued.
+ *
+ * <p>Has no effect unless the asynchronous write mode is enabled with {@code
+ * insurance.outbox.enabled}. The request is then appended to the durable {@link Outbox}, the model
+ * receives an {@link OutboxReceipt} with a provisional reference, and the call is made by the
+ * outbox dispatcher in the background.
+ *
+ * @see OutboxAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OutboxAI {}
@@ -0,0 +1,110 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.cache.EvictsCachedAI;
+import tech.yildirim.aiinsurance.ai.cache.ToolResultCacheAspect;
+import tech.yildirim.aiinsurance.ai.idempotency.IdempotencyAspect;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.IMutatingReq;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
+
+/**
+ * Applies {@link OutboxAI} to AI function beans when the asynchronous write mode is enabled.
+ *
+ * <p>The aspect is the innermost one: a request reaches it only after {@link SecurityAspect}
+ * authorized it, and {@link IdempotencyAspect} remembers the receipt, so a replayed call returns
+ * the same reference instead of queueing the request twice. The request is queued for the
+ * logged-in customer, whose requests the {@link Outbox} dispatches in order. If the outbox file
+ * cannot be written, the function is called directly.
+ *
+ * <p>The outer aspects see the receipt instead of the backend response, so they skip what must
+ * follow the write itself: {@link SecurityAspect} does not refresh the customer's ownership index
+ * and {@link ToolResultCacheAspect} does not apply {@link EvictsCachedAI}. Both are done here once
+ * the outbox has dispatched the request successfully.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(SecurityAspect.ORDER + 30)
+@ConditionalOnProperty(name = "insurance.outbox.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxAspect {
+
+  private final Outbox outbox;
+  private final SecurityUtils securityUtils;
+  private final OwnershipIndexService ownershipIndexService;
+  private final ToolResultCacheAspect toolResultCacheAspect;
+
+  /**
+   * Wraps an {@link OutboxAI} function so that calls are queued and acknowledged with a receipt.
+   *
+   * @param joinPoint the bean factory method execution
+   * @param outboxAI the marker annotation
+   * @return the queueing function, or the original bean if it is not a {@code Function}
+   * @throws Throwable if the factory method fails
+   */
+  @Around("@annotation(outboxAI)")
+  public Object queueWrites(ProceedingJoinPoint joinPoint, OutboxAI outboxAI) throws Throwable {
+    Object bean = joinPoint.proceed();
+    if (!(bean instanceof Function<?, ?> function)) {
+      return bean;
+    }
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    outbox.register(
+        signature.getName(),
+        requestType(signature),
+        function,
+        afterDispatch(signature.getMethod().getAnnotation(EvictsCachedAI.class)));
+    return queueing(function, signature.getName());
+  }
+
+  private Outbox.DispatchListener afterDispatch(EvictsCachedAI evictsCachedAI) {
+    return (customerId, request, response) -> {
+      if (request instanceof IMutatingReq && customerId != null) {
+        ownershipIndexService.refresh(customerId);
+      }
+      if (evictsCachedAI != null) {
+        toolResultCacheAspect.evict(evictsCachedAI.value(), request, response);
+      }
+    };
+  }
+
+  private <T, R> Function<T, R> queueing(Function<T, R> function, String name) {
+    return request -> {
+      OutboxReceipt receipt;
+      try {
+        receipt = outbox.enqueue(name, securityUtils.getCurrentUserCustomerId(), request);
+      } catch (UncheckedIOException e) {
+        log.warn("Outbox unavailable, calling {} directly", name, e);
+        return function.apply(request);
+      }
+      // The receipt replaces the entity the function would return; the model only sees JSON
+      @SuppressWarnings("unchecked")
+      R response = (R) ResponseWrapper.builder().success(true).data(receipt).build();
+      return response;
+    };
+  }
+
+  private static Class<?> requestType(MethodSignature signature) {
+    Type returnType = signature.getMethod().getGenericReturnType();
+    if (returnType instanceof ParameterizedType function
+        && function.getActualTypeArguments()[0] instanceof Class<?> requestType) {
+      return requestType;
+    }
+    throw new IllegalStateException(signature.getName() + " must return a Function<Request, ?>");
+  }
+}
@@ -0,0 +1,45 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/outbox} listing the {@link DeadLetter}s of the {@link Outbox},
+ * and {@code /actuator/outbox/{reference}} reporting the {@link OutboxStatus} of one request, e.g.
+ * when a customer asks about a provisional reference. Like all actuator endpoints except health, it
+ * requires the operator role.
+ */
+@Component
+@Endpoint(id = "outbox")
+@ConditionalOnProperty(name = "insurance.outbox.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxEndpoint {
+
+  private final Outbox outbox;
+
+  /**
+   * Lists the requests the outbox gave up.
+   *
+   * @return the dead letters, oldest first
+   */
+  @ReadOperation
+  public List<DeadLetter> deadLetters() {
+    return outbox.deadLetters();
+  }
+
+  /**
+   * Looks up a request by its reference.
+   *
+   * @param reference the reference from the receipt
+   * @return the status, or {@code null}, answered with {@code 404}, if the reference is unknown
+   */
+  @ReadOperation
+  public OutboxStatus status(@Selector String reference) {
+    return outbox.status(reference).orElse(null);
+  }
+}
@@ -0,0 +1,16 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+
+/**
+ * A write request waiting in the {@link Outbox}.
+ *
+ * @param reference the provisional reference given to the customer
+ * @param function the name of the AI function to call, see {@code Functions}
+ * @param customerId the customer the request was made for, whose entries are dispatched in order
+ * @param createdAt when the request was accepted
+ * @param request the function request as JSON
+ */
+public record OutboxEntry(
+    String reference, String function, Long customerId, Instant createdAt, JsonNode request) {}
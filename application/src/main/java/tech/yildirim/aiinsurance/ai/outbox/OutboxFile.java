@@ -0,0 +1,167 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file backing the {@link Outbox}.
+ *
+ * <p>Every accepted request is written as an {@code append} line and every request that left the
+ * outbox, dispatched or given up, as a {@code remove} line. Each line is forced to the storage
+ * device before the method returns, so an acknowledged request survives a crash. {@link #load()}
+ * replays the lines to find the requests still pending and rewrites the file with only those;
+ * {@link #reset()} empties it once nothing is pending.
+ *
+ * <p>This class is not thread-safe; the outbox serializes access to it.
+ */
+@Slf4j
+class OutboxFile implements AutoCloseable {
+
+  private static final String APPEND = "append";
+  private static final String REMOVE = "remove";
+
+  /** One line of the file. */
+  private record Line(String op, String reference, OutboxEntry entry) {}
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+
+  private FileChannel channel;
+
+  OutboxFile(Path file, ObjectMapper objectMapper) {
+    this.file = file;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Reads the requests that were appended but not removed, in the order they were accepted, and
+   * compacts the file to them. A line torn by a crash while it was written is skipped.
+   *
+   * @return the pending requests
+   * @throws IOException if the file cannot be read or rewritten
+   */
+  List<OutboxEntry> load() throws IOException {
+    Map<String, OutboxEntry> pending = new LinkedHashMap<>();
+    if (Files.exists(file)) {
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        String text;
+        while ((text = reader.readLine()) != null) {
+          if (text.isBlank()) {
+            continue;
+          }
+          try {
+            Line line = objectMapper.readValue(text, Line.class);
+            if (APPEND.equals(line.op())) {
+              pending.put(line.entry().reference(), line.entry());
+            } else {
+              pending.remove(line.reference());
+            }
+          } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable outbox line in {}", file);
+          }
+        }
+      }
+    }
+    List<OutboxEntry> entries = new ArrayList<>(pending.values());
+    compact(entries);
+    return entries;
+  }
+
+  /**
+   * Durably records an accepted request.
+   *
+   * @param entry the request
+   * @throws IOException if the line cannot be written
+   */
+  void append(OutboxEntry entry) throws IOException {
+    write(new Line(APPEND, entry.reference(), entry));
+  }
+
+  /**
+   * Durably records that a request left the outbox.
+   *
+   * @param reference the reference of the request
+   * @throws IOException if the line cannot be written
+   */
+  void remove(String reference) throws IOException {
+    write(new Line(REMOVE, reference, null));
+  }
+
+  /**
+   * Empties the file. Only called when no request is pending.
+   *
+   * @throws IOException if the file cannot be truncated
+   */
+  void reset() throws IOException {
+    ensureOpen();
+    channel.truncate(0);
+    channel.force(false);
+  }
+
+  private void write(Line line) throws IOException {
+    ensureOpen();
+    write(channel, line);
+    channel.force(false);
+  }
+
+  private void write(FileChannel target, Line line) throws IOException {
+    byte[] json = objectMapper.writeValueAsBytes(line);
+    ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (channel == null) {
+      throw new IOException("Outbox file " + file + " is closed");
+    }
+  }
+
+  private void compact(List<OutboxEntry> entries) throws IOException {
+    close();
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel out =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (OutboxEntry entry : entries) {
+        write(out, new Line(APPEND, entry.reference(), entry));
+      }
+      out.force(false);
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+}
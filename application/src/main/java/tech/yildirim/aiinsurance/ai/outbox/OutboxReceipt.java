@@ -0,0 +1,33 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+
+/**
+ * The response sent to the model for a write request accepted by the {@link Outbox}.
+ *
+ * @param reference the provisional reference to give to the customer
+ * @param status always {@code QUEUED}
+ * @param message what the customer should be told
+ */
+public record OutboxReceipt(String reference, String status, String message) {
+
+  /**
+   * Tells whether a function response is a receipt, i.e. the request was only queued and has not
+   * reached the backend yet.
+   *
+   * @param response the function response
+   * @return whether the response carries a receipt
+   */
+  public static boolean isReceipt(Object response) {
+    return response instanceof ResponseWrapper<?> wrapper
+        && wrapper.getData() instanceof OutboxReceipt;
+  }
+
+  static OutboxReceipt queued(String reference) {
+    return new OutboxReceipt(
+        reference,
+        "QUEUED",
+        "The request was accepted and will be submitted shortly. Give the customer the reference; "
+            + "the final ID is not known yet.");
+  }
+}
@@ -0,0 +1,22 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+/**
+ * Where a request accepted by the {@link Outbox} stands.
+ *
+ * @param reference the provisional reference given to the customer
+ * @param function the name of the AI function the request was made for
+ * @param state the delivery state
+ * @param reason why the request was given up, or {@code null} unless it {@link State#FAILED}
+ */
+public record OutboxStatus(String reference, String function, State state, String reason) {
+
+  /** Delivery state of a request. */
+  public enum State {
+    /** Waiting to be dispatched, or waiting for a retry. */
+    QUEUED,
+    /** Accepted by the backend. */
+    DISPATCHED,
+    /** Given up and kept as a {@link DeadLetter}. */
+    FAILED
+  }
+}
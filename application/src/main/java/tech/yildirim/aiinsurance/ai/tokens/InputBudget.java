@@ -0,0 +1,162 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+
+/**
+ * Token budget for the input of a chat turn, checked with the {@link TokenEstimator} before any
+ * backend or model call is made.
+ *
+ * <p>A user message may use at most {@code message-tokens}. A longer message is cut to that
+ * budget, or rejected with an {@link InputBudgetExceededException} if {@code on-exceeded} is
+ * {@code reject}. The whole prompt of the turn, which is the system prompt, the tool definitions,
+ * the remembered messages and the user message, may use at most {@code turn-tokens}. The turn
+ * budget must leave room for the system prompt, the tools and a full message, so when a turn is
+ * over it, the memory is at fault: its oldest messages are left out of the prompt until the turn
+ * fits, rather than the user message being cut or rejected. The memory itself is not changed.
+ *
+ * <p>The estimated input of every admitted turn is recorded in the {@code chat.input.tokens}
+ * summary, and every check in the {@code chat.input.budget} counter with {@code result=within},
+ * {@code truncated} or {@code rejected}. Messages left out are counted in {@code
+ * chat.input.forgotten}.
+ */
+@Slf4j
+@Component
+public class InputBudget {
+
+  /** What happens to a message over budget. */
+  public enum OnExceeded {
+    TRUNCATE,
+    REJECT
+  }
+
+  /**
+   * The outcome of a budget check.
+   *
+   * @param message the message to send, cut if it was over budget
+   * @param messageTokens the estimated tokens of the message to send
+   * @param turnTokens the estimated tokens of the whole prompt of the turn
+   * @param truncated whether the message was cut
+   * @param forgottenMessages the number of oldest remembered messages that do not fit the turn
+   *     and must not be sent
+   */
+  public record Admission(
+      String message,
+      int messageTokens,
+      int turnTokens,
+      boolean truncated,
+      int forgottenMessages) {}
+
+  private final int messageTokens;
+  private final int turnTokens;
+  private final OnExceeded onExceeded;
+  private final int fixedTokens;
+  private final DistributionSummary inputTokens;
+  private final Counter within;
+  private final Counter truncated;
+  private final Counter rejected;
+  private final Counter forgotten;
+
+  public InputBudget(
+      ToolSchemaRegistry toolSchemaRegistry,
+      MeterRegistry meterRegistry,
+      @Value("${config.default-prompt}") String systemPrompt,
+      @Value("${insurance.input-budget.message-tokens:2000}") int messageTokens,
+      @Value("${insurance.input-budget.turn-tokens:32000}") int turnTokens,
+      @Value("${insurance.input-budget.on-exceeded:truncate}") OnExceeded onExceeded) {
+    this.messageTokens = messageTokens;
+    this.turnTokens = turnTokens;
+    this.onExceeded = onExceeded;
+    // The system prompt and the tool definitions are the same in every turn
+    this.fixedTokens =
+        TokenFootprint.measure(systemPrompt, toolSchemaRegistry.schemas(), List.of())
+            .totalTokens();
+    if (fixedTokens + messageTokens > turnTokens) {
+      throw new IllegalArgumentException(
+          "insurance.input-budget.turn-tokens must cover the system prompt and tools (~"
+              + fixedTokens
+              + " tokens) and message-tokens");
+    }
+    this.inputTokens =
+        DistributionSummary.builder("chat.input.tokens")
+            .description("Estimated prompt tokens of admitted chat turns")
+            .baseUnit("tokens")
+            .register(meterRegistry);
+    this.within = checks(meterRegistry, "within");
+    this.truncated = checks(meterRegistry, "truncated");
+    this.rejected = checks(meterRegistry, "rejected");
+    this.forgotten =
+        Counter.builder("chat.input.forgotten")
+            .description("Remembered messages left out of chat turns over the turn budget")
+            .register(meterRegistry);
+  }
+
+  private static Counter checks(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("chat.input.budget")
+        .description("Input budget checks of chat turns")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Checks a user message against the budgets.
+   *
+   * @param message the user message
+   * @param memory the remembered messages sent with it, oldest first
+   * @return the admitted message and the number of remembered messages to leave out
+   * @throws InputBudgetExceededException if the message is over its budget and may not be cut
+   */
+  public Admission admit(String message, List<Message> memory) {
+    int tokens = TokenEstimator.estimate(message);
+    boolean cut = false;
+    if (tokens > messageTokens) {
+      if (onExceeded == OnExceeded.REJECT) {
+        rejected.increment();
+        log.info("Message of ~{} tokens rejected, {} tokens allowed", tokens, messageTokens);
+        throw new InputBudgetExceededException(
+            "The message is too long. Please shorten it and try again.");
+      }
+      message = TokenEstimator.truncate(message, messageTokens);
+      tokens = TokenEstimator.estimate(message);
+      cut = true;
+    }
+    (cut ? truncated : within).increment();
+
+    // Never negative: the constructor checked that a full message fits next to the fixed part
+    int memoryAllowance = turnTokens - fixedTokens - tokens;
+    int[] rememberedTokens = new int[memory.size()];
+    int memoryTokens = 0;
+    for (int i = 0; i < rememberedTokens.length; i++) {
+      rememberedTokens[i] = TokenEstimator.estimate(memory.get(i).getText());
+      memoryTokens += rememberedTokens[i];
+    }
+    int forgottenMessages = 0;
+    while (memoryTokens > memoryAllowance) {
+      memoryTokens -= rememberedTokens[forgottenMessages++];
+    }
+    if (forgottenMessages > 0) {
+      forgotten.increment(forgottenMessages);
+      log.info(
+          "Leaving out the {} oldest of {} remembered messages to fit the turn budget",
+          forgottenMessages,
+          memory.size());
+    }
+
+    int turn = fixedTokens + memoryTokens + tokens;
+    inputTokens.record(turn);
+    log.debug(
+        "Input budget: message {} of {} tokens, turn {} of {} tokens",
+        tokens,
+        messageTokens,
+        turn,
+        turnTokens);
+    return new Admission(message, tokens, turn, cut, forgottenMessages);
+  }
+}
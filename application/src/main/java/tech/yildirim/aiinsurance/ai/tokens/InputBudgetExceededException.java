@@ -0,0 +1,12 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+/**
+ * Exception thrown when a user message is over its token budget and is not truncated. It is raised
+ * before any backend or model call is made for the turn.
+ */
+public class InputBudgetExceededException extends RuntimeException {
+
+  public InputBudgetExceededException(String message) {
+    super(message);
+  }
+}
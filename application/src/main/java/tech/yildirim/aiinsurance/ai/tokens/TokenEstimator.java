@@ -0,0 +1,113 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+/**
+ * Fast in-process approximation of the number of model tokens in a text.
+ *
+ * <p>Subword tokenizers such as Gemini's encode a common word in one token and split long words,
+ * numbers and punctuation into several. The estimator mimics this without a vocabulary: a run of
+ * letters counts one token per started five characters, a run of digits one per started three
+ * digits, and a run of punctuation one per started pair of characters. Whitespace is free, as it
+ * is usually merged into the following token. The result is meant for comparing payloads and
+ * enforcing budgets, not for billing.
+ */
+public final class TokenEstimator {
+
+  private static final int LETTERS_PER_TOKEN = 5;
+  private static final int DIGITS_PER_TOKEN = 3;
+  private static final int SYMBOLS_PER_TOKEN = 2;
+
+  private TokenEstimator() {}
+
+  /**
+   * Estimates the number of tokens in a text.
+   *
+   * @param text the text, may be {@code null}
+   * @return the estimated token count, {@code 0} for {@code null} or blank text
+   */
+  public static int estimate(CharSequence text) {
+    if (text == null) {
+      return 0;
+    }
+    int tokens = 0;
+    int i = 0;
+    while (i < text.length()) {
+      if (Character.isWhitespace(text.charAt(i))) {
+        i++;
+        continue;
+      }
+      int end = runEnd(text, i);
+      tokens += ceilDiv(end - i, charsPerToken(text.charAt(i)));
+      i = end;
+    }
+    return tokens;
+  }
+
+  /**
+   * Cuts a text to its longest prefix whose estimate does not exceed a number of tokens.
+   *
+   * @param text the text, may be {@code null}
+   * @param maxTokens the number of tokens the prefix may have
+   * @return the text itself if it is within {@code maxTokens}, otherwise the prefix without
+   *     trailing whitespace
+   */
+  public static String truncate(String text, int maxTokens) {
+    if (text == null) {
+      return null;
+    }
+    int tokens = 0;
+    int i = 0;
+    while (i < text.length()) {
+      if (Character.isWhitespace(text.charAt(i))) {
+        i++;
+        continue;
+      }
+      int end = runEnd(text, i);
+      int charsPerToken = charsPerToken(text.charAt(i));
+      int runTokens = ceilDiv(end - i, charsPerToken);
+      if (tokens + runTokens > maxTokens) {
+        int cut = i + Math.max(maxTokens - tokens, 0) * charsPerToken;
+        if (cut > 0 && Character.isHighSurrogate(text.charAt(cut - 1))) {
+          cut--;
+        }
+        return text.substring(0, cut).stripTrailing();
+      }
+      tokens += runTokens;
+      i = end;
+    }
+    return text;
+  }
+
+  private static int runEnd(CharSequence text, int start) {
+    char first = text.charAt(start);
+    int i = start + 1;
+    if (Character.isLetter(first)) {
+      while (i < text.length() && Character.isLetter(text.charAt(i))) {
+        i++;
+      }
+    } else if (Character.isDigit(first)) {
+      while (i < text.length() && Character.isDigit(text.charAt(i))) {
+        i++;
+      }
+    } else {
+      while (i < text.length() && isSymbol(text.charAt(i))) {
+        i++;
+      }
+    }
+    return i;
+  }
+
+  private static int charsPerToken(char first) {
+    if (Character.isLetter(first)) {
+      return LETTERS_PER_TOKEN;
+    }
+    return Character.isDigit(first) ? DIGITS_PER_TOKEN : SYMBOLS_PER_TOKEN;
+  }
+
+  private static boolean isSymbol(char c) {
+    return !Character.isWhitespace(c) && !Character.isLetterOrDigit(c);
+  }
+
+  private static int ceilDiv(int value, int divisor) {
+    return (value + divisor - 1) / divisor;
+  }
+}
@@ -0,0 +1,92 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.ai.chat.messages.Message;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchema;
+
+/**
+ * Estimated number of tokens the fixed parts of a prompt add to every chat request, sorted by
+ * cost.
+ *
+ * <p>Every request carries the system prompt, the description and input schema of every tool and
+ * the remembered messages of the conversation. The footprint lists each of them with its {@link
+ * TokenEstimator} estimate, most expensive first, so that descriptions can be trimmed where it
+ * pays off. The memory is listed as the average over the stored conversations.
+ *
+ * @param items the parts of the prompt, most expensive first
+ * @param totalTokens the estimated tokens of all parts
+ */
+public record TokenFootprint(List<Item> items, int totalTokens) {
+
+  /** What a part of the prompt is. */
+  public enum Kind {
+    SYSTEM_PROMPT,
+    TOOL_DESCRIPTION,
+    TOOL_SCHEMA,
+    MEMORY
+  }
+
+  /**
+   * A part of the prompt.
+   *
+   * @param kind what the part is
+   * @param name the tool name for tool parts, otherwise a short label
+   * @param tokens the estimated tokens of the part
+   */
+  public record Item(Kind kind, String name, int tokens) {}
+
+  public TokenFootprint {
+    items = List.copyOf(items);
+  }
+
+  /**
+   * Measures the footprint of a prompt setup.
+   *
+   * @param systemPrompt the system prompt
+   * @param tools the tools offered to the model
+   * @param conversations the remembered messages of each stored conversation
+   * @return the footprint
+   */
+  public static TokenFootprint measure(
+      String systemPrompt,
+      Collection<ToolSchema> tools,
+      Collection<? extends List<Message>> conversations) {
+    List<Item> items = new ArrayList<>();
+    items.add(new Item(Kind.SYSTEM_PROMPT, "system prompt", TokenEstimator.estimate(systemPrompt)));
+    for (ToolSchema tool : tools) {
+      items.add(
+          new Item(
+              Kind.TOOL_DESCRIPTION,
+              tool.name(),
+              TokenEstimator.estimate(tool.definition().description())));
+      items.add(
+          new Item(
+              Kind.TOOL_SCHEMA,
+              tool.name(),
+              TokenEstimator.estimate(tool.definition().inputSchema())));
+    }
+    items.add(
+        new Item(
+            Kind.MEMORY,
+            "average of " + conversations.size() + " conversations",
+            averageMemoryTokens(conversations)));
+    items.sort(Comparator.comparingInt(Item::tokens).reversed().thenComparing(Item::name));
+    return new TokenFootprint(items, items.stream().mapToInt(Item::tokens).sum());
+  }
+
+  private static int averageMemoryTokens(Collection<? extends List<Message>> conversations) {
+    if (conversations.isEmpty()) {
+      return 0;
+    }
+    long tokens = 0;
+    for (List<Message> messages : conversations) {
+      for (Message message : messages) {
+        tokens += TokenEstimator.estimate(message.getText());
+      }
+    }
+    return Math.toIntExact(Math.round((double) tokens / conversations.size()));
+  }
+}
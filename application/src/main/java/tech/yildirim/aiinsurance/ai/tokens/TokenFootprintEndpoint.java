@@ -0,0 +1,48 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import java.util.List;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+
+/**
+ * Actuator endpoint {@code /actuator/tokenfootprint} reporting the {@link TokenFootprint} of the
+ * running application: the configured system prompt, the registered tools and the conversations
+ * currently held in the chat memory. Like all actuator endpoints except health, it requires the
+ * operator role.
+ */
+@Component
+@Endpoint(id = "tokenfootprint")
+public class TokenFootprintEndpoint {
+
+  private final String systemPrompt;
+  private final ToolSchemaRegistry toolSchemaRegistry;
+  private final ChatMemoryRepository chatMemoryRepository;
+
+  public TokenFootprintEndpoint(
+      @Value("${config.default-prompt}") String systemPrompt,
+      ToolSchemaRegistry toolSchemaRegistry,
+      ChatMemoryRepository chatMemoryRepository) {
+    this.systemPrompt = systemPrompt;
+    this.toolSchemaRegistry = toolSchemaRegistry;
+    this.chatMemoryRepository = chatMemoryRepository;
+  }
+
+  /**
+   * Measures the current token footprint.
+   *
+   * @return the footprint, most expensive parts first
+   */
+  @ReadOperation
+  public TokenFootprint footprint() {
+    List<List<Message>> conversations =
+        chatMemoryRepository.findConversationIds().stream()
+            .map(chatMemoryRepository::findByConversationId)
+            .toList();
+    return TokenFootprint.measure(systemPrompt, toolSchemaRegistry.schemas(), conversations);
+  }
+}
@@ -0,0 +1,65 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Resolves AI functions declared as {@code Function} beans into tool callbacks that send their
+ * results to the model through a dedicated {@link ToolCallResultConverter}.
+ *
+ * <p>Spring AI's own bean resolver serializes results with its default converter, which cannot be
+ * replaced. This resolver builds the same {@link FunctionToolCallback}s, but with the configured
+ * converter and with the definition precomputed by the {@link ToolSchemaRegistry}, so no schema is
+ * generated while a chat request is answered. Names that are not in the registry resolve to
+ * {@code null}, so that the next resolver in the chain can handle them.
+ */
+public class FunctionToolCallbackResolver implements ToolCallbackResolver {
+
+  private final ConfigurableListableBeanFactory beanFactory;
+  private final ToolSchemaRegistry schemaRegistry;
+  private final ToolCallResultConverter resultConverter;
+  private final Map<String, ToolCallback> callbacks = new ConcurrentHashMap<>();
+
+  public FunctionToolCallbackResolver(
+      ConfigurableListableBeanFactory beanFactory,
+      ToolSchemaRegistry schemaRegistry,
+      ToolCallResultConverter resultConverter) {
+    this.beanFactory = beanFactory;
+    this.schemaRegistry = schemaRegistry;
+    this.resultConverter = resultConverter;
+  }
+
+  @Override
+  public ToolCallback resolve(String toolName) {
+    ToolCallback callback = callbacks.get(toolName);
+    if (callback != null) {
+      return callback;
+    }
+    callback = buildCallback(toolName);
+    if (callback != null) {
+      callbacks.putIfAbsent(toolName, callback);
+    }
+    return callback;
+  }
+
+  @SuppressWarnings("unchecked")
+  private ToolCallback buildCallback(String toolName) {
+    Optional<ToolSchema> schema = schemaRegistry.find(toolName);
+    if (schema.isEmpty() || !(beanFactory.getBean(toolName) instanceof Function<?, ?> function)) {
+      return null;
+    }
+    return FunctionToolCallback.builder(toolName, (Function<Object, Object>) function)
+        .description(schema.get().definition().description())
+        .inputSchema(schema.get().definition().inputSchema())
+        .inputType(schema.get().inputType())
+        .toolCallResultConverter(resultConverter)
+        .build();
+  }
+}
@@ -0,0 +1,111 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+
+/**
+ * Serializes tool results in the compact form sent back to the model.
+ *
+ * <p>Every tool result stays in the conversation memory and is resent on later turns, so its size
+ * is paid many times. Compared to the default Jackson serialization, this converter:
+ *
+ * <ul>
+ *   <li>flattens {@link ResponseWrapper}: a successful response is sent as its data alone and a
+ *       failed one as {@code {"error": "..."}}
+ *   <li>omits {@code null} values and empty strings, collections and maps; {@code 0} and {@code
+ *       false} are kept because they carry meaning in policy and claim data
+ *   <li>writes dates as ISO-8601 strings and decimals without exponent
+ *   <li>restricts DTOs with a configured projection to the listed properties, also when nested
+ * </ul>
+ */
+public class ModelResultConverter implements ToolCallResultConverter {
+
+  private static final String SUCCESS_WITHOUT_DATA = "{\"success\":true}";
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates a converter.
+   *
+   * @param projections property names to keep, keyed by the simple class name of the DTO and
+   *     matched case-insensitively; DTOs without an entry are serialized with all non-empty
+   *     properties
+   */
+  public ModelResultConverter(Map<String, Set<String>> projections) {
+    Map<String, Set<String>> projectionsByDto = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    projectionsByDto.putAll(projections);
+    SimpleModule projectionModule = new SimpleModule("model-projections");
+    projectionModule.setSerializerModifier(new ProjectionModifier(projectionsByDto));
+    this.objectMapper =
+        JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(projectionModule)
+            .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+  }
+
+  @Override
+  public String convert(Object result, Type returnType) {
+    Object payload = result;
+    if (result instanceof ResponseWrapper<?> wrapper) {
+      if (!wrapper.isSuccess()) {
+        payload = Map.of("error", String.valueOf(wrapper.getErrorMessage()));
+      } else if (wrapper.getData() == null) {
+        return SUCCESS_WITHOUT_DATA;
+      } else {
+        payload = wrapper.getData();
+      }
+    }
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize tool result for the model", e);
+    }
+  }
+
+  /** Drops the properties of projected DTOs that are not part of their projection. */
+  private static final class ProjectionModifier extends BeanSerializerModifier {
+
+    private final Map<String, Set<String>> projections;
+
+    private ProjectionModifier(Map<String, Set<String>> projections) {
+      this.projections = projections;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(
+        SerializationConfig config,
+        BeanDescription beanDesc,
+        List<BeanPropertyWriter> beanProperties) {
+      Set<String> projection = projections.get(beanDesc.getBeanClass().getSimpleName());
+      if (projection == null) {
+        return beanProperties;
+      }
+      return beanProperties.stream()
+          .filter(property -> projection.contains(property.getName()))
+          .collect(Collectors.toCollection(ArrayList::new));
+    }
+  }
+}
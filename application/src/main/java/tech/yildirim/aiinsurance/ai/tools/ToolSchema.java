@@ -0,0 +1,31 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+/**
+ * The precomputed definition of an AI function offered to the model.
+ *
+ * @param definition the tool name, description and JSON schema of the input
+ * @param inputType the request type the model's arguments are converted to
+ * @param declaration the UTF-8 JSON declaration {@code {"name", "description", "parameters"}} as
+ *     sent to the model, read-only
+ */
+public record ToolSchema(ToolDefinition definition, Type inputType, ByteBuffer declaration) {
+
+  public ToolSchema {
+    declaration = declaration.asReadOnlyBuffer();
+  }
+
+  /** Returns the tool name. */
+  public String name() {
+    return definition.name();
+  }
+
+  /** Returns a read-only view of the declaration, positioned at its start. */
+  @Override
+  public ByteBuffer declaration() {
+    return declaration.duplicate();
+  }
+}
@@ -0,0 +1,192 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.util.json.schema.JsonSchemaGenerator;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Tool definitions of the AI functions, generated and validated once at startup.
+ *
+ * <p>The input schema of every tool is derived by reflection from its request record, which is
+ * too expensive to repeat while answering a chat request. The registry derives all schemas when
+ * the application starts, checks them, and keeps immutable {@link ToolSchema}s with the schema as
+ * a string and the whole declaration as pre-serialized bytes. A tool whose bean, description or
+ * schema is invalid fails the startup with a message listing every problem, instead of failing
+ * the first chat request that offers it to the model.
+ */
+public final class ToolSchemaRegistry {
+
+  /** Function names accepted by Gemini: a letter or underscore, then up to 63 more characters. */
+  private static final Pattern TOOL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_.-]{0,63}");
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * What a tool is derived from.
+   *
+   * @param name the tool name
+   * @param description the tool description, or {@code null} if there is none
+   * @param inputType the request type, or {@code null} if it cannot be resolved
+   */
+  public record ToolSource(String name, String description, Type inputType) {}
+
+  private final Map<String, ToolSchema> schemas;
+
+  /**
+   * Generates and validates the definitions of the given tools.
+   *
+   * @param sources the tools
+   * @throws IllegalStateException if any tool is invalid
+   */
+  public ToolSchemaRegistry(Collection<ToolSource> sources) {
+    Map<String, ToolSchema> generated = new LinkedHashMap<>();
+    List<String> errors = new ArrayList<>();
+    for (ToolSource source : sources) {
+      try {
+        generated.put(source.name(), generate(source));
+      } catch (IllegalArgumentException e) {
+        errors.add(source.name() + ": " + e.getMessage());
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new IllegalStateException(
+          "Invalid AI tool definitions:\n  " + String.join("\n  ", errors));
+    }
+    this.schemas = Map.copyOf(generated);
+  }
+
+  /**
+   * Generates the definitions of {@code Function} beans, with the description taken from {@link
+   * Description} and the input type from the bean's factory method.
+   *
+   * @param beanFactory the bean factory holding the function beans
+   * @param toolNames the bean names of the tools
+   * @return the registry
+   * @throws IllegalStateException if any tool is invalid
+   */
+  public static ToolSchemaRegistry forBeans(
+      ConfigurableListableBeanFactory beanFactory, Collection<String> toolNames) {
+    List<ToolSource> sources = new ArrayList<>();
+    for (String toolName : toolNames) {
+      if (!beanFactory.containsBeanDefinition(toolName)) {
+        sources.add(new ToolSource(toolName, null, null));
+        continue;
+      }
+      Description description = beanFactory.findAnnotationOnBean(toolName, Description.class);
+      sources.add(
+          new ToolSource(
+              toolName,
+              description != null ? description.value() : null,
+              inputType(beanFactory, toolName)));
+    }
+    return new ToolSchemaRegistry(sources);
+  }
+
+  private static Type inputType(ConfigurableListableBeanFactory beanFactory, String beanName) {
+    // Predicting the bean type resolves the factory method without creating the bean
+    beanFactory.getType(beanName);
+    BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+    Method factoryMethod =
+        definition instanceof RootBeanDefinition rootDefinition
+            ? rootDefinition.getResolvedFactoryMethod()
+            : null;
+    ResolvableType beanType =
+        factoryMethod != null
+            ? ResolvableType.forMethodReturnType(factoryMethod)
+            : definition.getResolvableType();
+    ResolvableType inputType = beanType.as(Function.class).getGeneric(0);
+    return inputType.resolve() != null ? inputType.getType() : null;
+  }
+
+  private static ToolSchema generate(ToolSource source) {
+    if (!TOOL_NAME.matcher(source.name()).matches()) {
+      throw new IllegalArgumentException("name is not a valid function name");
+    }
+    if (source.inputType() == null) {
+      throw new IllegalArgumentException("no Function bean with a resolvable input type");
+    }
+    if (source.description() == null || source.description().isBlank()) {
+      throw new IllegalArgumentException("no @Description");
+    }
+    String inputSchema = JsonSchemaGenerator.generateForType(source.inputType());
+    JsonNode parameters = validate(inputSchema);
+    ObjectNode declaration = OBJECT_MAPPER.createObjectNode();
+    declaration.put("name", source.name());
+    declaration.put("description", source.description());
+    declaration.set("parameters", parameters);
+    try {
+      return new ToolSchema(
+          DefaultToolDefinition.builder()
+              .name(source.name())
+              .description(source.description())
+              .inputSchema(inputSchema)
+              .build(),
+          source.inputType(),
+          ByteBuffer.wrap(OBJECT_MAPPER.writeValueAsBytes(declaration)));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("declaration cannot be serialized", e);
+    }
+  }
+
+  private static JsonNode validate(String inputSchema) {
+    JsonNode schema;
+    try {
+      schema = OBJECT_MAPPER.readTree(inputSchema);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("input schema is not valid JSON", e);
+    }
+    if (!"object".equals(schema.path("type").asText())) {
+      throw new IllegalArgumentException("input schema is not an object schema");
+    }
+    // A request without fields, such as GetPolicyConditionsReq, has no properties at all
+    JsonNode properties = schema.path("properties");
+    if (!properties.isMissingNode() && !properties.isObject()) {
+      throw new IllegalArgumentException("input schema properties are not an object");
+    }
+    for (JsonNode required : schema.path("required")) {
+      if (!properties.has(required.asText())) {
+        throw new IllegalArgumentException(
+            "required property " + required.asText() + " is not declared");
+      }
+    }
+    return schema;
+  }
+
+  /**
+   * Returns the definition of a tool.
+   *
+   * @param toolName the tool name
+   * @return the definition, or empty if the tool is not registered
+   */
+  public Optional<ToolSchema> find(String toolName) {
+    return Optional.ofNullable(schemas.get(toolName));
+  }
+
+  /**
+   * Returns the definitions of all registered tools.
+   *
+   * @return the definitions, in no particular order
+   */
+  public Collection<ToolSchema> schemas() {
+    return schemas.values();
+  }
+}
@@ -0,0 +1,39 @@
+package tech.yildirim.aiinsurance.audit;
+
+import java.time.Instant;
+
+/**
+ * Structured record of a single authorization decision taken for an AI function call.
+ *
+ * <p>Events are created on the request thread and handed to the {@link AuditTrail}; serialization
+ * and file I/O happen later on the background writer thread.
+ *
+ * @param timestamp the moment the decision was taken
+ * @param function the simple name of the intercepted AI function
+ * @param requestType the simple name of the request record passed to the function
+ * @param authenticatedCustomerId the customer ID of the authenticated user, if known
+ * @param requestedCustomerId the customer ID owning the requested resource, if resolved
+ * @param decision the outcome of the authorization check
+ * @param detail optional free-text detail such as an error message
+ */
+public record AuditEvent(
+    Instant timestamp,
+    String function,
+    String requestType,
+    Long authenticatedCustomerId,
+    Long requestedCustomerId,
+    Decision decision,
+    String detail) {
+
+  /** Outcome of an authorization check performed by the security layer. */
+  public enum Decision {
+    GRANTED,
+    DENIED,
+    BLOCKED,
+    UNAUTHENTICATED,
+    UNRESOLVED,
+    ERROR,
+    /** Synthetic event written by the audit writer when the ring buffer overflowed. */
+    DROPPED
+  }
+}
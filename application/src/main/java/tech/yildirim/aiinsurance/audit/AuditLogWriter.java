@@ -0,0 +1,126 @@
+package tech.yildirim.aiinsurance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only audit file with size based rotation.
+ *
+ * <p>Batches are appended to the active file as a single write. Once the active file would grow
+ * beyond the configured maximum size it is renamed to {@code <file>.1}, older archives are shifted
+ * ({@code .1} to {@code .2} and so on) and archives beyond the configured history are deleted.
+ *
+ * <p>This class is not thread-safe; it is owned by the audit writer thread.
+ */
+public class AuditLogWriter implements AutoCloseable {
+
+  private final Path file;
+  private final long maxFileSize;
+  private final int maxHistory;
+
+  private FileChannel channel;
+  private long currentSize;
+
+  /**
+   * Creates a writer for the given file.
+   *
+   * @param file the active audit file
+   * @param maxFileSize the size in bytes after which the file is rotated
+   * @param maxHistory the number of rotated archives to keep
+   */
+  public AuditLogWriter(Path file, long maxFileSize, int maxHistory) {
+    this.file = file;
+    this.maxFileSize = maxFileSize;
+    this.maxHistory = maxHistory;
+  }
+
+  /**
+   * Appends a batch of already serialized, newline terminated records.
+   *
+   * <p>If the append fails, the file is closed and reopened by the next call, and the batch stays
+   * positioned after the bytes that were written, so the caller can retry it as it is.
+   *
+   * @param batch the bytes to append
+   * @throws IOException if the file cannot be written or rotated
+   */
+  public void append(ByteBuffer batch) throws IOException {
+    try {
+      if (channel == null) {
+        open();
+      }
+      if (currentSize > 0 && currentSize + batch.remaining() > maxFileSize) {
+        rotate();
+      }
+      while (batch.hasRemaining()) {
+        currentSize += channel.write(batch);
+      }
+    } catch (IOException e) {
+      try {
+        close();
+      } catch (IOException closeFailure) {
+        e.addSuppressed(closeFailure);
+      }
+      throw e;
+    }
+  }
+
+  private void open() throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    currentSize = channel.size();
+  }
+
+  private void rotate() throws IOException {
+    channel.close();
+    channel = null;
+    Files.deleteIfExists(archive(maxHistory));
+    for (int index = maxHistory - 1; index >= 1; index--) {
+      Path source = archive(index);
+      if (Files.exists(source)) {
+        Files.move(source, archive(index + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    if (maxHistory > 0) {
+      Files.move(file, archive(1), StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.deleteIfExists(file);
+    }
+    open();
+  }
+
+  private Path archive(int index) {
+    return file.resolveSibling(file.getFileName() + "." + index);
+  }
+
+  /**
+   * Forces buffered content to the storage device.
+   *
+   * @throws IOException if the file cannot be synced
+   */
+  public void sync() throws IOException {
+    if (channel != null) {
+      channel.force(false);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      try {
+        channel.close();
+      } finally {
+        channel = null;
+      }
+    }
+  }
+}
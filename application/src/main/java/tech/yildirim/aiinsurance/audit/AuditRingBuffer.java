@@ -0,0 +1,124 @@
+package tech.yildirim.aiinsurance.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer for {@link AuditEvent}s.
+ *
+ * <p>Producers claim a slot with a single CAS on the tail cursor and never block or spin on a full
+ * buffer: when no slot is free the event is rejected and counted as dropped, so that the request
+ * thread is never held up by a slow writer. The single consumer drains events in publication order.
+ *
+ * <p>Each slot carries a sequence number that tells producers and the consumer whether the slot is
+ * free, published or still being written, following the classic bounded-queue design by Dmitry
+ * Vyukov.
+ */
+public class AuditRingBuffer {
+
+  private final int mask;
+  private final AtomicReferenceArray<AuditEvent> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+
+  /** Only ever touched by the consumer thread. */
+  private long head;
+
+  /**
+   * Creates a ring buffer able to hold at least {@code requestedCapacity} events.
+   *
+   * @param requestedCapacity minimum capacity, rounded up to the next power of two
+   */
+  public AuditRingBuffer(int requestedCapacity) {
+    if (requestedCapacity < 2) {
+      throw new IllegalArgumentException("Audit buffer capacity must be at least 2");
+    }
+    int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Publishes an event without blocking.
+   *
+   * @param event the event to publish
+   * @return {@code true} if the event was accepted, {@code false} if the buffer was full
+   */
+  public boolean offer(AuditEvent event) {
+    while (true) {
+      long position = tail.get();
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.set(index, event);
+          sequences.lazySet(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        dropped.increment();
+        return false;
+      }
+      // Another producer claimed this position first, retry with the new tail.
+    }
+  }
+
+  /**
+   * Moves up to {@code maxEvents} published events into {@code target}. Must only be called from
+   * the single consumer thread.
+   *
+   * @param target the list receiving the drained events
+   * @param maxEvents maximum number of events to drain
+   * @return the number of events drained
+   */
+  public int drainTo(List<AuditEvent> target, int maxEvents) {
+    int drained = 0;
+    while (drained < maxEvents) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) {
+        break;
+      }
+      target.add(slots.get(index));
+      slots.lazySet(index, null);
+      sequences.lazySet(index, head + mask + 1);
+      head++;
+      drained++;
+    }
+    return drained;
+  }
+
+  /**
+   * Returns and resets the number of events rejected because the buffer was full.
+   *
+   * @return the number of dropped events since the previous call
+   */
+  public long takeDroppedCount() {
+    return dropped.sumThenReset();
+  }
+
+  /**
+   * Returns an approximate number of events waiting to be drained.
+   *
+   * @return the approximate buffer depth
+   */
+  public long size() {
+    return Math.max(0, tail.get() - head);
+  }
+
+  /**
+   * Returns the actual capacity of the buffer.
+   *
+   * @return the number of slots
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+}
@@ -0,0 +1,203 @@
+package tech.yildirim.aiinsurance.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Asynchronous security audit trail.
+ *
+ * <p>Request threads call {@link #record(AuditEvent)}, which only publishes the event into a
+ * lock-free {@link AuditRingBuffer} and returns immediately. A dedicated background thread drains
+ * the buffer in batches, serializes each event as one JSON line and appends the batch to an
+ * append-only file managed by {@link AuditLogWriter}, which rotates it by size.
+ *
+ * <p>If producers outpace the writer and the buffer fills up, events are rejected rather than
+ * blocking the request thread. The writer then appends a {@link AuditEvent.Decision#DROPPED} record
+ * with the number of lost events so that gaps in the trail are always visible.
+ *
+ * <p>If the file cannot be opened, rotated or appended to, the writer keeps the failed batch and
+ * retries it with exponential backoff instead of giving up. Events published meanwhile wait in the
+ * buffer and, once it is full, are counted into the next {@code DROPPED} record.
+ */
+@Component
+@Slf4j
+public class AuditTrail implements SmartLifecycle {
+
+  private final AuditRingBuffer buffer;
+  private final ObjectMapper objectMapper;
+  private final Path file;
+  private final long maxFileSize;
+  private final int maxHistory;
+  private final int batchSize;
+  private final long idleParkNanos;
+
+  private static final long MIN_RETRY_NANOS = Duration.ofMillis(10).toNanos();
+  private static final long MAX_RETRY_NANOS = Duration.ofSeconds(5).toNanos();
+
+  private volatile boolean running;
+  private Thread writerThread;
+
+  public AuditTrail(
+      ObjectMapper objectMapper,
+      @Value("${insurance.audit.file:logs/security-audit.log}") Path file,
+      @Value("${insurance.audit.buffer-capacity:8192}") int bufferCapacity,
+      @Value("${insurance.audit.batch-size:256}") int batchSize,
+      @Value("${insurance.audit.max-file-size:10MB}") DataSize maxFileSize,
+      @Value("${insurance.audit.max-history:10}") int maxHistory,
+      @Value("${insurance.audit.flush-interval:200ms}") Duration flushInterval) {
+    this.objectMapper = objectMapper;
+    this.buffer = new AuditRingBuffer(bufferCapacity);
+    this.file = file;
+    this.batchSize = batchSize;
+    this.maxFileSize = maxFileSize.toBytes();
+    this.maxHistory = maxHistory;
+    this.idleParkNanos = flushInterval.toNanos();
+  }
+
+  /**
+   * Publishes an audit event. Never blocks and never performs I/O on the calling thread.
+   *
+   * @param event the event to record
+   */
+  public void record(AuditEvent event) {
+    buffer.offer(event);
+  }
+
+  /**
+   * Returns the approximate number of events waiting to be written.
+   *
+   * @return the current buffer depth
+   */
+  public long pendingEvents() {
+    return buffer.size();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    writerThread = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (writerThread != null) {
+      LockSupport.unpark(writerThread);
+      try {
+        writerThread.join(Duration.ofSeconds(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void writeLoop() {
+    AuditLogWriter writer = new AuditLogWriter(file, maxFileSize, maxHistory);
+    List<AuditEvent> batch = new ArrayList<>(batchSize);
+    PendingBatch pending = null;
+    long retryNanos = initialRetryNanos();
+    while (running) {
+      if (pending == null) {
+        pending = nextBatch(batch);
+      }
+      if (pending == null) {
+        LockSupport.parkNanos(idleParkNanos);
+      } else if (append(writer, pending)) {
+        pending = null;
+        retryNanos = initialRetryNanos();
+      } else {
+        // Keep the batch and retry; new events meanwhile overflow into a DROPPED record.
+        LockSupport.parkNanos(retryNanos);
+        retryNanos = Math.min(retryNanos * 2, MAX_RETRY_NANOS);
+      }
+    }
+    // Drain whatever was published before shutdown, trying every batch once.
+    long lost = 0;
+    do {
+      if (pending != null && !append(writer, pending)) {
+        lost += pending.events();
+      }
+      pending = nextBatch(batch);
+    } while (pending != null);
+    if (lost > 0) {
+      log.error(
+          "{} audit events were lost on shutdown because {} could not be written", lost, file);
+    }
+    try (writer) {
+      writer.sync();
+    } catch (IOException e) {
+      log.error("Security audit trail {} could not be synced on shutdown", file, e);
+    }
+  }
+
+  private long initialRetryNanos() {
+    return Math.max(idleParkNanos, MIN_RETRY_NANOS);
+  }
+
+  private PendingBatch nextBatch(List<AuditEvent> batch) {
+    long dropped = buffer.takeDroppedCount();
+    if (dropped > 0) {
+      batch.add(
+          new AuditEvent(
+              Instant.now(),
+              null,
+              null,
+              null,
+              null,
+              AuditEvent.Decision.DROPPED,
+              dropped + " audit events dropped because the buffer was full"));
+    }
+    buffer.drainTo(batch, batchSize);
+    if (batch.isEmpty()) {
+      return null;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 192);
+    for (AuditEvent event : batch) {
+      try {
+        bytes.writeBytes(objectMapper.writeValueAsBytes(event));
+        bytes.write('\n');
+      } catch (JsonProcessingException e) {
+        log.error("Could not serialize audit event {}", event, e);
+      }
+    }
+    PendingBatch pending = new PendingBatch(ByteBuffer.wrap(bytes.toByteArray()), batch.size());
+    batch.clear();
+    return pending;
+  }
+
+  private boolean append(AuditLogWriter writer, PendingBatch pending) {
+    try {
+      writer.append(pending.bytes());
+      return true;
+    } catch (IOException e) {
+      log.error("Could not append to security audit trail {}, retrying", file, e);
+      return false;
+    }
+  }
+
+  /**
+   * Serialized batch waiting to be appended. A failed append leaves the buffer positioned after
+   * the bytes that did reach the file, so a retry continues where the failure left off.
+   */
+  private record PendingBatch(ByteBuffer bytes, int events) {}
+}
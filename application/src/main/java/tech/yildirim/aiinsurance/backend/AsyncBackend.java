@@ -0,0 +1,45 @@
+package tech.yildirim.aiinsurance.backend;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+
+/**
+ * Backend operations used by services that fan out to the insurance backend and compose the
+ * results, returning futures instead of blocking the caller.
+ *
+ * <p>{@code insurance.backend.client} selects the implementation: {@code feign} (default) runs the
+ * blocking Feign clients on the backend executor, {@code async} uses the generated non-blocking
+ * clients. Failed calls complete the future exceptionally with the backend exception; use {@link
+ * BackendFailures#join} to wait for a result.
+ */
+public interface AsyncBackend {
+
+  /** Fetches a customer by ID. The future completes with {@code null} on an empty body. */
+  CompletableFuture<CustomerDto> getCustomerById(Long customerId);
+
+  /** Fetches all policies of a customer. */
+  CompletableFuture<List<PolicyDto>> getPoliciesByCustomerId(Long customerId);
+
+  /**
+   * Fetches all auto claims of a policy, reading every backend page, optionally only those with the
+   * given status.
+   */
+  CompletableFuture<List<AutoClaimDto>> getAutoClaimsByPolicyId(Long policyId, String status);
+
+  /**
+   * Fetches all home claims of a policy, reading every backend page, optionally only those with the
+   * given status.
+   */
+  CompletableFuture<List<HomeClaimDto>> getHomeClaimsByPolicyId(Long policyId, String status);
+
+  /**
+   * Fetches all health claims of a policy, reading every backend page, optionally only those with the
+   * given status.
+   */
+  CompletableFuture<List<HealthClaimDto>> getHealthClaimsByPolicyId(Long policyId, String status);
+}
@@ -0,0 +1,85 @@
+package tech.yildirim.aiinsurance.backend;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+
+/**
+ * Classifies failures of calls to the insurance backend made through the generated Feign clients.
+ *
+ * <p>The clients run inside a per-operation circuit breaker, semaphore bulkhead and time limiter.
+ * When one of them rejects a call, the failure is translated into a short message the AI can relay
+ * to the customer instead of an exception, so the tool answers immediately rather than waiting for
+ * a backend that is known to be down or overloaded.
+ */
+public final class BackendFailures {
+
+  static final String CIRCUIT_OPEN =
+      "The insurance system is temporarily unavailable. Please try again in a few minutes.";
+  static final String BULKHEAD_FULL =
+      "The insurance system is busy right now. Please try again shortly.";
+  static final String TIMED_OUT =
+      "The insurance system did not respond in time. Please try again shortly.";
+
+  private BackendFailures() {}
+
+  /**
+   * Returns a customer-facing message if the failure was caused by an open circuit, a full bulkhead
+   * or a timeout.
+   *
+   * @param failure the failure thrown by a backend call
+   * @return the message, or empty if the failure is not a resilience rejection
+   */
+  public static Optional<String> unavailableMessage(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof CallNotPermittedException) {
+        return Optional.of(CIRCUIT_OPEN);
+      }
+      if (cause instanceof BulkheadFullException) {
+        return Optional.of(BULKHEAD_FULL);
+      }
+      if (cause instanceof TimeoutException) {
+        return Optional.of(TIMED_OUT);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Removes the wrapper the circuit breaker adds around failures of calls without a fallback, so
+   * callers see the original backend exception, e.g. a {@code FeignException.NotFound}.
+   *
+   * @param failure the failure thrown by a backend call
+   * @return the original runtime exception, or {@code failure} itself if it is not wrapped
+   */
+  public static RuntimeException unwrap(RuntimeException failure) {
+    if (failure instanceof NoFallbackAvailableException
+        && failure.getCause() instanceof RuntimeException cause) {
+      return cause;
+    }
+    return failure;
+  }
+
+  /**
+   * Waits for a backend call started on the backend executor and rethrows its failure as the
+   * original backend exception rather than a {@link CompletionException}.
+   *
+   * @param call the running backend call
+   * @param <T> the result type
+   * @return the result of the call
+   */
+  public static <T> T join(CompletableFuture<T> call) {
+    try {
+      return call.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw unwrap(cause);
+      }
+      throw e;
+    }
+  }
+}
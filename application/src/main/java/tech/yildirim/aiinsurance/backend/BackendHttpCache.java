@@ -0,0 +1,166 @@
+package tech.yildirim.aiinsurance.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Feign {@link Capability} that keeps a local HTTP cache of backend GET responses, keyed by URL,
+ * and revalidates it with conditional requests. It wraps the HTTP client of every Feign client it
+ * is added to; all of them share the cache.
+ *
+ * <p>A {@code 200} response carrying an {@code ETag} or {@code Last-Modified} validator is stored.
+ * The next GET of the same URL sends {@code If-None-Match} and {@code If-Modified-Since}; when the
+ * backend answers {@code 304 Not Modified}, the stored response is returned instead, so the body is
+ * not transferred again. Every read still reaches the backend, so a cached body is never served
+ * without the backend confirming it is current.
+ *
+ * <p>The cache is bounded by the total size of the stored bodies and evicts the least recently used
+ * entries first. Writes to a URL drop its entry. Hits and misses are exported as {@code cache.gets}
+ * with the cache name {@code backend-http}; revalidation outcomes and the body bytes they saved as
+ * {@code backend.http.cache.revalidations} and {@code backend.http.cache.saved}.
+ */
+public class BackendHttpCache implements Capability {
+
+  /** Cache name used for the Micrometer cache metrics. */
+  public static final String CACHE_NAME = "backend-http";
+
+  private record Stored(
+      int status,
+      String reason,
+      Map<String, Collection<String>> headers,
+      byte[] body,
+      String etag,
+      String lastModified) {}
+
+  private final Cache<String, Stored> responses;
+  private final Counter notModified;
+  private final Counter modified;
+  private final Counter savedBytes;
+
+  public BackendHttpCache(
+      DataSize maxSize, Duration expireAfterAccess, MeterRegistry meterRegistry) {
+    this.responses =
+        Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .<String, Stored>weigher((url, stored) -> url.length() + stored.body().length)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    this.notModified = revalidations(meterRegistry, "not_modified");
+    this.modified = revalidations(meterRegistry, "modified");
+    this.savedBytes =
+        Counter.builder("backend.http.cache.saved")
+            .description("Response body bytes served from the cache after a 304")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+  }
+
+  private static Counter revalidations(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("backend.http.cache.revalidations")
+        .description("Conditional GETs sent for cached backend responses")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Client enrich(Client client) {
+    return (request, options) -> execute(client, request, options);
+  }
+
+  private Response execute(Client delegate, Request request, Request.Options options)
+      throws IOException {
+    if (request.httpMethod() != HttpMethod.GET) {
+      responses.invalidate(request.url());
+      return delegate.execute(request, options);
+    }
+
+    Stored stored = responses.getIfPresent(request.url());
+    if (stored == null) {
+      return store(request, delegate.execute(request, options));
+    }
+
+    Response response = delegate.execute(conditional(request, stored), options);
+    if (response.status() == 304) {
+      response.close();
+      notModified.increment();
+      savedBytes.increment(stored.body().length);
+      return Response.builder()
+          .status(stored.status())
+          .reason(stored.reason())
+          .headers(stored.headers())
+          .body(stored.body())
+          .request(request)
+          .build();
+    }
+    modified.increment();
+    return store(request, response);
+  }
+
+  /** Returns the request with the validators of the stored response added. */
+  private static Request conditional(Request request, Stored stored) {
+    Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+    if (stored.etag() != null) {
+      headers.put(HttpHeaders.IF_NONE_MATCH, List.of(stored.etag()));
+    }
+    if (stored.lastModified() != null) {
+      headers.put(HttpHeaders.IF_MODIFIED_SINCE, List.of(stored.lastModified()));
+    }
+    return Request.create(
+        request.httpMethod(),
+        request.url(),
+        headers,
+        request.body(),
+        request.charset(),
+        request.requestTemplate());
+  }
+
+  /**
+   * Stores a successful response that carries a validator and returns it with its body buffered.
+   * Other responses are returned unchanged, and drop any stored response for the URL.
+   */
+  private Response store(Request request, Response response) throws IOException {
+    String etag = header(response, HttpHeaders.ETAG);
+    String lastModified = header(response, HttpHeaders.LAST_MODIFIED);
+    if (response.status() != 200
+        || response.body() == null
+        || (etag == null && lastModified == null)) {
+      responses.invalidate(request.url());
+      return response;
+    }
+
+    byte[] body;
+    try (response;
+        InputStream in = response.body().asInputStream()) {
+      body = Util.toByteArray(in);
+    }
+    responses.put(
+        request.url(),
+        new Stored(
+            response.status(), response.reason(), response.headers(), body, etag, lastModified));
+    return response.toBuilder().body(body).build();
+  }
+
+  private static String header(Response response, String name) {
+    Collection<String> values = response.headers().get(name);
+    return values == null || values.isEmpty() ? null : values.iterator().next();
+  }
+}
@@ -0,0 +1,105 @@
+package tech.yildirim.aiinsurance.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Reads complete lists from paginated backend operations such as {@code getAutoClaimsByPolicyId}.
+ *
+ * <p>The backend answers a list request without {@code page} and {@code size} with its default
+ * page only, so callers that need the whole list, for a {@code ListSummary} or the ownership
+ * index, request pages of {@link #PAGE_SIZE} items starting at page {@code 0} until one comes back
+ * short. {@link #MAX_PAGES} bounds the number of requests for a single list.
+ */
+@Slf4j
+public final class BackendPages {
+
+  /** Number of items requested per page; a shorter page is the last one. */
+  public static final int PAGE_SIZE = 100;
+
+  /** Maximum number of pages read for a single list. */
+  public static final int MAX_PAGES = 100;
+
+  private BackendPages() {}
+
+  /**
+   * Requests one page of a backend list.
+   *
+   * @param <R> the response type
+   */
+  @FunctionalInterface
+  public interface PageRequest<R> {
+
+    /**
+     * Requests a page.
+     *
+     * @param page the zero-based page index
+     * @param size the page size
+     * @return the response for the page
+     */
+    R fetch(int page, int size);
+  }
+
+  /**
+   * Reads all pages of a list with blocking calls.
+   *
+   * @param <T> the item type
+   * @param request the call for one page
+   * @return the items of all pages in backend order
+   */
+  public static <T> List<T> fetchAll(PageRequest<ResponseEntity<List<T>>> request) {
+    List<T> all = new ArrayList<>();
+    for (int page = 0; page < MAX_PAGES; page++) {
+      List<T> items = bodyOf(request.fetch(page, PAGE_SIZE));
+      all.addAll(items);
+      if (items.size() < PAGE_SIZE) {
+        return all;
+      }
+    }
+    log.warn("Stopped reading a backend list after {} pages of {} items", MAX_PAGES, PAGE_SIZE);
+    return all;
+  }
+
+  /**
+   * Reads all pages of a list with non-blocking calls, requesting each page once the previous one
+   * arrived.
+   *
+   * @param <T> the item type
+   * @param request the call for one page
+   * @return a future completing with the items of all pages in backend order
+   */
+  public static <T> CompletableFuture<List<T>> fetchAllAsync(
+      PageRequest<CompletableFuture<ResponseEntity<List<T>>>> request) {
+    return fetchFrom(request, 0, new ArrayList<>());
+  }
+
+  private static <T> CompletableFuture<List<T>> fetchFrom(
+      PageRequest<CompletableFuture<ResponseEntity<List<T>>>> request, int page, List<T> all) {
+    return request
+        .fetch(page, PAGE_SIZE)
+        .thenCompose(
+            response -> {
+              List<T> items = bodyOf(response);
+              all.addAll(items);
+              if (items.size() < PAGE_SIZE) {
+                return CompletableFuture.completedFuture(all);
+              }
+              if (page + 1 >= MAX_PAGES) {
+                log.warn(
+                    "Stopped reading a backend list after {} pages of {} items",
+                    MAX_PAGES,
+                    PAGE_SIZE);
+                return CompletableFuture.completedFuture(all);
+              }
+              return fetchFrom(request, page + 1, all);
+            });
+  }
+
+  private static <T> List<T> bodyOf(ResponseEntity<List<T>> response) {
+    return Objects.requireNonNullElse(response.getBody(), List.of());
+  }
+}
@@ -0,0 +1,84 @@
+package tech.yildirim.aiinsurance.backend;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.config.ConcurrencyConfig;
+
+/**
+ * {@link AsyncBackend} on top of the blocking Feign clients. Every call parks a virtual thread of
+ * the backend executor while it waits for the response, and runs inside the circuit breaker,
+ * bulkhead and time limiter of its Feign operation.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "insurance.backend.client",
+    havingValue = "feign",
+    matchIfMissing = true)
+public class ExecutorAsyncBackend implements AsyncBackend {
+
+  private final CustomersApiClient customersApiClient;
+  private final PoliciesApiClient policiesApiClient;
+  private final Executor backendExecutor;
+
+  public ExecutorAsyncBackend(
+      CustomersApiClient customersApiClient,
+      PoliciesApiClient policiesApiClient,
+      @Qualifier(ConcurrencyConfig.BACKEND_EXECUTOR) Executor backendExecutor) {
+    this.customersApiClient = customersApiClient;
+    this.policiesApiClient = policiesApiClient;
+    this.backendExecutor = backendExecutor;
+  }
+
+  @Override
+  public CompletableFuture<CustomerDto> getCustomerById(Long customerId) {
+    return call(() -> customersApiClient.getCustomerById(customerId));
+  }
+
+  @Override
+  public CompletableFuture<List<PolicyDto>> getPoliciesByCustomerId(Long customerId) {
+    return call(() -> customersApiClient.getPoliciesByCustomerId(customerId));
+  }
+
+  @Override
+  public CompletableFuture<List<AutoClaimDto>> getAutoClaimsByPolicyId(
+      Long policyId, String status) {
+    return allPages(
+        (page, size) -> policiesApiClient.getAutoClaimsByPolicyId(policyId, page, size, status));
+  }
+
+  @Override
+  public CompletableFuture<List<HomeClaimDto>> getHomeClaimsByPolicyId(
+      Long policyId, String status) {
+    return allPages(
+        (page, size) -> policiesApiClient.getHomeClaimsByPolicyId(policyId, page, size, status));
+  }
+
+  @Override
+  public CompletableFuture<List<HealthClaimDto>> getHealthClaimsByPolicyId(
+      Long policyId, String status) {
+    return allPages(
+        (page, size) -> policiesApiClient.getHealthClaimsByPolicyId(policyId, page, size, status));
+  }
+
+  private <T> CompletableFuture<T> call(Supplier<ResponseEntity<T>> call) {
+    return CompletableFuture.supplyAsync(() -> call.get().getBody(), backendExecutor);
+  }
+
+  private <T> CompletableFuture<List<T>> allPages(
+      BackendPages.PageRequest<ResponseEntity<List<T>>> request) {
+    return CompletableFuture.supplyAsync(() -> BackendPages.fetchAll(request), backendExecutor);
+  }
+}
@@ -0,0 +1,66 @@
+package tech.yildirim.aiinsurance.backend;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.api.generated.clients.async.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.async.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+
+/**
+ * {@link AsyncBackend} on top of the generated non-blocking clients. Requests are sent with the
+ * JDK HttpClient's asynchronous API, so no thread waits while a call is in flight.
+ *
+ * <p>Calls bypass the Spring Cloud circuit breakers of the Feign clients; they are bounded by the
+ * request timeout of the async client instead.
+ *
+ * @see tech.yildirim.aiinsurance.config.NonBlockingBackendConfig
+ */
+public class NonBlockingAsyncBackend implements AsyncBackend {
+
+  private final CustomersApiClient customersApiClient;
+  private final PoliciesApiClient policiesApiClient;
+
+  public NonBlockingAsyncBackend(
+      CustomersApiClient customersApiClient, PoliciesApiClient policiesApiClient) {
+    this.customersApiClient = customersApiClient;
+    this.policiesApiClient = policiesApiClient;
+  }
+
+  @Override
+  public CompletableFuture<CustomerDto> getCustomerById(Long customerId) {
+    return customersApiClient.getCustomerById(customerId).thenApply(ResponseEntity::getBody);
+  }
+
+  @Override
+  public CompletableFuture<List<PolicyDto>> getPoliciesByCustomerId(Long customerId) {
+    return customersApiClient
+        .getPoliciesByCustomerId(customerId)
+        .thenApply(ResponseEntity::getBody);
+  }
+
+  @Override
+  public CompletableFuture<List<AutoClaimDto>> getAutoClaimsByPolicyId(
+      Long policyId, String status) {
+    return BackendPages.fetchAllAsync(
+        (page, size) -> policiesApiClient.getAutoClaimsByPolicyId(policyId, page, size, status));
+  }
+
+  @Override
+  public CompletableFuture<List<HomeClaimDto>> getHomeClaimsByPolicyId(
+      Long policyId, String status) {
+    return BackendPages.fetchAllAsync(
+        (page, size) -> policiesApiClient.getHomeClaimsByPolicyId(policyId, page, size, status));
+  }
+
+  @Override
+  public CompletableFuture<List<HealthClaimDto>> getHealthClaimsByPolicyId(
+      Long policyId, String status) {
+    return BackendPages.fetchAllAsync(
+        (page, size) -> policiesApiClient.getHealthClaimsByPolicyId(policyId, page, size, status));
+  }
+}
@@ -0,0 +1,72 @@
+package tech.yildirim.aiinsurance.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import tech.yildirim.aiinsurance.backend.BackendHttpCache;
+
+/**
+ * Observability and caching for the HTTP client shared by the generated Feign clients of the
+ * insurance backend.
+ *
+ * <p>The clients use the pooled Apache HttpClient 5 connection manager that Spring Cloud OpenFeign
+ * creates when {@code feign-hc5} is on the classpath; pool sizes, connection time-to-live and
+ * timeouts are configured under {@code spring.cloud.openfeign.httpclient}. Setting {@code
+ * spring.cloud.openfeign.http2client.enabled=true} (and disabling {@code httpclient.hc5}) switches
+ * to the JDK HttpClient, which multiplexes requests over HTTP/2 connections instead.
+ *
+ * <p>Whichever client is active, GET responses are cached and revalidated with conditional requests
+ * by the {@link BackendHttpCache} unless {@code insurance.backend.http-cache.enabled} is false.
+ */
+@Configuration
+public class BackendHttpClientConfig {
+
+  /** Pool name used for the {@code httpcomponents.httpclient.pool.*} metrics. */
+  public static final String BACKEND_POOL = "insurance-backend";
+
+  /**
+   * Publishes total, available, leased and pending connection counts of the backend connection
+   * pool, if the pooled Apache HttpClient 5 client is active.
+   *
+   * @param connectionManagers the connection manager created by Spring Cloud OpenFeign, if any
+   * @return the meter binder
+   */
+  @Bean
+  public MeterBinder backendConnectionPoolMetrics(
+      ObjectProvider<HttpClientConnectionManager> connectionManagers) {
+    return registry ->
+        connectionManagers.ifAvailable(
+            connectionManager -> {
+              if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, BACKEND_POOL)
+                    .bindTo(registry);
+              }
+            });
+  }
+
+  /**
+   * Caches backend GET responses and revalidates them with conditional requests.
+   *
+   * @return the cache, added by Spring Cloud OpenFeign to every generated client
+   */
+  @Bean
+  @ConditionalOnProperty(
+      name = "insurance.backend.http-cache.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public BackendHttpCache backendHttpCache(
+      MeterRegistry meterRegistry,
+      @Value("${insurance.backend.http-cache.max-size:32MB}") DataSize maxSize,
+      @Value("${insurance.backend.http-cache.expire-after-access:30m}") Duration expireAfterAccess) {
+    return new BackendHttpCache(maxSize, expireAfterAccess, meterRegistry);
+  }
+}
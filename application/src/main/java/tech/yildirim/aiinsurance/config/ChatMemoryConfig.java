@@ -0,0 +1,62 @@
+package tech.yildirim.aiinsurance.config;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Conversation memory of the assistant. Every HTTP session is a conversation of its own, whose
+ * messages are dropped when the session ends. The repository is a bean of its own so that the
+ * stored conversations can be inspected, for example by the token footprint endpoint.
+ */
+@Configuration
+public class ChatMemoryConfig {
+
+  /** Number of most recent messages of a conversation sent with every prompt. */
+  public static final int MAX_MESSAGES = 100;
+
+  /**
+   * Creates the repository holding the messages of all conversations.
+   *
+   * @return the chat memory repository
+   */
+  @Bean
+  public ChatMemoryRepository chatMemoryRepository() {
+    return new InMemoryChatMemoryRepository();
+  }
+
+  /**
+   * Creates the chat memory that keeps the last {@value #MAX_MESSAGES} messages of a conversation.
+   *
+   * @param chatMemoryRepository the repository holding the messages
+   * @return the chat memory
+   */
+  @Bean
+  public ChatMemory chatMemory(ChatMemoryRepository chatMemoryRepository) {
+    return MessageWindowChatMemory.builder()
+        .chatMemoryRepository(chatMemoryRepository)
+        .maxMessages(MAX_MESSAGES)
+        .build();
+  }
+
+  /**
+   * Creates the listener that drops the conversation of an HTTP session when the session ends.
+   *
+   * @param chatMemory the chat memory
+   * @return the session listener
+   */
+  @Bean
+  public HttpSessionListener chatMemorySessionListener(ChatMemory chatMemory) {
+    return new HttpSessionListener() {
+      @Override
+      public void sessionDestroyed(HttpSessionEvent event) {
+        chatMemory.clear(event.getSession().getId());
+      }
+    };
+  }
+}
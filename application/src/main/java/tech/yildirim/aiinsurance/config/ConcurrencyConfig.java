@@ -0,0 +1,24 @@
+package tech.yildirim.aiinsurance.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Executors used to fan out blocking backend calls. */
+@Configuration
+public class ConcurrencyConfig {
+
+  public static final String BACKEND_EXECUTOR = "backendExecutor";
+
+  /**
+   * Executor for parallel calls to the insurance backend. Each task runs on its own virtual thread,
+   * so blocking Feign calls do not tie up platform threads while they wait on I/O.
+   *
+   * @return the backend executor
+   */
+  @Bean(name = BACKEND_EXECUTOR, destroyMethod = "close")
+  public ExecutorService backendExecutor() {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("backend-", 0).factory());
+  }
+}
@@ -0,0 +1,108 @@
+package tech.yildirim.aiinsurance.config;
+
+import feign.AsyncFeign;
+import feign.Request;
+import feign.http2client.Http2Client;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.yildirim.aiinsurance.api.generated.clients.async.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.async.PoliciesApiClient;
+import tech.yildirim.aiinsurance.backend.AsyncBackend;
+import tech.yildirim.aiinsurance.backend.NonBlockingAsyncBackend;
+
+/**
+ * Non-blocking backend clients, active when {@code insurance.backend.client=async}.
+ *
+ * <p>The async flavor of the generated clients ({@code api.generated.clients.async}) has the same
+ * operations as the Feign clients, but every operation returns a {@code CompletableFuture}. The
+ * clients are built with AsyncFeign, the Spring MVC contract and the application's message
+ * converters, and send requests with the JDK HttpClient's asynchronous API over HTTP/2 where the
+ * backend supports it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "insurance.backend.client", havingValue = "async")
+public class NonBlockingBackendConfig {
+
+  private final String baseUrl;
+  private final Duration connectTimeout;
+  private final Duration requestTimeout;
+
+  public NonBlockingBackendConfig(
+      @Value("${insurance.service.base-url:http://localhost:8080}") String baseUrl,
+      @Value("${insurance.backend.async.connect-timeout:2s}") Duration connectTimeout,
+      @Value("${insurance.backend.async.request-timeout:5s}") Duration requestTimeout) {
+    this.baseUrl = baseUrl;
+    this.connectTimeout = connectTimeout;
+    this.requestTimeout = requestTimeout;
+  }
+
+  /**
+   * The JDK HttpClient shared by the non-blocking clients.
+   *
+   * @return the HTTP client
+   */
+  @Bean
+  public HttpClient nonBlockingBackendHttpClient() {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(connectTimeout)
+        .build();
+  }
+
+  @Bean
+  public CustomersApiClient asyncCustomersApiClient(
+      HttpClient nonBlockingBackendHttpClient,
+      ObjectFactory<HttpMessageConverters> messageConverters,
+      ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+    return client(
+        CustomersApiClient.class, nonBlockingBackendHttpClient, messageConverters, customizers);
+  }
+
+  @Bean
+  public PoliciesApiClient asyncPoliciesApiClient(
+      HttpClient nonBlockingBackendHttpClient,
+      ObjectFactory<HttpMessageConverters> messageConverters,
+      ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+    return client(
+        PoliciesApiClient.class, nonBlockingBackendHttpClient, messageConverters, customizers);
+  }
+
+  @Bean
+  public AsyncBackend nonBlockingAsyncBackend(
+      CustomersApiClient asyncCustomersApiClient, PoliciesApiClient asyncPoliciesApiClient) {
+    return new NonBlockingAsyncBackend(asyncCustomersApiClient, asyncPoliciesApiClient);
+  }
+
+  private <T> T client(
+      Class<T> type,
+      HttpClient httpClient,
+      ObjectFactory<HttpMessageConverters> messageConverters,
+      ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+    return AsyncFeign.builder()
+        .client(new Http2Client(httpClient))
+        .contract(new SpringMvcContract())
+        .encoder(new SpringEncoder(messageConverters))
+        .decoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers)))
+        .options(
+            new Request.Options(
+                connectTimeout.toMillis(),
+                TimeUnit.MILLISECONDS,
+                requestTimeout.toMillis(),
+                TimeUnit.MILLISECONDS,
+                true))
+        .target(type, baseUrl);
+  }
+}
@@ -1,14 +1,21 @@
 package tech.yildirim.aiinsurance.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
 import org.springframework.security.oauth2.client.oidc.web.logout.OidcClientInitiatedLogoutSuccessHandler;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
+import tech.yildirim.aiinsurance.security.CustomerOidcUserService;
 
 @Configuration
 @EnableWebSecurity
@@ -16,7 +23,10 @@ public class SecurityConfig {
 
   @Bean
   public SecurityFilterChain filterChain(
-      HttpSecurity http, ClientRegistrationRepository clientRegistrationRepository)
+      HttpSecurity http,
+      ClientRegistrationRepository clientRegistrationRepository,
+      ObjectProvider<OAuth2UserService<OidcUserRequest, OidcUser>> oidcUserServices,
+      @Value("${insurance.security.operator-group:insurance-operators}") String operatorGroup)
       throws Exception {
     http.csrf(AbstractHttpConfigurer::disable) // Disable CSRF for OAuth2 flow
         .authorizeHttpRequests(
@@ -38,6 +48,10 @@ public class SecurityConfig {
                     // Error page
                     .requestMatchers("/error")
                     .permitAll()
+                    // Metrics, token footprint and any other actuator endpoint are for
+                    // operators, not customers
+                    .requestMatchers("/actuator", "/actuator/**")
+                    .hasRole(CustomerOidcUserService.OPERATOR_ROLE)
                     // All other requests require authentication
                     .anyRequest()
                     .authenticated())
@@ -45,6 +59,13 @@ public class SecurityConfig {
             oauth2 ->
                 oauth2
                     .loginPage("/oauth2/authorization/okta")
+                    // Resolve the customer ID once at login instead of on every AI function call
+                    .userInfoEndpoint(
+                        userInfo ->
+                            userInfo.oidcUserService(
+                                new CustomerOidcUserService(
+                                    oidcUserServices.getIfAvailable(OidcUserService::new),
+                                    operatorGroup)))
                     .defaultSuccessUrl("/", true)
                     .failureUrl("/login?error"))
         .logout(
@@ -0,0 +1,101 @@
+package tech.yildirim.aiinsurance.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
+import org.springframework.ai.tool.resolution.SpringBeanToolCallbackResolver;
+import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import tech.yildirim.aiinsurance.ai.functions.Functions;
+import tech.yildirim.aiinsurance.ai.tools.FunctionToolCallbackResolver;
+import tech.yildirim.aiinsurance.ai.tools.ModelResultConverter;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+
+/**
+ * Tool calling setup for the AI functions.
+ *
+ * <p>Replaces Spring AI's default {@link ToolCallbackResolver} with the same resolver chain, except
+ * that {@code Function} beans are resolved by {@link FunctionToolCallbackResolver} so their results
+ * reach the model in the compact form produced by {@link ModelResultConverter}.
+ */
+@Configuration
+public class ToolCallingConfig {
+
+  /** Per-DTO property projections applied to tool results, keyed by DTO simple class name. */
+  public static final String PROJECTIONS = "insurance.ai.tool-results.projections";
+
+  /**
+   * Creates the converter for tool results sent to the model. Relaxed binding lower-cases the map
+   * keys, which is why the converter matches DTO names case-insensitively.
+   *
+   * @param environment the environment holding the projections
+   * @return the tool result converter
+   */
+  @Bean
+  public ModelResultConverter modelResultConverter(Environment environment) {
+    Map<String, Set<String>> projections = new HashMap<>();
+    Binder.get(environment)
+        .bind(PROJECTIONS, Bindable.mapOf(String.class, String[].class))
+        .ifBound(
+            bound ->
+                bound.forEach(
+                    (dto, fields) -> projections.put(dto, Set.copyOf(Arrays.asList(fields)))));
+    return new ModelResultConverter(projections);
+  }
+
+  /**
+   * Generates and validates the definitions of all AI functions, so that an invalid tool fails the
+   * startup.
+   *
+   * @param applicationContext the application context holding the function beans
+   * @return the tool schema registry
+   */
+  @Bean
+  public ToolSchemaRegistry toolSchemaRegistry(GenericApplicationContext applicationContext) {
+    return ToolSchemaRegistry.forBeans(
+        applicationContext.getBeanFactory(), Functions.ALL_FUNCTIONS);
+  }
+
+  /**
+   * Resolves tool names in the same order as Spring AI's default: explicit tool callbacks first,
+   * then AI function beans with the compact result converter, then any other tool beans.
+   *
+   * @param applicationContext the application context holding the function beans
+   * @param toolCallbacks tool callbacks declared as beans
+   * @param toolCallbackProviders providers of further tool callbacks
+   * @param toolSchemaRegistry the precomputed definitions of the AI functions
+   * @param modelResultConverter the converter for results of AI function beans
+   * @return the tool callback resolver
+   */
+  @Bean
+  public ToolCallbackResolver toolCallbackResolver(
+      GenericApplicationContext applicationContext,
+      List<ToolCallback> toolCallbacks,
+      List<ToolCallbackProvider> toolCallbackProviders,
+      ToolSchemaRegistry toolSchemaRegistry,
+      ModelResultConverter modelResultConverter) {
+    List<ToolCallback> staticCallbacks = new ArrayList<>(toolCallbacks);
+    toolCallbackProviders.forEach(
+        provider -> staticCallbacks.addAll(Arrays.asList(provider.getToolCallbacks())));
+    return new DelegatingToolCallbackResolver(
+        List.of(
+            new StaticToolCallbackResolver(staticCallbacks),
+            new FunctionToolCallbackResolver(
+                applicationContext.getBeanFactory(), toolSchemaRegistry, modelResultConverter),
+            SpringBeanToolCallbackResolver.builder()
+                .applicationContext(applicationContext)
+                .build()));
+  }
+}
@@ -1,10 +1,15 @@
 package tech.yildirim.aiinsurance.controller;
 
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudgetExceededException;
 import tech.yildirim.aiinsurance.service.ChatService;
 
 /**
@@ -37,15 +42,30 @@ public class ChatController {
 
   /**
    * Receives a chat message from the user, processes it via the ChatService, and returns the AI's
-   * response.
+   * response. The HTTP session identifies the conversation, so a retried message is recognized as
+   * the same turn.
    *
    * @param chatRequest The request object containing the user's message.
+   * @param session The HTTP session of the logged-in user.
    * @return A response object containing the AI's reply.
    */
   @PostMapping
-  public ChatResponse chat(@RequestBody ChatRequest chatRequest) {
-    String aiResponse = chatService.getAiResponse(chatRequest.message());
+  public ChatResponse chat(@RequestBody ChatRequest chatRequest, HttpSession session) {
+    String aiResponse = chatService.getAiResponse(chatRequest.message(), session.getId());
     return new ChatResponse(aiResponse);
   }
 
+  /**
+   * Answers a message over the input budget with {@code 413 Content Too Large} and a reply asking
+   * the user to shorten it.
+   *
+   * @param exception the budget violation
+   * @return the error response
+   */
+  @ExceptionHandler(InputBudgetExceededException.class)
+  public ResponseEntity<ChatResponse> inputBudgetExceeded(InputBudgetExceededException exception) {
+    return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+        .body(new ChatResponse(exception.getMessage()));
+  }
+
 }
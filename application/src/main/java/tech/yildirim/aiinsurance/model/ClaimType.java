@@ -0,0 +1,8 @@
+package tech.yildirim.aiinsurance.model;
+
+/** The claim families exposed by the insurance backend, each with its own identifier space. */
+public enum ClaimType {
+  AUTO,
+  HOME,
+  HEALTH
+}
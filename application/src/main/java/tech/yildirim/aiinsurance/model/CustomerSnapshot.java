@@ -0,0 +1,22 @@
+package tech.yildirim.aiinsurance.model;
+
+import java.util.List;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+
+/**
+ * A bounded overview of a customer: the profile, the first page of policies and the most recent
+ * claims of those policies.
+ *
+ * @param customer the customer profile
+ * @param policies the first page of policies, most recent first, with a summary of all policies
+ * @param claimSummary aggregates over all claims of the policies on the page
+ * @param recentClaims the most recent claims of the policies on the page
+ * @param unavailable the parts that could not be loaded, empty if the snapshot is complete
+ */
+public record CustomerSnapshot(
+    CustomerDto customer,
+    ListPage<PolicyDto> policies,
+    ListSummary claimSummary,
+    List<TypedClaim> recentClaims,
+    List<String> unavailable) {}
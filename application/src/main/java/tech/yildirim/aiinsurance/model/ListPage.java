@@ -0,0 +1,14 @@
+package tech.yildirim.aiinsurance.model;
+
+import java.util.List;
+
+/**
+ * A bounded page of a list returned by an AI function, together with a summary of the whole list.
+ *
+ * @param <T> the item type
+ * @param items the items of this page, most recent first
+ * @param summary aggregates over all items, not only this page
+ * @param nextCursor the cursor to pass to the same function for the next page, or {@code null} on
+ *     the last page
+ */
+public record ListPage<T>(List<T> items, ListSummary summary, String nextCursor) {}
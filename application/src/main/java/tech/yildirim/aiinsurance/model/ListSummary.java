@@ -0,0 +1,22 @@
+package tech.yildirim.aiinsurance.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Aggregates over a complete list returned by an AI function, so the assistant can answer
+ * questions about the whole list from the first page.
+ *
+ * @param total the number of items in the list
+ * @param countsByStatus the number of items per status, if the items have one
+ * @param totalAmount the sum of the items' premiums or estimated amounts, if they have one
+ * @param newest the most recent start or incident date
+ * @param oldest the earliest start or incident date
+ */
+public record ListSummary(
+    int total,
+    Map<String, Long> countsByStatus,
+    BigDecimal totalAmount,
+    LocalDate newest,
+    LocalDate oldest) {}
@@ -0,0 +1,16 @@
+package tech.yildirim.aiinsurance.model;
+
+import java.util.List;
+
+/**
+ * A bounded page of the claims of all types of a set of policies, together with a summary of all
+ * those claims.
+ *
+ * @param items the claims of this page, most recent incident first
+ * @param summary aggregates over all loaded claims, not only this page
+ * @param nextCursor the cursor to pass with the same policies for the next page, or {@code null} on
+ *     the last page
+ * @param unavailable the claim lookups that failed, empty if all claims were loaded
+ */
+public record PolicyClaimsPage(
+    List<TypedClaim> items, ListSummary summary, String nextCursor, List<String> unavailable) {}
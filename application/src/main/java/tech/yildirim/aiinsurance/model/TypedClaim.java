@@ -0,0 +1,12 @@
+package tech.yildirim.aiinsurance.model;
+
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+
+/**
+ * A claim of any type, tagged with its {@link ClaimType} so that claims from the separate auto,
+ * home and health identifier spaces can be listed together without ambiguity.
+ *
+ * @param type the claim type
+ * @param claim the claim
+ */
+public record TypedClaim(ClaimType type, ClaimDto claim) {}
@@ -2,7 +2,8 @@ package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 
-public record CreateAutoClaimReq(AutoClaimDto autoClaimDto) implements IPolicyIDIdentifiableReq {
+public record CreateAutoClaimReq(AutoClaimDto autoClaimDto)
+    implements IPolicyIDIdentifiableReq, IMutatingReq {
 
   @Override
   public Long policyId() {
@@ -3,7 +3,7 @@ package tech.yildirim.aiinsurance.model.ai.request;
 import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
 
 public record CreateHealthClaimReq(HealthClaimDto healthClaimDto)
-    implements IPolicyIDIdentifiableReq {
+    implements IPolicyIDIdentifiableReq, IMutatingReq {
 
   @Override
   public Long policyId() {
@@ -2,7 +2,8 @@ package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
 
-public record CreateHomeClaimReq(HomeClaimDto homeClaimDto) implements IPolicyIDIdentifiableReq {
+public record CreateHomeClaimReq(HomeClaimDto homeClaimDto)
+    implements IPolicyIDIdentifiableReq, IMutatingReq {
 
   @Override
   public Long policyId() {
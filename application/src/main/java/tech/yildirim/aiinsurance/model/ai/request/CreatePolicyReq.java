@@ -2,7 +2,8 @@ package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
 
-public record CreatePolicyReq(PolicyDto policyDto) implements ICustomerIdentifiableReq {
+public record CreatePolicyReq(PolicyDto policyDto)
+    implements ICustomerIdentifiableReq, IMutatingReq {
 
   @Override
   public Long customerId() {
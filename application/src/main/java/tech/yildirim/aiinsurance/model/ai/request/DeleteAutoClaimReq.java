@@ -1,3 +1,11 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record DeleteAutoClaimReq(Long claimId) implements IClaimReq {}
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+public record DeleteAutoClaimReq(Long claimId) implements IClaimIdentifiableReq, IMutatingReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.AUTO;
+  }
+}
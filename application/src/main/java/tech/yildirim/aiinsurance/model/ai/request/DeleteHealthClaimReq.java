@@ -1,3 +1,11 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record DeleteHealthClaimReq(Long claimId) implements IClaimReq {}
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+public record DeleteHealthClaimReq(Long claimId) implements IClaimIdentifiableReq, IMutatingReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.HEALTH;
+  }
+}
@@ -2,4 +2,4 @@ package tech.yildirim.aiinsurance.model.ai.request;
 
 import jakarta.annotation.Nullable;
 
-public record GetAllCustomersReq(@Nullable String name) {}
+public record GetAllCustomersReq(@Nullable String name, @Nullable String cursor) {}
@@ -1,3 +1,5 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record GetAllPoliciesReq() {}
+import jakarta.annotation.Nullable;
+
+public record GetAllPoliciesReq(@Nullable String cursor) {}
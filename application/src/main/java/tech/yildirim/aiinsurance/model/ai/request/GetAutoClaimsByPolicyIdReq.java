@@ -1,4 +1,7 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record GetAutoClaimsByPolicyIdReq(Long policyId, Integer page, Integer size, String status)
+import jakarta.annotation.Nullable;
+
+public record GetAutoClaimsByPolicyIdReq(
+    Long policyId, @Nullable String status, @Nullable String cursor)
     implements IPolicyIDIdentifiableReq {}
@@ -0,0 +1,8 @@
+package tech.yildirim.aiinsurance.model.ai.request;
+
+import jakarta.annotation.Nullable;
+import java.util.List;
+
+public record GetClaimsByPolicyIdsReq(
+    List<Long> policyIds, @Nullable String status, @Nullable String cursor)
+    implements IPolicyIDsIdentifiableReq {}
@@ -0,0 +1,3 @@
+package tech.yildirim.aiinsurance.model.ai.request;
+
+public record GetCustomerSnapshotReq(Long customerId) implements ICustomerIdentifiableReq {}
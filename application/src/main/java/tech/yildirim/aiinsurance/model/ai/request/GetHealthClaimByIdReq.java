@@ -1,3 +1,11 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record GetHealthClaimByIdReq(Long claimId) implements IClaimReq {}
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+public record GetHealthClaimByIdReq(Long claimId) implements IClaimIdentifiableReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.HEALTH;
+  }
+}
@@ -1,3 +1,6 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
-public record GetPoliciesByCustomerIdReq(Long customerId) implements ICustomerIdentifiableReq {}
+import jakarta.annotation.Nullable;
+
+public record GetPoliciesByCustomerIdReq(Long customerId, @Nullable String cursor)
+    implements ICustomerIdentifiableReq {}
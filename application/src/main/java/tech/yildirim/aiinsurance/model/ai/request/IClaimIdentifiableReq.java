@@ -0,0 +1,10 @@
+package tech.yildirim.aiinsurance.model.ai.request;
+
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+public interface IClaimIdentifiableReq extends IClaimReq {
+
+  Long claimId();
+
+  ClaimType claimType();
+}
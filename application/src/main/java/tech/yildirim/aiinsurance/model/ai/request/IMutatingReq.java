@@ -0,0 +1,7 @@
+package tech.yildirim.aiinsurance.model.ai.request;
+
+/**
+ * Marks requests that create, change or delete policies or claims, so that cached ownership data
+ * of the calling customer is refreshed after the call.
+ */
+public interface IMutatingReq {}
@@ -0,0 +1,8 @@
+package tech.yildirim.aiinsurance.model.ai.request;
+
+import java.util.List;
+
+public interface IPolicyIDsIdentifiableReq {
+
+  List<Long> policyIds();
+}
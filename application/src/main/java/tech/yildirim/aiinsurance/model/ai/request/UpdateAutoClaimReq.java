@@ -1,5 +1,13 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
 
-public record UpdateAutoClaimReq(Long claimId, AutoClaimDto autoClaimDto) implements IClaimReq {}
+public record UpdateAutoClaimReq(Long claimId, AutoClaimDto autoClaimDto)
+    implements IClaimIdentifiableReq, IMutatingReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.AUTO;
+  }
+}
@@ -1,6 +1,13 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
 
 public record UpdateHealthClaimReq(Long claimId, HealthClaimDto healthClaimDto)
-    implements IClaimReq {}
+    implements IClaimIdentifiableReq, IMutatingReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.HEALTH;
+  }
+}
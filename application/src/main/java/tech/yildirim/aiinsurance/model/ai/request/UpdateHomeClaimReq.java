@@ -1,5 +1,13 @@
 package tech.yildirim.aiinsurance.model.ai.request;
 
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
 
-public record UpdateHomeClaimReq(Long claimId, HomeClaimDto homeClaimDto) implements IClaimReq {}
+public record UpdateHomeClaimReq(Long claimId, HomeClaimDto homeClaimDto)
+    implements IClaimIdentifiableReq, IMutatingReq {
+
+  @Override
+  public ClaimType claimType() {
+    return ClaimType.HOME;
+  }
+}
@@ -3,7 +3,7 @@ package tech.yildirim.aiinsurance.model.ai.request;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
 
 public record UpdatePolicyReq(Long policyId, PolicyDto policyDto)
-    implements ICustomerIdentifiableReq {
+    implements ICustomerIdentifiableReq, IMutatingReq {
 
   @Override
   public Long customerId() {
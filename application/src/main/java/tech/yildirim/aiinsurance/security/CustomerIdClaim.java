@@ -0,0 +1,47 @@
+package tech.yildirim.aiinsurance.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+/**
+ * Parses the {@code insurance_user_id} claim that links an identity provider account to an
+ * insurance customer. This is the only place the claim is interpreted; it runs once per login in
+ * {@link CustomerOidcUserService}.
+ */
+@Slf4j
+public final class CustomerIdClaim {
+
+  /** Name of the ID token claim carrying the insurance customer ID. */
+  public static final String NAME = "insurance_user_id";
+
+  private CustomerIdClaim() {}
+
+  /**
+   * Reads the customer ID from the claims of an OIDC user.
+   *
+   * @param oidcUser the authenticated OIDC user
+   * @return the customer ID, or {@code null} if the claim is missing or not a number
+   */
+  public static Long resolve(OidcUser oidcUser) {
+    Object insuranceUserIdClaim = oidcUser.getClaim(NAME);
+    if (insuranceUserIdClaim == null) {
+      log.warn("insurance_user_id claim not found in JWT token");
+      return null;
+    }
+
+    try {
+      return switch (insuranceUserIdClaim) {
+        case Number insuranceUserId -> insuranceUserId.longValue();
+        case String insuranceUserId -> Long.parseLong(insuranceUserId);
+        default -> {
+          log.warn(
+              "insurance_user_id claim has unexpected type: {}", insuranceUserIdClaim.getClass());
+          yield null;
+        }
+      };
+    } catch (NumberFormatException e) {
+      log.warn("insurance_user_id claim is not a valid number: {}", insuranceUserIdClaim);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package tech.yildirim.aiinsurance.security;
+
+import java.io.Serial;
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+/**
+ * OIDC principal that carries the insurance customer ID resolved once at login, so that
+ * authorization checks read a field instead of parsing token claims on every AI function call. It
+ * is stored with the authentication in the HTTP session.
+ */
+@Getter
+public class CustomerOidcUser extends DefaultOidcUser {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** The customer ID from the {@code insurance_user_id} claim, {@code null} if unavailable. */
+  private final Long customerId;
+
+  public CustomerOidcUser(OidcUser oidcUser, String nameAttributeKey, Long customerId) {
+    this(oidcUser, oidcUser.getAuthorities(), nameAttributeKey, customerId);
+  }
+
+  public CustomerOidcUser(
+      OidcUser oidcUser,
+      Collection<? extends GrantedAuthority> authorities,
+      String nameAttributeKey,
+      Long customerId) {
+    super(
+        authorities,
+        oidcUser.getIdToken(),
+        oidcUser.getUserInfo(),
+        nameAttributeKey);
+    this.customerId = customerId;
+  }
+}
@@ -0,0 +1,59 @@
+package tech.yildirim.aiinsurance.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.util.StringUtils;
+
+/**
+ * Loads the OIDC user through the delegate user service and resolves the insurance customer ID from
+ * its claims once, at login, returning a {@link CustomerOidcUser}.
+ *
+ * <p>Users whose {@code groups} claim contains the configured operator group are granted {@code
+ * ROLE_OPERATOR}, which the actuator endpoints other than health require.
+ */
+@RequiredArgsConstructor
+public class CustomerOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
+
+  /** Role of the operators allowed to read the actuator endpoints. */
+  public static final String OPERATOR_ROLE = "OPERATOR";
+
+  /** ID token claim listing the groups of the user. */
+  static final String GROUPS_CLAIM = "groups";
+
+  private final OAuth2UserService<OidcUserRequest, OidcUser> delegate;
+  private final String operatorGroup;
+
+  @Override
+  public OidcUser loadUser(OidcUserRequest userRequest) {
+    OidcUser oidcUser = delegate.loadUser(userRequest);
+    String nameAttributeKey =
+        userRequest
+            .getClientRegistration()
+            .getProviderDetails()
+            .getUserInfoEndpoint()
+            .getUserNameAttributeName();
+    if (!StringUtils.hasText(nameAttributeKey)) {
+      nameAttributeKey = IdTokenClaimNames.SUB;
+    }
+    return new CustomerOidcUser(
+        oidcUser, authorities(oidcUser), nameAttributeKey, CustomerIdClaim.resolve(oidcUser));
+  }
+
+  private Collection<? extends GrantedAuthority> authorities(OidcUser oidcUser) {
+    List<String> groups = oidcUser.getClaimAsStringList(GROUPS_CLAIM);
+    if (!StringUtils.hasText(operatorGroup) || groups == null || !groups.contains(operatorGroup)) {
+      return oidcUser.getAuthorities();
+    }
+    List<GrantedAuthority> authorities = new ArrayList<>(oidcUser.getAuthorities());
+    authorities.add(new SimpleGrantedAuthority("ROLE_" + OPERATOR_ROLE));
+    return authorities;
+  }
+}
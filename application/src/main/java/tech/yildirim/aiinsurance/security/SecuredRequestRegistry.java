@@ -0,0 +1,160 @@
+package tech.yildirim.aiinsurance.security;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.model.ai.request.IClaimIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.ICustomerIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDsIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyNumberIdentifiableReq;
+import tech.yildirim.aiinsurance.service.CustomerService;
+
+/**
+ * Startup-built dispatch table that maps every request type accepted by a {@link SecuredAI}
+ * function to the extractor resolving the customer who owns the requested resource.
+ *
+ * <p>Once all singletons are created, the registry inspects the factory method of every {@code
+ * Function} bean annotated with {@link SecuredAI}, including prototypes that were not created yet,
+ * resolves the function's input type and selects the matching extractor from the request marker
+ * interfaces. The application fails to start if a secured function that is reachable by the AI
+ * accepts a request type without an extractor, so new functions cannot silently end up unauthorized
+ * at runtime.
+ *
+ * <p>Per call, {@link #ownerOf(Object)} is a single lookup keyed by the request class.
+ *
+ * @see SecurityAspect
+ */
+@Component
+@Slf4j
+public class SecuredRequestRegistry implements SmartInitializingSingleton {
+
+  /** Resolves the customer who owns the resource a request targets. */
+  @FunctionalInterface
+  public interface OwnershipExtractor {
+
+    /**
+     * Resolves the owning customer.
+     *
+     * @param request the AI function request
+     * @return the owning customer ID
+     * @throws IllegalArgumentException if the targeted policy or claim does not exist
+     */
+    Long ownerOf(Object request);
+  }
+
+  private final ConfigurableListableBeanFactory beanFactory;
+  private final CustomerService customerService;
+  private final Map<Class<?>, OwnershipExtractor> extractors = new ConcurrentHashMap<>();
+
+  public SecuredRequestRegistry(
+      ConfigurableListableBeanFactory beanFactory, @Lazy CustomerService customerService) {
+    this.beanFactory = beanFactory;
+    this.customerService = customerService;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    List<String> unsupported = new ArrayList<>();
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      Method factoryMethod = factoryMethod(beanName);
+      if (factoryMethod != null && !register(factoryMethod)) {
+        unsupported.add(beanName);
+      }
+    }
+    if (!unsupported.isEmpty()) {
+      throw new IllegalStateException(
+          "No ownership extractor for the request types of secured AI functions: " + unsupported);
+    }
+    log.info("Registered ownership extractors for {} secured AI request types", extractors.size());
+  }
+
+  private Method factoryMethod(String beanName) {
+    BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+    if (!(definition instanceof RootBeanDefinition rootDefinition)
+        || definition.isAbstract()
+        || definition.getFactoryMethodName() == null) {
+      return null;
+    }
+    if (rootDefinition.getResolvedFactoryMethod() != null) {
+      return rootDefinition.getResolvedFactoryMethod();
+    }
+    // Beans that were never created, such as prototypes, have their factory method resolved only
+    // by type prediction
+    beanFactory.getType(beanName, false);
+    return beanFactory.getMergedBeanDefinition(beanName) instanceof RootBeanDefinition predicted
+        ? predicted.getResolvedFactoryMethod()
+        : null;
+  }
+
+  /**
+   * Registers the request type of a {@link SecuredAI} function factory method. Methods without the
+   * annotation and functions blocked for AI, which never reach ownership extraction, are skipped.
+   *
+   * @param factoryMethod the {@code @Bean} method creating the function
+   * @return {@code false} if the method is a secured function whose request type has no extractor
+   */
+  public boolean register(Method factoryMethod) {
+    SecuredAI securedAI =
+        AnnotatedElementUtils.findMergedAnnotation(factoryMethod, SecuredAI.class);
+    if (securedAI == null || securedAI.blockedForAI()) {
+      return true;
+    }
+    Class<?> requestType =
+        ResolvableType.forMethodReturnType(factoryMethod).as(Function.class).resolveGeneric(0);
+    OwnershipExtractor extractor = requestType == null ? null : extractorFor(requestType);
+    if (extractor == null) {
+      return false;
+    }
+    extractors.put(requestType, extractor);
+    return true;
+  }
+
+  /**
+   * Resolves the customer who owns the resource the request targets.
+   *
+   * @param request the AI function request
+   * @return the owning customer ID, or {@code null} if the request type is not registered
+   * @throws IllegalArgumentException if the targeted policy or claim does not exist
+   */
+  public Long ownerOf(Object request) {
+    OwnershipExtractor extractor = extractors.get(request.getClass());
+    return extractor == null ? null : extractor.ownerOf(request);
+  }
+
+  private OwnershipExtractor extractorFor(Class<?> requestType) {
+    if (ICustomerIdentifiableReq.class.isAssignableFrom(requestType)) {
+      return request -> ((ICustomerIdentifiableReq) request).customerId();
+    }
+    if (IPolicyIDIdentifiableReq.class.isAssignableFrom(requestType)) {
+      return request ->
+          customerService.getCustomerIdByPolicyId(((IPolicyIDIdentifiableReq) request).policyId());
+    }
+    if (IPolicyIDsIdentifiableReq.class.isAssignableFrom(requestType)) {
+      return request ->
+          customerService.getCustomerIdByPolicyIds(
+              ((IPolicyIDsIdentifiableReq) request).policyIds());
+    }
+    if (IPolicyNumberIdentifiableReq.class.isAssignableFrom(requestType)) {
+      return request ->
+          customerService.getCustomerIdByPolicyNumber(
+              ((IPolicyNumberIdentifiableReq) request).policyNumber());
+    }
+    if (IClaimIdentifiableReq.class.isAssignableFrom(requestType)) {
+      return customerService::getCustomerIdByClaimRequestType;
+    }
+    return null;
+  }
+}
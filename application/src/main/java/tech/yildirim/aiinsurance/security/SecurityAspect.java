@@ -1,18 +1,23 @@
 package tech.yildirim.aiinsurance.security;
 
+import java.time.Instant;
 import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.ai.outbox.OutboxReceipt;
+import tech.yildirim.aiinsurance.audit.AuditEvent;
+import tech.yildirim.aiinsurance.audit.AuditEvent.Decision;
+import tech.yildirim.aiinsurance.audit.AuditTrail;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
-import tech.yildirim.aiinsurance.model.ai.request.IClaimReq;
-import tech.yildirim.aiinsurance.model.ai.request.ICustomerIdentifiableReq;
-import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDIdentifiableReq;
-import tech.yildirim.aiinsurance.model.ai.request.IPolicyNumberIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IMutatingReq;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
 import tech.yildirim.aiinsurance.service.CustomerService;
 
 /**
@@ -33,7 +38,8 @@ import tech.yildirim.aiinsurance.service.CustomerService;
  *   <li><strong>AI Access Control:</strong> Respects {@code @SecuredAI(blockedForAI=true)}
  *       annotations to prevent AI access to sensitive operations
  *   <li><strong>Ownership Chain Validation:</strong> Follows resource ownership chains (Customer →
- *       Policy → Claim) for complex authorization using {@link CustomerService}
+ *       Policy → Claim) for complex authorization using {@link CustomerService}, dispatched
+ *       through the extractors {@link SecuredRequestRegistry} builds at startup
  * </ul>
  *
  * <h3>Supported Request Types</h3>
@@ -44,7 +50,9 @@ import tech.yildirim.aiinsurance.service.CustomerService;
  *   <li><strong>Policy Operations:</strong> Policy creation, retrieval, and updates (CreatePolicy,
  *       GetPolicyById, GetPolicyByPolicyNumber, UpdatePolicy)
  *   <li><strong>Claims by Policy:</strong> Retrieving claims associated with specific policies
- *       (GetAutoClaimsByPolicyId, GetHomeClaimsByPolicyId, GetHealthClaimsByPolicyId)
+ *       (GetAutoClaimsByPolicyId, GetHomeClaimsByPolicyId, GetHealthClaimsByPolicyId), and claims
+ *       of several policies at once (GetClaimsByPolicyIds), authorized with one decision for the
+ *       whole policy set
  *   <li><strong>Claim Operations:</strong> Claim creation, retrieval, and updates for all claim
  *       types (Auto, Home, Health)
  *   <li><strong>Customer Policy Listings:</strong> Retrieving policies owned by specific customers
@@ -55,15 +63,40 @@ import tech.yildirim.aiinsurance.service.CustomerService;
  *
  * <p>The aspect provides user-friendly error responses instead of throwing exceptions, ensuring the
  * AI receives proper error messages that can be communicated to users. All errors are wrapped in
- * {@link ResponseWrapper} objects with appropriate error messages.
+ * {@link ResponseWrapper} objects with appropriate error messages. Backend calls rejected by an
+ * open circuit breaker, a full bulkhead or a timeout are answered the same way (see {@link
+ * BackendFailures}).
+ *
+ * <h3>Auditing</h3>
+ *
+ * <p>Every authorization decision is published as a structured {@link AuditEvent} to the
+ * asynchronous {@link AuditTrail} instead of being logged synchronously, so the request thread never
+ * waits on log I/O while a complete security audit trail is still written.
+ *
+ * <h3>Ownership Index</h3>
+ *
+ * <p>Before walking the ownership chain remotely, the aspect consults the in-memory index of the
+ * authenticated customer kept by {@link OwnershipIndexService}. The index is a snapshot that can be
+ * up to {@link OwnershipIndexService#maxStaleness()} old, so only reads of resources found there
+ * are granted without a backend call, and the audit event records that window. Writes and
+ * everything else fall back to {@link CustomerService}. Calls with an {@link IMutatingReq} request
+ * trigger a reload of the customer's index.
  *
  * <h3>Architecture</h3>
  *
- * <p>This aspect delegates ownership validation logic to {@link CustomerService}, promoting
+ * <p>This aspect delegates ownership resolution to {@link SecuredRequestRegistry}, which maps every
+ * secured request type to an extractor backed by {@link CustomerService} at startup, promoting
  * separation of concerns and centralizing customer-related business logic. The service layer
  * handles the complex ownership chain validations while this aspect focuses purely on security
  * enforcement.
  *
+ * <h3>Ordering</h3>
+ *
+ * <p>The aspect runs at {@link #ORDER}. Aspects that wrap AI functions with behavior that must
+ * only apply to authorized calls, such as result caching, use a higher order value so that their
+ * wrapper runs inside the security check. The turn-scoped memo of read tool results uses a lower
+ * order value: a call it answers repeats one that already passed the check in the same turn.
+ *
  * <h3>Performance Considerations</h3>
  *
  * <p>Uses {@code @Lazy} annotations to prevent circular dependencies during Spring context
@@ -74,17 +107,25 @@ import tech.yildirim.aiinsurance.service.CustomerService;
  * @see SecuredAI
  * @see SecurityUtils
  * @see CustomerService
+ * @see SecuredRequestRegistry
  * @see ResponseWrapper
+ * @see AuditTrail
+ * @see OwnershipIndexService
  */
 @Aspect
 @Component
 @Lazy
+@Order(SecurityAspect.ORDER)
 @RequiredArgsConstructor
-@Slf4j
 public class SecurityAspect {
 
+  /** Precedence of the security check among the aspects wrapping AI functions. */
+  public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
   private final SecurityUtils securityUtils;
-  @Lazy private final CustomerService customerService;
+  private final SecuredRequestRegistry securedRequestRegistry;
+  private final AuditTrail auditTrail;
+  @Lazy private final OwnershipIndexService ownershipIndexService;
 
   /**
    * Main AOP interceptor method that wraps AI functions with comprehensive security validations.
@@ -136,19 +177,16 @@ public class SecurityAspect {
    * @param <R> the return type of the function (response object)
    * @param originalFunction the original function to be wrapped with security
    * @param securedAI the security annotation containing configuration flags
-   * @param joinPoint the AOP join point for logging and method identification
+   * @param joinPoint the AOP join point used to identify the function in audit events
    * @return a new function that applies security validations before calling the original function
    */
   @SuppressWarnings("unchecked")
   private <T, R> Function<T, R> wrapFunction(
       Function<T, R> originalFunction, SecuredAI securedAI, ProceedingJoinPoint joinPoint) {
+    String functionName = joinPoint.getSignature().getName();
     return request -> {
-      log.info("Intercepted function: {}", originalFunction.getClass().getSimpleName());
-
       if (securedAI != null && securedAI.blockedForAI()) {
-        String methodName = joinPoint.getSignature().getName();
-        log.warn("AI access blocked for method: {}", methodName);
-
+        audit(functionName, request, null, null, Decision.BLOCKED, null);
         return (R)
             createErrorResponse(
                 "This operation is not available through the AI assistant for security reasons. "
@@ -157,112 +195,132 @@ public class SecurityAspect {
 
       Long authenticatedCustomerId = securityUtils.getCurrentUserCustomerId();
       if (authenticatedCustomerId == null) {
-        log.warn("User is not authenticated");
+        audit(functionName, request, null, null, Decision.UNAUTHENTICATED, null);
         return (R) createErrorResponse("User is not authenticated");
       }
 
-      Long requestedCustomerId = extractCustomerIdFromRequest(request);
+      // A stale index may still list a resource moved to another customer: never trust it for
+      // writes
+      if (!(request instanceof IMutatingReq)
+          && ownershipIndexService.owns(authenticatedCustomerId, request)) {
+        audit(
+            functionName,
+            request,
+            authenticatedCustomerId,
+            authenticatedCustomerId,
+            Decision.GRANTED,
+            "ownership-index snapshot, up to " + ownershipIndexService.maxStaleness() + " old");
+        return applyAndRefreshIndex(originalFunction, request, authenticatedCustomerId);
+      }
+
+      Long requestedCustomerId;
+      try {
+        requestedCustomerId = extractCustomerIdFromRequest(request);
+      } catch (RuntimeException e) {
+        audit(functionName, request, authenticatedCustomerId, null, Decision.ERROR, e.getMessage());
+        return (R) backendFailureResponse(e);
+      }
       if (requestedCustomerId == null) {
-        log.warn("Customer ID could not be extracted from request");
+        audit(functionName, request, authenticatedCustomerId, null, Decision.UNRESOLVED, null);
         return (R)
             createErrorResponse(
                 "Customer ID could not be extracted from request. Request could not be processed.");
       }
 
       if (!authenticatedCustomerId.equals(requestedCustomerId)) {
-        log.warn(
-            "Unauthorized access attempt. Authenticated customer: {}, Requested customer: {}",
+        audit(
+            functionName,
+            request,
             authenticatedCustomerId,
-            requestedCustomerId);
+            requestedCustomerId,
+            Decision.DENIED,
+            null);
         return (R)
             createErrorResponse(
                 "Access denied. You can only access your own data. "
                     + "If you believe this is an error, please contact customer service.");
       }
-      log.info("Access granted for customer: {}", authenticatedCustomerId);
-      return originalFunction.apply(request);
+      audit(
+          functionName,
+          request,
+          authenticatedCustomerId,
+          requestedCustomerId,
+          Decision.GRANTED,
+          null);
+      return applyAndRefreshIndex(originalFunction, request, authenticatedCustomerId);
     };
   }
 
   /**
-   * Creates appropriate error response based on the function's return type. This ensures AI gets a
-   * proper response instead of an exception.
+   * Runs the authorized function and, for requests that create, change or delete resources, has
+   * the customer's ownership index reloaded so that new resources are found in memory as well. A
+   * write that was only queued by the outbox has not changed anything yet; the outbox refreshes the
+   * index once it was dispatched.
    */
-  private ResponseWrapper<?> createErrorResponse(String errorMessage) {
-    return ResponseWrapper.builder().success(false).errorMessage(errorMessage).build();
+  @SuppressWarnings("unchecked")
+  private <T, R> R applyAndRefreshIndex(
+      Function<T, R> originalFunction, T request, Long authenticatedCustomerId) {
+    R response;
+    try {
+      response = originalFunction.apply(request);
+    } catch (RuntimeException e) {
+      return (R) backendFailureResponse(e);
+    }
+    if (request instanceof IMutatingReq && !OutboxReceipt.isReceipt(response)) {
+      ownershipIndexService.refresh(authenticatedCustomerId);
+    }
+    return response;
   }
 
   /**
-   * Extracts customer ID from various request types based on the method being called.
-   *
-   * <p>This method handles different request patterns:
-   *
-   * <ul>
-   *   <li>Direct customer operations (getCustomerById, etc.)
-   *   <li>Policy-related operations (getPoliciesByCustomerId)
-   *   <li>Claim creation operations (validates policy ownership)
-   *   <li>Claim access operations (validates claim ownership through policy)
-   * </ul>
-   *
-   * @param request the first argument of the intercepted method call
-   * @return the customer ID that owns the requested resource
-   * @throws UnauthorizedAccessException if the request type is unknown or unsupported
-   * @throws IllegalArgumentException if required data (policy, claim) is not found
+   * Publishes an authorization decision to the asynchronous {@link AuditTrail}. This never blocks
+   * the calling thread on log I/O.
    */
-  private Long extractCustomerIdFromRequest(Object request) {
-    log.info("Extracting customer ID from request: {}", request.getClass().getSimpleName());
-
-    return switch (request) {
-      case ICustomerIdentifiableReq req -> req.customerId();
-      case IPolicyIDIdentifiableReq req -> getCustomerIdByPolicyId(req.policyId());
-      case IPolicyNumberIdentifiableReq req -> getCustomerIdByPolicyNumber(req.policyNumber());
-      case IClaimReq req -> getCustomerIdByClaimReqType(req);
-      default -> {
-        log.warn("Unknown request type: {}", request.getClass().getSimpleName());
-        yield null;
-      }
-    };
+  private void audit(
+      String functionName,
+      Object request,
+      Long authenticatedCustomerId,
+      Long requestedCustomerId,
+      Decision decision,
+      String detail) {
+    auditTrail.record(
+        new AuditEvent(
+            Instant.now(),
+            functionName,
+            request == null ? null : request.getClass().getSimpleName(),
+            authenticatedCustomerId,
+            requestedCustomerId,
+            decision,
+            detail));
   }
 
   /**
-   * Retrieves the customer ID who owns the specified policy.
-   *
-   * <p>This method is used to validate that claim creation operations are performed only on
-   * policies owned by the authenticated customer.
-   *
-   * @param policyId the unique identifier of the policy
-   * @return the customer ID who owns the policy
-   * @throws IllegalArgumentException if the policy is not found
+   * Turns a backend call rejected by its circuit breaker, bulkhead or time limiter into an error
+   * response the AI can explain right away; any other failure is rethrown unwrapped.
    */
-  private Long getCustomerIdByPolicyId(Long policyId) {
-    return customerService.getCustomerIdByPolicyId(policyId);
+  private ResponseWrapper<?> backendFailureResponse(RuntimeException failure) {
+    return BackendFailures.unavailableMessage(failure)
+        .map(this::createErrorResponse)
+        .orElseThrow(() -> BackendFailures.unwrap(failure));
   }
 
   /**
-   * Retrieves the customer ID who owns the specified policy by policy number.
-   *
-   * <p>This overloaded method provides policy lookup by policy number instead of ID, supporting
-   * operations that work with human-readable policy identifiers.
-   *
-   * @param policyNumber the unique policy number string identifier
-   * @return the customer ID who owns the policy
-   * @throws IllegalArgumentException if the policy is not found with the given policy number
+   * Creates appropriate error response based on the function's return type. This ensures AI gets a
+   * proper response instead of an exception.
    */
-  private Long getCustomerIdByPolicyNumber(String policyNumber) {
-    return customerService.getCustomerIdByPolicyNumber(policyNumber);
+  private ResponseWrapper<?> createErrorResponse(String errorMessage) {
+    return ResponseWrapper.builder().success(false).errorMessage(errorMessage).build();
   }
 
   /**
-   * Retrieves the customer ID who owns the policy associated with the specified claim.
-   *
-   * <p>This method handles different claim types (Auto, Home, Health) and follows the ownership
-   * chain: Claim → Policy → Customer to determine access rights.
+   * Extracts the ID of the customer who owns the requested resource using the extractor that
+   * {@link SecuredRequestRegistry} precomputed at startup for the request type.
    *
-   * @param request the claim request object containing claim ID
-   * @return the customer ID who owns the policy associated with the claim
-   * @throws IllegalArgumentException if the claim or associated policy is not found
+   * @param request the first argument of the intercepted method call
+   * @return the customer ID that owns the requested resource, or {@code null} if unknown
+   * @throws IllegalArgumentException if required data (policy, claim) is not found
    */
-  private Long getCustomerIdByClaimReqType(Object request) {
-    return customerService.getCustomerIdByClaimRequestType(request);
+  private Long extractCustomerIdFromRequest(Object request) {
+    return securedRequestRegistry.ownerOf(request);
   }
 }
@@ -8,52 +8,54 @@ import org.springframework.stereotype.Component;
 
 /**
  * Utility class for extracting security information from the current authentication context.
- * Provides methods to get the current user's customer ID from JWT token claims.
+ * Provides methods to get the current user's customer ID, which {@link CustomerOidcUserService}
+ * resolves from the JWT token claims once at login.
  */
 @Component
 @Slf4j
 public class SecurityUtils {
 
   /**
-   * Extracts the insurance_user_id claim from the current user's JWT token. This represents the
-   * customer ID that the authenticated user is associated with.
+   * Returns the customer ID that the authenticated user is associated with, taken from the
+   * insurance_user_id claim of the user's JWT token.
    *
-   * @return the customer ID from the insurance_user_id claim
-   * @throws SecurityException if user is not authenticated or claim is missing
+   * @return the customer ID from the insurance_user_id claim, or {@code null} if unavailable
    */
   public Long getCurrentUserCustomerId() {
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return getCustomerId(SecurityContextHolder.getContext().getAuthentication());
+  }
 
+  /**
+   * Returns the customer ID of the given authentication, e.g. the one carried by an authentication
+   * success event before it is stored in the security context.
+   *
+   * @param authentication the authentication to inspect, may be {@code null}
+   * @return the customer ID from the insurance_user_id claim, or {@code null} if unavailable
+   */
+  public Long getCustomerId(Authentication authentication) {
     if (authentication == null || !authentication.isAuthenticated()) {
       log.warn("User is not authenticated");
       return null;
     }
 
-    Object principal = authentication.getPrincipal();
-    if (!(principal instanceof OidcUser oidcUser)) {
+    if (!(authentication.getPrincipal() instanceof OidcUser oidcUser)) {
       log.warn("Authentication principal is not a JWT token");
       return null;
     }
+    return getCustomerId(oidcUser);
+  }
 
-    Object insuranceUserIdClaim = oidcUser.getClaim("insurance_user_id");
-    if (insuranceUserIdClaim == null) {
-      log.warn("insurance_user_id claim not found in JWT token");
-      return null;
-    }
-
-    try {
-      return switch (insuranceUserIdClaim) {
-        case Number insuranceUserId -> insuranceUserId.longValue();
-        case String insuranceUserId -> Long.parseLong(insuranceUserId);
-        default -> {
-          log.warn(
-              "insurance_user_id claim has unexpected type: {}", insuranceUserIdClaim.getClass());
-          yield null;
-        }
-      };
-    } catch (NumberFormatException e) {
-      log.warn("insurance_user_id claim is not a valid number: {}", insuranceUserIdClaim);
-      return null;
+  /**
+   * Returns the customer ID of an OIDC user. For a {@link CustomerOidcUser} this is the ID resolved
+   * once at login; other OIDC users have their claims parsed.
+   *
+   * @param oidcUser the authenticated OIDC user
+   * @return the customer ID from the insurance_user_id claim, or {@code null} if unavailable
+   */
+  public Long getCustomerId(OidcUser oidcUser) {
+    if (oidcUser instanceof CustomerOidcUser customerOidcUser) {
+      return customerOidcUser.getCustomerId();
     }
+    return CustomerIdClaim.resolve(oidcUser);
   }
 }
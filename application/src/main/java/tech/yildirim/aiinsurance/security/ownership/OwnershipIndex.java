@@ -0,0 +1,65 @@
+package tech.yildirim.aiinsurance.security.ownership;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+/**
+ * Immutable snapshot of the resources a single customer owns.
+ *
+ * <p>A positive lookup shows that the customer owned the resource when the snapshot was loaded, at
+ * most {@link OwnershipIndexService#maxStaleness()} ago; a resource moved to another customer since
+ * then still matches. Callers may grant reads on it, but must check writes remotely. A negative
+ * lookup proves nothing, because the snapshot may miss newer resources; callers must fall back to a
+ * remote ownership check.
+ *
+ * @param customerId the customer the snapshot belongs to
+ * @param policyIds the technical IDs of the customer's policies
+ * @param policyNumbers the human-readable numbers of the customer's policies
+ * @param claimIds the IDs of the customer's claims per claim family
+ * @param loadedAt when the snapshot was loaded from the backend
+ */
+public record OwnershipIndex(
+    Long customerId,
+    SortedLongSet policyIds,
+    Set<String> policyNumbers,
+    Map<ClaimType, SortedLongSet> claimIds,
+    Instant loadedAt) {
+
+  public OwnershipIndex {
+    policyNumbers = Set.copyOf(policyNumbers);
+    claimIds = Map.copyOf(claimIds);
+  }
+
+  /**
+   * Tests whether the customer owns the policy.
+   *
+   * @param policyId the technical policy ID
+   * @return {@code true} if the policy is part of the snapshot
+   */
+  public boolean ownsPolicy(Long policyId) {
+    return policyIds.contains(policyId);
+  }
+
+  /**
+   * Tests whether the customer owns the policy with the given number.
+   *
+   * @param policyNumber the policy number
+   * @return {@code true} if the policy is part of the snapshot
+   */
+  public boolean ownsPolicyNumber(String policyNumber) {
+    return policyNumber != null && policyNumbers.contains(policyNumber);
+  }
+
+  /**
+   * Tests whether the customer owns the claim.
+   *
+   * @param type the claim family
+   * @param claimId the claim ID
+   * @return {@code true} if the claim is part of the snapshot
+   */
+  public boolean ownsClaim(ClaimType type, Long claimId) {
+    return claimIds.getOrDefault(type, SortedLongSet.empty()).contains(claimId);
+  }
+}
@@ -0,0 +1,243 @@
+package tech.yildirim.aiinsurance.security.ownership;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.BackendPages;
+import tech.yildirim.aiinsurance.config.ConcurrencyConfig;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.model.ai.request.IClaimIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyIDsIdentifiableReq;
+import tech.yildirim.aiinsurance.model.ai.request.IPolicyNumberIdentifiableReq;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+import tech.yildirim.aiinsurance.service.CustomerService;
+
+/**
+ * Maintains an in-memory {@link OwnershipIndex} per logged-in customer so that most authorization
+ * checks are answered from memory instead of the insurance backend.
+ *
+ * <p>The index is loaded when the customer logs in: the customer's policies are fetched once and
+ * the auto, home and health claims of every policy are fetched in parallel on the backend
+ * executor. Indexes are refreshed in the background after {@code insurance.ownership-index.ttl}
+ * and reloaded after a create, update or delete tool call of the customer.
+ *
+ * <p>An index is a snapshot: until the refresh completes it is served as loaded, for at most
+ * {@link #maxStaleness()} (twice the TTL). A positive answer may therefore be stale and is only
+ * used to grant reads; {@code SecurityAspect} checks writes remotely.
+ *
+ * <p>Lookups never block on loading. While an index is loading, or when a resource is not part of
+ * it, {@link #owns(Long, Object)} answers {@code false} and the caller falls back to the remote
+ * ownership check in {@link CustomerService}.
+ */
+@Service
+@Slf4j
+public class OwnershipIndexService {
+
+  private final CustomersApiClient customersApiClient;
+  private final PoliciesApiClient policiesApiClient;
+  private final SecurityUtils securityUtils;
+  private final ExecutorService backendExecutor;
+  private final AsyncLoadingCache<Long, OwnershipIndex> indexes;
+  private final Duration maxStaleness;
+
+  public OwnershipIndexService(
+      CustomersApiClient customersApiClient,
+      PoliciesApiClient policiesApiClient,
+      SecurityUtils securityUtils,
+      @Qualifier(ConcurrencyConfig.BACKEND_EXECUTOR) ExecutorService backendExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${insurance.ownership-index.max-customers:10000}") long maxCustomers,
+      @Value("${insurance.ownership-index.ttl:5m}") Duration ttl) {
+    this.customersApiClient = customersApiClient;
+    this.policiesApiClient = policiesApiClient;
+    this.securityUtils = securityUtils;
+    this.backendExecutor = backendExecutor;
+    this.maxStaleness = ttl.multipliedBy(2);
+    this.indexes =
+        Caffeine.newBuilder()
+            .maximumSize(maxCustomers)
+            .refreshAfterWrite(ttl)
+            .expireAfterWrite(maxStaleness)
+            .executor(backendExecutor)
+            .recordStats()
+            .buildAsync(this::load);
+    CaffeineCacheMetrics.monitor(meterRegistry, indexes.synchronous(), "ownership.index");
+  }
+
+  /**
+   * Starts loading the ownership index of a customer who has just logged in.
+   *
+   * @param event the authentication success event
+   */
+  @EventListener
+  public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+    Long customerId = securityUtils.getCustomerId(event.getAuthentication());
+    if (customerId != null) {
+      indexes.get(customerId);
+    }
+  }
+
+  /**
+   * Tests from memory whether the customer owns the resource targeted by the request.
+   *
+   * @param customerId the authenticated customer ID
+   * @param request the AI function request
+   * @return {@code true} if the customer owned the resource when the index was loaded; {@code
+   *     false} if the index is not loaded yet or does not contain the resource, in which case a
+   *     remote check is required
+   */
+  public boolean owns(Long customerId, Object request) {
+    return currentIndex(customerId)
+        .map(
+            index ->
+                switch (request) {
+                  case IPolicyIDIdentifiableReq req -> index.ownsPolicy(req.policyId());
+                  case IPolicyIDsIdentifiableReq req ->
+                      req.policyIds() != null
+                          && !req.policyIds().isEmpty()
+                          && req.policyIds().stream().allMatch(index::ownsPolicy);
+                  case IPolicyNumberIdentifiableReq req ->
+                      index.ownsPolicyNumber(req.policyNumber());
+                  case IClaimIdentifiableReq req -> index.ownsClaim(req.claimType(), req.claimId());
+                  default -> false;
+                })
+        .orElse(false);
+  }
+
+  /**
+   * Returns how old an index can be when it answers a lookup: it is refreshed after the TTL and
+   * never served once twice the TTL has passed.
+   *
+   * @return the maximum age of an index
+   */
+  public Duration maxStaleness() {
+    return maxStaleness;
+  }
+
+  /**
+   * Drops the customer's index after a write and starts reloading it in the background.
+   *
+   * @param customerId the customer whose resources changed
+   */
+  public void refresh(Long customerId) {
+    if (customerId == null) {
+      return;
+    }
+    indexes.synchronous().invalidate(customerId);
+    indexes.get(customerId);
+  }
+
+  private Optional<OwnershipIndex> currentIndex(Long customerId) {
+    if (customerId == null) {
+      return Optional.empty();
+    }
+    CompletableFuture<OwnershipIndex> index = indexes.get(customerId);
+    if (!index.isDone() || index.isCompletedExceptionally()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(index.join());
+  }
+
+  private OwnershipIndex load(Long customerId) {
+    List<PolicyDto> policies =
+        Objects.requireNonNullElse(
+            customersApiClient.getPoliciesByCustomerId(customerId).getBody(), List.of());
+
+    Map<ClaimType, List<CompletableFuture<? extends Collection<? extends ClaimDto>>>> lookups =
+        new EnumMap<>(ClaimType.class);
+    for (PolicyDto policy : policies) {
+      Long policyId = policy.getId();
+      if (policyId == null) {
+        continue;
+      }
+      lookups
+          .computeIfAbsent(ClaimType.AUTO, type -> new ArrayList<>())
+          .add(
+              fetchClaims(
+                  () ->
+                      BackendPages.fetchAll(
+                          (page, size) ->
+                              policiesApiClient.getAutoClaimsByPolicyId(
+                                  policyId, page, size, null))));
+      lookups
+          .computeIfAbsent(ClaimType.HOME, type -> new ArrayList<>())
+          .add(
+              fetchClaims(
+                  () ->
+                      BackendPages.fetchAll(
+                          (page, size) ->
+                              policiesApiClient.getHomeClaimsByPolicyId(
+                                  policyId, page, size, null))));
+      lookups
+          .computeIfAbsent(ClaimType.HEALTH, type -> new ArrayList<>())
+          .add(
+              fetchClaims(
+                  () ->
+                      BackendPages.fetchAll(
+                          (page, size) ->
+                              policiesApiClient.getHealthClaimsByPolicyId(
+                                  policyId, page, size, null))));
+    }
+
+    Map<ClaimType, SortedLongSet> claimIds = new EnumMap<>(ClaimType.class);
+    lookups.forEach(
+        (type, futures) -> {
+          List<Long> ids = new ArrayList<>();
+          futures.forEach(future -> future.join().forEach(claim -> ids.add(claim.getId())));
+          claimIds.put(type, SortedLongSet.of(ids));
+        });
+
+    Set<String> policyNumbers = new HashSet<>();
+    List<Long> policyIds = new ArrayList<>();
+    for (PolicyDto policy : policies) {
+      policyIds.add(policy.getId());
+      if (policy.getPolicyNumber() != null) {
+        policyNumbers.add(policy.getPolicyNumber());
+      }
+    }
+
+    return new OwnershipIndex(
+        customerId, SortedLongSet.of(policyIds), policyNumbers, claimIds, Instant.now());
+  }
+
+  /**
+   * Fetches one claim list on the backend executor. A failed lookup yields an empty list: the
+   * index then misses those claims and callers fall back to the remote check.
+   */
+  private CompletableFuture<? extends Collection<? extends ClaimDto>> fetchClaims(
+      Supplier<? extends Collection<? extends ClaimDto>> lookup) {
+    return CompletableFuture.supplyAsync(
+            () -> Objects.requireNonNullElse(lookup.get(), List.<ClaimDto>of()), backendExecutor)
+        .exceptionally(
+            e -> {
+              log.warn("Claim lookup for ownership index failed: {}", e.getMessage());
+              return List.of();
+            });
+  }
+}
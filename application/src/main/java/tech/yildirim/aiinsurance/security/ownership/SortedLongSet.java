@@ -0,0 +1,81 @@
+package tech.yildirim.aiinsurance.security.ownership;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of primitive {@code long} values backed by a sorted array.
+ *
+ * <p>Uses eight bytes per element without boxing, and answers membership queries with a binary
+ * search, which keeps per-customer ownership indexes small and cache friendly.
+ */
+public final class SortedLongSet {
+
+  private static final SortedLongSet EMPTY = new SortedLongSet(new long[0]);
+
+  private final long[] values;
+
+  private SortedLongSet(long[] values) {
+    this.values = values;
+  }
+
+  /**
+   * Returns the empty set.
+   *
+   * @return the empty set
+   */
+  public static SortedLongSet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a set from the non-null values of a collection; duplicates are removed.
+   *
+   * @param source the values to include
+   * @return the new set
+   */
+  public static SortedLongSet of(Collection<Long> source) {
+    long[] values =
+        source.stream().filter(value -> value != null).mapToLong(Long::longValue).toArray();
+    if (values.length == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(values);
+    int size = 1;
+    for (int i = 1; i < values.length; i++) {
+      if (values[i] != values[size - 1]) {
+        values[size++] = values[i];
+      }
+    }
+    return new SortedLongSet(size == values.length ? values : Arrays.copyOf(values, size));
+  }
+
+  /**
+   * Tests whether a value is part of the set.
+   *
+   * @param value the value to look up
+   * @return {@code true} if the set contains the value
+   */
+  public boolean contains(long value) {
+    return Arrays.binarySearch(values, value) >= 0;
+  }
+
+  /**
+   * Tests whether a possibly {@code null} value is part of the set.
+   *
+   * @param value the value to look up
+   * @return {@code true} if the value is non-null and contained in the set
+   */
+  public boolean contains(Long value) {
+    return value != null && contains(value.longValue());
+  }
+
+  /**
+   * Returns the number of values in the set.
+   *
+   * @return the size of the set
+   */
+  public int size() {
+    return values.length;
+  }
+}
@@ -1,15 +1,23 @@
 package tech.yildirim.aiinsurance.service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.PromptChatMemoryAdvisor;
-import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.vertexai.gemini.VertexAiGeminiChatOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
 import tech.yildirim.aiinsurance.ai.functions.Functions;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudget;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudgetExceededException;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
 
 /**
  * Service layer responsible for handling chat interactions with the AI model. This class acts as a
@@ -20,49 +28,96 @@ import tech.yildirim.aiinsurance.ai.functions.Functions;
 public class ChatService {
 
   private final ChatClient chatClient;
+  private final Duration turnEntityMaxAge;
+  private final SecurityUtils securityUtils;
+  private final EntityPrefetcher entityPrefetcher;
+  private final ChatMemory chatMemory;
+  private final InputBudget inputBudget;
 
   public ChatService(
-      ChatClient.Builder builder, @Value("${config.default-prompt}") String defaultPrompt) {
+      ChatClient.Builder builder,
+      SecurityUtils securityUtils,
+      EntityPrefetcher entityPrefetcher,
+      ChatMemory chatMemory,
+      InputBudget inputBudget,
+      @Value("${config.default-prompt}") String defaultPrompt,
+      @Value("${insurance.turn.entity-max-age:30s}") Duration turnEntityMaxAge) {
+    this.turnEntityMaxAge = turnEntityMaxAge;
+    this.securityUtils = securityUtils;
+    this.entityPrefetcher = entityPrefetcher;
+    this.chatMemory = chatMemory;
+    this.inputBudget = inputBudget;
 
-    PromptChatMemoryAdvisor promptChatMemoryAdvisor =
-        PromptChatMemoryAdvisor.builder(
-                MessageWindowChatMemory.builder()
-                    .chatMemoryRepository(new InMemoryChatMemoryRepository())
-                    .maxMessages(100)
-                    .build())
-            .build();
     VertexAiGeminiChatOptions vertexAiGeminiChatOptions =
         VertexAiGeminiChatOptions.builder().toolNames(Functions.ALL_FUNCTIONS).build();
 
     this.chatClient =
         builder
-            .defaultAdvisors(promptChatMemoryAdvisor)
             .defaultOptions(vertexAiGeminiChatOptions)
             .defaultSystem(defaultPrompt)
             .build();
   }
 
   /**
-   * Sends a user's message to the configured AI model and returns the response.
+   * Sends a user's message to the configured AI model and returns the response. The call runs
+   * inside a {@link TurnContext} so that tool calls made while answering can share entities and
+   * repeated read tool calls are answered from memory, and the policies and claims the message
+   * mentions are prefetched into it while the model runs. Before anything is loaded or sent, the
+   * message is checked against the {@link InputBudget} and cut if it is too long.
+   *
+   * <p>The remembered messages of the conversation are sent with the message, except the oldest
+   * ones that do not fit the turn budget. Those are only left out of this prompt; the memory itself
+   * is not changed for the budget, and only the new exchange is added to it once answered.
    *
    * @param message The text message from the user.
+   * @param conversationId The ID of the conversation, whose messages are remembered and which
+   *     create tools use to recognize a retried turn.
    * @return The generated response content from the AI model as a String.
+   * @throws InputBudgetExceededException if the message is over its budget and may not be cut
    */
-  public String getAiResponse(String message) {
-    return chatClient.prompt().user(message).call().content();
+  public String getAiResponse(String message, String conversationId) {
+    List<Message> memory = chatMemory.get(conversationId);
+    InputBudget.Admission admission = inputBudget.admit(message, memory);
+    List<Message> remembered = memory.subList(admission.forgottenMessages(), memory.size());
+    String admitted = admission.message();
+    try (TurnContext turn = TurnContext.open(turnEntityMaxAge, conversationId)) {
+      EntityPrefetcher.Prefetch prefetch = entityPrefetcher.start(admitted, turn);
+      String answer;
+      try {
+        answer = chatClient.prompt().messages(remembered).user(admitted).call().content();
+      } finally {
+        prefetch.finish();
+        logDuplicateCalls(turn);
+      }
+      chatMemory.add(
+          conversationId,
+          List.of(new UserMessage(admitted), new AssistantMessage(answer == null ? "" : answer)));
+      return answer;
+    }
   }
 
   /**
-   * Generates a personalized welcome message for the authenticated user. Extracts the customer ID
-   * from the OIDC token and uses AI to create a greeting.
+   * Logs the tool calls of a turn that repeated an earlier call with the same request, a hint that
+   * the description of the tool does not tell the model clearly enough what it returns.
+   */
+  private void logDuplicateCalls(TurnContext turn) {
+    Map<String, Integer> duplicateCalls = turn.duplicateCalls();
+    if (!duplicateCalls.isEmpty()) {
+      log.info("Duplicate tool calls answered from the turn memo: {}", duplicateCalls);
+    }
+  }
+
+  /**
+   * Generates a personalized welcome message for the authenticated user. Uses the customer ID
+   * resolved from the OIDC token at login and uses AI to create a greeting.
    *
    * @param oidcUser The authenticated OIDC user with ID token
    * @return A personalized welcome message from the AI assistant
    */
   public String generateWelcomeMessage(OidcUser oidcUser) {
     try {
-      // Extract customer ID from the insurance_user_id claim
-      Long customerId = extractCustomerIdFromToken(oidcUser);
+      // Customer ID resolved from the insurance_user_id claim at login
+      Long customerId = oidcUser == null ? null : securityUtils.getCustomerId(oidcUser);
 
       if (customerId != null) {
         // Create a prompt for AI to generate welcome message with customer context
@@ -75,7 +130,9 @@ public class ChatService {
                     + "Respond in the same language as the customer's preferred language if available, otherwise use English.",
                 customerId);
 
-        return chatClient.prompt().user(welcomePrompt).call().content();
+        try (TurnContext ignored = TurnContext.open(turnEntityMaxAge)) {
+          return chatClient.prompt().user(welcomePrompt).call().content();
+        }
       } else {
         // Fallback welcome message when customer ID is not available
         return "Hello! I'm Martin, your AI insurance assistant. How can I help you today?";
@@ -85,38 +142,4 @@ public class ChatService {
       return "Hello! I'm Martin, your AI insurance assistant. How can I help you today?";
     }
   }
-
-  /**
-   * Extracts the insurance customer ID from the OIDC user's ID token.
-   *
-   * @param oidcUser The authenticated OIDC user
-   * @return The customer ID if found, null otherwise
-   */
-  private Long extractCustomerIdFromToken(OidcUser oidcUser) {
-    if (oidcUser == null || oidcUser.getIdToken() == null) {
-      log.warn("OIDC user or ID token is null");
-      return null;
-    }
-
-    final Object customerIdClaim = oidcUser.getIdToken().getClaim("insurance_user_id");
-    if (customerIdClaim == null) {
-      log.warn("insurance_user_id claim not found in ID token");
-      return null;
-    }
-
-    try {
-      return switch (customerIdClaim) {
-        case Integer customerId -> customerId.longValue();
-        case Long customerId -> customerId;
-        case String customerId -> Long.parseLong(customerId);
-        default -> {
-          log.warn("insurance_user_id claim has unexpected type: {}", customerIdClaim.getClass());
-          yield null;
-        }
-      };
-    } catch (NumberFormatException e) {
-      log.error("Failed to parse insurance_user_id claim: {}", customerIdClaim, e);
-      return null;
-    }
-  }
 }
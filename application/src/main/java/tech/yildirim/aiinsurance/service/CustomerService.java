@@ -1,19 +1,27 @@
 package tech.yildirim.aiinsurance.service;
 
+import feign.FeignException;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
 import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
 import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
-import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimByIdReq;
-import tech.yildirim.aiinsurance.model.ai.request.GetHealthClaimByIdReq;
-import tech.yildirim.aiinsurance.model.ai.request.GetHomeClaimByIdReq;
-import tech.yildirim.aiinsurance.model.ai.request.UpdateAutoClaimReq;
-import tech.yildirim.aiinsurance.model.ai.request.UpdateHealthClaimReq;
-import tech.yildirim.aiinsurance.model.ai.request.UpdateHomeClaimReq;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
+import tech.yildirim.aiinsurance.model.ai.request.IClaimIdentifiableReq;
+import tech.yildirim.aiinsurance.service.OwnershipCache.ClaimKey;
+import tech.yildirim.aiinsurance.service.OwnershipCache.PolicyOwner;
 
 @Service
 @RequiredArgsConstructor
@@ -22,38 +30,85 @@ public class CustomerService {
 
   private final PoliciesApiClient policiesApiClient;
   private final ClaimsApiClient claimsApiClient;
+  private final OwnershipCache ownershipCache;
 
   public Long getCustomerIdByPolicyId(Long policyId) {
-    return Optional.ofNullable(policiesApiClient.getPolicyById(policyId).getBody())
-        .map(PolicyDto::getCustomerId)
-        .orElseThrow(() -> new IllegalArgumentException("Policy not found with ID: " + policyId));
+    return ownershipCache.customerIdByPolicyId(policyId, this::fetchCustomerIdByPolicyId);
   }
 
   public Long getCustomerIdByPolicyNumber(String policyNumber) {
-    return Optional.ofNullable(policiesApiClient.getPolicyByPolicyNumber(policyNumber).getBody())
+    return ownershipCache
+        .ownerByPolicyNumber(policyNumber, this::fetchOwnerByPolicyNumber)
+        .customerId();
+  }
+
+  /**
+   * Resolves the single customer who owns all of the given policies, so a request spanning several
+   * policies is authorized with one decision.
+   *
+   * @throws IllegalArgumentException if no policy is given, a policy does not exist or the policies
+   *     belong to different customers
+   */
+  public Long getCustomerIdByPolicyIds(Collection<Long> policyIds) {
+    if (policyIds == null || policyIds.isEmpty()) {
+      throw new IllegalArgumentException("At least one policy ID is required");
+    }
+    Long customerId = null;
+    for (Long policyId : policyIds) {
+      Long owner = getCustomerIdByPolicyId(Objects.requireNonNull(policyId, "policyId"));
+      if (customerId != null && !customerId.equals(owner)) {
+        throw new IllegalArgumentException("The policies belong to different customers");
+      }
+      customerId = owner;
+    }
+    return customerId;
+  }
+
+  public Long getCustomerIdByClaimRequestType(Object request) {
+    ClaimKey claimKey =
+        claimKeyOf(request)
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        "Unknown claim request type: " + request.getClass()));
+
+    Long policyId =
+        ownershipCache.policyIdByClaim(claimKey, key -> fetchPolicyIdByClaim(key, request));
+    return getCustomerIdByPolicyId(policyId);
+  }
+
+  private Optional<ClaimKey> claimKeyOf(Object request) {
+    return request instanceof IClaimIdentifiableReq req
+        ? Optional.of(new ClaimKey(req.claimType(), req.claimId()))
+        : Optional.empty();
+  }
+
+  private Long fetchCustomerIdByPolicyId(Long policyId) {
+    return Optional.ofNullable(loadPolicyById(policyId))
         .map(PolicyDto::getCustomerId)
+        .orElseThrow(() -> new IllegalArgumentException("Policy not found with ID: " + policyId));
+  }
+
+  private PolicyOwner fetchOwnerByPolicyNumber(String policyNumber) {
+    return Optional.ofNullable(loadPolicyByPolicyNumber(policyNumber))
+        .filter(policy -> policy.getCustomerId() != null)
+        .map(policy -> new PolicyOwner(policy.getId(), policy.getCustomerId()))
         .orElseThrow(
             () ->
                 new IllegalArgumentException(
                     "Policy not found with PolicyNumber: " + policyNumber));
   }
 
-  public Long getCustomerIdByClaimRequestType(Object request) {
+  private Long fetchPolicyIdByClaim(ClaimKey claimKey, Object request) {
     ClaimDto claim =
-        switch (request) {
-          case GetAutoClaimByIdReq(Long claimId) ->
-              claimsApiClient.getAutoClaimById(claimId).getBody();
-          case GetHomeClaimByIdReq(Long claimId) ->
-              claimsApiClient.getHomeClaimById(claimId).getBody();
-          case GetHealthClaimByIdReq(Long claimId) ->
-              claimsApiClient.getHealthClaimById(claimId).getBody();
-          case UpdateAutoClaimReq req -> claimsApiClient.getAutoClaimById(req.claimId()).getBody();
-          case UpdateHomeClaimReq req -> claimsApiClient.getHomeClaimById(req.claimId()).getBody();
-          case UpdateHealthClaimReq req ->
-              claimsApiClient.getHealthClaimById(req.claimId()).getBody();
-          default ->
-              throw new IllegalArgumentException(
-                  "Unknown claim request type: " + request.getClass());
+        switch (claimKey.type()) {
+          case AUTO ->
+              loadClaim(AutoClaimDto.class, claimKey.claimId(), claimsApiClient::getAutoClaimById);
+          case HOME ->
+              loadClaim(HomeClaimDto.class, claimKey.claimId(), claimsApiClient::getHomeClaimById);
+          case HEALTH ->
+              loadClaim(
+                  HealthClaimDto.class, claimKey.claimId(), claimsApiClient::getHealthClaimById);
         };
 
     if (claim == null) {
@@ -62,7 +117,58 @@ public class CustomerService {
 
     return Optional.of(claim)
         .map(ClaimDto::getPolicyId)
-        .map(this::getCustomerIdByPolicyId)
         .orElseThrow(() -> new IllegalArgumentException("Policy not found for claim: " + request));
   }
+
+  /**
+   * Loads a policy by ID, reusing a fresh copy from the current {@link TurnContext} and remembering
+   * the fetched DTO so the tool function authorized by this lookup does not fetch it again.
+   */
+  private PolicyDto loadPolicyById(Long policyId) {
+    return TurnContext.currentEntity(PolicyDto.class, policyId)
+        .orElseGet(
+            () -> {
+              PolicyDto policy = bodyOrNull(() -> policiesApiClient.getPolicyById(policyId));
+              TurnContext.rememberEntity(PolicyDto.class, policyId, policy);
+              return policy;
+            });
+  }
+
+  private PolicyDto loadPolicyByPolicyNumber(String policyNumber) {
+    return TurnContext.currentEntity(PolicyDto.class, policyNumber)
+        .orElseGet(
+            () -> {
+              PolicyDto policy =
+                  bodyOrNull(() -> policiesApiClient.getPolicyByPolicyNumber(policyNumber));
+              TurnContext.rememberEntity(PolicyDto.class, policyNumber, policy);
+              return policy;
+            });
+  }
+
+  private <T extends ClaimDto> T loadClaim(
+      Class<T> type, Long claimId, Function<Long, ResponseEntity<T>> fetcher) {
+    return TurnContext.currentEntity(type, claimId)
+        .orElseGet(
+            () -> {
+              T claim = bodyOrNull(() -> fetcher.apply(claimId));
+              TurnContext.rememberEntity(type, claimId, claim);
+              return claim;
+            });
+  }
+
+  /**
+   * Returns the response body, treating a 404 from the backend like an empty body so that missing
+   * resources surface as the same {@link IllegalArgumentException} and are negatively cached.
+   */
+  private static <T> T bodyOrNull(Supplier<ResponseEntity<T>> call) {
+    try {
+      return call.get().getBody();
+    } catch (RuntimeException e) {
+      RuntimeException failure = BackendFailures.unwrap(e);
+      if (failure instanceof FeignException.NotFound) {
+        return null;
+      }
+      throw failure;
+    }
+  }
 }
@@ -0,0 +1,69 @@
+package tech.yildirim.aiinsurance.service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.AsyncBackend;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
+import tech.yildirim.aiinsurance.model.CustomerSnapshot;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.model.TypedClaim;
+import tech.yildirim.aiinsurance.service.PolicyClaimsLoader.PolicyClaims;
+
+/**
+ * Assembles a {@link CustomerSnapshot} with as few sequential backend round trips as possible.
+ *
+ * <p>The customer profile is fetched in parallel with the policies and their claims. The claims of
+ * the policies on the first policy page are loaded by {@link PolicyClaimsLoader} in one fan-out, so
+ * a snapshot costs the latency of two sequential backend calls regardless of the number of
+ * policies. Its size is bounded by the page size of the {@link ListPaginator}.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerSnapshotService {
+
+  private final AsyncBackend asyncBackend;
+  private final PolicyClaimsLoader policyClaimsLoader;
+  private final ListPaginator listPaginator;
+
+  /**
+   * Loads the snapshot of a customer.
+   *
+   * @param customerId the customer ID
+   * @return the snapshot; claims that could not be loaded are listed in {@link
+   *     CustomerSnapshot#unavailable()}
+   */
+  public CustomerSnapshot snapshot(Long customerId) {
+    CompletableFuture<CustomerDto> customer = asyncBackend.getCustomerById(customerId);
+    CompletableFuture<List<PolicyDto>> policies = asyncBackend.getPoliciesByCustomerId(customerId);
+
+    ListPage<PolicyDto> policyPage =
+        listPaginator.page(BackendFailures.join(policies), null, ListShapes.POLICIES);
+    policyPage.items().forEach(CustomerSnapshotService::remember);
+
+    PolicyClaims claims =
+        policyClaimsLoader.load(
+            policyPage.items().stream().map(PolicyDto::getId).filter(Objects::nonNull).toList(),
+            null);
+    ListPage<TypedClaim> claimPage =
+        listPaginator.page(claims.claims(), null, ListShapes.TYPED_CLAIMS);
+
+    return new CustomerSnapshot(
+        BackendFailures.join(customer),
+        policyPage,
+        claimPage.summary(),
+        claimPage.items(),
+        claims.failures());
+  }
+
+  /** Remembers a policy on the calling thread, which owns the {@link TurnContext}. */
+  private static void remember(PolicyDto policy) {
+    TurnContext.rememberEntity(PolicyDto.class, policy.getId(), policy);
+    TurnContext.rememberEntity(PolicyDto.class, policy.getPolicyNumber(), policy);
+  }
+}
@@ -0,0 +1,251 @@
+package tech.yildirim.aiinsurance.service;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.ai.context.TurnContext.PrefetchStats;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
+import tech.yildirim.aiinsurance.config.ConcurrencyConfig;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+
+/**
+ * Speculatively loads the policies and claims a user message refers to while the model is still
+ * deciding which tools to call, so that the tool calls of the turn find them in the {@link
+ * TurnContext} instead of waiting for the backend.
+ *
+ * <p>Policy numbers ({@code POL-12345}) and claim IDs ({@code claim 42}, {@code auto claim #42})
+ * are recognized with regular expressions. A claim ID without a type is looked up as an auto, home
+ * and health claim. Loads run on the backend executor in parallel with the model call.
+ *
+ * <p>Prefetching never widens access: nothing is loaded for anonymous users, and an entity is only
+ * stored in the turn if it belongs to the authenticated customer. The tool call that later reads it
+ * is still authorized by the security aspect as usual.
+ *
+ * <p>Each backend load is counted as a hit if the model read the entity during the turn and as
+ * waste otherwise, in the {@code chat.prefetch} counter tagged with {@code result}.
+ */
+@Service
+@Slf4j
+public class EntityPrefetcher {
+
+  private static final Pattern POLICY_NUMBER =
+      Pattern.compile("\\bPOL-[A-Z0-9]+(?:-[A-Z0-9]+)*\\b", Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern CLAIM_ID =
+      Pattern.compile(
+          "\\b(?:(auto|car|vehicle|home|house|property|health|medical)\\s+)?claim"
+              + "(?:\\s+(?:id|number|no\\.?))?\\s*[:#]?\\s*#?(\\d{1,18})\\b",
+          Pattern.CASE_INSENSITIVE);
+
+  private static final Map<String, ClaimType> CLAIM_TYPE_WORDS =
+      Map.of(
+          "auto", ClaimType.AUTO,
+          "car", ClaimType.AUTO,
+          "vehicle", ClaimType.AUTO,
+          "home", ClaimType.HOME,
+          "house", ClaimType.HOME,
+          "property", ClaimType.HOME,
+          "health", ClaimType.HEALTH,
+          "medical", ClaimType.HEALTH);
+
+  private final PoliciesApiClient policiesApiClient;
+  private final ClaimsApiClient claimsApiClient;
+  private final CustomerService customerService;
+  private final SecurityUtils securityUtils;
+  private final Executor backendExecutor;
+  private final boolean enabled;
+  private final int maxEntities;
+  private final Counter hits;
+  private final Counter waste;
+
+  public EntityPrefetcher(
+      PoliciesApiClient policiesApiClient,
+      ClaimsApiClient claimsApiClient,
+      CustomerService customerService,
+      SecurityUtils securityUtils,
+      @Qualifier(ConcurrencyConfig.BACKEND_EXECUTOR) Executor backendExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${insurance.prefetch.enabled:true}") boolean enabled,
+      @Value("${insurance.prefetch.max-entities:3}") int maxEntities) {
+    this.policiesApiClient = policiesApiClient;
+    this.claimsApiClient = claimsApiClient;
+    this.customerService = customerService;
+    this.securityUtils = securityUtils;
+    this.backendExecutor = backendExecutor;
+    this.enabled = enabled;
+    this.maxEntities = maxEntities;
+    this.hits = counter(meterRegistry, "hit", "Prefetched entities read by a tool call");
+    this.waste = counter(meterRegistry, "waste", "Prefetch loads not read during the turn");
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result, String description) {
+    return Counter.builder("chat.prefetch")
+        .description(description)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /** The prefetches started for one turn. */
+  public final class Prefetch {
+
+    private final TurnContext turn;
+    private final int loads;
+
+    private Prefetch(TurnContext turn, int loads) {
+      this.turn = turn;
+      this.loads = loads;
+    }
+
+    /** Records how many of the loads of this turn were read. Call before the turn is closed. */
+    public void finish() {
+      if (loads == 0) {
+        return;
+      }
+      PrefetchStats stats = turn.prefetchStats();
+      hits.increment(stats.read());
+      waste.increment(Math.max(0, loads - stats.read()));
+    }
+  }
+
+  /**
+   * Starts prefetching the entities the message refers to into the turn. Returns immediately.
+   *
+   * @param message the user message
+   * @param turn the turn the model call for the message runs in
+   * @return the started prefetches, to be finished when the turn ends
+   */
+  public Prefetch start(String message, TurnContext turn) {
+    Long customerId = enabled && message != null ? securityUtils.getCurrentUserCustomerId() : null;
+    if (customerId == null) {
+      return new Prefetch(turn, 0);
+    }
+    List<Runnable> loads = new ArrayList<>();
+    mentions(message)
+        .forEach(
+            (id, types) -> {
+              if (types.isEmpty()) {
+                loads.add(() -> prefetchPolicy(turn, customerId, id));
+              } else {
+                types.forEach(type -> loads.add(() -> prefetchClaim(turn, customerId, type, id)));
+              }
+            });
+    loads.forEach(
+        load ->
+            CompletableFuture.runAsync(load, backendExecutor)
+                .exceptionally(
+                    e -> {
+                      log.debug("Prefetch failed: {}", e.getMessage());
+                      return null;
+                    }));
+    return new Prefetch(turn, loads.size());
+  }
+
+  /**
+   * Extracts up to the configured number of policy numbers and claim IDs from the message. Policy
+   * numbers map to an empty type set, claim IDs to the claim types to try.
+   */
+  Map<String, Set<ClaimType>> mentions(String message) {
+    Map<String, Set<ClaimType>> mentions = new LinkedHashMap<>();
+    Matcher policyNumbers = POLICY_NUMBER.matcher(message);
+    while (policyNumbers.find() && mentions.size() < maxEntities) {
+      mentions.putIfAbsent(policyNumbers.group().toUpperCase(Locale.ROOT), Set.of());
+    }
+    Matcher claimIds = CLAIM_ID.matcher(message);
+    while (claimIds.find() && mentions.size() < maxEntities) {
+      String word = claimIds.group(1);
+      Set<ClaimType> types =
+          word == null
+              ? EnumSet.allOf(ClaimType.class)
+              : EnumSet.of(CLAIM_TYPE_WORDS.get(word.toLowerCase(Locale.ROOT)));
+      mentions.merge(
+          claimIds.group(2),
+          types,
+          (known, added) -> {
+            Set<ClaimType> merged = EnumSet.copyOf(known);
+            merged.addAll(added);
+            return merged;
+          });
+    }
+    return mentions;
+  }
+
+  private void prefetchPolicy(TurnContext turn, Long customerId, String policyNumber) {
+    PolicyDto policy = load(() -> policiesApiClient.getPolicyByPolicyNumber(policyNumber));
+    if (policy != null && customerId.equals(policy.getCustomerId())) {
+      turn.prefetchEntity(PolicyDto.class, policyNumber, policy);
+    }
+  }
+
+  private void prefetchClaim(TurnContext turn, Long customerId, ClaimType type, String id) {
+    Long claimId = Long.valueOf(id);
+    switch (type) {
+      case AUTO ->
+          storeIfOwned(
+              turn, customerId, AutoClaimDto.class, claimId, claimsApiClient::getAutoClaimById);
+      case HOME ->
+          storeIfOwned(
+              turn, customerId, HomeClaimDto.class, claimId, claimsApiClient::getHomeClaimById);
+      case HEALTH ->
+          storeIfOwned(
+              turn, customerId, HealthClaimDto.class, claimId, claimsApiClient::getHealthClaimById);
+    }
+  }
+
+  private <T extends ClaimDto> void storeIfOwned(
+      TurnContext turn,
+      Long customerId,
+      Class<T> type,
+      Long claimId,
+      Function<Long, ResponseEntity<T>> fetcher) {
+    T claim = load(() -> fetcher.apply(claimId));
+    if (claim != null
+        && claim.getPolicyId() != null
+        && customerId.equals(customerService.getCustomerIdByPolicyId(claim.getPolicyId()))) {
+      turn.prefetchEntity(type, claimId, claim);
+    }
+  }
+
+  /**
+   * Runs a prefetch load. A missing entity or a failed call only means the prefetch is wasted; the
+   * tool call will load the entity itself and report any error.
+   */
+  private static <T> T load(Supplier<ResponseEntity<T>> call) {
+    try {
+      ResponseEntity<T> response = call.get();
+      return response == null ? null : response.getBody();
+    } catch (RuntimeException e) {
+      RuntimeException failure = BackendFailures.unwrap(e);
+      if (!(failure instanceof FeignException.NotFound)) {
+        log.debug("Prefetch failed: {}", failure.getMessage());
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package tech.yildirim.aiinsurance.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.model.ListSummary;
+
+/**
+ * Cuts the lists returned by list AI functions into bounded pages, so that the size of a tool
+ * result in the model context does not grow with the customer's data.
+ *
+ * <p>Items are ordered most recent first and every page carries a {@link ListSummary} of the whole
+ * list. The continuation cursor is opaque to the model; it encodes the offset of the next page.
+ */
+@Component
+public class ListPaginator {
+
+  private static final String CURSOR_PREFIX = "o:";
+
+  private final int pageSize;
+
+  public ListPaginator(@Value("${insurance.ai.list.page-size:10}") int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("insurance.ai.list.page-size must be positive");
+    }
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Describes how to summarize the items of a list.
+   *
+   * @param <T> the item type
+   * @param status the status of an item, or {@code null} if items have none
+   * @param amount the amount of an item to add up, or {@code null} if items have none
+   * @param date the date items are ordered by, most recent first, or {@code null} to keep the order
+   */
+  public record Shape<T>(
+      Function<T, ?> status, Function<T, BigDecimal> amount, Function<T, LocalDate> date) {
+
+    /** A shape for items without status, amount or date. */
+    public static <T> Shape<T> plain() {
+      return new Shape<>(null, null, null);
+    }
+  }
+
+  /**
+   * Returns the page of a list that starts at the cursor.
+   *
+   * @param <T> the item type
+   * @param items the complete list, {@code null} is treated as empty
+   * @param cursor the cursor from a previous page, or {@code null} for the first page
+   * @param shape how to order and summarize the items
+   * @return the page with the summary of the complete list
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public <T> ListPage<T> page(List<T> items, String cursor, Shape<T> shape) {
+    List<T> all = items == null ? List.of() : items;
+    if (shape.date() != null) {
+      all =
+          all.stream()
+              .sorted(
+                  Comparator.comparing(
+                      shape.date(), Comparator.nullsLast(Comparator.<LocalDate>reverseOrder())))
+              .toList();
+    }
+    int from = Math.min(offsetOf(cursor), all.size());
+    int to = Math.min(from + pageSize, all.size());
+    return new ListPage<>(
+        List.copyOf(all.subList(from, to)),
+        summarize(all, shape),
+        to < all.size() ? cursorOf(to) : null);
+  }
+
+  private <T> ListSummary summarize(List<T> items, Shape<T> shape) {
+    Map<String, Long> countsByStatus = new TreeMap<>();
+    BigDecimal totalAmount = shape.amount() == null ? null : BigDecimal.ZERO;
+    LocalDate newest = null;
+    LocalDate oldest = null;
+    for (T item : items) {
+      if (shape.status() != null) {
+        Object status = shape.status().apply(item);
+        countsByStatus.merge(Objects.toString(status, "UNKNOWN"), 1L, Long::sum);
+      }
+      if (shape.amount() != null) {
+        BigDecimal amount = shape.amount().apply(item);
+        totalAmount = amount == null ? totalAmount : totalAmount.add(amount);
+      }
+      LocalDate date = shape.date() == null ? null : shape.date().apply(item);
+      if (date != null) {
+        newest = newest == null || date.isAfter(newest) ? date : newest;
+        oldest = oldest == null || date.isBefore(oldest) ? date : oldest;
+      }
+    }
+    return new ListSummary(items.size(), countsByStatus, totalAmount, newest, oldest);
+  }
+
+  private static String cursorOf(int offset) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static int offsetOf(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (decoded.startsWith(CURSOR_PREFIX)) {
+        int offset = Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        if (offset >= 0) {
+          return offset;
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      // fall through to the error below; NumberFormatException is an IllegalArgumentException
+    }
+    throw new IllegalArgumentException(
+        "Invalid cursor: pass the nextCursor of the previous page, or omit it for the first page");
+  }
+}
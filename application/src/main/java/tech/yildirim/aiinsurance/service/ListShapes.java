@@ -0,0 +1,50 @@
+package tech.yildirim.aiinsurance.service;
+
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.TypedClaim;
+import tech.yildirim.aiinsurance.service.ListPaginator.Shape;
+
+/** How the lists returned by the AI functions are ordered and summarized. */
+public final class ListShapes {
+
+  /** Policies by status, adding up premiums, most recent start date first. */
+  public static final Shape<PolicyDto> POLICIES =
+      new Shape<>(PolicyDto::getStatus, PolicyDto::getPremium, PolicyDto::getStartDate);
+
+  /** Auto claims by status, adding up estimated amounts, most recent incident first. */
+  public static final Shape<AutoClaimDto> AUTO_CLAIMS =
+      new Shape<>(
+          AutoClaimDto::getStatus,
+          AutoClaimDto::getEstimatedAmount,
+          AutoClaimDto::getDateOfIncident);
+
+  /** Home claims by status, adding up estimated amounts, most recent incident first. */
+  public static final Shape<HomeClaimDto> HOME_CLAIMS =
+      new Shape<>(
+          HomeClaimDto::getStatus,
+          HomeClaimDto::getEstimatedAmount,
+          HomeClaimDto::getDateOfIncident);
+
+  /** Health claims by status, adding up estimated amounts, most recent incident first. */
+  public static final Shape<HealthClaimDto> HEALTH_CLAIMS =
+      new Shape<>(
+          HealthClaimDto::getStatus,
+          HealthClaimDto::getEstimatedAmount,
+          HealthClaimDto::getDateOfIncident);
+
+  /** Claims of all types by status, adding up estimated amounts, most recent incident first. */
+  public static final Shape<TypedClaim> TYPED_CLAIMS =
+      new Shape<>(
+          claim -> claim.claim().getStatus(),
+          claim -> claim.claim().getEstimatedAmount(),
+          claim -> claim.claim().getDateOfIncident());
+
+  /** Customers in backend order, counted only. */
+  public static final Shape<CustomerDto> CUSTOMERS = Shape.plain();
+
+  private ListShapes() {}
+}
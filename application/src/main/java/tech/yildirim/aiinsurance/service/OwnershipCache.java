@@ -0,0 +1,190 @@
+package tech.yildirim.aiinsurance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.model.ClaimType;
+
+/**
+ * Bounded, time-limited cache of the ownership mappings used by {@link CustomerService} to
+ * authorize AI function calls.
+ *
+ * <p>Three mappings are cached:
+ *
+ * <ul>
+ *   <li>policy ID → customer ID
+ *   <li>policy number → (policy ID, customer ID)
+ *   <li>(claim type, claim ID) → policy ID
+ * </ul>
+ *
+ * <p>Entries expire after a configurable time-to-live and the number of entries per mapping is
+ * bounded. The update tools of policies and claims evict the affected entries. Deleting customers,
+ * policies or claims is blocked for the AI, so those changes are made outside the assistant and
+ * reach the cache only through expiry: a mapping of a deleted resource may be used for up to the
+ * time-to-live. Hit and miss counts are exported to Micrometer as {@code cache.gets} with the cache
+ * names {@code ownership.policy-id}, {@code ownership.policy-number} and {@code ownership.claim}.
+ *
+ * <p>Lookups that fail with an {@link IllegalArgumentException}, i.e. a policy or claim that does
+ * not exist, are remembered for a short negative time-to-live. Retrying the same unknown
+ * identifier within that window fails immediately with the original message instead of calling the
+ * backend again; the avoided calls are counted in {@code ownership.backend.calls.avoided}, tagged
+ * by lookup.
+ */
+@Component
+public class OwnershipCache {
+
+  /**
+   * Identifies a claim across claim families.
+   *
+   * @param type the claim family
+   * @param claimId the claim ID within the family
+   */
+  public record ClaimKey(ClaimType type, Long claimId) {}
+
+  /**
+   * Cached owner of a policy looked up by policy number.
+   *
+   * @param policyId the technical policy ID
+   * @param customerId the owning customer ID
+   */
+  public record PolicyOwner(Long policyId, Long customerId) {}
+
+  private record MissKey(String lookup, Object key) {}
+
+  private static final String POLICY_ID = "policy-id";
+  private static final String POLICY_NUMBER = "policy-number";
+  private static final String CLAIM = "claim";
+
+  private final Cache<Long, Long> customerIdsByPolicyId;
+  private final Cache<String, PolicyOwner> ownersByPolicyNumber;
+  private final Cache<ClaimKey, Long> policyIdsByClaim;
+  private final Cache<MissKey, String> notFound;
+  private final Map<String, Counter> avoidedCalls;
+
+  public OwnershipCache(
+      MeterRegistry meterRegistry,
+      @Value("${insurance.cache.ownership.max-size:10000}") long maxSize,
+      @Value("${insurance.cache.ownership.ttl:10m}") Duration ttl,
+      @Value("${insurance.cache.ownership.negative-ttl:30s}") Duration negativeTtl) {
+    this.customerIdsByPolicyId = newCache(maxSize, ttl);
+    this.ownersByPolicyNumber = newCache(maxSize, ttl);
+    this.policyIdsByClaim = newCache(maxSize, ttl);
+    this.notFound = newCache(maxSize, negativeTtl);
+    this.avoidedCalls =
+        Stream.of(POLICY_ID, POLICY_NUMBER, CLAIM)
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    lookup -> lookup,
+                    lookup ->
+                        Counter.builder("ownership.backend.calls.avoided")
+                            .description("Backend lookups answered from the not-found cache")
+                            .tag("lookup", lookup)
+                            .register(meterRegistry)));
+
+    CaffeineCacheMetrics.monitor(meterRegistry, customerIdsByPolicyId, "ownership.policy-id");
+    CaffeineCacheMetrics.monitor(meterRegistry, ownersByPolicyNumber, "ownership.policy-number");
+    CaffeineCacheMetrics.monitor(meterRegistry, policyIdsByClaim, "ownership.claim");
+    CaffeineCacheMetrics.monitor(meterRegistry, notFound, "ownership.not-found");
+  }
+
+  private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+    return Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+  }
+
+  /**
+   * Returns the customer owning the policy, loading it with {@code loader} on a miss. Exceptions
+   * thrown by the loader are propagated and no mapping is cached; an {@link
+   * IllegalArgumentException} is remembered as not found for the negative time-to-live.
+   *
+   * @param policyId the technical policy ID
+   * @param loader resolves the owning customer ID from the backend
+   * @return the owning customer ID
+   */
+  public Long customerIdByPolicyId(Long policyId, Function<Long, Long> loader) {
+    return lookup(customerIdsByPolicyId, POLICY_ID, policyId, loader);
+  }
+
+  /**
+   * Returns the owner of the policy with the given number, loading it with {@code loader} on a
+   * miss. The policy ID mapping is populated as a side effect.
+   *
+   * @param policyNumber the human-readable policy number
+   * @param loader resolves the policy owner from the backend
+   * @return the policy owner
+   */
+  public PolicyOwner ownerByPolicyNumber(
+      String policyNumber, Function<String, PolicyOwner> loader) {
+    PolicyOwner owner = lookup(ownersByPolicyNumber, POLICY_NUMBER, policyNumber, loader);
+    if (owner.policyId() != null) {
+      customerIdsByPolicyId.put(owner.policyId(), owner.customerId());
+    }
+    return owner;
+  }
+
+  /**
+   * Returns the policy a claim belongs to, loading it with {@code loader} on a miss.
+   *
+   * @param key the claim type and ID
+   * @param loader resolves the claim's policy ID from the backend
+   * @return the policy ID of the claim
+   */
+  public Long policyIdByClaim(ClaimKey key, Function<ClaimKey, Long> loader) {
+    return lookup(policyIdsByClaim, CLAIM, key, loader);
+  }
+
+  /**
+   * Serves a lookup from the cache, failing fast for keys recently found missing in the backend.
+   */
+  private <K, V> V lookup(Cache<K, V> cache, String lookup, K key, Function<K, V> loader) {
+    MissKey missKey = new MissKey(lookup, key);
+    String notFoundMessage = notFound.getIfPresent(missKey);
+    if (notFoundMessage != null) {
+      avoidedCalls.get(lookup).increment();
+      throw new IllegalArgumentException(notFoundMessage);
+    }
+    try {
+      return cache.get(key, loader);
+    } catch (IllegalArgumentException e) {
+      if (e.getMessage() != null) {
+        notFound.put(missKey, e.getMessage());
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Evicts every mapping that refers to the given policy.
+   *
+   * @param policyId the technical policy ID
+   */
+  public void evictPolicy(Long policyId) {
+    if (policyId == null) {
+      return;
+    }
+    customerIdsByPolicyId.invalidate(policyId);
+    notFound.invalidate(new MissKey(POLICY_ID, policyId));
+    ownersByPolicyNumber.asMap().values().removeIf(owner -> policyId.equals(owner.policyId()));
+    policyIdsByClaim.asMap().values().removeIf(policyId::equals);
+  }
+
+  /**
+   * Evicts the policy mapping of a single claim.
+   *
+   * @param type the claim family
+   * @param claimId the claim ID
+   */
+  public void evictClaim(ClaimType type, Long claimId) {
+    ClaimKey key = new ClaimKey(type, claimId);
+    policyIdsByClaim.invalidate(key);
+    notFound.invalidate(new MissKey(CLAIM, key));
+  }
+}
@@ -0,0 +1,161 @@
+package tech.yildirim.aiinsurance.service;
+
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.backend.AsyncBackend;
+import tech.yildirim.aiinsurance.backend.BackendFailures;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.model.TypedClaim;
+
+/**
+ * Loads the auto, home and health claims of a set of policies with one parallel fan-out through the
+ * {@link AsyncBackend}, instead of one sequential backend call per policy and claim type.
+ *
+ * <p>A failed lookup does not fail the whole load: its claims are missing from the result and the
+ * lookup is reported in {@link PolicyClaims#failures()}, so the AI can tell the customer which part
+ * is incomplete. Loaded claims are remembered in the current {@link TurnContext}, so follow-up
+ * ownership checks on them in the same turn do not reach the backend.
+ *
+ * <p>Every policy costs three backend requests on the shared backend executor, so a load is limited
+ * to {@code insurance.ai.list.max-policy-ids} distinct policies.
+ */
+@Service
+@Slf4j
+public class PolicyClaimsLoader {
+
+  private final AsyncBackend asyncBackend;
+  private final int maxPolicyIds;
+
+  public PolicyClaimsLoader(
+      AsyncBackend asyncBackend,
+      @Value("${insurance.ai.list.max-policy-ids:10}") int maxPolicyIds) {
+    if (maxPolicyIds <= 0) {
+      throw new IllegalArgumentException("insurance.ai.list.max-policy-ids must be positive");
+    }
+    this.asyncBackend = asyncBackend;
+    this.maxPolicyIds = maxPolicyIds;
+  }
+
+  /**
+   * The claims of a set of policies.
+   *
+   * @param claims the loaded claims, in policy and claim type order
+   * @param failures the lookups that failed, empty if all claims were loaded
+   */
+  public record PolicyClaims(List<TypedClaim> claims, List<String> failures) {}
+
+  private record Lookup(
+      ClaimType type, Long policyId, CompletableFuture<List<? extends ClaimDto>> claims) {}
+
+  /**
+   * Returns the maximum number of distinct policies a load accepts.
+   *
+   * @return the policy limit
+   */
+  public int maxPolicyIds() {
+    return maxPolicyIds;
+  }
+
+  /**
+   * Tells whether a set of policies is within the policy limit.
+   *
+   * @param policyIds the policy IDs; {@code null} elements and duplicates are ignored
+   * @return whether the policies can be loaded at once
+   */
+  public boolean withinLimit(Collection<Long> policyIds) {
+    return distinct(policyIds).size() <= maxPolicyIds;
+  }
+
+  /**
+   * Loads the claims of all types of the given policies in parallel.
+   *
+   * @param policyIds the policy IDs; {@code null} elements and duplicates are ignored
+   * @param status only claims with this status, or {@code null} for all claims
+   * @return the claims, and the lookups that failed
+   * @throws IllegalArgumentException if more than {@link #maxPolicyIds()} policies are given
+   */
+  public PolicyClaims load(Collection<Long> policyIds, @Nullable String status) {
+    Set<Long> distinctPolicyIds = distinct(policyIds);
+    if (distinctPolicyIds.size() > maxPolicyIds) {
+      throw new IllegalArgumentException(
+          "At most " + maxPolicyIds + " policies can be loaded at once");
+    }
+    List<Lookup> lookups = new ArrayList<>();
+    for (Long policyId : distinctPolicyIds) {
+      lookups.add(
+          lookup(
+              ClaimType.AUTO,
+              policyId,
+              asyncBackend.getAutoClaimsByPolicyId(policyId, status)));
+      lookups.add(
+          lookup(
+              ClaimType.HOME,
+              policyId,
+              asyncBackend.getHomeClaimsByPolicyId(policyId, status)));
+      lookups.add(
+          lookup(
+              ClaimType.HEALTH,
+              policyId,
+              asyncBackend.getHealthClaimsByPolicyId(policyId, status)));
+    }
+
+    List<TypedClaim> claims = new ArrayList<>();
+    List<String> failures = new ArrayList<>();
+    for (Lookup lookup : lookups) {
+      try {
+        for (ClaimDto claim : BackendFailures.join(lookup.claims())) {
+          remember(claim);
+          claims.add(new TypedClaim(lookup.type(), claim));
+        }
+      } catch (RuntimeException e) {
+        log.warn(
+            "Loading {} claims of policy {} failed: {}",
+            lookup.type(),
+            lookup.policyId(),
+            e.getMessage());
+        failures.add(
+            lookup.type() + " claims of policy " + lookup.policyId() + " could not be loaded");
+      }
+    }
+    return new PolicyClaims(List.copyOf(claims), List.copyOf(failures));
+  }
+
+  private static Set<Long> distinct(@Nullable Collection<Long> policyIds) {
+    Set<Long> distinct = policyIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(policyIds);
+    distinct.remove(null);
+    return distinct;
+  }
+
+  private Lookup lookup(
+      ClaimType type, Long policyId, CompletableFuture<? extends List<? extends ClaimDto>> claims) {
+    return new Lookup(
+        type,
+        policyId,
+        claims.thenApply(list -> Objects.requireNonNullElse(list, List.<ClaimDto>of())));
+  }
+
+  /** Remembers a claim on the calling thread, which owns the {@link TurnContext}. */
+  private static void remember(ClaimDto claim) {
+    switch (claim) {
+      case AutoClaimDto auto -> TurnContext.rememberEntity(AutoClaimDto.class, auto.getId(), auto);
+      case HomeClaimDto home -> TurnContext.rememberEntity(HomeClaimDto.class, home.getId(), home);
+      case HealthClaimDto health ->
+          TurnContext.rememberEntity(HealthClaimDto.class, health.getId(), health);
+      default -> {}
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package tech.yildirim.aiinsurance.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyConditionsDto;
+import tech.yildirim.aiinsurance.config.ConcurrencyConfig;
+
+/**
+ * Read-through cache of the system-wide {@link PolicyConditionsDto}.
+ *
+ * <p>The conditions only change when an administrator updates them, so they are served from memory.
+ * Once the cached copy is older than {@code insurance.cache.policy-conditions.refresh-after}, the
+ * next read still returns it while a fresh copy is loaded in the background (refresh-ahead). A copy
+ * older than {@code expire-after}, e.g. because the backend was unreachable, is never served. The
+ * conditions are preloaded when the application is ready.
+ *
+ * <p>Updating the conditions is blocked for the AI, so changes are made in the backend directly and
+ * reads may return the previous conditions until the next refresh: for about {@code refresh-after}
+ * while the backend is reachable, never longer than {@code expire-after}. Operators who need a
+ * change visible at once call {@link PolicyConditionsEndpoint} on every instance. Hit and miss
+ * counts are exported to Micrometer as {@code cache.gets} with the cache name {@code
+ * policy-conditions}.
+ */
+@Component
+@Slf4j
+public class PolicyConditionsCache {
+
+  private static final String KEY = "policy-conditions";
+
+  private final LoadingCache<String, PolicyConditionsDto> conditions;
+
+  public PolicyConditionsCache(
+      PoliciesApiClient policiesApiClient,
+      @Qualifier(ConcurrencyConfig.BACKEND_EXECUTOR) Executor backendExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${insurance.cache.policy-conditions.refresh-after:2m}") Duration refreshAfter,
+      @Value("${insurance.cache.policy-conditions.expire-after:15m}") Duration expireAfter) {
+    this.conditions =
+        Caffeine.newBuilder()
+            .maximumSize(1)
+            .refreshAfterWrite(refreshAfter)
+            .expireAfterWrite(expireAfter)
+            .executor(backendExecutor)
+            .recordStats()
+            .build(
+                key -> Objects.requireNonNull(policiesApiClient.getPolicyConditions().getBody()));
+    CaffeineCacheMetrics.monitor(meterRegistry, conditions, KEY);
+  }
+
+  /** Loads the conditions in the background once the application is ready to serve requests. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    conditions
+        .refresh(KEY)
+        .whenComplete(
+            (loaded, failure) -> {
+              if (failure != null) {
+                log.warn("Could not preload policy conditions: {}", failure.getMessage());
+              }
+            });
+  }
+
+  /**
+   * Returns the current policy conditions, loading them from the backend on a miss.
+   *
+   * @return the policy conditions
+   * @throws NullPointerException if the backend returns no conditions
+   */
+  public PolicyConditionsDto get() {
+    return conditions.get(KEY);
+  }
+
+  /**
+   * Replaces the cached conditions after they were updated.
+   *
+   * @param updated the conditions returned by the backend update
+   */
+  public void replace(PolicyConditionsDto updated) {
+    conditions.invalidate(KEY);
+    conditions.put(KEY, updated);
+  }
+
+  /** Drops the cached conditions, so that the next read loads them from the backend. */
+  public void invalidate() {
+    conditions.invalidate(KEY);
+  }
+}
@@ -0,0 +1,26 @@
+package tech.yildirim.aiinsurance.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/policyconditions}. A {@code DELETE} drops the copy held by the
+ * {@link PolicyConditionsCache} of this instance, so the next read loads the conditions from the
+ * backend, e.g. after an administrator changed them outside the assistant. Like all actuator
+ * endpoints except health, it requires the operator role.
+ */
+@Component
+@Endpoint(id = "policyconditions")
+@RequiredArgsConstructor
+public class PolicyConditionsEndpoint {
+
+  private final PolicyConditionsCache policyConditionsCache;
+
+  /** Drops the cached policy conditions. */
+  @DeleteOperation
+  public void invalidate() {
+    policyConditionsCache.invalidate();
+  }
+}
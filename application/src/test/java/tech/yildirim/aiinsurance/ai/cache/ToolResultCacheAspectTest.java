@@ -0,0 +1,164 @@
+package tech.yildirim.aiinsurance.ai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.audit.AuditTrail;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByIdRequestReq;
+import tech.yildirim.aiinsurance.model.ai.request.UpdateCustomerRequestReq;
+import tech.yildirim.aiinsurance.security.SecuredRequestRegistry;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
+import tech.yildirim.aiinsurance.service.CustomerService;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+
+/**
+ * Unit tests for {@link ToolResultCacheAspect}.
+ *
+ * <p>The aspect is applied together with {@link SecurityAspect} to verify that cached responses are
+ * only served after authorization and that writes evict the related entries.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ToolResultCacheAspect Tests")
+class ToolResultCacheAspectTest {
+
+  @Mock private CustomersApiClient customersApiClient;
+
+  @Mock private CustomerService customerService;
+
+  @Mock private SecurityUtils securityUtils;
+
+  @Mock private AuditTrail auditTrail;
+
+  @Mock private CustomerSnapshotService customerSnapshotService;
+
+  @Mock private OwnershipIndexService ownershipIndexService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private CustomerFunctions customerFunctions;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    SecuredRequestRegistry registry =
+        new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+    Arrays.stream(CustomerFunctions.class.getMethods()).forEach(registry::register);
+
+    AspectJProxyFactory factory =
+        new AspectJProxyFactory(
+            new CustomerFunctions(
+                customersApiClient,
+                new ListPaginator(10),
+                customerSnapshotService));
+    // Added in the order the application context sorts them: security outermost
+    factory.addAspect(
+        new SecurityAspect(securityUtils, registry, auditTrail, ownershipIndexService));
+    factory.addAspect(new ToolResultCacheAspect(meterRegistry, new StandardEnvironment()));
+    customerFunctions = factory.getProxy();
+  }
+
+  @Test
+  @DisplayName("Should serve a repeated read from the cache and export a hit")
+  void cachedRead_CalledTwice_ShouldCallBackendOnce() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    // When
+    function.apply(new GetCustomerByIdRequestReq(1L));
+    ResponseWrapper<CustomerDto> response = function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // Then
+    assertThat(response.isSuccess()).isTrue();
+    verify(customersApiClient, times(1)).getCustomerById(1L);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "tool.getCustomerById")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should check authorization before returning a cached response")
+  void cachedRead_ByAnotherCustomer_ShouldBeDenied() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L, 2L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+    function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // When
+    ResponseWrapper<CustomerDto> response = function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // Then
+    assertThat(response.isSuccess()).isFalse();
+    assertThat(response.getErrorMessage()).contains("Access denied");
+  }
+
+  @Test
+  @DisplayName("Should evict the cached read of a customer after the customer is updated")
+  void write_ForCachedResource_ShouldEvictEntry() {
+    // Given
+    CustomerDto customer = new CustomerDto();
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customer));
+    when(customersApiClient.updateCustomer(1L, customer)).thenReturn(ResponseEntity.ok(customer));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+    function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // When
+    customerFunctions.updateCustomer().apply(new UpdateCustomerRequestReq(1L, customer));
+    function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // Then
+    verify(customersApiClient, times(2)).getCustomerById(1L);
+  }
+
+  @Test
+  @DisplayName("Should not cache failed responses")
+  void failedRead_ShouldNotBeCached() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L))
+        .thenReturn(ResponseEntity.ok(null), ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    // When
+    function.apply(new GetCustomerByIdRequestReq(1L));
+    ResponseWrapper<CustomerDto> response = function.apply(new GetCustomerByIdRequestReq(1L));
+
+    // Then
+    assertThat(response.getData()).isNotNull();
+    verify(customersApiClient, times(2)).getCustomerById(1L);
+  }
+}
@@ -0,0 +1,129 @@
+package tech.yildirim.aiinsurance.ai.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TurnContext}.
+ *
+ * <p>Tests binding of the turn to the current thread and freshness of stored entities.
+ */
+@DisplayName("TurnContext Tests")
+class TurnContextTest {
+
+  @Test
+  @DisplayName("Should expose the turn only while it is open")
+  void current_ShouldFollowOpenAndClose() {
+    assertThat(TurnContext.current()).isEmpty();
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      assertThat(TurnContext.current()).containsSame(turn);
+    }
+
+    assertThat(TurnContext.current()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return stored entities by type and identifier")
+  void findEntity_WithStoredEntity_ShouldReturnIt() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // Given
+      turn.putEntity(String.class, 1L, "policy");
+
+      // Then
+      assertThat(TurnContext.currentEntity(String.class, 1L)).contains("policy");
+      assertThat(TurnContext.currentEntity(String.class, 2L)).isEmpty();
+      assertThat(TurnContext.currentEntity(Integer.class, 1L)).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("Should match text identifiers such as policy numbers ignoring case")
+  void findEntity_WithDifferentlyCasedId_ShouldReturnIt() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // Given
+      turn.prefetchEntity(String.class, "POL-123", "policy");
+
+      // Then
+      assertThat(TurnContext.currentEntity(String.class, "pol-123")).contains("policy");
+      assertThat(turn.prefetchStats().read()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should not serve entities older than the maximum age")
+  void findEntity_WithStaleEntity_ShouldReturnEmpty() {
+    try (TurnContext turn = TurnContext.open(Duration.ZERO)) {
+      // Given
+      turn.putEntity(String.class, 1L, "policy");
+
+      // Then
+      assertThat(turn.findEntity(String.class, 1L)).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("Should drop entities of a type after they are evicted")
+  void evictEntities_ShouldRemoveOnlyThatType() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // Given
+      turn.putEntity(String.class, 1L, "policy");
+      turn.putEntity(Integer.class, 1L, 7);
+
+      // When
+      turn.evictEntities(String.class);
+
+      // Then
+      assertThat(turn.findEntity(String.class, 1L)).isEmpty();
+      assertThat(turn.findEntity(Integer.class, 1L)).contains(7);
+    }
+  }
+
+  @Test
+  @DisplayName("Should count prefetched entities and the ones that were read")
+  void prefetchStats_ShouldCountReadPrefetchedEntities() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // Given
+      turn.prefetchEntity(String.class, 1L, "read");
+      turn.prefetchEntity(String.class, 2L, "unread");
+      turn.putEntity(String.class, 3L, "loaded by a tool");
+
+      // When
+      turn.findEntity(String.class, 1L);
+      turn.findEntity(String.class, 3L);
+
+      // Then
+      assertThat(turn.prefetchStats()).isEqualTo(new TurnContext.PrefetchStats(2, 1));
+    }
+  }
+
+  @Test
+  @DisplayName("Should not replace an entity already stored by a tool with a prefetched one")
+  void prefetchEntity_WithStoredEntity_ShouldKeepIt() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // Given
+      turn.putEntity(String.class, 1L, "loaded by a tool");
+
+      // When
+      turn.prefetchEntity(String.class, 1L, "prefetched");
+
+      // Then
+      assertThat(turn.findEntity(String.class, 1L)).contains("loaded by a tool");
+      assertThat(turn.prefetchStats().stored()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("Should expose the conversation ID the turn was opened with")
+  void conversationId_ShouldFollowOpen() {
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30), "conversation-1")) {
+      assertThat(turn.conversationId()).contains("conversation-1");
+    }
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      assertThat(turn.conversationId()).isEmpty();
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package tech.yildirim.aiinsurance.ai.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.audit.AuditTrail;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.GetAllCustomersReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByIdRequestReq;
+import tech.yildirim.aiinsurance.model.ai.request.UpdateCustomerRequestReq;
+import tech.yildirim.aiinsurance.security.SecuredRequestRegistry;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
+import tech.yildirim.aiinsurance.service.CustomerService;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+
+/**
+ * Unit tests for {@link TurnMemoAspect}.
+ *
+ * <p>The aspect is applied together with {@link SecurityAspect} to verify that a repeated read in
+ * the same turn skips both the authorization check and the backend call.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TurnMemoAspect Tests")
+class TurnMemoAspectTest {
+
+  @Mock private CustomersApiClient customersApiClient;
+
+  @Mock private CustomerService customerService;
+
+  @Mock private SecurityUtils securityUtils;
+
+  @Mock private AuditTrail auditTrail;
+
+  @Mock private CustomerSnapshotService customerSnapshotService;
+
+  @Mock private OwnershipIndexService ownershipIndexService;
+
+  private CustomerFunctions customerFunctions;
+
+  @BeforeEach
+  void setUp() {
+    SecuredRequestRegistry registry =
+        new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+    Arrays.stream(CustomerFunctions.class.getMethods()).forEach(registry::register);
+
+    AspectJProxyFactory factory =
+        new AspectJProxyFactory(
+            new CustomerFunctions(
+                customersApiClient,
+                new ListPaginator(10),
+                customerSnapshotService));
+    // Added in the order the application context sorts them: the memo outermost
+    factory.addAspect(new TurnMemoAspect());
+    factory.addAspect(
+        new SecurityAspect(securityUtils, registry, auditTrail, ownershipIndexService));
+    customerFunctions = factory.getProxy();
+  }
+
+  @Test
+  @DisplayName("Should answer a repeated read in the same turn without checking or fetching again")
+  void read_CalledTwiceInTurn_ShouldCheckAndFetchOnce() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      ResponseWrapper<CustomerDto> first = function.apply(new GetCustomerByIdRequestReq(1L));
+      ResponseWrapper<CustomerDto> second = function.apply(new GetCustomerByIdRequestReq(1L));
+
+      // Then
+      assertThat(second).isSameAs(first);
+      assertThat(turn.duplicateCalls()).isEqualTo(Map.of("getCustomerById", 1));
+    }
+    verify(securityUtils, times(1)).getCurrentUserCustomerId();
+    verify(customersApiClient, times(1)).getCustomerById(1L);
+  }
+
+  @Test
+  @DisplayName("Should not share responses between turns")
+  void read_InSeparateTurns_ShouldFetchEachTime() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    // When
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30))) {
+      function.apply(new GetCustomerByIdRequestReq(1L));
+    }
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30))) {
+      function.apply(new GetCustomerByIdRequestReq(1L));
+    }
+
+    // Then
+    verify(customersApiClient, times(2)).getCustomerById(1L);
+  }
+
+  @Test
+  @DisplayName("Should drop the memo of the turn after a write")
+  void write_InTurn_ShouldClearMemo() {
+    // Given
+    CustomerDto customer = new CustomerDto();
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customer));
+    when(customersApiClient.updateCustomer(1L, customer)).thenReturn(ResponseEntity.ok(customer));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      function.apply(new GetCustomerByIdRequestReq(1L));
+
+      // When
+      customerFunctions.updateCustomer().apply(new UpdateCustomerRequestReq(1L, customer));
+      function.apply(new GetCustomerByIdRequestReq(1L));
+
+      // Then
+      assertThat(turn.duplicateCalls()).isEmpty();
+    }
+    verify(customersApiClient, times(2)).getCustomerById(1L);
+  }
+
+  @Test
+  @DisplayName("Should keep the memo of the turn when a function blocked for the AI is called")
+  void blockedFunction_InTurn_ShouldKeepMemo() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    Function<GetCustomerByIdRequestReq, ResponseWrapper<CustomerDto>> function =
+        customerFunctions.getCustomerById();
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      function.apply(new GetCustomerByIdRequestReq(1L));
+
+      // When
+      ResponseWrapper<ListPage<CustomerDto>> blocked =
+          customerFunctions.getAllCustomers().apply(new GetAllCustomersReq(null, null));
+      function.apply(new GetCustomerByIdRequestReq(1L));
+
+      // Then
+      assertThat(blocked.isSuccess()).isFalse();
+      assertThat(turn.duplicateCalls()).isEqualTo(Map.of("getCustomerById", 1));
+    }
+    verify(customersApiClient, times(1)).getCustomerById(1L);
+  }
+}
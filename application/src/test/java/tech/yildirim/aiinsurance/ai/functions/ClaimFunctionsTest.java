@@ -3,9 +3,11 @@ package tech.yildirim.aiinsurance.ai.functions;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.function.Function;
@@ -16,12 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
 import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.AssignAdjusterRequestDto;
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
 import tech.yildirim.aiinsurance.model.ai.request.AssignAdjusterToAutoClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.AssignAdjusterToHealthClaimReq;
@@ -41,6 +45,7 @@ import tech.yildirim.aiinsurance.model.ai.request.GetHomeClaimByIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateAutoClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateHealthClaimReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdateHomeClaimReq;
+import tech.yildirim.aiinsurance.service.OwnershipCache;
 
 /**
  * Unit tests for {@link ClaimFunctions}.
@@ -54,11 +59,13 @@ class ClaimFunctionsTest {
 
   @Mock private ClaimsApiClient claimsApiClient;
 
+  @Mock private OwnershipCache ownershipCache;
+
   private ClaimFunctions claimFunctions;
 
   @BeforeEach
   void setUp() {
-    claimFunctions = new ClaimFunctions(claimsApiClient);
+    claimFunctions = new ClaimFunctions(claimsApiClient, ownershipCache);
   }
 
   // --- AUTO CLAIM TESTS ---
@@ -101,6 +108,27 @@ class ClaimFunctionsTest {
     assertThatThrownBy(() -> function.apply(request)).isInstanceOf(NullPointerException.class);
   }
 
+  @Test
+  @DisplayName("Should reuse auto claim loaded during authorization in the same turn")
+  void getAutoClaimById_WithClaimInTurnContext_ShouldNotFetchAgain() {
+    // Given
+    Long claimId = 1L;
+    AutoClaimDto authorizedClaim = createSampleAutoClaim();
+    authorizedClaim.setId(claimId);
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      turn.putEntity(AutoClaimDto.class, claimId, authorizedClaim);
+
+      // When
+      ResponseWrapper<AutoClaimDto> result =
+          claimFunctions.getAutoClaimById().apply(new GetAutoClaimByIdReq(claimId));
+
+      // Then
+      assertThat(result.getData()).isSameAs(authorizedClaim);
+      verifyNoInteractions(claimsApiClient);
+    }
+  }
+
   @Test
   @DisplayName("Should return auto claim when valid claim ID is provided")
   void getAutoClaimById_WithValidClaimId_ShouldReturnClaim() {
@@ -172,6 +200,7 @@ class ClaimFunctionsTest {
     assertThat(result.getData().getId()).isEqualTo(claimId);
     assertThat(result.getData().getDescription()).isEqualTo("Updated accident description");
     verify(claimsApiClient).updateAutoClaim(claimId, inputClaim);
+    verify(ownershipCache).evictClaim(ClaimType.AUTO, claimId);
   }
 
   @Test
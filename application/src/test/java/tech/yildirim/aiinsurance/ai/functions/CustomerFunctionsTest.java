@@ -18,9 +18,14 @@ import org.springframework.http.ResponseEntity;
 import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.CustomerSnapshot;
+import tech.yildirim.aiinsurance.model.ListPage;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
 import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByPolicyNumberReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerSnapshotReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetPoliciesByCustomerIdReq;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
 
 /**
  * Unit tests for {@link CustomerFunctions}.
@@ -34,11 +39,14 @@ class CustomerFunctionsTest {
 
   @Mock private CustomersApiClient customersApiClient;
 
+  @Mock private CustomerSnapshotService customerSnapshotService;
+
   private CustomerFunctions customerFunctions;
 
   @BeforeEach
   void setUp() {
-    customerFunctions = new CustomerFunctions(customersApiClient);
+    customerFunctions =
+        new CustomerFunctions(customersApiClient, new ListPaginator(10), customerSnapshotService);
   }
 
   @Test
@@ -90,15 +98,15 @@ class CustomerFunctionsTest {
         .thenReturn(ResponseEntity.ok(expectedPolicies));
 
     // When
-    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<List<PolicyDto>>> function =
+    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<ListPage<PolicyDto>>> function =
         customerFunctions.getPoliciesByCustomerId();
-    ResponseWrapper<List<PolicyDto>> result =
-        function.apply(new GetPoliciesByCustomerIdReq(customerId));
+    ResponseWrapper<ListPage<PolicyDto>> result =
+        function.apply(new GetPoliciesByCustomerIdReq(customerId, null));
 
     // Then
-    assertThat(result.getData()).isNotNull().hasSize(2);
-    assertThat(result.getData().get(0).getPolicyNumber()).isEqualTo("POL-001");
-    assertThat(result.getData().get(1).getPolicyNumber()).isEqualTo("POL-002");
+    assertThat(result.getData().items()).isNotNull().hasSize(2);
+    assertThat(result.getData().items().get(0).getPolicyNumber()).isEqualTo("POL-001");
+    assertThat(result.getData().items().get(1).getPolicyNumber()).isEqualTo("POL-002");
   }
 
   @Test
@@ -112,13 +120,13 @@ class CustomerFunctionsTest {
         .thenReturn(ResponseEntity.ok(emptyPolicies));
 
     // When
-    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<List<PolicyDto>>> function =
+    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<ListPage<PolicyDto>>> function =
         customerFunctions.getPoliciesByCustomerId();
-    ResponseWrapper<List<PolicyDto>> result =
-        function.apply(new GetPoliciesByCustomerIdReq(customerId));
+    ResponseWrapper<ListPage<PolicyDto>> result =
+        function.apply(new GetPoliciesByCustomerIdReq(customerId, null));
 
     // Then
-    assertThat(result.getData()).isNotNull().isEmpty();
+    assertThat(result.getData().items()).isNotNull().isEmpty();
   }
 
   @Test
@@ -129,19 +137,36 @@ class CustomerFunctionsTest {
     when(customersApiClient.getPoliciesByCustomerId(anyLong())).thenReturn(null);
 
     // When & Then
-    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<List<PolicyDto>>> function =
+    Function<GetPoliciesByCustomerIdReq, ResponseWrapper<ListPage<PolicyDto>>> function =
         customerFunctions.getPoliciesByCustomerId();
-    GetPoliciesByCustomerIdReq request = new GetPoliciesByCustomerIdReq(customerId);
+    GetPoliciesByCustomerIdReq request = new GetPoliciesByCustomerIdReq(customerId, null);
 
     assertThatThrownBy(() -> function.apply(request)).isInstanceOf(NullPointerException.class);
   }
 
+  @Test
+  @DisplayName("Should return the snapshot assembled by the snapshot service")
+  void getCustomerSnapshot_ShouldReturnSnapshot() {
+    // Given
+    CustomerSnapshot snapshot =
+        new CustomerSnapshot(createSampleCustomer(), null, null, List.of(), List.of());
+    when(customerSnapshotService.snapshot(1L)).thenReturn(snapshot);
+
+    // When
+    ResponseWrapper<CustomerSnapshot> result =
+        customerFunctions.getCustomerSnapshot().apply(new GetCustomerSnapshotReq(1L));
+
+    // Then
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.getData()).isSameAs(snapshot);
+  }
+
   @Test
   @DisplayName("Request records should be properly constructed")
   void requestRecords_ShouldBeProperlyConstructed() {
     // Given & When
     GetCustomerByPolicyNumberReq customerRequest = new GetCustomerByPolicyNumberReq("POL-123");
-    GetPoliciesByCustomerIdReq policiesRequest = new GetPoliciesByCustomerIdReq(1L);
+    GetPoliciesByCustomerIdReq policiesRequest = new GetPoliciesByCustomerIdReq(1L, null);
 
     // Then
     assertThat(customerRequest.policyNumber()).isEqualTo("POL-123");
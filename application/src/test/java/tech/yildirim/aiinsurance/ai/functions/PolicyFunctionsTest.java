@@ -2,12 +2,18 @@ package tech.yildirim.aiinsurance.ai.functions;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static tech.yildirim.aiinsurance.backend.BackendPages.PAGE_SIZE;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.LongStream;
 import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
 import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
 import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.CancellationPenaltyRuleDto;
@@ -23,10 +30,16 @@ import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyConditionsDto;
 import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.ExecutorAsyncBackend;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.model.PolicyClaimsPage;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.TypedClaim;
 import tech.yildirim.aiinsurance.model.ai.request.CreatePolicyReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetAllPoliciesReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimsByPolicyIdReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetClaimsByPolicyIdsReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetHealthClaimsByPolicyIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetHomeClaimsByPolicyIdReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetPolicyByIdReq;
@@ -34,6 +47,10 @@ import tech.yildirim.aiinsurance.model.ai.request.GetPolicyByPolicyNumberReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetPolicyConditionsReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdatePolicyConditionsReq;
 import tech.yildirim.aiinsurance.model.ai.request.UpdatePolicyReq;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+import tech.yildirim.aiinsurance.service.OwnershipCache;
+import tech.yildirim.aiinsurance.service.PolicyClaimsLoader;
+import tech.yildirim.aiinsurance.service.PolicyConditionsCache;
 
 /**
  * Unit tests for {@link PolicyFunctions}.
@@ -45,13 +62,34 @@ import tech.yildirim.aiinsurance.model.ai.request.UpdatePolicyReq;
 @DisplayName("PolicyFunctions Tests")
 class PolicyFunctionsTest {
 
+  private static final int MAX_POLICY_IDS = 2;
+
   @Mock private PoliciesApiClient policiesApiClient;
 
+  @Mock private CustomersApiClient customersApiClient;
+
+  @Mock private OwnershipCache ownershipCache;
+
   private PolicyFunctions policyFunctions;
 
   @BeforeEach
   void setUp() {
-    policyFunctions = new PolicyFunctions(policiesApiClient);
+    PolicyConditionsCache policyConditionsCache =
+        new PolicyConditionsCache(
+            policiesApiClient,
+            Runnable::run,
+            new SimpleMeterRegistry(),
+            Duration.ofMinutes(10),
+            Duration.ofHours(1));
+    policyFunctions =
+        new PolicyFunctions(
+            policiesApiClient,
+            ownershipCache,
+            policyConditionsCache,
+            new ListPaginator(10),
+            new PolicyClaimsLoader(
+                new ExecutorAsyncBackend(customersApiClient, policiesApiClient, Runnable::run),
+                MAX_POLICY_IDS));
   }
 
   @Test
@@ -159,16 +197,16 @@ class PolicyFunctionsTest {
     when(policiesApiClient.getAllPolicies()).thenReturn(ResponseEntity.ok(expectedPolicies));
 
     // When
-    Function<GetAllPoliciesReq, ResponseWrapper<List<PolicyDto>>> function =
+    Function<GetAllPoliciesReq, ResponseWrapper<ListPage<PolicyDto>>> function =
         policyFunctions.getAllPolicies();
-    ResponseWrapper<List<PolicyDto>> result = function.apply(new GetAllPoliciesReq());
+    ResponseWrapper<ListPage<PolicyDto>> result = function.apply(new GetAllPoliciesReq(null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).hasSize(3);
-    assertThat(result.getData().get(0).getType()).isEqualTo(PolicyDto.TypeEnum.AUTO);
-    assertThat(result.getData().get(1).getType()).isEqualTo(PolicyDto.TypeEnum.HOME);
-    assertThat(result.getData().get(2).getType()).isEqualTo(PolicyDto.TypeEnum.HEALTH);
+    assertThat(result.getData().items()).hasSize(3);
+    assertThat(result.getData().items().get(0).getType()).isEqualTo(PolicyDto.TypeEnum.AUTO);
+    assertThat(result.getData().items().get(1).getType()).isEqualTo(PolicyDto.TypeEnum.HOME);
+    assertThat(result.getData().items().get(2).getType()).isEqualTo(PolicyDto.TypeEnum.HEALTH);
     verify(policiesApiClient).getAllPolicies();
   }
 
@@ -181,13 +219,13 @@ class PolicyFunctionsTest {
     when(policiesApiClient.getAllPolicies()).thenReturn(ResponseEntity.ok(emptyPolicies));
 
     // When
-    Function<GetAllPoliciesReq, ResponseWrapper<List<PolicyDto>>> function =
+    Function<GetAllPoliciesReq, ResponseWrapper<ListPage<PolicyDto>>> function =
         policyFunctions.getAllPolicies();
-    ResponseWrapper<List<PolicyDto>> result = function.apply(new GetAllPoliciesReq());
+    ResponseWrapper<ListPage<PolicyDto>> result = function.apply(new GetAllPoliciesReq(null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).isEmpty();
+    assertThat(result.getData().items()).isEmpty();
     verify(policiesApiClient).getAllPolicies();
   }
 
@@ -213,6 +251,7 @@ class PolicyFunctionsTest {
     assertThat(result.getData().getId()).isEqualTo(policyId);
     assertThat(result.getData().getPremium()).isEqualTo(new BigDecimal("1500.00"));
     verify(policiesApiClient).updatePolicy(policyId, inputPolicy);
+    verify(ownershipCache).evictPolicy(policyId);
   }
 
   @Test
@@ -220,26 +259,46 @@ class PolicyFunctionsTest {
   void getAutoClaimsByPolicyId_WithValidPolicyId_ShouldReturnClaims() {
     // Given
     Long policyId = 1L;
-    Integer page = 0;
-    Integer size = 20;
     String status = "PENDING";
     List<AutoClaimDto> expectedClaims = createSampleAutoClaims();
 
-    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, page, size, status))
+    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, 0, PAGE_SIZE, status))
         .thenReturn(ResponseEntity.ok(expectedClaims));
 
     // When
-    Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<List<AutoClaimDto>>> function =
+    Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<ListPage<AutoClaimDto>>> function =
         policyFunctions.getAutoClaimsByPolicyId();
-    ResponseWrapper<List<AutoClaimDto>> result =
-        function.apply(new GetAutoClaimsByPolicyIdReq(policyId, page, size, status));
+    ResponseWrapper<ListPage<AutoClaimDto>> result =
+        function.apply(new GetAutoClaimsByPolicyIdReq(policyId, status, null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).hasSize(2);
-    assertThat(result.getData().get(0).getLicensePlate()).isEqualTo("ABC-123");
-    assertThat(result.getData().get(1).getLicensePlate()).isEqualTo("XYZ-789");
-    verify(policiesApiClient).getAutoClaimsByPolicyId(policyId, page, size, status);
+    assertThat(result.getData().items()).hasSize(2);
+    assertThat(result.getData().items().get(0).getLicensePlate()).isEqualTo("ABC-123");
+    assertThat(result.getData().items().get(1).getLicensePlate()).isEqualTo("XYZ-789");
+    verify(policiesApiClient).getAutoClaimsByPolicyId(policyId, 0, PAGE_SIZE, status);
+  }
+
+  @Test
+  @DisplayName("Should read every backend page before paging and summarizing the claims")
+  void getAutoClaimsByPolicyId_WithSeveralBackendPages_ShouldSummarizeAllPages() {
+    // Given
+    Long policyId = 1L;
+    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(createAutoClaims(policyId, 1, PAGE_SIZE)));
+    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, 1, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(createAutoClaims(policyId, PAGE_SIZE + 1, 2)));
+
+    // When
+    ResponseWrapper<ListPage<AutoClaimDto>> result =
+        policyFunctions
+            .getAutoClaimsByPolicyId()
+            .apply(new GetAutoClaimsByPolicyIdReq(policyId, null, null));
+
+    // Then
+    assertThat(result.getData().items()).hasSize(10);
+    assertThat(result.getData().summary().total()).isEqualTo(PAGE_SIZE + 2);
+    assertThat(result.getData().nextCursor()).isNotNull();
   }
 
   @Test
@@ -247,26 +306,24 @@ class PolicyFunctionsTest {
   void getHomeClaimsByPolicyId_WithValidPolicyId_ShouldReturnClaims() {
     // Given
     Long policyId = 1L;
-    Integer page = 0;
-    Integer size = 20;
     String status = "APPROVED";
     List<HomeClaimDto> expectedClaims = createSampleHomeClaims();
 
-    when(policiesApiClient.getHomeClaimsByPolicyId(policyId, page, size, status))
+    when(policiesApiClient.getHomeClaimsByPolicyId(policyId, 0, PAGE_SIZE, status))
         .thenReturn(ResponseEntity.ok(expectedClaims));
 
     // When
-    Function<GetHomeClaimsByPolicyIdReq, ResponseWrapper<List<HomeClaimDto>>> function =
+    Function<GetHomeClaimsByPolicyIdReq, ResponseWrapper<ListPage<HomeClaimDto>>> function =
         policyFunctions.getHomeClaimsByPolicyId();
-    ResponseWrapper<List<HomeClaimDto>> result =
-        function.apply(new GetHomeClaimsByPolicyIdReq(policyId, page, size, status));
+    ResponseWrapper<ListPage<HomeClaimDto>> result =
+        function.apply(new GetHomeClaimsByPolicyIdReq(policyId, status, null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).hasSize(2);
-    assertThat(result.getData().get(0).getTypeOfDamage()).isEqualTo("Fire damage");
-    assertThat(result.getData().get(1).getTypeOfDamage()).isEqualTo("Water damage");
-    verify(policiesApiClient).getHomeClaimsByPolicyId(policyId, page, size, status);
+    assertThat(result.getData().items()).hasSize(2);
+    assertThat(result.getData().items().get(0).getTypeOfDamage()).isEqualTo("Fire damage");
+    assertThat(result.getData().items().get(1).getTypeOfDamage()).isEqualTo("Water damage");
+    verify(policiesApiClient).getHomeClaimsByPolicyId(policyId, 0, PAGE_SIZE, status);
   }
 
   @Test
@@ -274,26 +331,137 @@ class PolicyFunctionsTest {
   void getHealthClaimsByPolicyId_WithValidPolicyId_ShouldReturnClaims() {
     // Given
     Long policyId = 1L;
-    Integer page = 0;
-    Integer size = 20;
     String status = "IN_REVIEW";
     List<HealthClaimDto> expectedClaims = createSampleHealthClaims();
 
-    when(policiesApiClient.getHealthClaimsByPolicyId(policyId, page, size, status))
+    when(policiesApiClient.getHealthClaimsByPolicyId(policyId, 0, PAGE_SIZE, status))
         .thenReturn(ResponseEntity.ok(expectedClaims));
 
     // When
-    Function<GetHealthClaimsByPolicyIdReq, ResponseWrapper<List<HealthClaimDto>>> function =
+    Function<GetHealthClaimsByPolicyIdReq, ResponseWrapper<ListPage<HealthClaimDto>>> function =
         policyFunctions.getHealthClaimsByPolicyId();
-    ResponseWrapper<List<HealthClaimDto>> result =
-        function.apply(new GetHealthClaimsByPolicyIdReq(policyId, page, size, status));
+    ResponseWrapper<ListPage<HealthClaimDto>> result =
+        function.apply(new GetHealthClaimsByPolicyIdReq(policyId, status, null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).hasSize(2);
-    assertThat(result.getData().get(0).getMedicalProvider()).isEqualTo("City General Hospital");
-    assertThat(result.getData().get(1).getMedicalProvider()).isEqualTo("Family Care Clinic");
-    verify(policiesApiClient).getHealthClaimsByPolicyId(policyId, page, size, status);
+    assertThat(result.getData().items()).hasSize(2);
+    assertThat(result.getData().items().get(0).getMedicalProvider())
+        .isEqualTo("City General Hospital");
+    assertThat(result.getData().items().get(1).getMedicalProvider())
+        .isEqualTo("Family Care Clinic");
+    verify(policiesApiClient).getHealthClaimsByPolicyId(policyId, 0, PAGE_SIZE, status);
+  }
+
+  @Test
+  @DisplayName("Should merge claims of all types and policies, most recent incident first")
+  void getClaimsByPolicyIds_WithSeveralPolicies_ShouldReturnMergedClaims() {
+    // Given
+    AutoClaimDto autoClaim = createSampleAutoClaims().get(0);
+    autoClaim.setDateOfIncident(LocalDate.of(2024, 1, 10));
+    HealthClaimDto healthClaim = createSampleHealthClaims().get(0);
+    healthClaim.setPolicyId(2L);
+    healthClaim.setDateOfIncident(LocalDate.of(2024, 5, 20));
+
+    when(policiesApiClient.getAutoClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of(autoClaim)));
+    when(policiesApiClient.getHomeClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHealthClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getAutoClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHomeClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHealthClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of(healthClaim)));
+
+    // When
+    ResponseWrapper<PolicyClaimsPage> result =
+        policyFunctions
+            .getClaimsByPolicyIds()
+            .apply(new GetClaimsByPolicyIdsReq(List.of(1L, 2L), null, null));
+
+    // Then
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.getData().items())
+        .containsExactly(
+            new TypedClaim(ClaimType.HEALTH, healthClaim),
+            new TypedClaim(ClaimType.AUTO, autoClaim));
+    assertThat(result.getData().summary().total()).isEqualTo(2);
+    assertThat(result.getData().unavailable()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return the loaded claims and report a failed claim lookup")
+  void getClaimsByPolicyIds_WhenOneLookupFails_ShouldReturnPartialResult() {
+    // Given
+    List<HomeClaimDto> homeClaims = createSampleHomeClaims();
+    when(policiesApiClient.getAutoClaimsByPolicyId(1L, 0, PAGE_SIZE, "OPEN"))
+        .thenThrow(new IllegalStateException("Backend unavailable"));
+    when(policiesApiClient.getHomeClaimsByPolicyId(1L, 0, PAGE_SIZE, "OPEN"))
+        .thenReturn(ResponseEntity.ok(homeClaims));
+    when(policiesApiClient.getHealthClaimsByPolicyId(1L, 0, PAGE_SIZE, "OPEN"))
+        .thenReturn(ResponseEntity.ok(List.of()));
+
+    // When
+    ResponseWrapper<PolicyClaimsPage> result =
+        policyFunctions
+            .getClaimsByPolicyIds()
+            .apply(new GetClaimsByPolicyIdsReq(List.of(1L), "OPEN", null));
+
+    // Then
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.getData().items())
+        .extracting(TypedClaim::type)
+        .containsOnly(ClaimType.HOME)
+        .hasSize(2);
+    assertThat(result.getData().unavailable())
+        .containsExactly("AUTO claims of policy 1 could not be loaded");
+  }
+
+  @Test
+  @DisplayName("Should reject more policies than the limit without calling the backend")
+  void getClaimsByPolicyIds_OverPolicyLimit_ShouldReturnError() {
+    // Given: one policy over the limit; the two policies of the merged claims test are at it
+    GetClaimsByPolicyIdsReq overLimit =
+        new GetClaimsByPolicyIdsReq(List.of(1L, 2L, 3L), null, null);
+
+    // When
+    ResponseWrapper<PolicyClaimsPage> result =
+        policyFunctions.getClaimsByPolicyIds().apply(overLimit);
+
+    // Then
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(result.getErrorMessage()).contains("At most " + MAX_POLICY_IDS + " policies");
+    verifyNoInteractions(policiesApiClient);
+  }
+
+  @Test
+  @DisplayName("Should count repeated policy IDs once against the limit")
+  void getClaimsByPolicyIds_WithDuplicatePolicyIds_ShouldStayWithinLimit() {
+    // Given
+    when(policiesApiClient.getAutoClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHomeClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHealthClaimsByPolicyId(1L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getAutoClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHomeClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHealthClaimsByPolicyId(2L, 0, PAGE_SIZE, null))
+        .thenReturn(ResponseEntity.ok(List.of()));
+
+    // When
+    ResponseWrapper<PolicyClaimsPage> result =
+        policyFunctions
+            .getClaimsByPolicyIds()
+            .apply(new GetClaimsByPolicyIdsReq(List.of(1L, 2L, 1L, 2L), null, null));
+
+    // Then
+    assertThat(result.isSuccess()).isTrue();
   }
 
   @Test
@@ -317,6 +485,49 @@ class PolicyFunctionsTest {
     verify(policiesApiClient).getPolicyConditions();
   }
 
+  @Test
+  @DisplayName("Should serve repeated policy conditions reads from the cache")
+  void getPolicyConditions_CalledTwice_ShouldCallBackendOnce() {
+    // Given
+    when(policiesApiClient.getPolicyConditions())
+        .thenReturn(ResponseEntity.ok(createSamplePolicyConditions()));
+    Function<GetPolicyConditionsReq, ResponseWrapper<PolicyConditionsDto>> function =
+        policyFunctions.getPolicyConditions();
+
+    // When
+    function.apply(new GetPolicyConditionsReq());
+    ResponseWrapper<PolicyConditionsDto> result = function.apply(new GetPolicyConditionsReq());
+
+    // Then
+    assertThat(result.getData().getFreeCancellationDays()).isEqualTo(14);
+    verify(policiesApiClient, times(1)).getPolicyConditions();
+  }
+
+  @Test
+  @DisplayName("Should serve updated policy conditions immediately after an update")
+  void getPolicyConditions_AfterUpdate_ShouldReturnUpdatedConditions() {
+    // Given
+    PolicyConditionsDto inputConditions = createSamplePolicyConditions();
+    PolicyConditionsDto updatedConditions = createSamplePolicyConditions();
+    updatedConditions.setFreeCancellationDays(7);
+
+    when(policiesApiClient.getPolicyConditions())
+        .thenReturn(ResponseEntity.ok(createSamplePolicyConditions()));
+    when(policiesApiClient.updatePolicyConditions(inputConditions))
+        .thenReturn(ResponseEntity.ok(updatedConditions));
+    Function<GetPolicyConditionsReq, ResponseWrapper<PolicyConditionsDto>> get =
+        policyFunctions.getPolicyConditions();
+    get.apply(new GetPolicyConditionsReq());
+
+    // When
+    policyFunctions.updatePolicyConditions().apply(new UpdatePolicyConditionsReq(inputConditions));
+    ResponseWrapper<PolicyConditionsDto> result = get.apply(new GetPolicyConditionsReq());
+
+    // Then
+    assertThat(result.getData().getFreeCancellationDays()).isEqualTo(7);
+    verify(policiesApiClient, times(1)).getPolicyConditions();
+  }
+
   @Test
   @DisplayName("Should throw exception when get policy conditions API returns null body")
   void getPolicyConditions_WithNullResponse_ShouldThrowException() {
@@ -356,19 +567,29 @@ class PolicyFunctionsTest {
   }
 
   @Test
-  @DisplayName("Should throw exception when update policy conditions API returns null body")
-  void updatePolicyConditions_WithNullResponse_ShouldThrowException() {
+  @DisplayName("Should return an error and reload the conditions when an update returns no body")
+  void updatePolicyConditions_WithNullResponse_ShouldReturnErrorAndReload() {
     // Given
     PolicyConditionsDto inputConditions = createSamplePolicyConditions();
+    when(policiesApiClient.getPolicyConditions())
+        .thenReturn(ResponseEntity.ok(createSamplePolicyConditions()));
     when(policiesApiClient.updatePolicyConditions(inputConditions))
         .thenReturn(ResponseEntity.ok(null));
+    Function<GetPolicyConditionsReq, ResponseWrapper<PolicyConditionsDto>> get =
+        policyFunctions.getPolicyConditions();
+    get.apply(new GetPolicyConditionsReq());
 
-    // When & Then
-    Function<UpdatePolicyConditionsReq, ResponseWrapper<PolicyConditionsDto>> function =
-        policyFunctions.updatePolicyConditions();
-    UpdatePolicyConditionsReq request = new UpdatePolicyConditionsReq(inputConditions);
+    // When
+    ResponseWrapper<PolicyConditionsDto> result =
+        policyFunctions
+            .updatePolicyConditions()
+            .apply(new UpdatePolicyConditionsReq(inputConditions));
+    get.apply(new GetPolicyConditionsReq());
 
-    assertThatThrownBy(() -> function.apply(request)).isInstanceOf(NullPointerException.class);
+    // Then
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(result.getErrorMessage()).contains("returned no result");
+    verify(policiesApiClient, times(2)).getPolicyConditions();
   }
 
   @Test
@@ -376,24 +597,22 @@ class PolicyFunctionsTest {
   void getClaimsByPolicyId_WithNoClaimsPolicy_ShouldReturnEmptyList() {
     // Given
     Long policyId = 1L;
-    Integer page = 0;
-    Integer size = 20;
     String status = null;
     List<AutoClaimDto> emptyClaims = List.of();
 
-    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, page, size, status))
+    when(policiesApiClient.getAutoClaimsByPolicyId(policyId, 0, PAGE_SIZE, status))
         .thenReturn(ResponseEntity.ok(emptyClaims));
 
     // When
-    Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<List<AutoClaimDto>>> function =
+    Function<GetAutoClaimsByPolicyIdReq, ResponseWrapper<ListPage<AutoClaimDto>>> function =
         policyFunctions.getAutoClaimsByPolicyId();
-    ResponseWrapper<List<AutoClaimDto>> result =
-        function.apply(new GetAutoClaimsByPolicyIdReq(policyId, page, size, status));
+    ResponseWrapper<ListPage<AutoClaimDto>> result =
+        function.apply(new GetAutoClaimsByPolicyIdReq(policyId, status, null));
 
     // Then
     assertThat(result).isNotNull();
-    assertThat(result.getData()).isEmpty();
-    verify(policiesApiClient).getAutoClaimsByPolicyId(policyId, page, size, status);
+    assertThat(result.getData().items()).isEmpty();
+    verify(policiesApiClient).getAutoClaimsByPolicyId(policyId, 0, PAGE_SIZE, status);
   }
 
   @Test
@@ -406,14 +625,14 @@ class PolicyFunctionsTest {
     CreatePolicyReq createRequest = new CreatePolicyReq(policy);
     GetPolicyByIdReq getByIdRequest = new GetPolicyByIdReq(1L);
     GetPolicyByPolicyNumberReq getByNumberRequest = new GetPolicyByPolicyNumberReq("POL-2024-001");
-    GetAllPoliciesReq getAllRequest = new GetAllPoliciesReq();
+    GetAllPoliciesReq getAllRequest = new GetAllPoliciesReq(null);
     UpdatePolicyReq updateRequest = new UpdatePolicyReq(1L, policy);
     GetAutoClaimsByPolicyIdReq autoClaimsRequest =
-        new GetAutoClaimsByPolicyIdReq(1L, 0, 20, "PENDING");
+        new GetAutoClaimsByPolicyIdReq(1L, "PENDING", null);
     GetHomeClaimsByPolicyIdReq homeClaimsRequest =
-        new GetHomeClaimsByPolicyIdReq(1L, 0, 20, "APPROVED");
+        new GetHomeClaimsByPolicyIdReq(1L, "APPROVED", null);
     GetHealthClaimsByPolicyIdReq healthClaimsRequest =
-        new GetHealthClaimsByPolicyIdReq(1L, 0, 20, "IN_REVIEW");
+        new GetHealthClaimsByPolicyIdReq(1L, "IN_REVIEW", null);
     GetPolicyConditionsReq conditionsRequest = new GetPolicyConditionsReq();
     UpdatePolicyConditionsReq updateConditionsRequest = new UpdatePolicyConditionsReq(conditions);
 
@@ -425,8 +644,7 @@ class PolicyFunctionsTest {
     assertThat(updateRequest.policyId()).isEqualTo(1L);
     assertThat(updateRequest.policyDto()).isEqualTo(policy);
     assertThat(autoClaimsRequest.policyId()).isEqualTo(1L);
-    assertThat(autoClaimsRequest.page()).isZero();
-    assertThat(autoClaimsRequest.size()).isEqualTo(20);
+    assertThat(autoClaimsRequest.cursor()).isNull();
     assertThat(autoClaimsRequest.status()).isEqualTo("PENDING");
     assertThat(homeClaimsRequest.policyId()).isEqualTo(1L);
     assertThat(homeClaimsRequest.status()).isEqualTo("APPROVED");
@@ -486,6 +704,19 @@ class PolicyFunctionsTest {
     return List.of(claim1, claim2);
   }
 
+  /** Creates numbered auto claims of a policy for testing. */
+  private List<AutoClaimDto> createAutoClaims(Long policyId, long firstId, int count) {
+    return LongStream.range(firstId, firstId + count)
+        .mapToObj(
+            id -> {
+              AutoClaimDto claim = new AutoClaimDto();
+              claim.setId(id);
+              claim.setPolicyId(policyId);
+              return claim;
+            })
+        .toList();
+  }
+
   /** Creates sample home claims for testing. */
   private List<HomeClaimDto> createSampleHomeClaims() {
     HomeClaimDto claim1 = new HomeClaimDto();
@@ -0,0 +1,147 @@
+package tech.yildirim.aiinsurance.ai.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.CreateCustomerReq;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
+
+/**
+ * Unit tests for {@link IdempotencyAspect}.
+ *
+ * <p>The aspect is applied to {@link CustomerFunctions} to verify that a replayed {@code
+ * createCustomer} call within a conversation returns the original response without creating the
+ * customer again.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyAspect Tests")
+class IdempotencyAspectTest {
+
+  @Mock private CustomersApiClient customersApiClient;
+
+  @Mock private CustomerSnapshotService customerSnapshotService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private Function<CreateCustomerReq, ResponseWrapper<CustomerDto>> createCustomer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    AspectJProxyFactory factory =
+        new AspectJProxyFactory(
+            new CustomerFunctions(
+                customersApiClient,
+                new ListPaginator(10),
+                customerSnapshotService));
+    factory.addAspect(new IdempotencyAspect(meterRegistry, new StandardEnvironment()));
+    CustomerFunctions customerFunctions = factory.getProxy();
+    createCustomer = customerFunctions.createCustomer();
+  }
+
+  @Test
+  @DisplayName("Should return the original response to a replay with a reformatted request")
+  void replay_InSameConversation_ShouldCreateOnce() {
+    // Given
+    when(customersApiClient.createCustomer(any(CustomerDto.class)))
+        .thenReturn(ResponseEntity.ok(created(7L)));
+
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30), "conversation-1")) {
+      // When
+      ResponseWrapper<CustomerDto> first =
+          createCustomer.apply(new CreateCustomerReq(customer("John", "john.doe@example.com")));
+      ResponseWrapper<CustomerDto> replay =
+          createCustomer.apply(
+              new CreateCustomerReq(customer("  john ", "John.Doe@Example.com")));
+
+      // Then
+      assertThat(replay).isSameAs(first);
+    }
+    verify(customersApiClient, times(1)).createCustomer(any(CustomerDto.class));
+    assertThat(
+            meterRegistry
+                .get("tool.idempotency.replays")
+                .tag("function", "createCustomer")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should create again for another conversation, another request or no conversation")
+  void call_WithDifferentKey_ShouldReachBackend() {
+    // Given
+    when(customersApiClient.createCustomer(any(CustomerDto.class)))
+        .thenReturn(ResponseEntity.ok(created(7L)));
+
+    // When
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30), "conversation-1")) {
+      createCustomer.apply(new CreateCustomerReq(customer("John", "john.doe@example.com")));
+      createCustomer.apply(new CreateCustomerReq(customer("Jane", "john.doe@example.com")));
+    }
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30), "conversation-2")) {
+      createCustomer.apply(new CreateCustomerReq(customer("John", "john.doe@example.com")));
+    }
+    createCustomer.apply(new CreateCustomerReq(customer("John", "john.doe@example.com")));
+
+    // Then
+    verify(customersApiClient, times(4)).createCustomer(any(CustomerDto.class));
+  }
+
+  @Test
+  @DisplayName("Should let a retry reach the backend after the original call failed")
+  void retry_AfterException_ShouldReachBackend() {
+    // Given
+    when(customersApiClient.createCustomer(any(CustomerDto.class)))
+        .thenThrow(new IllegalStateException("Backend unavailable"))
+        .thenReturn(ResponseEntity.ok(created(7L)));
+    CreateCustomerReq request = new CreateCustomerReq(customer("John", "john.doe@example.com"));
+
+    try (TurnContext ignored = TurnContext.open(Duration.ofSeconds(30), "conversation-1")) {
+      // When
+      assertThatThrownBy(() -> createCustomer.apply(request))
+          .isInstanceOf(IllegalStateException.class);
+      ResponseWrapper<CustomerDto> retry = createCustomer.apply(request);
+
+      // Then
+      assertThat(retry.getData().getId()).isEqualTo(7L);
+    }
+    verify(customersApiClient, times(2)).createCustomer(any(CustomerDto.class));
+  }
+
+  private static CustomerDto customer(String firstName, String email) {
+    CustomerDto customer = new CustomerDto();
+    customer.setFirstName(firstName);
+    customer.setLastName("Doe");
+    customer.setEmail(email);
+    return customer;
+  }
+
+  private static CustomerDto created(Long id) {
+    CustomerDto customer = customer("John", "john.doe@example.com");
+    customer.setId(id);
+    return customer;
+  }
+}
@@ -0,0 +1,123 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import tech.yildirim.aiinsurance.ai.cache.EvictsCachedAI;
+import tech.yildirim.aiinsurance.ai.cache.ToolResultCacheAspect;
+import tech.yildirim.aiinsurance.ai.functions.Functions;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.audit.AuditTrail;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.CreatePolicyReq;
+import tech.yildirim.aiinsurance.security.SecuredAI;
+import tech.yildirim.aiinsurance.security.SecuredRequestRegistry;
+import tech.yildirim.aiinsurance.security.SecurityAspect;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
+import tech.yildirim.aiinsurance.service.CustomerService;
+
+/**
+ * Unit tests for {@link OutboxAspect}.
+ *
+ * <p>The aspect is applied together with {@link SecurityAspect} to verify that a queued write
+ * refreshes the ownership index and evicts cached reads only once the outbox dispatched it.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxAspect Tests")
+class OutboxAspectTest {
+
+  @Mock private Outbox outbox;
+
+  @Mock private SecurityUtils securityUtils;
+
+  @Mock private AuditTrail auditTrail;
+
+  @Mock private CustomerService customerService;
+
+  @Mock private OwnershipIndexService ownershipIndexService;
+
+  @Mock private ToolResultCacheAspect toolResultCacheAspect;
+
+  @Captor private ArgumentCaptor<Outbox.DispatchListener> listener;
+
+  private WriteFunctions writeFunctions;
+
+  /** A write function declared like the ones of the function classes. */
+  static class WriteFunctions {
+
+    @SecuredAI
+    @OutboxAI
+    @EvictsCachedAI(Functions.GET_POLICY_BY_ID)
+    public Function<CreatePolicyReq, ResponseWrapper<PolicyDto>> createPolicy() {
+      return request -> ResponseWrapper.<PolicyDto>builder().success(true).build();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    SecuredRequestRegistry registry =
+        new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+    Arrays.stream(WriteFunctions.class.getMethods()).forEach(registry::register);
+
+    AspectJProxyFactory factory = new AspectJProxyFactory(new WriteFunctions());
+    // Added in the order the application context sorts them: the outbox innermost
+    factory.addAspect(
+        new SecurityAspect(securityUtils, registry, auditTrail, ownershipIndexService));
+    factory.addAspect(
+        new OutboxAspect(outbox, securityUtils, ownershipIndexService, toolResultCacheAspect));
+    writeFunctions = factory.getProxy();
+  }
+
+  @Test
+  @DisplayName("Should refresh the index and evict cached reads only after the dispatch")
+  void queuedWrite_ShouldDeferFollowUpToDispatch() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(outbox.enqueue(eq(Functions.CREATE_POLICY), eq(1L), any()))
+        .thenReturn(OutboxReceipt.queued("OUT-1"));
+    PolicyDto policy = new PolicyDto();
+    policy.setCustomerId(1L);
+    CreatePolicyReq request = new CreatePolicyReq(policy);
+    Function<CreatePolicyReq, ResponseWrapper<PolicyDto>> function = writeFunctions.createPolicy();
+
+    // When
+    ResponseWrapper<PolicyDto> receipt = function.apply(request);
+
+    // Then
+    assertThat(OutboxReceipt.isReceipt(receipt)).isTrue();
+    verify(ownershipIndexService, never()).refresh(anyLong());
+    verifyNoInteractions(toolResultCacheAspect);
+    verify(outbox)
+        .register(
+            eq(Functions.CREATE_POLICY), eq(CreatePolicyReq.class), any(), listener.capture());
+
+    // When
+    ResponseWrapper<PolicyDto> response =
+        ResponseWrapper.<PolicyDto>builder().success(true).data(policy).build();
+    listener.getValue().dispatched(1L, request, response);
+
+    // Then
+    verify(ownershipIndexService).refresh(1L);
+    verify(toolResultCacheAspect)
+        .evict(new String[] {Functions.GET_POLICY_BY_ID}, request, response);
+  }
+}
@@ -0,0 +1,269 @@
+package tech.yildirim.aiinsurance.ai.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimByIdReq;
+
+/**
+ * Unit tests for {@link Outbox}.
+ *
+ * <p>Dispatch rounds are triggered directly and run on the calling thread, so retries and
+ * per-customer ordering can be observed deterministically.
+ */
+@DisplayName("Outbox Tests")
+class OutboxTest {
+
+  private static final String FUNCTION = "getAutoClaimById";
+
+  @TempDir private Path directory;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+  private final List<Long> dispatched = new ArrayList<>();
+  private final List<RuntimeException> failures = new ArrayList<>();
+
+  private SimpleMeterRegistry meterRegistry;
+  private Outbox outbox;
+
+  @BeforeEach
+  void setUp() {
+    outbox = start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    outbox.stop();
+  }
+
+  private Outbox start() {
+    meterRegistry = new SimpleMeterRegistry();
+    Outbox started =
+        new Outbox(
+            objectMapper,
+            meterRegistry,
+            Runnable::run,
+            directory.resolve("outbox.log"),
+            3,
+            Duration.ZERO,
+            Duration.ZERO,
+            Duration.ofMillis(200),
+            directory.resolve("outbox-dead-letters.log"),
+            100);
+    Function<GetAutoClaimByIdReq, ResponseWrapper<String>> function =
+        request -> {
+          if (!failures.isEmpty()) {
+            throw failures.removeFirst();
+          }
+          dispatched.add(request.claimId());
+          return ResponseWrapper.<String>builder().success(true).build();
+        };
+    started.register(FUNCTION, GetAutoClaimByIdReq.class, function);
+    return started;
+  }
+
+  @Test
+  @DisplayName("Should acknowledge a request with a reference and dispatch it in the background")
+  void enqueue_ShouldReturnReceiptAndDispatchLater() {
+    // When
+    OutboxReceipt receipt = outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L));
+
+    // Then
+    assertThat(receipt.reference()).startsWith("OUT-");
+    assertThat(receipt.status()).isEqualTo("QUEUED");
+    assertThat(dispatched).isEmpty();
+    assertThat(meterRegistry.get("outbox.depth").gauge().value()).isEqualTo(1.0);
+
+    outbox.dispatchReady();
+    assertThat(dispatched).containsExactly(7L);
+    assertThat(outbox.depth()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should report a request as queued until it is dispatched")
+  void status_ShouldFollowDispatch() {
+    // Given
+    String reference = outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L)).reference();
+
+    // When
+    OutboxStatus queued = outbox.status(reference).orElseThrow();
+    outbox.dispatchReady();
+    OutboxStatus sent = outbox.status(reference).orElseThrow();
+
+    // Then
+    assertThat(queued.state()).isEqualTo(OutboxStatus.State.QUEUED);
+    assertThat(sent.state()).isEqualTo(OutboxStatus.State.DISPATCHED);
+    assertThat(sent.function()).isEqualTo(FUNCTION);
+    assertThat(outbox.status("OUT-unknown")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should notify the listener after a successful dispatch only, once")
+  void dispatch_WithListener_ShouldNotifyAfterSuccess() {
+    // Given
+    List<Object> notified = new ArrayList<>();
+    Function<GetAutoClaimByIdReq, ResponseWrapper<String>> function =
+        request -> {
+          if (!failures.isEmpty()) {
+            throw failures.removeFirst();
+          }
+          return ResponseWrapper.<String>builder().success(true).build();
+        };
+    outbox.register(
+        FUNCTION,
+        GetAutoClaimByIdReq.class,
+        function,
+        (customerId, request, response) -> {
+          notified.add(request);
+          throw new IllegalStateException("Index unavailable");
+        });
+    failures.add(new IllegalStateException("Backend unavailable"));
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L));
+
+    // When
+    outbox.dispatchReady();
+    outbox.dispatchReady();
+    outbox.dispatchReady();
+
+    // Then
+    assertThat(notified).containsExactly(new GetAutoClaimByIdReq(7L));
+    assertThat(outbox.depth()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should dispatch requests still pending after a restart")
+  void restart_WithPendingRequests_ShouldRecoverThem() {
+    // Given
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L));
+    outbox.enqueue(FUNCTION, 2L, new GetAutoClaimByIdReq(8L));
+    outbox.stop();
+
+    // When
+    outbox = start();
+    outbox.dispatchReady();
+
+    // Then
+    assertThat(dispatched).containsExactlyInAnyOrder(7L, 8L);
+  }
+
+  @Test
+  @DisplayName("Should hold later requests of a customer while the first one is retried")
+  void dispatch_WithServerError_ShouldRetryInOrder() {
+    // Given
+    failures.add(new IllegalStateException("Backend unavailable"));
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L));
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(8L));
+    outbox.enqueue(FUNCTION, 2L, new GetAutoClaimByIdReq(9L));
+
+    // When
+    outbox.dispatchReady();
+
+    // Then
+    assertThat(dispatched).containsExactly(9L);
+
+    outbox.dispatchReady();
+    outbox.dispatchReady();
+    assertThat(dispatched).containsExactly(9L, 7L, 8L);
+    assertThat(
+            meterRegistry.get("outbox.dispatches").tag("result", "retry").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should give up a request rejected by the backend with a client error")
+  void dispatch_WithClientError_ShouldDropRequest() {
+    // Given
+    Request request =
+        Request.create(
+            Request.HttpMethod.POST, "/claims", new HashMap<>(), null, StandardCharsets.UTF_8);
+    failures.add(new FeignException.BadRequest("Invalid claim", request, null, null));
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L));
+    outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(8L));
+
+    // When
+    outbox.dispatchReady();
+    outbox.dispatchReady();
+
+    // Then
+    assertThat(dispatched).containsExactly(8L);
+    assertThat(
+            meterRegistry.get("outbox.dispatches").tag("result", "failed").counter().count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should keep a rejected request as a dead letter across restarts")
+  void dispatch_WithClientError_ShouldKeepDeadLetter() {
+    // Given
+    Request request =
+        Request.create(
+            Request.HttpMethod.POST, "/claims", new HashMap<>(), null, StandardCharsets.UTF_8);
+    failures.add(new FeignException.BadRequest("Invalid claim", request, null, null));
+    String reference = outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L)).reference();
+    outbox.dispatchReady();
+
+    // When
+    outbox.stop();
+    outbox = start();
+
+    // Then
+    assertThat(outbox.deadLetters())
+        .singleElement()
+        .satisfies(
+            deadLetter -> {
+              assertThat(deadLetter.entry().reference()).isEqualTo(reference);
+              assertThat(deadLetter.attempts()).isEqualTo(1);
+            });
+    assertThat(outbox.status(reference).orElseThrow())
+        .isEqualTo(
+            new OutboxStatus(
+                reference,
+                FUNCTION,
+                OutboxStatus.State.FAILED,
+                "Rejected by the backend with status 400"));
+    assertThat(meterRegistry.get("outbox.dead-letters").gauge().value()).isEqualTo(1.0);
+    outbox.dispatchReady();
+    assertThat(dispatched).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should keep a request that ran out of attempts as a dead letter")
+  void dispatch_WithRepeatedServerErrors_ShouldGiveUpAfterMaxAttempts() {
+    // Given
+    for (int i = 0; i < 3; i++) {
+      failures.add(new IllegalStateException("Backend unavailable"));
+    }
+    String reference = outbox.enqueue(FUNCTION, 1L, new GetAutoClaimByIdReq(7L)).reference();
+
+    // When
+    for (int i = 0; i < 3; i++) {
+      outbox.dispatchReady();
+    }
+
+    // Then
+    assertThat(outbox.depth()).isZero();
+    assertThat(outbox.status(reference).orElseThrow())
+        .satisfies(
+            status -> {
+              assertThat(status.state()).isEqualTo(OutboxStatus.State.FAILED);
+              assertThat(status.reason())
+                  .isEqualTo("Given up after 3 attempts: Backend unavailable");
+            });
+  }
+}
@@ -0,0 +1,148 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudget.Admission;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudget.OnExceeded;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+
+/** Unit tests for {@link InputBudget}. */
+@DisplayName("InputBudget Tests")
+class InputBudgetTest {
+
+  private static final String SYSTEM_PROMPT = "You are an insurance assistant";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private InputBudget budget(int messageTokens, int turnTokens, OnExceeded onExceeded) {
+    return new InputBudget(
+        new ToolSchemaRegistry(List.of()),
+        meterRegistry,
+        SYSTEM_PROMPT,
+        messageTokens,
+        turnTokens,
+        onExceeded);
+  }
+
+  private double checks(String result) {
+    return meterRegistry.get("chat.input.budget").tag("result", result).counter().count();
+  }
+
+  @Test
+  @DisplayName("Should admit a message within budget unchanged and record the turn size")
+  void admit_WithinBudget_ShouldKeepMessage() {
+    // Given
+    InputBudget budget = budget(100, 1000, OnExceeded.TRUNCATE);
+    List<Message> memory = List.of(new UserMessage("Show my policies"));
+
+    // When
+    Admission admission = budget.admit("Show claim 42", memory);
+
+    // Then
+    assertThat(admission.message()).isEqualTo("Show claim 42");
+    assertThat(admission.truncated()).isFalse();
+    assertThat(admission.turnTokens())
+        .isEqualTo(
+            TokenEstimator.estimate(SYSTEM_PROMPT)
+                + TokenEstimator.estimate("Show my policies")
+                + TokenEstimator.estimate("Show claim 42"));
+    assertThat(checks("within")).isEqualTo(1.0);
+    assertThat(meterRegistry.get("chat.input.tokens").summary().totalAmount())
+        .isEqualTo(admission.turnTokens());
+  }
+
+  @Test
+  @DisplayName("Should cut a message over the message budget")
+  void admit_OverMessageBudget_ShouldTruncate() {
+    // Given
+    InputBudget budget = budget(3, 1000, OnExceeded.TRUNCATE);
+
+    // When
+    Admission admission = budget.admit("Please show all my claims and policies", List.of());
+
+    // Then
+    assertThat(admission.message()).isEqualTo("Please show");
+    assertThat(admission.messageTokens()).isEqualTo(3);
+    assertThat(admission.truncated()).isTrue();
+    assertThat(checks("truncated")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should forget the oldest remembered messages that do not fit the turn")
+  void admit_MemoryOverTurnBudget_ShouldForgetOldestMessages() {
+    // Given
+    String message = "Show claim 42";
+    int messageTokens = TokenEstimator.estimate(message);
+    int turnTokens =
+        TokenEstimator.estimate(SYSTEM_PROMPT)
+            + TokenEstimator.estimate("Hello there")
+            + messageTokens;
+    InputBudget budget = budget(messageTokens, turnTokens, OnExceeded.TRUNCATE);
+    List<Message> memory =
+        List.of(new UserMessage("Show all my policies please"), new UserMessage("Hello there"));
+
+    // When
+    Admission admission = budget.admit(message, memory);
+
+    // Then
+    assertThat(admission.message()).isEqualTo(message);
+    assertThat(admission.truncated()).isFalse();
+    assertThat(admission.forgottenMessages()).isEqualTo(1);
+    assertThat(admission.turnTokens()).isEqualTo(turnTokens);
+  }
+
+  @Test
+  @DisplayName("Should admit a message in budget when the memory alone exceeds the turn budget")
+  void admit_MemoryAloneOverTurnBudget_ShouldForgetMemoryAndAdmitMessage() {
+    // Given
+    int turnTokens = TokenEstimator.estimate(SYSTEM_PROMPT) + 10;
+    InputBudget budget = budget(10, turnTokens, OnExceeded.REJECT);
+    String remembered = "Please list every claim of every policy I have ever had with you";
+    List<Message> memory =
+        List.of(
+            new UserMessage(remembered), new UserMessage(remembered), new UserMessage(remembered));
+    assertThat(3 * TokenEstimator.estimate(remembered)).isGreaterThan(turnTokens);
+
+    // When
+    Admission admission = budget.admit("Show claim 42", memory);
+
+    // Then
+    assertThat(admission.message()).isEqualTo("Show claim 42");
+    assertThat(admission.forgottenMessages()).isEqualTo(3);
+    assertThat(admission.turnTokens()).isLessThanOrEqualTo(turnTokens);
+    assertThat(checks("within")).isEqualTo(1.0);
+    assertThat(meterRegistry.get("chat.input.forgotten").counter().count()).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Should reject a message over budget when configured to reject")
+  void admit_OverBudgetWithReject_ShouldThrow() {
+    // Given
+    InputBudget budget = budget(3, 1000, OnExceeded.REJECT);
+
+    // When / Then
+    assertThatThrownBy(() -> budget.admit("Please show all my claims and policies", List.of()))
+        .isInstanceOf(InputBudgetExceededException.class);
+    assertThat(checks("rejected")).isEqualTo(1.0);
+    assertThat(meterRegistry.get("chat.input.tokens").summary().count()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should fail at startup when the turn budget cannot hold a full message")
+  void constructor_TurnBudgetBelowFixedAndMessage_ShouldThrow() {
+    // Given
+    int turnTokens = TokenEstimator.estimate(SYSTEM_PROMPT) + 99;
+
+    // When / Then
+    assertThatThrownBy(() -> budget(100, turnTokens, OnExceeded.TRUNCATE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("turn-tokens");
+  }
+}
@@ -0,0 +1,47 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TokenEstimator}. */
+@DisplayName("TokenEstimator Tests")
+class TokenEstimatorTest {
+
+  @Test
+  @DisplayName("Should count nothing for null and blank text")
+  void estimate_NullOrBlank_ShouldReturnZero() {
+    assertThat(TokenEstimator.estimate(null)).isZero();
+    assertThat(TokenEstimator.estimate(" \n\t ")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should count short words as one token each")
+  void estimate_ShortWords_ShouldCountOnePerWord() {
+    assertThat(TokenEstimator.estimate("Hello world")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should split long words, numbers and punctuation runs")
+  void estimate_LongRuns_ShouldCountSeveralTokens() {
+    // Given / When / Then
+    assertThat(TokenEstimator.estimate("errorMessage")).isEqualTo(3);
+    assertThat(TokenEstimator.estimate("2024")).isEqualTo(2);
+    assertThat(TokenEstimator.estimate("\":{\"")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should cut a text to the longest prefix within the token limit")
+  void truncate_OverLimit_ShouldKeepPrefix() {
+    // Given
+    String text = "Hello world, claim 123456";
+
+    // When / Then
+    assertThat(TokenEstimator.truncate(text, 10)).isSameAs(text);
+    assertThat(TokenEstimator.truncate(text, 2)).isEqualTo("Hello world");
+    assertThat(TokenEstimator.truncate("internationalization", 2)).isEqualTo("internatio");
+    assertThat(TokenEstimator.estimate(TokenEstimator.truncate(text, 5))).isLessThanOrEqualTo(5);
+    assertThat(TokenEstimator.truncate(null, 1)).isNull();
+  }
+}
@@ -0,0 +1,44 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import java.util.List;
+import java.util.Properties;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import tech.yildirim.aiinsurance.ai.tools.FunctionToolSources;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+
+/**
+ * Prints the {@link TokenFootprint} of the system prompt in {@code application.yaml} and of all AI
+ * functions, without starting the application. The memory is not part of the offline report; the
+ * {@code tokenfootprint} actuator endpoint reports it for a running application.
+ *
+ * <p>Run with {@code mvn -Ptoken-report test}.
+ */
+public final class TokenFootprintReport {
+
+  private TokenFootprintReport() {}
+
+  public static void main(String[] args) {
+    YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+    yaml.setResources(new ClassPathResource("application.yaml"));
+    Properties properties = yaml.getObject();
+    String systemPrompt = properties == null ? "" : properties.getProperty("config.default-prompt");
+
+    ToolSchemaRegistry registry = new ToolSchemaRegistry(FunctionToolSources.all());
+    TokenFootprint footprint = TokenFootprint.measure(systemPrompt, registry.schemas(), List.of());
+
+    System.out.printf("%-18s %-34s %8s %7s%n", "KIND", "NAME", "TOKENS", "SHARE");
+    for (TokenFootprint.Item item : footprint.items()) {
+      if (item.kind() == TokenFootprint.Kind.MEMORY) {
+        continue;
+      }
+      System.out.printf(
+          "%-18s %-34s %8d %6.1f%%%n",
+          item.kind(),
+          item.name(),
+          item.tokens(),
+          100.0 * item.tokens() / Math.max(footprint.totalTokens(), 1));
+    }
+    System.out.printf("%-18s %-34s %8d%n", "TOTAL", "", footprint.totalTokens());
+  }
+}
@@ -0,0 +1,78 @@
+package tech.yildirim.aiinsurance.ai.tokens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import tech.yildirim.aiinsurance.ai.tokens.TokenFootprint.Item;
+import tech.yildirim.aiinsurance.ai.tokens.TokenFootprint.Kind;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry.ToolSource;
+import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimByIdReq;
+
+/** Unit tests for {@link TokenFootprint}. */
+@DisplayName("TokenFootprint Tests")
+class TokenFootprintTest {
+
+  private final ToolSchemaRegistry registry =
+      new ToolSchemaRegistry(
+          List.of(
+              new ToolSource(
+                  "getAutoClaimById",
+                  "Retrieves a single auto insurance claim with all of its details by its ID",
+                  GetAutoClaimByIdReq.class)));
+
+  @Test
+  @DisplayName("Should list the prompt, tool descriptions and schemas most expensive first")
+  void measure_ShouldSortPartsByCost() {
+    // When
+    TokenFootprint footprint =
+        TokenFootprint.measure("You are an assistant", registry.schemas(), List.of());
+
+    // Then
+    assertThat(footprint.items())
+        .extracting(Item::kind)
+        .containsExactlyInAnyOrder(
+            Kind.SYSTEM_PROMPT, Kind.TOOL_DESCRIPTION, Kind.TOOL_SCHEMA, Kind.MEMORY);
+    assertThat(footprint.items())
+        .extracting(Item::tokens)
+        .isSortedAccordingTo((first, second) -> Integer.compare(second, first));
+    assertThat(footprint.items())
+        .filteredOn(item -> item.kind() == Kind.SYSTEM_PROMPT)
+        .singleElement()
+        .extracting(Item::tokens)
+        .isEqualTo(TokenEstimator.estimate("You are an assistant"));
+    assertThat(footprint.totalTokens())
+        .isEqualTo(footprint.items().stream().mapToInt(Item::tokens).sum());
+  }
+
+  @Test
+  @DisplayName("Should average the remembered messages over the conversations")
+  void measure_WithConversations_ShouldAverageMemory() {
+    // Given
+    List<Message> shortConversation = List.of(new UserMessage("Hello"));
+    List<Message> longConversation =
+        List.of(new UserMessage("Show claim 42"), new AssistantMessage("Claim 42 is open"));
+
+    // When
+    TokenFootprint footprint =
+        TokenFootprint.measure(
+            "", registry.schemas(), List.of(shortConversation, longConversation));
+
+    // Then
+    int expected =
+        Math.round(
+            (TokenEstimator.estimate("Hello")
+                    + TokenEstimator.estimate("Show claim 42")
+                    + TokenEstimator.estimate("Claim 42 is open"))
+                / 2f);
+    assertThat(footprint.items())
+        .filteredOn(item -> item.kind() == Kind.MEMORY)
+        .singleElement()
+        .isEqualTo(new Item(Kind.MEMORY, "average of 2 conversations", expected));
+  }
+}
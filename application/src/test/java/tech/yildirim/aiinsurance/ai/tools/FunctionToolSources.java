@@ -0,0 +1,57 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Description;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import tech.yildirim.aiinsurance.ai.functions.ClaimFunctions;
+import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
+import tech.yildirim.aiinsurance.ai.functions.Functions;
+import tech.yildirim.aiinsurance.ai.functions.HandoffFunctions;
+import tech.yildirim.aiinsurance.ai.functions.PolicyFunctions;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry.ToolSource;
+
+/**
+ * Reads the tools in {@link Functions#ALL_FUNCTIONS} from the {@code @Bean} methods of the function
+ * classes, for benchmarks and reports that run without starting the application.
+ */
+public final class FunctionToolSources {
+
+  private static final List<Class<?>> FUNCTION_CLASSES =
+      List.of(
+          ClaimFunctions.class,
+          PolicyFunctions.class,
+          CustomerFunctions.class,
+          HandoffFunctions.class);
+
+  private FunctionToolSources() {}
+
+  /**
+   * Returns the sources of all AI functions.
+   *
+   * @return the tool sources
+   */
+  public static List<ToolSource> all() {
+    List<ToolSource> sources = new ArrayList<>();
+    for (Class<?> functions : FUNCTION_CLASSES) {
+      for (Method method : functions.getDeclaredMethods()) {
+        Bean bean = AnnotatedElementUtils.findMergedAnnotation(method, Bean.class);
+        Description description = method.getAnnotation(Description.class);
+        if (bean != null
+            && bean.name().length > 0
+            && Functions.ALL_FUNCTIONS.contains(bean.name()[0])
+            && method.getGenericReturnType() instanceof ParameterizedType function) {
+          sources.add(
+              new ToolSource(
+                  bean.name()[0],
+                  description != null ? description.value() : null,
+                  function.getActualTypeArguments()[0]));
+        }
+      }
+    }
+    return sources;
+  }
+}
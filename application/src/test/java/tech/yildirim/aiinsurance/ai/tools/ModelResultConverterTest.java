@@ -0,0 +1,148 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import tech.yildirim.aiinsurance.ai.tokens.TokenEstimator;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.ResponseWrapper;
+
+/**
+ * Unit tests for {@link ModelResultConverter}.
+ *
+ * <p>Compares the estimated token count of representative tool results with Spring AI's default
+ * serialization.
+ */
+@DisplayName("ModelResultConverter Tests")
+class ModelResultConverterTest {
+
+  private final DefaultToolCallResultConverter defaultConverter =
+      new DefaultToolCallResultConverter();
+
+  private final ModelResultConverter compactConverter = new ModelResultConverter(Map.of());
+
+  @Test
+  @DisplayName("Should flatten a successful response to its data without null fields")
+  void convert_SuccessfulResponse_ShouldFlattenWrapper() {
+    // Given
+    ResponseWrapper<PolicyDto> response = success(createSamplePolicy());
+
+    // When
+    String json = compactConverter.convert(response, null);
+
+    // Then
+    assertThat(json)
+        .startsWith("{")
+        .contains("\"policyNumber\":\"POL-2024-001\"")
+        .contains("\"startDate\":\"2024-01-01\"")
+        .contains("\"premium\":1200.00")
+        .doesNotContain("success")
+        .doesNotContain("errorMessage")
+        .doesNotContain("null");
+  }
+
+  @Test
+  @DisplayName("Should send only the error message of a failed response")
+  void convert_FailedResponse_ShouldReturnError() {
+    // Given
+    ResponseWrapper<PolicyDto> response =
+        ResponseWrapper.<PolicyDto>builder().success(false).errorMessage("Access denied").build();
+
+    // When
+    String json = compactConverter.convert(response, null);
+
+    // Then
+    assertThat(json).isEqualTo("{\"error\":\"Access denied\"}");
+  }
+
+  @Test
+  @DisplayName("Should use fewer tokens than the default serialization for a policy")
+  void convert_Policy_ShouldReduceTokens() {
+    // Given
+    ResponseWrapper<PolicyDto> response = success(createSamplePolicy());
+
+    // When
+    int defaultTokens = TokenEstimator.estimate(defaultConverter.convert(response, null));
+    int compactTokens = TokenEstimator.estimate(compactConverter.convert(response, null));
+
+    // Then
+    assertThat(compactTokens).isLessThan(defaultTokens);
+  }
+
+  @Test
+  @DisplayName("Should use fewer tokens than the default serialization for a list of auto claims")
+  void convert_AutoClaims_ShouldReduceTokens() {
+    // Given
+    ResponseWrapper<List<AutoClaimDto>> response =
+        success(List.of(createSampleAutoClaim(1L), createSampleAutoClaim(2L)));
+
+    // When
+    int defaultTokens = TokenEstimator.estimate(defaultConverter.convert(response, null));
+    int compactTokens = TokenEstimator.estimate(compactConverter.convert(response, null));
+
+    // Then
+    assertThat(compactTokens).isLessThan(defaultTokens);
+  }
+
+  @Test
+  @DisplayName("Should keep only the projected properties of a DTO")
+  void convert_WithProjection_ShouldKeepProjectedProperties() {
+    // Given
+    ModelResultConverter projectingConverter =
+        new ModelResultConverter(
+            Map.of("autoclaimdto", Set.of("id", "description", "estimatedAmount")));
+    ResponseWrapper<AutoClaimDto> response = success(createSampleAutoClaim(1L));
+
+    // When
+    String projected = projectingConverter.convert(response, null);
+    String unprojected = compactConverter.convert(response, null);
+
+    // Then
+    assertThat(projected)
+        .contains("\"description\":\"Vehicle collision on highway\"")
+        .doesNotContain("vehicleVin")
+        .doesNotContain("accidentLocation");
+    assertThat(TokenEstimator.estimate(projected))
+        .isLessThan(TokenEstimator.estimate(unprojected));
+  }
+
+  private static <T> ResponseWrapper<T> success(T data) {
+    return ResponseWrapper.<T>builder().success(true).data(data).build();
+  }
+
+  private static PolicyDto createSamplePolicy() {
+    PolicyDto policy = new PolicyDto();
+    policy.setId(1L);
+    policy.setPolicyNumber("POL-2024-001");
+    policy.setType(PolicyDto.TypeEnum.AUTO);
+    policy.setStatus(PolicyDto.StatusEnum.ACTIVE);
+    policy.setCustomerId(1L);
+    policy.setPremium(new BigDecimal("1200.00"));
+    policy.setStartDate(LocalDate.of(2024, 1, 1));
+    policy.setEndDate(LocalDate.of(2024, 12, 31));
+    return policy;
+  }
+
+  private static AutoClaimDto createSampleAutoClaim(Long id) {
+    AutoClaimDto claim = new AutoClaimDto();
+    claim.setId(id);
+    claim.setClaimType(ClaimDto.ClaimTypeEnum.AUTO_CLAIM_DTO);
+    claim.setPolicyId(1L);
+    claim.setLicensePlate("ABC-123");
+    claim.setDescription("Vehicle collision on highway");
+    claim.setEstimatedAmount(new BigDecimal("5000.00"));
+    claim.setDateOfIncident(LocalDate.of(2024, 3, 1));
+    claim.setVehicleVin("1HGBH41JXMN109186");
+    claim.setAccidentLocation("Highway 101, Mile Marker 45");
+    return claim;
+  }
+}
@@ -0,0 +1,63 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ai.util.json.schema.JsonSchemaGenerator;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry.ToolSource;
+
+/**
+ * Measures the per-request cost of providing the definitions of all AI functions to the model.
+ *
+ * <ul>
+ *   <li>{@code generatePerRequest}: the input schema of every tool is generated from its request
+ *       type, as when definitions are derived while a chat request is answered.
+ *   <li>{@code precomputed}: the definitions are looked up in a {@link ToolSchemaRegistry} built
+ *       once in the setup.
+ * </ul>
+ *
+ * <p>The tools are read by {@link FunctionToolSources}, without starting the application. Run
+ * with {@code mvn -Pbenchmark test -Dbenchmark.include=ToolSchemaRegistryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolSchemaRegistryBenchmark {
+
+  private List<ToolSource> sources;
+  private ToolSchemaRegistry registry;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    sources = FunctionToolSources.all();
+    registry = new ToolSchemaRegistry(sources);
+  }
+
+  @Benchmark
+  public void generatePerRequest(Blackhole blackhole) {
+    for (ToolSource source : sources) {
+      blackhole.consume(JsonSchemaGenerator.generateForType(source.inputType()));
+    }
+  }
+
+  @Benchmark
+  public void precomputed(Blackhole blackhole) {
+    for (ToolSource source : sources) {
+      blackhole.consume(registry.find(source.name()).orElseThrow().definition().inputSchema());
+    }
+  }
+}
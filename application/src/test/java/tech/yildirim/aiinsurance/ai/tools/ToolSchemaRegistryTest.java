@@ -0,0 +1,124 @@
+package tech.yildirim.aiinsurance.ai.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry.ToolSource;
+import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimByIdReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetPolicyConditionsReq;
+
+/** Unit tests for {@link ToolSchemaRegistry}. */
+@DisplayName("ToolSchemaRegistry Tests")
+class ToolSchemaRegistryTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  @DisplayName("Should precompute the definition and declaration of a tool")
+  void new_WithValidTool_ShouldPrecomputeSchema() throws IOException {
+    // Given
+    ToolSource source =
+        new ToolSource("getAutoClaimById", "Get an auto claim by ID", GetAutoClaimByIdReq.class);
+
+    // When
+    ToolSchemaRegistry registry = new ToolSchemaRegistry(List.of(source));
+
+    // Then
+    ToolSchema schema = registry.find("getAutoClaimById").orElseThrow();
+    assertThat(schema.definition().description()).isEqualTo("Get an auto claim by ID");
+    assertThat(schema.definition().inputSchema()).contains("\"claimId\"");
+    assertThat(schema.inputType()).isEqualTo(GetAutoClaimByIdReq.class);
+
+    ByteBuffer declaration = schema.declaration();
+    assertThat(declaration.isReadOnly()).isTrue();
+    byte[] bytes = new byte[declaration.remaining()];
+    declaration.get(bytes);
+    JsonNode json = objectMapper.readTree(bytes);
+    assertThat(json.path("name").asText()).isEqualTo("getAutoClaimById");
+    assertThat(json.path("parameters").path("properties").has("claimId")).isTrue();
+    assertThat(schema.declaration().remaining()).isEqualTo(bytes.length);
+    assertThat(registry.find("unknownTool")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should accept a tool whose request has no fields")
+  void new_WithEmptyRequest_ShouldRegisterTool() {
+    // Given
+    ToolSource source =
+        new ToolSource(
+            "getPolicyConditions", "Get policy conditions", GetPolicyConditionsReq.class);
+
+    // When
+    ToolSchemaRegistry registry = new ToolSchemaRegistry(List.of(source));
+
+    // Then
+    assertThat(registry.schemas()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should fail with every invalid tool listed")
+  void new_WithInvalidTools_ShouldReportAllErrors() {
+    // Given
+    List<ToolSource> sources =
+        List.of(
+            new ToolSource("getAutoClaimById", " ", GetAutoClaimByIdReq.class),
+            new ToolSource("missingBean", null, null),
+            new ToolSource("invalid name", "Description", GetAutoClaimByIdReq.class),
+            new ToolSource("notAnObject", "Description", String.class));
+
+    // When / Then
+    assertThatThrownBy(() -> new ToolSchemaRegistry(sources))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("getAutoClaimById: no @Description")
+        .hasMessageContaining("missingBean: no Function bean")
+        .hasMessageContaining("invalid name: name is not a valid function name")
+        .hasMessageContaining("notAnObject: input schema is not an object schema");
+  }
+
+  @Test
+  @DisplayName("Should derive tools from Function beans and reject beans that are not functions")
+  void forBeans_ShouldResolveDescriptionAndInputType() {
+    try (AnnotationConfigApplicationContext context =
+        new AnnotationConfigApplicationContext(TestTools.class)) {
+      // When
+      ToolSchemaRegistry registry =
+          ToolSchemaRegistry.forBeans(context.getBeanFactory(), List.of("getAutoClaimById"));
+
+      // Then
+      ToolSchema schema = registry.find("getAutoClaimById").orElseThrow();
+      assertThat(schema.inputType()).isEqualTo(GetAutoClaimByIdReq.class);
+      assertThat(schema.definition().description()).isEqualTo("Get an auto claim by ID");
+      assertThatThrownBy(
+              () -> ToolSchemaRegistry.forBeans(context.getBeanFactory(), List.of("notATool")))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("notATool: no Function bean");
+    }
+  }
+
+  @Configuration
+  static class TestTools {
+
+    @Bean
+    @Description("Get an auto claim by ID")
+    Function<GetAutoClaimByIdReq, String> getAutoClaimById() {
+      return request -> "claim";
+    }
+
+    @Bean
+    String notATool() {
+      return "not a tool";
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package tech.yildirim.aiinsurance.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link AuditLogWriter}.
+ *
+ * <p>Tests appending to and size based rotation of the security audit file.
+ */
+@DisplayName("AuditLogWriter Tests")
+class AuditLogWriterTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("Should append batches to the existing file")
+  void append_WithExistingFile_ShouldAppend() throws IOException {
+    // Given
+    Path file = tempDir.resolve("audit.log");
+    Files.writeString(file, "existing\n");
+
+    // When
+    try (AuditLogWriter writer = new AuditLogWriter(file, 1024, 3)) {
+      writer.append(bytes("first\n"));
+      writer.append(bytes("second\n"));
+    }
+
+    // Then
+    assertThat(Files.readAllLines(file)).containsExactly("existing", "first", "second");
+  }
+
+  @Test
+  @DisplayName("Should rotate the file when it would exceed the maximum size")
+  void append_BeyondMaxSize_ShouldRotateAndKeepHistory() throws IOException {
+    // Given
+    Path file = tempDir.resolve("audit.log");
+
+    // When
+    try (AuditLogWriter writer = new AuditLogWriter(file, 10, 2)) {
+      writer.append(bytes("batch-1\n"));
+      writer.append(bytes("batch-2\n"));
+      writer.append(bytes("batch-3\n"));
+      writer.append(bytes("batch-4\n"));
+    }
+
+    // Then
+    assertThat(Files.readAllLines(file)).containsExactly("batch-4");
+    assertThat(Files.readAllLines(tempDir.resolve("audit.log.1"))).containsExactly("batch-3");
+    assertThat(Files.readAllLines(tempDir.resolve("audit.log.2"))).containsExactly("batch-2");
+    assertThat(tempDir.resolve("audit.log.3")).doesNotExist();
+  }
+
+  private ByteBuffer bytes(String content) {
+    return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
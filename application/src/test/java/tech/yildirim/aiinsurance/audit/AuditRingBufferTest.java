@@ -0,0 +1,123 @@
+package tech.yildirim.aiinsurance.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AuditRingBuffer}.
+ *
+ * <p>Tests ordering, overflow handling and concurrent publication of audit events.
+ */
+@DisplayName("AuditRingBuffer Tests")
+class AuditRingBufferTest {
+
+  @Test
+  @DisplayName("Should round capacity up to the next power of two")
+  void constructor_WithNonPowerOfTwo_ShouldRoundUp() {
+    assertThat(new AuditRingBuffer(100).capacity()).isEqualTo(128);
+    assertThat(new AuditRingBuffer(64).capacity()).isEqualTo(64);
+  }
+
+  @Test
+  @DisplayName("Should drain events in publication order")
+  void drainTo_AfterOffers_ShouldReturnEventsInOrder() {
+    // Given
+    AuditRingBuffer buffer = new AuditRingBuffer(8);
+    for (int i = 0; i < 5; i++) {
+      buffer.offer(event("fn" + i));
+    }
+
+    // When
+    List<AuditEvent> drained = new ArrayList<>();
+    int count = buffer.drainTo(drained, 10);
+
+    // Then
+    assertThat(count).isEqualTo(5);
+    assertThat(drained)
+        .extracting(AuditEvent::function)
+        .containsExactly("fn0", "fn1", "fn2", "fn3", "fn4");
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reject and count events when the buffer is full instead of blocking")
+  void offer_WhenFull_ShouldDropAndCount() {
+    // Given
+    AuditRingBuffer buffer = new AuditRingBuffer(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(event("fn" + i))).isTrue();
+    }
+
+    // When
+    boolean accepted = buffer.offer(event("overflow"));
+
+    // Then
+    assertThat(accepted).isFalse();
+    assertThat(buffer.takeDroppedCount()).isEqualTo(1);
+    assertThat(buffer.takeDroppedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reuse slots after draining")
+  void offer_AfterDrain_ShouldReuseSlots() {
+    // Given
+    AuditRingBuffer buffer = new AuditRingBuffer(2);
+    List<AuditEvent> drained = new ArrayList<>();
+
+    // When
+    for (int round = 0; round < 10; round++) {
+      assertThat(buffer.offer(event("a" + round))).isTrue();
+      assertThat(buffer.offer(event("b" + round))).isTrue();
+      buffer.drainTo(drained, 2);
+    }
+
+    // Then
+    assertThat(drained).hasSize(20);
+    assertThat(buffer.takeDroppedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not lose events published concurrently by several producers")
+  void offer_FromConcurrentProducers_ShouldKeepEveryEvent() throws InterruptedException {
+    // Given
+    int producers = 4;
+    int eventsPerProducer = 1_000;
+    AuditRingBuffer buffer = new AuditRingBuffer(producers * eventsPerProducer);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+    // When
+    for (int p = 0; p < producers; p++) {
+      executor.submit(
+          () -> {
+            start.await();
+            for (int i = 0; i < eventsPerProducer; i++) {
+              buffer.offer(event("fn"));
+            }
+            return null;
+          });
+    }
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    // Then
+    List<AuditEvent> drained = new ArrayList<>();
+    buffer.drainTo(drained, Integer.MAX_VALUE);
+    assertThat(drained).hasSize(producers * eventsPerProducer).doesNotContainNull();
+    assertThat(buffer.takeDroppedCount()).isZero();
+  }
+
+  private AuditEvent event(String function) {
+    return new AuditEvent(Instant.now(), function, "Req", 1L, 1L, AuditEvent.Decision.GRANTED, null);
+  }
+}
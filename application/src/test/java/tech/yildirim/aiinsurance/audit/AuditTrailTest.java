@@ -0,0 +1,85 @@
+package tech.yildirim.aiinsurance.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for {@link AuditTrail}.
+ *
+ * <p>The audit file is placed below a regular file, so the writer cannot create its directory
+ * until the test removes that file.
+ */
+@DisplayName("AuditTrail Tests")
+class AuditTrailTest {
+
+  @TempDir Path tempDir;
+
+  private AuditTrail auditTrail;
+
+  @AfterEach
+  void tearDown() {
+    if (auditTrail != null) {
+      auditTrail.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep retrying a failing writer and count overflowed events as DROPPED")
+  void writer_WhileFileCannotBeOpened_ShouldRetryAndRecordDrops() throws IOException {
+    // Given
+    Path blocker = Files.createFile(tempDir.resolve("blocker"));
+    Path file = blocker.resolve("audit.log");
+    auditTrail =
+        new AuditTrail(
+            new ObjectMapper().findAndRegisterModules(),
+            file,
+            4,
+            2,
+            DataSize.ofKilobytes(64),
+            1,
+            Duration.ofMillis(10));
+    for (int i = 1; i <= 6; i++) {
+      auditTrail.record(event("function-" + i));
+    }
+
+    // When
+    auditTrail.start();
+
+    // Then the first batch is held back for a retry while the rest waits in the buffer
+    await().atMost(Duration.ofSeconds(5)).until(() -> auditTrail.pendingEvents() == 2);
+    assertThat(auditTrail.isRunning()).isTrue();
+
+    // When
+    Files.delete(blocker);
+    auditTrail.record(event("function-7"));
+
+    // Then
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> Files.exists(file) && Files.readAllLines(file).size() == 6);
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines.get(0)).contains("DROPPED", "2 audit events dropped");
+    assertThat(lines.subList(1, 6))
+        .zipSatisfy(
+            List.of("function-1", "function-2", "function-3", "function-4", "function-7"),
+            (line, function) -> assertThat(line).contains("\"" + function + "\""));
+  }
+
+  private static AuditEvent event(String function) {
+    return new AuditEvent(
+        Instant.now(), function, "GetPolicyByIdReq", 1L, 1L, AuditEvent.Decision.GRANTED, null);
+  }
+}
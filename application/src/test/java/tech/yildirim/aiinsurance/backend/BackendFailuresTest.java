@@ -0,0 +1,56 @@
+package tech.yildirim.aiinsurance.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+
+class BackendFailuresTest {
+
+  @Test
+  @DisplayName("Should explain a call rejected by an open circuit breaker")
+  void unavailableMessage_WithOpenCircuit_ShouldReturnMessage() {
+    // Given
+    RuntimeException failure =
+        new NoFallbackAvailableException(
+            "No fallback available.",
+            CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("claims")));
+
+    // When & Then
+    assertThat(BackendFailures.unavailableMessage(failure)).hasValue(BackendFailures.CIRCUIT_OPEN);
+  }
+
+  @Test
+  @DisplayName("Should explain calls rejected by a full bulkhead or a timeout")
+  void unavailableMessage_WithBulkheadOrTimeout_ShouldReturnMessage() {
+    // Given
+    RuntimeException bulkheadFull =
+        BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("claims"));
+    RuntimeException timedOut =
+        new NoFallbackAvailableException("No fallback available.", new TimeoutException());
+
+    // When & Then
+    assertThat(BackendFailures.unavailableMessage(bulkheadFull))
+        .hasValue(BackendFailures.BULKHEAD_FULL);
+    assertThat(BackendFailures.unavailableMessage(timedOut)).hasValue(BackendFailures.TIMED_OUT);
+  }
+
+  @Test
+  @DisplayName("Should unwrap other backend failures to the original exception")
+  void unwrap_WithWrappedFailure_ShouldReturnCause() {
+    // Given
+    IllegalStateException cause = new IllegalStateException("Backend error");
+    RuntimeException failure = new NoFallbackAvailableException("No fallback available.", cause);
+
+    // When & Then
+    assertThat(BackendFailures.unavailableMessage(failure)).isEmpty();
+    assertThat(BackendFailures.unwrap(failure)).isSameAs(cause);
+  }
+}
@@ -0,0 +1,141 @@
+package tech.yildirim.aiinsurance.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BackendHttpCache Tests")
+class BackendHttpCacheTest {
+
+  private static final String URL = "http://localhost:8080/api/v1/policies/1";
+  private static final String POLICY = "{\"id\":1,\"policyNumber\":\"POL-1\"}";
+
+  @Mock private Client backend;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private Client client;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    client =
+        new BackendHttpCache(DataSize.ofMegabytes(1), Duration.ofMinutes(30), meterRegistry)
+            .enrich(backend);
+  }
+
+  @Test
+  @DisplayName("Should revalidate a cached response and serve its body on 304 Not Modified")
+  void execute_WhenNotModified_ShouldServeStoredBody() throws IOException {
+    // Given
+    when(backend.execute(any(), any()))
+        .thenAnswer(call -> response(call.getArgument(0), 200, POLICY, "\"v1\""))
+        .thenAnswer(call -> response(call.getArgument(0), 304, null, "\"v1\""));
+
+    // When
+    String first = body(client.execute(request(HttpMethod.GET), options()));
+    Response second = client.execute(request(HttpMethod.GET), options());
+
+    // Then
+    assertThat(first).isEqualTo(POLICY);
+    assertThat(second.status()).isEqualTo(200);
+    assertThat(body(second)).isEqualTo(POLICY);
+    assertThat(sentHeaders(2).get(1)).containsEntry("If-None-Match", List.of("\"v1\""));
+    assertThat(meterRegistry.get("backend.http.cache.saved").counter().count())
+        .isEqualTo(POLICY.length());
+    assertThat(
+            meterRegistry
+                .get("backend.http.cache.revalidations")
+                .tag("result", "not_modified")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should not cache responses without a validator")
+  void execute_WithoutValidator_ShouldNotSendConditionalRequest() throws IOException {
+    // Given
+    when(backend.execute(any(), any()))
+        .thenAnswer(call -> response(call.getArgument(0), 200, POLICY, null));
+
+    // When
+    client.execute(request(HttpMethod.GET), options()).close();
+    client.execute(request(HttpMethod.GET), options()).close();
+
+    // Then
+    assertThat(sentHeaders(2).get(1)).doesNotContainKey("If-None-Match");
+  }
+
+  @Test
+  @DisplayName("Should drop the cached response of a URL when it is written to")
+  void execute_WithWrite_ShouldInvalidateUrl() throws IOException {
+    // Given
+    when(backend.execute(any(), any()))
+        .thenAnswer(call -> response(call.getArgument(0), 200, POLICY, "\"v1\""));
+
+    // When
+    client.execute(request(HttpMethod.GET), options()).close();
+    client.execute(request(HttpMethod.PUT), options()).close();
+    client.execute(request(HttpMethod.GET), options()).close();
+
+    // Then
+    assertThat(sentHeaders(3).get(2)).doesNotContainKey("If-None-Match");
+  }
+
+  private List<Map<String, Collection<String>>> sentHeaders(int calls) throws IOException {
+    ArgumentCaptor<Request> requests = ArgumentCaptor.forClass(Request.class);
+    verify(backend, times(calls)).execute(requests.capture(), any());
+    return requests.getAllValues().stream().map(Request::headers).toList();
+  }
+
+  private static Request request(HttpMethod method) {
+    return Request.create(method, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+  }
+
+  private static Request.Options options() {
+    return new Request.Options();
+  }
+
+  private static Response response(Request request, int status, String body, String etag) {
+    Response.Builder response =
+        Response.builder()
+            .status(status)
+            .reason(status == 304 ? "Not Modified" : "OK")
+            .headers(etag == null ? Map.of() : Map.of("ETag", List.of(etag)))
+            .request(request);
+    return body == null
+        ? response.build()
+        : response.body(body, StandardCharsets.UTF_8).build();
+  }
+
+  private static String body(Response response) throws IOException {
+    try (response) {
+      return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package tech.yildirim.aiinsurance.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link BackendPages}.
+ *
+ * <p>Tests that complete lists are read page by page until a short page.
+ */
+@DisplayName("BackendPages Tests")
+class BackendPagesTest {
+
+  @Test
+  @DisplayName("Should request pages until one comes back short")
+  void fetchAll_WithSeveralPages_ShouldConcatenatePages() {
+    // Given
+    List<Integer> requestedPages = new ArrayList<>();
+
+    // When
+    List<Integer> items =
+        BackendPages.fetchAll(
+            (page, size) -> {
+              requestedPages.add(page);
+              return ResponseEntity.ok(items(page * size, page < 2 ? size : 3));
+            });
+
+    // Then
+    assertThat(requestedPages).containsExactly(0, 1, 2);
+    assertThat(items).hasSize(2 * BackendPages.PAGE_SIZE + 3);
+    assertThat(items).startsWith(0, 1).endsWith(2 * BackendPages.PAGE_SIZE + 2);
+  }
+
+  @Test
+  @DisplayName("Should treat an empty body as the last page")
+  void fetchAll_WithEmptyBody_ShouldReturnEmptyList() {
+    // When
+    List<Integer> items = BackendPages.fetchAll((page, size) -> ResponseEntity.ok().build());
+
+    // Then
+    assertThat(items).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should stop after the maximum number of pages")
+  void fetchAll_WithEndlessPages_ShouldStopAtMaxPages() {
+    // When
+    List<Integer> items =
+        BackendPages.fetchAll((page, size) -> ResponseEntity.ok(items(page * size, size)));
+
+    // Then
+    assertThat(items).hasSize(BackendPages.MAX_PAGES * BackendPages.PAGE_SIZE);
+  }
+
+  @Test
+  @DisplayName("Should request the next page only after the previous one arrived")
+  void fetchAllAsync_WithSeveralPages_ShouldConcatenatePages() {
+    // Given
+    List<Integer> requestedPages = new ArrayList<>();
+
+    // When
+    List<Integer> items =
+        BackendPages.<Integer>fetchAllAsync(
+                (page, size) -> {
+                  requestedPages.add(page);
+                  return CompletableFuture.completedFuture(
+                      ResponseEntity.ok(items(page * size, page == 0 ? size : 1)));
+                })
+            .join();
+
+    // Then
+    assertThat(requestedPages).containsExactly(0, 1);
+    assertThat(items).hasSize(BackendPages.PAGE_SIZE + 1);
+  }
+
+  private static List<Integer> items(int first, int count) {
+    return IntStream.range(first, first + count).boxed().toList();
+  }
+}
@@ -0,0 +1,115 @@
+package tech.yildirim.aiinsurance.config;
+
+import feign.AsyncFeign;
+import feign.Feign;
+import feign.RequestLine;
+import feign.http2client.Http2Client;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yildirim.aiinsurance.stub.BackendStub;
+
+/**
+ * Compares the two {@code AsyncBackend} implementations on the fan-out they serve: one request
+ * thread issuing {@code fanOut} backend calls in parallel and waiting for all of them, as {@code
+ * getCustomerSnapshot} does for the claims of its policies.
+ *
+ * <ul>
+ *   <li>{@code blockingFanOut}: blocking Feign calls, each on its own virtual thread.
+ *   <li>{@code nonBlockingFanOut}: AsyncFeign calls returning futures, with no thread waiting for a
+ *       response.
+ * </ul>
+ *
+ * <p>A {@link BackendStub} stands in for the backend and answers every call with the claims of one
+ * policy after a fixed delay. Both variants use the JDK HttpClient. Run with {@code mvn -Pbenchmark
+ * test -Dbenchmark.include=AsyncBackendClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AsyncBackendClientBenchmark {
+
+  private static final String BACKEND_DELAY = "20ms";
+
+  interface ClaimsApi {
+
+    @RequestLine("GET /api/v1/policies/10/auto-claims")
+    String getClaims();
+  }
+
+  interface AsyncClaimsApi {
+
+    @RequestLine("GET /api/v1/policies/10/auto-claims")
+    CompletableFuture<String> getClaims();
+  }
+
+  @Param({"3", "9", "30"})
+  public int fanOut;
+
+  private BackendStub backend;
+  private ExecutorService backendExecutor;
+  private ClaimsApi claimsApi;
+  private AsyncClaimsApi asyncClaimsApi;
+
+  @Setup(Level.Trial)
+  public void start() {
+    // 8 threads fanning out to 30 calls keep up to 240 requests in flight
+    backend =
+        BackendStub.start(
+            Map.of(
+                "stub.latency.distribution", "fixed",
+                "stub.latency.median", BACKEND_DELAY,
+                "server.tomcat.threads.max", 400));
+
+    String url = backend.baseUrl();
+    backendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    claimsApi = Feign.builder().client(new Http2Client()).target(ClaimsApi.class, url);
+    asyncClaimsApi =
+        AsyncFeign.builder().client(new Http2Client()).target(AsyncClaimsApi.class, url);
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    backend.close();
+    backendExecutor.close();
+  }
+
+  @Benchmark
+  public List<String> blockingFanOut() {
+    return joinAll(
+        IntStream.range(0, fanOut)
+            .mapToObj(i -> CompletableFuture.supplyAsync(claimsApi::getClaims, backendExecutor))
+            .toList());
+  }
+
+  @Benchmark
+  public List<String> nonBlockingFanOut() {
+    return joinAll(IntStream.range(0, fanOut).mapToObj(i -> asyncClaimsApi.getClaims()).toList());
+  }
+
+  private static List<String> joinAll(List<CompletableFuture<String>> calls) {
+    return calls.stream().map(CompletableFuture::join).toList();
+  }
+}
@@ -0,0 +1,140 @@
+package tech.yildirim.aiinsurance.config;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load harness comparing the throughput of the HTTP clients available to the generated Feign
+ * clients when many request threads call the insurance backend concurrently.
+ *
+ * <ul>
+ *   <li>{@code default}: Feign's URLConnection-based client, which only keeps a handful of idle
+ *       connections per host and churns connections under concurrency.
+ *   <li>{@code hc5}: Apache HttpClient 5 with a pooled connection manager, configured like {@code
+ *       spring.cloud.openfeign.httpclient} in {@code application.yaml}.
+ *   <li>{@code jdk}: the JDK HttpClient used when {@code spring.cloud.openfeign.http2client} is
+ *       enabled. The embedded server speaks HTTP/1.1 only, so this measures its connection reuse,
+ *       not HTTP/2 multiplexing.
+ * </ul>
+ *
+ * <p>An embedded HTTP server stands in for the backend and answers every call with a small policy
+ * document. Run with {@code mvn -Pbenchmark test -Dbenchmark.include=BackendClientLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class BackendClientLoadBenchmark {
+
+  private static final byte[] POLICY =
+      "{\"id\":1,\"policyNumber\":\"POL-1\",\"type\":\"AUTO\",\"customerId\":42}"
+          .getBytes(StandardCharsets.UTF_8);
+
+  interface PoliciesApi {
+
+    @RequestLine("GET /api/v1/policies/1")
+    String getPolicy();
+  }
+
+  @Param({"default", "hc5", "jdk"})
+  public String client;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private CloseableHttpClient httpClient;
+  private PoliciesApi policiesApi;
+
+  @Setup(Level.Trial)
+  public void start() throws IOException {
+    serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 512);
+    server.setExecutor(serverExecutor);
+    server.createContext(
+        "/api/v1/policies",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, POLICY.length);
+          try (OutputStream body = exchange.getResponseBody()) {
+            body.write(POLICY);
+          }
+        });
+    server.start();
+
+    policiesApi =
+        Feign.builder()
+            .client(newClient())
+            .target(PoliciesApi.class, "http://localhost:" + server.getAddress().getPort());
+  }
+
+  private Client newClient() {
+    return switch (client) {
+      case "hc5" -> {
+        httpClient =
+            HttpClients.custom()
+                .setConnectionManager(
+                    PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(200)
+                        .setMaxConnPerRoute(100)
+                        .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                        .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                        .setDefaultConnectionConfig(
+                            ConnectionConfig.custom().setTimeToLive(TimeValue.ofMinutes(5)).build())
+                        .build())
+                .build();
+        yield new ApacheHttp5Client(httpClient);
+      }
+      case "jdk" -> new Http2Client();
+      default -> new Client.Default(null, null);
+    };
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() throws IOException {
+    if (httpClient != null) {
+      httpClient.close();
+    }
+    server.stop(0);
+    serverExecutor.close();
+  }
+
+  @Benchmark
+  public String getPolicy() {
+    return policiesApi.getPolicy();
+  }
+}
@@ -0,0 +1,100 @@
+package tech.yildirim.aiinsurance.config;
+
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.Response;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import tech.yildirim.aiinsurance.backend.BackendHttpCache;
+import tech.yildirim.aiinsurance.stub.BackendStub;
+
+/**
+ * Measures what conditional GETs through the {@link BackendHttpCache} save when the backend data
+ * does not change: latency per call, and the response body bytes the backend sends per call, which
+ * is printed when the trial ends.
+ *
+ * <p>A {@link BackendStub} stands in for the backend. It answers the {@code policies} policies of a
+ * customer with an {@code ETag} and returns {@code 304 Not Modified} when {@code If-None-Match}
+ * matches. The body bytes are counted below the cache, as the client receives them. Run with
+ * {@code mvn -Pbenchmark test -Dbenchmark.include=BackendHttpCacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BackendHttpCacheBenchmark {
+
+  interface CustomersApi {
+
+    @RequestLine("GET /api/v1/customers/42/policies")
+    String getPolicies();
+  }
+
+  @Param({"1", "100"})
+  public int policies;
+
+  @Param({"false", "true"})
+  public boolean cached;
+
+  private BackendStub backend;
+  private CustomersApi customersApi;
+  private final LongAdder bytesReceived = new LongAdder();
+
+  @Setup(Level.Trial)
+  public void start() {
+    backend = BackendStub.start(Map.of("stub.dataset.policies-per-customer", policies));
+
+    Client http2Client = new Http2Client();
+    Client countingClient =
+        (request, options) -> {
+          Response response = http2Client.execute(request, options);
+          if (response.body() != null && response.body().length() != null) {
+            bytesReceived.add(response.body().length());
+          }
+          return response;
+        };
+    Feign.Builder builder = Feign.builder().client(countingClient);
+    if (cached) {
+      builder.addCapability(
+          new BackendHttpCache(
+              DataSize.ofMegabytes(32), Duration.ofMinutes(30), new SimpleMeterRegistry()));
+    }
+    customersApi = builder.target(CustomersApi.class, backend.baseUrl());
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    System.out.printf(
+        "%nBody bytes sent per call: %.1f%n",
+        bytesReceived.doubleValue() / backend.requests());
+    backend.close();
+  }
+
+  @Benchmark
+  public String getPolicies() {
+    return customersApi.getPolicies();
+  }
+}
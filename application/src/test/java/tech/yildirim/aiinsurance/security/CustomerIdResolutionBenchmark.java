@@ -0,0 +1,82 @@
+package tech.yildirim.aiinsurance.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+/**
+ * Measures the per-call cost of {@link SecurityUtils#getCurrentUserCustomerId()}, which runs on
+ * every secured AI function call.
+ *
+ * <ul>
+ *   <li>{@code claimParsing}: a plain {@link OidcUser} whose {@code insurance_user_id} claim is read
+ *       from the claim map and parsed on each call (behavior before the principal was resolved at
+ *       login).
+ *   <li>{@code resolvedPrincipal}: a {@link CustomerOidcUser} created by {@link
+ *       CustomerOidcUserService} at login, whose customer ID is a field read.
+ * </ul>
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dbenchmark.include=CustomerIdResolutionBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerIdResolutionBenchmark {
+
+  @Param({"claimParsing", "resolvedPrincipal"})
+  public String principal;
+
+  private final SecurityUtils securityUtils = new SecurityUtils();
+
+  @Setup(Level.Trial)
+  public void authenticate() {
+    OidcIdToken idToken =
+        new OidcIdToken(
+            "token",
+            Instant.now(),
+            Instant.now().plusSeconds(3600),
+            Map.of(IdTokenClaimNames.SUB, "okta-user", CustomerIdClaim.NAME, "42"));
+    OidcUser oidcUser = new DefaultOidcUser(List.of(new OidcUserAuthority(idToken)), idToken);
+    if ("resolvedPrincipal".equals(principal)) {
+      oidcUser =
+          new CustomerOidcUser(oidcUser, IdTokenClaimNames.SUB, CustomerIdClaim.resolve(oidcUser));
+    }
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new OAuth2AuthenticationToken(oidcUser, oidcUser.getAuthorities(), "okta"));
+  }
+
+  @TearDown(Level.Trial)
+  public void logout() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public Long getCurrentUserCustomerId() {
+    return securityUtils.getCurrentUserCustomerId();
+  }
+}
@@ -0,0 +1,83 @@
+package tech.yildirim.aiinsurance.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+/** Unit tests for {@link CustomerOidcUserService}. */
+@DisplayName("CustomerOidcUserService Tests")
+class CustomerOidcUserServiceTest {
+
+  private static final String OPERATOR_GROUP = "insurance-operators";
+
+  @Test
+  @DisplayName("Should grant the operator role to members of the operator group")
+  void loadUser_InOperatorGroup_ShouldGrantOperatorRole() {
+    // When
+    OidcUser user = loadUser(List.of("customers", OPERATOR_GROUP));
+
+    // Then
+    assertThat(user.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .contains("ROLE_OPERATOR", "OIDC_USER");
+    assertThat(((CustomerOidcUser) user).getCustomerId()).isEqualTo(42L);
+  }
+
+  @Test
+  @DisplayName("Should not grant the operator role to customers")
+  void loadUser_NotInOperatorGroup_ShouldKeepAuthorities() {
+    // When
+    OidcUser user = loadUser(List.of("customers"));
+
+    // Then
+    assertThat(user.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .doesNotContain("ROLE_OPERATOR");
+  }
+
+  private static OidcUser loadUser(List<String> groups) {
+    OidcIdToken idToken =
+        new OidcIdToken(
+            "token",
+            Instant.now(),
+            Instant.now().plusSeconds(60),
+            Map.of(
+                IdTokenClaimNames.SUB,
+                "okta-user",
+                CustomerIdClaim.NAME,
+                "42",
+                CustomerOidcUserService.GROUPS_CLAIM,
+                groups));
+    OidcUser oidcUser = new DefaultOidcUser(List.of(new OidcUserAuthority(idToken)), idToken);
+    ClientRegistration registration =
+        ClientRegistration.withRegistrationId("okta")
+            .clientId("client")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/okta")
+            .authorizationUri("https://okta.example.com/authorize")
+            .tokenUri("https://okta.example.com/token")
+            .build();
+    OAuth2AccessToken accessToken =
+        new OAuth2AccessToken(
+            OAuth2AccessToken.TokenType.BEARER,
+            "access",
+            Instant.now(),
+            Instant.now().plusSeconds(60));
+    return new CustomerOidcUserService(request -> oidcUser, OPERATOR_GROUP)
+        .loadUser(new OidcUserRequest(registration, accessToken, idToken));
+  }
+}
@@ -0,0 +1,158 @@
+package tech.yildirim.aiinsurance.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import tech.yildirim.aiinsurance.ai.functions.ClaimFunctions;
+import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
+import tech.yildirim.aiinsurance.ai.functions.PolicyFunctions;
+import tech.yildirim.aiinsurance.model.ai.request.GetAllPoliciesReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetClaimsByPolicyIdsReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByIdRequestReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetHomeClaimByIdReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetPolicyByIdReq;
+import tech.yildirim.aiinsurance.service.CustomerService;
+
+@ExtendWith(MockitoExtension.class)
+class SecuredRequestRegistryTest {
+
+  @Mock private CustomerService customerService;
+
+  private SecuredRequestRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+  }
+
+  @Test
+  @DisplayName("Should find an ownership extractor for every secured AI function")
+  void register_AllSecuredFunctions_ShouldBeSupported() {
+    // Given
+    Stream<Method> factoryMethods =
+        Stream.of(CustomerFunctions.class, PolicyFunctions.class, ClaimFunctions.class)
+            .flatMap(type -> Arrays.stream(type.getDeclaredMethods()));
+
+    // When & Then
+    assertThat(factoryMethods).allMatch(registry::register);
+  }
+
+  @Test
+  @DisplayName("Should reject a secured function whose request type has no extractor")
+  void register_UnsupportedRequestType_ShouldFail() throws NoSuchMethodException {
+    // Given
+    Method factoryMethod = UnsupportedFunctions.class.getDeclaredMethod("getAllPolicies");
+
+    // When & Then
+    assertThat(registry.register(factoryMethod)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should dispatch each request type to its precomputed extractor")
+  void ownerOf_RegisteredRequestTypes_ShouldResolveOwner() {
+    // Given
+    Arrays.stream(PolicyFunctions.class.getDeclaredMethods()).forEach(registry::register);
+    Arrays.stream(ClaimFunctions.class.getDeclaredMethods()).forEach(registry::register);
+    Arrays.stream(CustomerFunctions.class.getDeclaredMethods()).forEach(registry::register);
+    GetHomeClaimByIdReq claimRequest = new GetHomeClaimByIdReq(7L);
+    when(customerService.getCustomerIdByPolicyId(3L)).thenReturn(1L);
+    when(customerService.getCustomerIdByClaimRequestType(claimRequest)).thenReturn(2L);
+    when(customerService.getCustomerIdByPolicyIds(List.of(3L, 4L))).thenReturn(1L);
+
+    // When & Then
+    assertThat(registry.ownerOf(new GetCustomerByIdRequestReq(5L))).isEqualTo(5L);
+    assertThat(registry.ownerOf(new GetPolicyByIdReq(3L))).isEqualTo(1L);
+    assertThat(registry.ownerOf(claimRequest)).isEqualTo(2L);
+    assertThat(registry.ownerOf(new GetClaimsByPolicyIdsReq(List.of(3L, 4L), null, null)))
+        .isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("Should not resolve an owner for unregistered request types")
+  void ownerOf_UnregisteredRequestType_ShouldReturnNull() {
+    // When & Then
+    assertThat(registry.ownerOf(new GetAllPoliciesReq(null))).isNull();
+    verifyNoInteractions(customerService);
+  }
+
+  @Test
+  @DisplayName("Should register prototype functions that were never created at startup")
+  void afterSingletonsInstantiated_PrototypeFunction_ShouldBeRegistered() {
+    // Given
+    DefaultListableBeanFactory beanFactory = beanFactory("getCustomerById");
+    SecuredRequestRegistry startupRegistry =
+        new SecuredRequestRegistry(beanFactory, customerService);
+
+    // When
+    startupRegistry.afterSingletonsInstantiated();
+
+    // Then
+    assertThat(startupRegistry.ownerOf(new GetCustomerByIdRequestReq(5L))).isEqualTo(5L);
+  }
+
+  @Test
+  @DisplayName("Should fail at startup for a prototype function without an extractor")
+  void afterSingletonsInstantiated_UnsupportedPrototypeFunction_ShouldFail() {
+    // Given
+    DefaultListableBeanFactory beanFactory = beanFactory("getCustomerById", "getAllPolicies");
+    SecuredRequestRegistry startupRegistry =
+        new SecuredRequestRegistry(beanFactory, customerService);
+
+    // When & Then
+    assertThatThrownBy(startupRegistry::afterSingletonsInstantiated)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("[getAllPolicies]");
+  }
+
+  /** Defines prototype beans created by factory methods of {@link PrototypeFunctions}. */
+  private static DefaultListableBeanFactory beanFactory(String... factoryMethods) {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerBeanDefinition(
+        "prototypeFunctions", new RootBeanDefinition(PrototypeFunctions.class));
+    for (String factoryMethod : factoryMethods) {
+      RootBeanDefinition definition = new RootBeanDefinition();
+      definition.setFactoryBeanName("prototypeFunctions");
+      definition.setFactoryMethodName(factoryMethod);
+      definition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+      beanFactory.registerBeanDefinition(factoryMethod, definition);
+    }
+    return beanFactory;
+  }
+
+  static class PrototypeFunctions {
+
+    @SecuredAI
+    public Function<GetCustomerByIdRequestReq, String> getCustomerById() {
+      return request -> "";
+    }
+
+    @SecuredAI
+    public Function<GetAllPoliciesReq, String> getAllPolicies() {
+      return request -> "";
+    }
+  }
+
+  static class UnsupportedFunctions {
+
+    @SecuredAI
+    Function<GetAllPoliciesReq, String> getAllPolicies() {
+      return request -> "";
+    }
+  }
+}
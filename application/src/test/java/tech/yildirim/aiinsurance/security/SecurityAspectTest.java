@@ -1,23 +1,41 @@
 package tech.yildirim.aiinsurance.security;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.function.Function;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
 import org.springframework.http.ResponseEntity;
 import tech.yildirim.aiinsurance.ai.functions.CustomerFunctions;
 import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.audit.AuditEvent;
+import tech.yildirim.aiinsurance.audit.AuditTrail;
 import tech.yildirim.aiinsurance.model.ResponseWrapper;
 import tech.yildirim.aiinsurance.model.ai.request.CreateCustomerReq;
 import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByIdRequestReq;
+import tech.yildirim.aiinsurance.model.ai.request.GetCustomerByPolicyNumberReq;
+import tech.yildirim.aiinsurance.model.ai.request.UpdateAutoClaimReq;
+import tech.yildirim.aiinsurance.security.ownership.OwnershipIndexService;
 import tech.yildirim.aiinsurance.service.CustomerService;
+import tech.yildirim.aiinsurance.service.CustomerSnapshotService;
+import tech.yildirim.aiinsurance.service.ListPaginator;
 
 @ExtendWith(MockitoExtension.class)
 class SecurityAspectTest {
@@ -28,18 +46,52 @@ class SecurityAspectTest {
 
   @Mock private SecurityUtils securityUtils;
 
+  @Mock private AuditTrail auditTrail;
+
+  @Mock private CustomerSnapshotService customerSnapshotService;
+
+  @Mock private OwnershipIndexService ownershipIndexService;
+
   /**
    * Creates a proxied CustomerFunctions instance with SecurityAspect applied. This method
    * centralizes the proxy setup to avoid code duplication across tests.
    */
   private CustomerFunctions createProxiedCustomerFunctions() {
-    CustomerFunctions customerFunctions = new CustomerFunctions(customersApiClient);
-    SecurityAspect securityAspect = new SecurityAspect(securityUtils, customerService);
+    CustomerFunctions customerFunctions =
+        new CustomerFunctions(customersApiClient, new ListPaginator(10), customerSnapshotService);
+    SecuredRequestRegistry registry =
+        new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+    Arrays.stream(CustomerFunctions.class.getMethods()).forEach(registry::register);
+    SecurityAspect securityAspect =
+        new SecurityAspect(securityUtils, registry, auditTrail, ownershipIndexService);
     AspectJProxyFactory factory = new AspectJProxyFactory(customerFunctions);
     factory.addAspect(securityAspect);
     return factory.getProxy();
   }
 
+  /** A write function declared like the ones of the function classes. */
+  static class ClaimWrites {
+
+    @SecuredAI
+    public Function<UpdateAutoClaimReq, ResponseWrapper<AutoClaimDto>> updateAutoClaim() {
+      return request ->
+          ResponseWrapper.<AutoClaimDto>builder()
+              .success(true)
+              .data(request.autoClaimDto())
+              .build();
+    }
+  }
+
+  private ClaimWrites createProxiedClaimWrites() {
+    SecuredRequestRegistry registry =
+        new SecuredRequestRegistry(new DefaultListableBeanFactory(), customerService);
+    Arrays.stream(ClaimWrites.class.getMethods()).forEach(registry::register);
+    AspectJProxyFactory factory = new AspectJProxyFactory(new ClaimWrites());
+    factory.addAspect(
+        new SecurityAspect(securityUtils, registry, auditTrail, ownershipIndexService));
+    return factory.getProxy();
+  }
+
   @Test
   @DisplayName("Should return error when trying to access AI-blocked function")
   void testBlockedForAIAccess() {
@@ -115,4 +167,88 @@ class SecurityAspectTest {
     assertNull(response.getErrorMessage());
     assertNotNull(response.getData());
   }
+
+  @Test
+  @DisplayName("Should publish an audit event for every authorization decision")
+  void testAuthorizationDecisionIsAudited() {
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+
+    CustomerFunctions proxiedCustomerFunctions = createProxiedCustomerFunctions();
+    proxiedCustomerFunctions.getCustomerById().apply(new GetCustomerByIdRequestReq(2L));
+
+    ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+    verify(auditTrail).record(captor.capture());
+    AuditEvent event = captor.getValue();
+    assertEquals(AuditEvent.Decision.DENIED, event.decision());
+    assertEquals("getCustomerById", event.function());
+    assertEquals("GetCustomerByIdRequestReq", event.requestType());
+    assertEquals(1L, event.authenticatedCustomerId());
+    assertEquals(2L, event.requestedCustomerId());
+  }
+
+  @Test
+  @DisplayName("Should grant access from the ownership index without a remote ownership check")
+  void testOwnershipIndexHitSkipsRemoteCheck() {
+    // Given
+    GetCustomerByPolicyNumberReq request = new GetCustomerByPolicyNumberReq("POL-1");
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(ownershipIndexService.owns(1L, request)).thenReturn(true);
+    when(ownershipIndexService.maxStaleness()).thenReturn(Duration.ofMinutes(10));
+    when(customersApiClient.getCustomerByPolicyNumber("POL-1"))
+        .thenReturn(ResponseEntity.ok(new CustomerDto()));
+
+    // When
+    ResponseWrapper<CustomerDto> response =
+        createProxiedCustomerFunctions().getCustomerByPolicyNumber().apply(request);
+
+    // Then
+    assertTrue(response.isSuccess());
+    verifyNoInteractions(customerService);
+    ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+    verify(auditTrail).record(captor.capture());
+    assertEquals(AuditEvent.Decision.GRANTED, captor.getValue().decision());
+    assertEquals("ownership-index snapshot, up to PT10M old", captor.getValue().detail());
+  }
+
+  @Test
+  @DisplayName("Should check writes remotely instead of trusting a possibly stale ownership index")
+  void testWriteIsNotGrantedFromOwnershipIndex() {
+    // Given
+    UpdateAutoClaimReq request = new UpdateAutoClaimReq(7L, new AutoClaimDto());
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    // The claim has moved to customer 2 since the index was loaded
+    when(customerService.getCustomerIdByClaimRequestType(request)).thenReturn(2L);
+
+    // When
+    ResponseWrapper<AutoClaimDto> response =
+        createProxiedClaimWrites().updateAutoClaim().apply(request);
+
+    // Then
+    assertFalse(response.isSuccess());
+    verify(ownershipIndexService, never()).owns(1L, request);
+    ArgumentCaptor<AuditEvent> captor = ArgumentCaptor.forClass(AuditEvent.class);
+    verify(auditTrail).record(captor.capture());
+    assertEquals(AuditEvent.Decision.DENIED, captor.getValue().decision());
+  }
+
+  @Test
+  @DisplayName("Should answer immediately with an error when the backend circuit is open")
+  void testOpenCircuitReturnsErrorResponse() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(customersApiClient.getCustomerById(1L))
+        .thenThrow(
+            new NoFallbackAvailableException(
+                "No fallback available.",
+                CallNotPermittedException.createCallNotPermittedException(
+                    CircuitBreaker.ofDefaults("customers"))));
+
+    // When
+    ResponseWrapper<CustomerDto> response =
+        createProxiedCustomerFunctions().getCustomerById().apply(new GetCustomerByIdRequestReq(1L));
+
+    // Then
+    assertFalse(response.isSuccess());
+    assertTrue(response.getErrorMessage().contains("temporarily unavailable"));
+  }
 }
@@ -0,0 +1,67 @@
+package tech.yildirim.aiinsurance.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+class SecurityUtilsTest {
+
+  private final SecurityUtils securityUtils = new SecurityUtils();
+
+  @Test
+  @DisplayName("Should return the customer ID resolved at login without reading the claims")
+  void getCustomerId_WithResolvedPrincipal_ShouldUseResolvedId() {
+    // Given
+    OidcUser principal = new CustomerOidcUser(oidcUser("42"), IdTokenClaimNames.SUB, 7L);
+
+    // When
+    Long customerId = securityUtils.getCustomerId(authentication(principal));
+
+    // Then
+    assertThat(customerId).isEqualTo(7L);
+  }
+
+  @Test
+  @DisplayName("Should parse the insurance_user_id claim of a plain OIDC user")
+  void getCustomerId_WithPlainOidcUser_ShouldParseClaim() {
+    // When
+    Long customerId = securityUtils.getCustomerId(authentication(oidcUser("42")));
+
+    // Then
+    assertThat(customerId).isEqualTo(42L);
+  }
+
+  @Test
+  @DisplayName("Should return null when the claim is not a number")
+  void getCustomerId_WithInvalidClaim_ShouldReturnNull() {
+    // When
+    Long customerId = securityUtils.getCustomerId(oidcUser("not-a-number"));
+
+    // Then
+    assertThat(customerId).isNull();
+  }
+
+  private static OAuth2AuthenticationToken authentication(OidcUser principal) {
+    return new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "okta");
+  }
+
+  private static OidcUser oidcUser(String insuranceUserId) {
+    OidcIdToken idToken =
+        new OidcIdToken(
+            "token",
+            Instant.now(),
+            Instant.now().plusSeconds(60),
+            Map.of(IdTokenClaimNames.SUB, "okta-user", CustomerIdClaim.NAME, insuranceUserId));
+    return new DefaultOidcUser(List.of(new OidcUserAuthority(idToken)), idToken);
+  }
+}
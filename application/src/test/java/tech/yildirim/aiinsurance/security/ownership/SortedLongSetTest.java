@@ -0,0 +1,41 @@
+package tech.yildirim.aiinsurance.security.ownership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SortedLongSetTest {
+
+  @Test
+  @DisplayName("Should contain every distinct non-null value of the source")
+  void of_WithUnsortedDuplicatesAndNulls_ShouldKeepDistinctValues() {
+    // Given
+    List<Long> source = Arrays.asList(42L, 7L, null, 42L, 1000L, 7L);
+
+    // When
+    SortedLongSet set = SortedLongSet.of(source);
+
+    // Then
+    assertThat(set.size()).isEqualTo(3);
+    assertThat(set.contains(7L)).isTrue();
+    assertThat(set.contains(42L)).isTrue();
+    assertThat(set.contains(1000L)).isTrue();
+    assertThat(set.contains(8L)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should not contain null or anything when empty")
+  void empty_ShouldContainNothing() {
+    // Given
+    SortedLongSet set = SortedLongSet.of(List.of());
+
+    // When & Then
+    assertThat(set).isSameAs(SortedLongSet.empty());
+    assertThat(set.size()).isZero();
+    assertThat(set.contains(1L)).isFalse();
+    assertThat(set.contains((Long) null)).isFalse();
+  }
+}
@@ -0,0 +1,155 @@
+package tech.yildirim.aiinsurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import tech.yildirim.aiinsurance.ai.tokens.InputBudget;
+import tech.yildirim.aiinsurance.ai.tokens.TokenEstimator;
+import tech.yildirim.aiinsurance.ai.tools.ToolSchemaRegistry;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+
+/**
+ * Unit tests for {@link ChatService}.
+ *
+ * <p>The chat client is mocked; the chat memory and the input budget are real, so the messages
+ * sent with a turn and the memory left behind can be checked.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatService Tests")
+class ChatServiceTest {
+
+  private static final String SYSTEM_PROMPT = "You are an insurance assistant";
+
+  private static final String OLD_MESSAGE =
+      "Please list every claim of every policy I have ever had with you";
+
+  @Mock private SecurityUtils securityUtils;
+
+  @Mock private PoliciesApiClient policiesApiClient;
+
+  @Mock private ClaimsApiClient claimsApiClient;
+
+  @Mock private CustomerService customerService;
+
+  @Mock private ChatClient chatClient;
+
+  @Mock private ChatClient.CallResponseSpec callResponseSpec;
+
+  @Captor private ArgumentCaptor<List<Message>> sentMemory;
+
+  private ChatClient.ChatClientRequestSpec requestSpec;
+  private ChatMemory chatMemory;
+  private ChatService chatService;
+
+  @BeforeEach
+  void setUp() {
+    ChatClient.Builder builder = mock(ChatClient.Builder.class, RETURNS_SELF);
+    when(builder.build()).thenReturn(chatClient);
+    requestSpec = mock(ChatClient.ChatClientRequestSpec.class, RETURNS_SELF);
+    when(chatClient.prompt()).thenReturn(requestSpec);
+    when(requestSpec.call()).thenReturn(callResponseSpec);
+    when(callResponseSpec.content()).thenReturn("Claim 42 is approved");
+
+    chatMemory =
+        MessageWindowChatMemory.builder()
+            .chatMemoryRepository(new InMemoryChatMemoryRepository())
+            .build();
+    // Room for the system prompt, the message and one remembered message
+    int turnTokens =
+        TokenEstimator.estimate(SYSTEM_PROMPT) + 10 + TokenEstimator.estimate(OLD_MESSAGE);
+    InputBudget inputBudget =
+        new InputBudget(
+            new ToolSchemaRegistry(List.of()),
+            new SimpleMeterRegistry(),
+            SYSTEM_PROMPT,
+            10,
+            turnTokens,
+            InputBudget.OnExceeded.TRUNCATE);
+    EntityPrefetcher entityPrefetcher =
+        new EntityPrefetcher(
+            policiesApiClient,
+            claimsApiClient,
+            customerService,
+            securityUtils,
+            Runnable::run,
+            new SimpleMeterRegistry(),
+            false,
+            3);
+    chatService =
+        new ChatService(
+            builder,
+            securityUtils,
+            entityPrefetcher,
+            chatMemory,
+            inputBudget,
+            SYSTEM_PROMPT,
+            Duration.ofSeconds(30));
+  }
+
+  @Test
+  @DisplayName("Should leave the oldest messages out of the prompt without changing any memory")
+  void getAiResponse_MemoryOverTurnBudget_ShouldSendTrimmedCopy() {
+    // Given
+    List<Message> remembered =
+        List.of(
+            new UserMessage(OLD_MESSAGE),
+            new AssistantMessage(OLD_MESSAGE),
+            new UserMessage(OLD_MESSAGE));
+    chatMemory.add("session-1", remembered);
+    chatMemory.add("session-2", List.of(new UserMessage(OLD_MESSAGE)));
+
+    // When
+    String answer = chatService.getAiResponse("Show claim 42", "session-1");
+
+    // Then
+    assertThat(answer).isEqualTo("Claim 42 is approved");
+    verify(requestSpec).messages(sentMemory.capture());
+    assertThat(sentMemory.getValue()).containsExactly(remembered.get(2));
+    verify(requestSpec).user("Show claim 42");
+    assertThat(chatMemory.get("session-1"))
+        .extracting(Message::getText)
+        .containsExactly(
+            OLD_MESSAGE, OLD_MESSAGE, OLD_MESSAGE, "Show claim 42", "Claim 42 is approved");
+    assertThat(chatMemory.get("session-2")).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should keep the memory of every conversation apart")
+  void getAiResponse_InTwoConversations_ShouldNotShareMemory() {
+    // Given
+    chatMemory.add("session-2", List.of(new UserMessage("My name is Ada")));
+
+    // When
+    chatService.getAiResponse("Show claim 42", "session-1");
+
+    // Then
+    verify(requestSpec).messages(sentMemory.capture());
+    assertThat(sentMemory.getValue()).isEmpty();
+    assertThat(chatMemory.get("session-2"))
+        .extracting(Message::getText)
+        .containsExactly("My name is Ada");
+  }
+}
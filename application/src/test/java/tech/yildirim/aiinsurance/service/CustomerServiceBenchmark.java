@@ -0,0 +1,96 @@
+package tech.yildirim.aiinsurance.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.model.ai.request.GetAutoClaimByIdReq;
+import tech.yildirim.aiinsurance.stub.BackendStub;
+
+/**
+ * Latency of resolving the owner of a claim through {@link CustomerService}, as the security aspect
+ * does before every claim tool call, against the embedded {@link BackendStub} with about a million
+ * claims and log-normal backend latency (median 5 ms, p99 50 ms).
+ *
+ * <p>Claims are drawn from the first {@code activeCustomers} customers. With an ownership cache of
+ * size 0 every resolution costs two backend calls; with a cache large enough for the active
+ * customers, most are answered from memory. Run with {@code mvn -Pbenchmark test
+ * -Dbenchmark.include=CustomerServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class CustomerServiceBenchmark {
+
+  private static final int CUSTOMERS = 111_112;
+  private static final int POLICIES_PER_CUSTOMER = 3;
+  private static final int CLAIMS_PER_POLICY = 3;
+
+  @Param({"0", "100000"})
+  public long ownershipCacheSize;
+
+  @Param({"1000", "100000"})
+  public int activeCustomers;
+
+  private BackendStub backend;
+  private CustomerService customerService;
+
+  @Setup(Level.Trial)
+  public void start() {
+    backend =
+        BackendStub.start(
+            Map.of(
+                "stub.dataset.customers", CUSTOMERS,
+                "stub.dataset.policies-per-customer", POLICIES_PER_CUSTOMER,
+                "stub.dataset.claims-per-policy", CLAIMS_PER_POLICY,
+                "stub.latency.distribution", "log-normal",
+                "stub.latency.median", "5ms",
+                "stub.latency.p99", "50ms",
+                "server.tomcat.threads.max", 400));
+    customerService =
+        new CustomerService(
+            backend.client(PoliciesApiClient.class),
+            backend.client(ClaimsApiClient.class),
+            new OwnershipCache(
+                new SimpleMeterRegistry(),
+                ownershipCacheSize,
+                Duration.ofMinutes(10),
+                Duration.ofSeconds(30)));
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    backend.close();
+  }
+
+  /** Resolves the owner of a random claim of the first policy, an auto policy, of a customer. */
+  @Benchmark
+  public Long resolveClaimOwner() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long customerId = random.nextLong(1, activeCustomers + 1);
+    long policyId = (customerId - 1) * POLICIES_PER_CUSTOMER + 1;
+    long claimId = (policyId - 1) * CLAIMS_PER_POLICY + 1 + random.nextInt(CLAIMS_PER_POLICY);
+    return customerService.getCustomerIdByClaimRequestType(new GetAutoClaimByIdReq(claimId));
+  }
+}
@@ -0,0 +1,159 @@
+package tech.yildirim.aiinsurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.AsyncBackend;
+import tech.yildirim.aiinsurance.backend.ExecutorAsyncBackend;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.model.CustomerSnapshot;
+import tech.yildirim.aiinsurance.model.TypedClaim;
+
+/**
+ * Unit tests for {@link CustomerSnapshotService}.
+ *
+ * <p>Backend calls run on the calling thread so that the fan-out is deterministic.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerSnapshotService Tests")
+class CustomerSnapshotServiceTest {
+
+  @Mock private CustomersApiClient customersApiClient;
+
+  @Mock private PoliciesApiClient policiesApiClient;
+
+  private CustomerSnapshotService customerSnapshotService;
+
+  @BeforeEach
+  void setUp() {
+    AsyncBackend asyncBackend =
+        new ExecutorAsyncBackend(customersApiClient, policiesApiClient, Runnable::run);
+    customerSnapshotService =
+        new CustomerSnapshotService(
+            asyncBackend, new PolicyClaimsLoader(asyncBackend, 10), new ListPaginator(2));
+  }
+
+  @Test
+  @DisplayName("Should combine customer, newest policies and their claims newest first")
+  void snapshot_ShouldCombineCustomerPoliciesAndClaims() {
+    // Given
+    CustomerDto customer = new CustomerDto();
+    customer.setId(1L);
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customer));
+    when(customersApiClient.getPoliciesByCustomerId(1L))
+        .thenReturn(
+            ResponseEntity.ok(
+                List.of(
+                    policy(10L, LocalDate.of(2021, 1, 1)),
+                    policy(11L, LocalDate.of(2024, 1, 1)),
+                    policy(12L, LocalDate.of(2023, 1, 1)))));
+    when(policiesApiClient.getAutoClaimsByPolicyId(eq(11L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.of(autoClaim(100L, LocalDate.of(2024, 3, 1)))));
+    when(policiesApiClient.getHomeClaimsByPolicyId(eq(12L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.of(homeClaim(200L, LocalDate.of(2024, 6, 1)))));
+    when(policiesApiClient.getAutoClaimsByPolicyId(eq(12L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHomeClaimsByPolicyId(eq(11L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.of()));
+    when(policiesApiClient.getHealthClaimsByPolicyId(anyLong(), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.<HealthClaimDto>of()));
+
+    // When
+    CustomerSnapshot snapshot = customerSnapshotService.snapshot(1L);
+
+    // Then
+    assertThat(snapshot.customer()).isSameAs(customer);
+    assertThat(snapshot.policies().items()).extracting(PolicyDto::getId).containsExactly(11L, 12L);
+    assertThat(snapshot.policies().summary().total()).isEqualTo(3);
+    assertThat(snapshot.policies().nextCursor()).isNotNull();
+    assertThat(snapshot.recentClaims())
+        .extracting(TypedClaim::type)
+        .containsExactly(ClaimType.HOME, ClaimType.AUTO);
+    assertThat(snapshot.claimSummary().total()).isEqualTo(2);
+    assertThat(snapshot.unavailable()).isEmpty();
+    verify(policiesApiClient, never()).getAutoClaimsByPolicyId(eq(10L), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should return the other claims when one claim lookup fails")
+  void snapshot_WhenClaimLookupFails_ShouldReportUnavailablePart() {
+    // Given
+    when(customersApiClient.getCustomerById(1L)).thenReturn(ResponseEntity.ok(new CustomerDto()));
+    when(customersApiClient.getPoliciesByCustomerId(1L))
+        .thenReturn(ResponseEntity.ok(List.of(policy(10L, LocalDate.of(2024, 1, 1)))));
+    when(policiesApiClient.getAutoClaimsByPolicyId(eq(10L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.of(autoClaim(100L, LocalDate.of(2024, 3, 1)))));
+    when(policiesApiClient.getHomeClaimsByPolicyId(eq(10L), any(), any(), any()))
+        .thenThrow(new IllegalStateException("Backend unavailable"));
+    when(policiesApiClient.getHealthClaimsByPolicyId(eq(10L), any(), any(), any()))
+        .thenReturn(ResponseEntity.ok(List.<HealthClaimDto>of()));
+
+    // When
+    CustomerSnapshot snapshot = customerSnapshotService.snapshot(1L);
+
+    // Then
+    assertThat(snapshot.recentClaims())
+        .extracting(TypedClaim::type)
+        .containsExactly(ClaimType.AUTO);
+    assertThat(snapshot.unavailable())
+        .containsExactly("HOME claims of policy 10 could not be loaded");
+  }
+
+  @Test
+  @DisplayName("Should propagate the original exception when the customer cannot be loaded")
+  void snapshot_WhenCustomerLookupFails_ShouldThrowOriginalException() {
+    // Given
+    when(customersApiClient.getCustomerById(1L))
+        .thenThrow(new IllegalStateException("Backend unavailable"));
+    when(customersApiClient.getPoliciesByCustomerId(1L)).thenReturn(ResponseEntity.ok(List.of()));
+
+    // When & Then
+    assertThatThrownBy(() -> customerSnapshotService.snapshot(1L))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Backend unavailable");
+  }
+
+  private static PolicyDto policy(Long id, LocalDate startDate) {
+    PolicyDto policy = new PolicyDto();
+    policy.setId(id);
+    policy.setPolicyNumber("POL-" + id);
+    policy.setStartDate(startDate);
+    return policy;
+  }
+
+  private static AutoClaimDto autoClaim(Long id, LocalDate dateOfIncident) {
+    AutoClaimDto claim = new AutoClaimDto();
+    claim.setId(id);
+    claim.setDateOfIncident(dateOfIncident);
+    return claim;
+  }
+
+  private static HomeClaimDto homeClaim(Long id, LocalDate dateOfIncident) {
+    HomeClaimDto claim = new HomeClaimDto();
+    claim.setId(id);
+    claim.setDateOfIncident(dateOfIncident);
+    return claim;
+  }
+}
@@ -0,0 +1,187 @@
+package tech.yildirim.aiinsurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import tech.yildirim.aiinsurance.ai.context.TurnContext;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.security.SecurityUtils;
+
+/**
+ * Unit tests for {@link EntityPrefetcher}.
+ *
+ * <p>Prefetch loads run on the calling thread so that the turn is populated when {@code start}
+ * returns.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityPrefetcher Tests")
+class EntityPrefetcherTest {
+
+  @Mock private PoliciesApiClient policiesApiClient;
+
+  @Mock private ClaimsApiClient claimsApiClient;
+
+  @Mock private CustomerService customerService;
+
+  @Mock private SecurityUtils securityUtils;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private EntityPrefetcher entityPrefetcher;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    entityPrefetcher =
+        new EntityPrefetcher(
+            policiesApiClient,
+            claimsApiClient,
+            customerService,
+            securityUtils,
+            Runnable::run,
+            meterRegistry,
+            true,
+            3);
+  }
+
+  @Test
+  @DisplayName("Should recognize policy numbers and typed or untyped claim IDs")
+  void mentions_ShouldExtractPolicyNumbersAndClaimIds() {
+    // When
+    Map<String, Set<ClaimType>> mentions =
+        entityPrefetcher.mentions(
+            "Status of pol-12345? Also my car claim #42 and claim 7, and claim 8");
+
+    // Then
+    assertThat(mentions)
+        .containsExactly(
+            Map.entry("POL-12345", Set.of()),
+            Map.entry("42", EnumSet.of(ClaimType.AUTO)),
+            Map.entry("7", EnumSet.allOf(ClaimType.class)));
+  }
+
+  @Test
+  @DisplayName("Should serve an owned policy from the turn and count the load as a hit")
+  void start_WithOwnedPolicy_ShouldStoreItAndCountHit() {
+    // Given
+    PolicyDto policy = new PolicyDto();
+    policy.setCustomerId(1L);
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(policiesApiClient.getPolicyByPolicyNumber("POL-12345"))
+        .thenReturn(ResponseEntity.ok(policy));
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      EntityPrefetcher.Prefetch prefetch = entityPrefetcher.start("My policy POL-12345", turn);
+
+      // Then
+      assertThat(TurnContext.currentEntity(PolicyDto.class, "POL-12345")).containsSame(policy);
+      prefetch.finish();
+    }
+    assertThat(count("hit")).isEqualTo(1.0);
+    assertThat(count("waste")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should serve a policy number written in lower case to a lookup in the same case")
+  void start_WithLowerCasePolicyNumber_ShouldServeLookupAsWritten() {
+    // Given
+    PolicyDto policy = new PolicyDto();
+    policy.setCustomerId(1L);
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(policiesApiClient.getPolicyByPolicyNumber("POL-12345"))
+        .thenReturn(ResponseEntity.ok(policy));
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      EntityPrefetcher.Prefetch prefetch = entityPrefetcher.start("My policy pol-12345", turn);
+
+      // Then
+      assertThat(TurnContext.currentEntity(PolicyDto.class, "pol-12345")).containsSame(policy);
+      prefetch.finish();
+    }
+    assertThat(count("hit")).isEqualTo(1.0);
+    assertThat(count("waste")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not store entities of other customers and count the load as waste")
+  void start_WithForeignPolicy_ShouldNotStoreIt() {
+    // Given
+    PolicyDto policy = new PolicyDto();
+    policy.setCustomerId(2L);
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(policiesApiClient.getPolicyByPolicyNumber("POL-12345"))
+        .thenReturn(ResponseEntity.ok(policy));
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      EntityPrefetcher.Prefetch prefetch = entityPrefetcher.start("My policy POL-12345", turn);
+
+      // Then
+      assertThat(TurnContext.currentEntity(PolicyDto.class, "POL-12345")).isEmpty();
+      prefetch.finish();
+    }
+    assertThat(count("hit")).isZero();
+    assertThat(count("waste")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should try every claim type for an untyped claim ID and keep the owned one")
+  void start_WithUntypedClaimId_ShouldStoreOwnedClaim() {
+    // Given
+    AutoClaimDto claim = new AutoClaimDto();
+    claim.setId(42L);
+    claim.setPolicyId(10L);
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(1L);
+    when(claimsApiClient.getAutoClaimById(42L)).thenReturn(ResponseEntity.ok(claim));
+    when(customerService.getCustomerIdByPolicyId(10L)).thenReturn(1L);
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      entityPrefetcher.start("What happened to claim 42?", turn).finish();
+
+      // Then
+      assertThat(turn.findEntity(AutoClaimDto.class, 42L)).containsSame(claim);
+      assertThat(turn.findEntity(HomeClaimDto.class, 42L)).isEmpty();
+    }
+    assertThat(count("waste")).isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Should not prefetch anything for anonymous users")
+  void start_WithoutAuthenticatedCustomer_ShouldNotCallBackend() {
+    // Given
+    when(securityUtils.getCurrentUserCustomerId()).thenReturn(null);
+
+    try (TurnContext turn = TurnContext.open(Duration.ofSeconds(30))) {
+      // When
+      entityPrefetcher.start("My policy POL-12345", turn).finish();
+    }
+
+    // Then
+    verifyNoInteractions(policiesApiClient, claimsApiClient);
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("chat.prefetch").tag("result", result).counter().count();
+  }
+}
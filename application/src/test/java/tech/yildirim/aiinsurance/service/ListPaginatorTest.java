@@ -0,0 +1,91 @@
+package tech.yildirim.aiinsurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.aiinsurance.model.ListPage;
+import tech.yildirim.aiinsurance.service.ListPaginator.Shape;
+
+/** Unit tests for {@link ListPaginator}. */
+@DisplayName("ListPaginator Tests")
+class ListPaginatorTest {
+
+  private record Item(int id, String status, BigDecimal amount, LocalDate date) {}
+
+  private static final Shape<Item> SHAPE = new Shape<>(Item::status, Item::amount, Item::date);
+
+  private final ListPaginator paginator = new ListPaginator(2);
+
+  @Test
+  @DisplayName("Should return the most recent items first with a summary of the whole list")
+  void page_FirstPage_ShouldReturnNewestItemsAndSummary() {
+    // Given
+    List<Item> items =
+        List.of(
+            new Item(1, "OPEN", new BigDecimal("10"), LocalDate.of(2024, 1, 1)),
+            new Item(2, "CLOSED", new BigDecimal("20"), LocalDate.of(2024, 3, 1)),
+            new Item(3, "OPEN", null, LocalDate.of(2024, 2, 1)));
+
+    // When
+    ListPage<Item> page = paginator.page(items, null, SHAPE);
+
+    // Then
+    assertThat(page.items()).extracting(Item::id).containsExactly(2, 3);
+    assertThat(page.summary().total()).isEqualTo(3);
+    assertThat(page.summary().countsByStatus())
+        .containsEntry("OPEN", 2L)
+        .containsEntry("CLOSED", 1L);
+    assertThat(page.summary().totalAmount()).isEqualByComparingTo("30");
+    assertThat(page.summary().newest()).isEqualTo(LocalDate.of(2024, 3, 1));
+    assertThat(page.summary().oldest()).isEqualTo(LocalDate.of(2024, 1, 1));
+    assertThat(page.nextCursor()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should follow the cursor to the last page")
+  void page_WithCursor_ShouldReturnFollowingItems() {
+    // Given
+    List<Item> items =
+        IntStream.rangeClosed(1, 5)
+            .mapToObj(i -> new Item(i, "OPEN", BigDecimal.ONE, LocalDate.of(2024, 1, i)))
+            .toList();
+
+    // When
+    ListPage<Item> first = paginator.page(items, null, SHAPE);
+    ListPage<Item> second = paginator.page(items, first.nextCursor(), SHAPE);
+    ListPage<Item> last = paginator.page(items, second.nextCursor(), SHAPE);
+
+    // Then
+    assertThat(first.items()).extracting(Item::id).containsExactly(5, 4);
+    assertThat(second.items()).extracting(Item::id).containsExactly(3, 2);
+    assertThat(last.items()).extracting(Item::id).containsExactly(1);
+    assertThat(last.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should treat a missing list as empty")
+  void page_WithNullList_ShouldReturnEmptyPage() {
+    // When
+    ListPage<Item> page = paginator.page(null, null, SHAPE);
+
+    // Then
+    assertThat(page.items()).isEmpty();
+    assertThat(page.summary().total()).isZero();
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should reject a cursor that was not issued by the paginator")
+  void page_WithInvalidCursor_ShouldThrowException() {
+    // When & Then
+    assertThatThrownBy(() -> paginator.page(List.of(), "page-2", SHAPE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid cursor");
+  }
+}
@@ -0,0 +1,183 @@
+package tech.yildirim.aiinsurance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.service.OwnershipCache.ClaimKey;
+import tech.yildirim.aiinsurance.service.OwnershipCache.PolicyOwner;
+
+/**
+ * Unit tests for {@link OwnershipCache}.
+ *
+ * <p>Tests caching of ownership lookups, eviction on writes and hit-rate reporting.
+ */
+@DisplayName("OwnershipCache Tests")
+class OwnershipCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private OwnershipCache ownershipCache;
+  private AtomicInteger backendCalls;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    ownershipCache =
+        new OwnershipCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    backendCalls = new AtomicInteger();
+  }
+
+  @Test
+  @DisplayName("Should call the backend only once for repeated policy lookups")
+  void customerIdByPolicyId_CalledTwice_ShouldLoadOnce() {
+    // When
+    Long first = ownershipCache.customerIdByPolicyId(1L, this::loadCustomerId);
+    Long second = ownershipCache.customerIdByPolicyId(1L, this::loadCustomerId);
+
+    // Then
+    assertThat(first).isEqualTo(42L);
+    assertThat(second).isEqualTo(42L);
+    assertThat(backendCalls).hasValue(1);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "ownership.policy-id")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should not cache lookups that fail for reasons other than a missing resource")
+  void customerIdByPolicyId_WhenBackendFails_ShouldNotCache() {
+    // When & Then
+    assertThatThrownBy(
+            () ->
+                ownershipCache.customerIdByPolicyId(
+                    1L,
+                    id -> {
+                      throw new IllegalStateException("Backend unavailable");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(ownershipCache.customerIdByPolicyId(1L, this::loadCustomerId)).isEqualTo(42L);
+  }
+
+  @Test
+  @DisplayName("Should fail fast with the same message when a missing policy is requested again")
+  void customerIdByPolicyNumber_WhenNotFound_ShouldCacheMiss() {
+    // Given
+    Function<String, PolicyOwner> missingPolicy =
+        number -> {
+          backendCalls.incrementAndGet();
+          throw new IllegalArgumentException("Policy not found with PolicyNumber: " + number);
+        };
+
+    // When & Then
+    for (int attempt = 0; attempt < 3; attempt++) {
+      assertThatThrownBy(() -> ownershipCache.ownerByPolicyNumber("POL-404", missingPolicy))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Policy not found with PolicyNumber: POL-404");
+    }
+    assertThat(backendCalls).hasValue(1);
+    assertThat(
+            meterRegistry
+                .get("ownership.backend.calls.avoided")
+                .tag("lookup", "policy-number")
+                .counter()
+                .count())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Should look up a missing claim again once its not-found entry expires")
+  void policyIdByClaim_AfterNegativeTtl_ShouldRetryBackend() {
+    // Given
+    ownershipCache =
+        new OwnershipCache(meterRegistry, 100, Duration.ofMinutes(10), Duration.ZERO);
+    ClaimKey claimKey = new ClaimKey(ClaimType.AUTO, 404L);
+    assertThatThrownBy(
+            () ->
+                ownershipCache.policyIdByClaim(
+                    claimKey,
+                    key -> {
+                      throw new IllegalArgumentException("Claim not found for request: " + key);
+                    }))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    // When
+    Long policyId = ownershipCache.policyIdByClaim(claimKey, key -> 7L);
+
+    // Then
+    assertThat(policyId).isEqualTo(7L);
+  }
+
+  @Test
+  @DisplayName("Should populate the policy ID mapping when resolving by policy number")
+  void ownerByPolicyNumber_ShouldAlsoCachePolicyId() {
+    // Given
+    ownershipCache.ownerByPolicyNumber("POL-1", number -> new PolicyOwner(7L, 42L));
+
+    // When
+    Long customerId = ownershipCache.customerIdByPolicyId(7L, this::loadCustomerId);
+
+    // Then
+    assertThat(customerId).isEqualTo(42L);
+    assertThat(backendCalls).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should drop every mapping of a policy when it is evicted")
+  void evictPolicy_ShouldRemovePolicyNumberAndClaimMappings() {
+    // Given
+    ClaimKey claimKey = new ClaimKey(ClaimType.AUTO, 3L);
+    ownershipCache.ownerByPolicyNumber("POL-1", number -> new PolicyOwner(7L, 42L));
+    ownershipCache.policyIdByClaim(claimKey, key -> 7L);
+
+    // When
+    ownershipCache.evictPolicy(7L);
+
+    // Then
+    ownershipCache.customerIdByPolicyId(7L, this::loadCustomerId);
+    ownershipCache.ownerByPolicyNumber(
+        "POL-1",
+        number -> {
+          backendCalls.incrementAndGet();
+          return new PolicyOwner(7L, 42L);
+        });
+    ownershipCache.policyIdByClaim(
+        claimKey,
+        key -> {
+          backendCalls.incrementAndGet();
+          return 7L;
+        });
+    assertThat(backendCalls).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("Should reload a claim mapping after the claim is evicted")
+  void evictClaim_ShouldForceReload() {
+    // Given
+    ClaimKey claimKey = new ClaimKey(ClaimType.HOME, 3L);
+    ownershipCache.policyIdByClaim(claimKey, key -> 7L);
+
+    // When
+    ownershipCache.evictClaim(ClaimType.HOME, 3L);
+    Long policyId = ownershipCache.policyIdByClaim(claimKey, key -> 8L);
+
+    // Then
+    assertThat(policyId).isEqualTo(8L);
+  }
+
+  private Long loadCustomerId(Long policyId) {
+    backendCalls.incrementAndGet();
+    return 42L;
+  }
+}
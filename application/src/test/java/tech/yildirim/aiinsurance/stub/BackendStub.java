@@ -0,0 +1,124 @@
+package tech.yildirim.aiinsurance.stub;
+
+import feign.Capability;
+import feign.Feign;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * In-process stand-in for the insurance backend, for integration tests and benchmarks that must
+ * run without the dummy insurance service.
+ *
+ * <p>The stub serves the operations of the generated {@code CustomersApi}, {@code PoliciesApi} and
+ * {@code ClaimsApi} interfaces, so it follows the same OpenAPI contract as the Feign clients. Its
+ * data is generated deterministically from a seed and can be scaled to millions of claims without
+ * holding them in memory. Latency, error rate and dataset size are set with the {@code stub.*}
+ * properties described in {@link StubProperties}, e.g.
+ *
+ * <pre>{@code
+ * try (BackendStub backend =
+ *     BackendStub.start(
+ *         Map.of(
+ *             "stub.dataset.customers", 100_000,
+ *             "stub.latency.distribution", "log-normal",
+ *             "stub.latency.median", "15ms",
+ *             "stub.latency.p99", "120ms",
+ *             "stub.error-rate", 0.01))) {
+ *   PoliciesApiClient policies = backend.client(PoliciesApiClient.class);
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>GET responses carry an {@code ETag}, and conditional requests are answered with {@code 304}.
+ * The stub can also replace the dummy service for a locally running application: run {@link
+ * #main} with {@code --server.port=8080}.
+ */
+public final class BackendStub implements AutoCloseable {
+
+  private final ConfigurableApplicationContext context;
+
+  private BackendStub(ConfigurableApplicationContext context) {
+    this.context = context;
+  }
+
+  /**
+   * Starts a stub on a random free port.
+   *
+   * @param properties {@code stub.*} and Spring Boot properties overriding the defaults
+   * @return the running stub
+   */
+  public static BackendStub start(Map<String, Object> properties) {
+    Map<String, Object> defaults = new LinkedHashMap<>(defaults());
+    defaults.put("server.port", 0);
+    defaults.putAll(properties);
+    return new BackendStub(builder().properties(defaults).run());
+  }
+
+  /**
+   * Runs a stub until the process is stopped.
+   *
+   * @param args Spring Boot command line arguments, e.g. {@code --server.port=8080
+   *     --stub.dataset.customers=1000000}
+   */
+  public static void main(String[] args) {
+    builder().properties(defaults()).run(args);
+  }
+
+  private static SpringApplicationBuilder builder() {
+    return new SpringApplicationBuilder(StubConfiguration.class).logStartupInfo(false);
+  }
+
+  /** Keeps the application's own configuration files out of the stub. */
+  private static Map<String, Object> defaults() {
+    return Map.of("spring.config.name", "backend-stub", "spring.main.banner-mode", "off");
+  }
+
+  /** Returns the base URL to use as {@code insurance.service.base-url}. */
+  public String baseUrl() {
+    return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+  }
+
+  /** Returns the number of requests the stub received so far. */
+  public long requests() {
+    return context.getBean(FaultInjector.class).requests();
+  }
+
+  /**
+   * Builds a client of the stub from a generated Feign client interface, with the same contract
+   * and message conversion as the application's clients but without their resilience wrappers.
+   *
+   * @param type the client interface, e.g. {@code CustomersApiClient}
+   * @param capabilities Feign capabilities to add, e.g. a {@code BackendHttpCache}
+   * @return the client
+   */
+  public <T> T client(Class<T> type, Capability... capabilities) {
+    ObjectProvider<HttpMessageConverters> converters =
+        context.getBeanProvider(HttpMessageConverters.class);
+    ObjectProvider<HttpMessageConverterCustomizer> customizers =
+        context.getBeanProvider(HttpMessageConverterCustomizer.class);
+    Feign.Builder builder =
+        Feign.builder()
+            .contract(new SpringMvcContract())
+            .encoder(new SpringEncoder(converters))
+            .decoder(new ResponseEntityDecoder(new SpringDecoder(converters, customizers)));
+    for (Capability capability : capabilities) {
+      builder.addCapability(capability);
+    }
+    return builder.target(type, baseUrl());
+  }
+
+  @Override
+  public void close() {
+    context.close();
+  }
+}
@@ -0,0 +1,136 @@
+package tech.yildirim.aiinsurance.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApiClient;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApiClient;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.backend.BackendHttpCache;
+
+/**
+ * Tests for {@link BackendStub}, through Feign clients built from the generated client interfaces.
+ */
+@DisplayName("BackendStub Tests")
+class BackendStubTest {
+
+  private static BackendStub backend;
+
+  @BeforeAll
+  static void startBackend() {
+    backend =
+        BackendStub.start(
+            Map.of(
+                "stub.dataset.customers", 10,
+                "stub.dataset.policies-per-customer", 3,
+                "stub.dataset.claims-per-policy", 2));
+  }
+
+  @AfterAll
+  static void stopBackend() {
+    backend.close();
+  }
+
+  @Test
+  @DisplayName("Should serve the generated policies of a customer and the claims of a policy")
+  void client_ShouldServeGeneratedData() {
+    // Given
+    CustomersApiClient customers = backend.client(CustomersApiClient.class);
+    PoliciesApiClient policies = backend.client(PoliciesApiClient.class);
+
+    // When
+    List<PolicyDto> owned = customers.getPoliciesByCustomerId(2L).getBody();
+    List<AutoClaimDto> claims = policies.getAutoClaimsByPolicyId(4L, null, null, null).getBody();
+
+    // Then
+    assertThat(owned).extracting(PolicyDto::getId).containsExactly(4L, 5L, 6L);
+    assertThat(owned).extracting(PolicyDto::getCustomerId).containsOnly(2L);
+    assertThat(owned.get(0).getType()).isEqualTo(PolicyDto.TypeEnum.AUTO);
+    assertThat(claims).extracting(AutoClaimDto::getId).containsExactly(7L, 8L);
+    assertThat(customers.getCustomerByPolicyNumber("POL-5").getBody().getId()).isEqualTo(2L);
+  }
+
+  @Test
+  @DisplayName("Should generate the same data for the same seed")
+  void client_WithSameSeed_ShouldServeSameData() {
+    // Given
+    ClaimsApiClient claims = backend.client(ClaimsApiClient.class);
+
+    try (BackendStub other =
+        BackendStub.start(
+            Map.of(
+                "stub.dataset.customers", 10,
+                "stub.dataset.policies-per-customer", 3,
+                "stub.dataset.claims-per-policy", 2))) {
+      // When
+      AutoClaimDto claim = claims.getAutoClaimById(7L).getBody();
+      AutoClaimDto sameClaim =
+          other.client(ClaimsApiClient.class).getAutoClaimById(7L).getBody();
+
+      // Then
+      assertThat(sameClaim).isEqualTo(claim);
+    }
+  }
+
+  @Test
+  @DisplayName("Should answer 404 for unknown entities and claims of another type")
+  void client_WithUnknownEntity_ShouldThrowNotFound() {
+    // Given
+    ClaimsApiClient claims = backend.client(ClaimsApiClient.class);
+
+    // When & Then
+    assertThatThrownBy(() -> backend.client(CustomersApiClient.class).getCustomerById(11L))
+        .isInstanceOf(FeignException.NotFound.class);
+    // Claim 9 belongs to policy 5, a home policy
+    assertThatThrownBy(() -> claims.getAutoClaimById(9L))
+        .isInstanceOf(FeignException.NotFound.class);
+  }
+
+  @Test
+  @DisplayName("Should answer conditional GETs with 304 Not Modified for unchanged data")
+  void client_WithHttpCache_ShouldBeServedNotModified() {
+    // Given
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PoliciesApiClient policies =
+        backend.client(
+            PoliciesApiClient.class,
+            new BackendHttpCache(DataSize.ofMegabytes(1), Duration.ofMinutes(5), meterRegistry));
+
+    // When
+    PolicyDto first = policies.getPolicyById(1L).getBody();
+    PolicyDto second = policies.getPolicyById(1L).getBody();
+
+    // Then
+    assertThat(second).isEqualTo(first);
+    assertThat(
+            meterRegistry
+                .get("backend.http.cache.revalidations")
+                .tag("result", "not_modified")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should fail requests at the configured error rate")
+  void client_WithErrorRate_ShouldReturnConfiguredStatus() {
+    try (BackendStub failing = BackendStub.start(Map.of("stub.error-rate", 1.0))) {
+      // When & Then
+      assertThatThrownBy(() -> failing.client(PoliciesApiClient.class).getPolicyById(1L))
+          .isInstanceOf(FeignException.ServiceUnavailable.class);
+      assertThat(failing.requests()).isEqualTo(1);
+    }
+  }
+}
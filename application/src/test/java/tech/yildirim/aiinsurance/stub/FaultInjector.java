@@ -0,0 +1,68 @@
+package tech.yildirim.aiinsurance.stub;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import tech.yildirim.aiinsurance.stub.StubProperties.Latency;
+
+/**
+ * Delays every request of the {@link BackendStub} by a latency drawn from the configured
+ * distribution, and fails the configured fraction of requests.
+ */
+@Component
+class FaultInjector implements HandlerInterceptor {
+
+  /** Standard normal quantile of the 99th percentile. */
+  private static final double Z_99 = 2.326;
+
+  private final StubProperties properties;
+  private final LongAdder requests = new LongAdder();
+  private final double mu;
+  private final double sigma;
+
+  FaultInjector(StubProperties properties) {
+    this.properties = properties;
+    Latency latency = properties.latency();
+    this.mu = Math.log(Math.max(1, latency.median().toNanos()));
+    this.sigma = Math.max(0, Math.log(Math.max(1, latency.p99().toNanos())) - mu) / Z_99;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException, InterruptedException {
+    if (request.getDispatcherType() != DispatcherType.REQUEST) {
+      return true;
+    }
+    requests.increment();
+    Duration delay = sampleLatency();
+    if (!delay.isZero()) {
+      Thread.sleep(delay);
+    }
+    if (ThreadLocalRandom.current().nextDouble() < properties.errorRate()) {
+      response.sendError(properties.errorStatus());
+      return false;
+    }
+    return true;
+  }
+
+  /** Returns the number of requests received so far. */
+  long requests() {
+    return requests.sum();
+  }
+
+  private Duration sampleLatency() {
+    return switch (properties.latency().distribution()) {
+      case NONE -> Duration.ZERO;
+      case FIXED -> properties.latency().median();
+      case LOG_NORMAL ->
+          Duration.ofNanos(
+              (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    };
+  }
+}
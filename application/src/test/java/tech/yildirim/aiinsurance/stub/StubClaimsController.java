@@ -0,0 +1,119 @@
+package tech.yildirim.aiinsurance.stub;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.aiinsurance.api.generated.clients.ClaimsApi;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+
+/**
+ * Claim operations of the {@link BackendStub}. Request mappings are inherited from the generated
+ * {@link ClaimsApi}; operations not overridden here, such as adjuster assignment, answer {@code 501
+ * Not Implemented}.
+ */
+@RestController
+@RequiredArgsConstructor
+class StubClaimsController implements ClaimsApi {
+
+  private final StubDataset dataset;
+
+  @Override
+  public ResponseEntity<AutoClaimDto> getAutoClaimById(Long id) {
+    return ResponseEntity.of(dataset.claim(AutoClaimDto.class, id));
+  }
+
+  @Override
+  public ResponseEntity<List<AutoClaimDto>> getAllAutoClaims(
+      Integer page, Integer size, String status) {
+    return ResponseEntity.ok(dataset.claims(AutoClaimDto.class, page, size, status));
+  }
+
+  @Override
+  public ResponseEntity<AutoClaimDto> createAutoClaim(AutoClaimDto autoClaimDto) {
+    return created(autoClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<AutoClaimDto> updateAutoClaim(Long id, AutoClaimDto autoClaimDto) {
+    return updated(AutoClaimDto.class, id, autoClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<Void> deleteAutoClaim(Long id) {
+    return deleted(AutoClaimDto.class, id);
+  }
+
+  @Override
+  public ResponseEntity<HomeClaimDto> getHomeClaimById(Long id) {
+    return ResponseEntity.of(dataset.claim(HomeClaimDto.class, id));
+  }
+
+  @Override
+  public ResponseEntity<List<HomeClaimDto>> getAllHomeClaims(
+      Integer page, Integer size, String status) {
+    return ResponseEntity.ok(dataset.claims(HomeClaimDto.class, page, size, status));
+  }
+
+  @Override
+  public ResponseEntity<HomeClaimDto> createHomeClaim(HomeClaimDto homeClaimDto) {
+    return created(homeClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<HomeClaimDto> updateHomeClaim(Long id, HomeClaimDto homeClaimDto) {
+    return updated(HomeClaimDto.class, id, homeClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<Void> deleteHomeClaim(Long id) {
+    return deleted(HomeClaimDto.class, id);
+  }
+
+  @Override
+  public ResponseEntity<HealthClaimDto> getHealthClaimById(Long id) {
+    return ResponseEntity.of(dataset.claim(HealthClaimDto.class, id));
+  }
+
+  @Override
+  public ResponseEntity<List<HealthClaimDto>> getAllHealthClaims(
+      Integer page, Integer size, String status) {
+    return ResponseEntity.ok(dataset.claims(HealthClaimDto.class, page, size, status));
+  }
+
+  @Override
+  public ResponseEntity<HealthClaimDto> createHealthClaim(HealthClaimDto healthClaimDto) {
+    return created(healthClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<HealthClaimDto> updateHealthClaim(Long id, HealthClaimDto healthClaimDto) {
+    return updated(HealthClaimDto.class, id, healthClaimDto);
+  }
+
+  @Override
+  public ResponseEntity<Void> deleteHealthClaim(Long id) {
+    return deleted(HealthClaimDto.class, id);
+  }
+
+  private <T extends ClaimDto> ResponseEntity<T> created(T claim) {
+    if (dataset.policy(claim.getPolicyId()).isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.status(HttpStatus.CREATED).body(dataset.saveClaim(null, claim));
+  }
+
+  private <T extends ClaimDto> ResponseEntity<T> updated(Class<T> type, Long id, T claim) {
+    return ResponseEntity.of(dataset.claim(type, id).map(known -> dataset.saveClaim(id, claim)));
+  }
+
+  private ResponseEntity<Void> deleted(Class<? extends ClaimDto> type, Long id) {
+    return dataset.deleteClaim(type, id)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
+  }
+}
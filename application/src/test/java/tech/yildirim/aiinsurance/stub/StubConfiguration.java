@@ -0,0 +1,63 @@
+package tech.yildirim.aiinsurance.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.error.ErrorMvcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application context of the {@link BackendStub}. Only the web server, Spring MVC and Jackson are
+ * auto-configured, so the stub does not pick up the security, AI and Feign configuration of the
+ * application it runs next to.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+  PropertyPlaceholderAutoConfiguration.class,
+  ServletWebServerFactoryAutoConfiguration.class,
+  DispatcherServletAutoConfiguration.class,
+  WebMvcAutoConfiguration.class,
+  HttpMessageConvertersAutoConfiguration.class,
+  JacksonAutoConfiguration.class,
+  ErrorMvcAutoConfiguration.class
+})
+@EnableConfigurationProperties(StubProperties.class)
+@Import({
+  StubDataset.class,
+  FaultInjector.class,
+  StubCustomersController.class,
+  StubPoliciesController.class,
+  StubClaimsController.class
+})
+@RequiredArgsConstructor
+class StubConfiguration implements WebMvcConfigurer {
+
+  private final FaultInjector faultInjector;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(faultInjector);
+  }
+
+  /**
+   * Adds an {@code ETag} to every GET response and answers {@code If-None-Match} with {@code 304
+   * Not Modified} when the body is unchanged.
+   *
+   * @return the filter
+   */
+  @Bean
+  public ShallowEtagHeaderFilter etagFilter() {
+    return new ShallowEtagHeaderFilter();
+  }
+}
@@ -0,0 +1,61 @@
+package tech.yildirim.aiinsurance.stub;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.aiinsurance.api.generated.clients.CustomersApi;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+
+/**
+ * Customer operations of the {@link BackendStub}. Request mappings are inherited from the generated
+ * {@link CustomersApi}; operations not overridden here answer {@code 501 Not Implemented}.
+ */
+@RestController
+@RequiredArgsConstructor
+class StubCustomersController implements CustomersApi {
+
+  private final StubDataset dataset;
+
+  @Override
+  public ResponseEntity<CustomerDto> getCustomerById(Long customerId) {
+    return ResponseEntity.of(dataset.customer(customerId));
+  }
+
+  @Override
+  public ResponseEntity<List<CustomerDto>> getAllCustomers(String name) {
+    return ResponseEntity.ok(dataset.customers(name));
+  }
+
+  @Override
+  public ResponseEntity<List<PolicyDto>> getPoliciesByCustomerId(Long customerId) {
+    return ResponseEntity.of(
+        dataset.customer(customerId).map(customer -> dataset.policiesOf(customerId)));
+  }
+
+  @Override
+  public ResponseEntity<CustomerDto> getCustomerByPolicyNumber(String policyNumber) {
+    return ResponseEntity.of(
+        dataset.policy(policyNumber).flatMap(policy -> dataset.customer(policy.getCustomerId())));
+  }
+
+  @Override
+  public ResponseEntity<CustomerDto> createCustomer(CustomerDto customerDto) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(dataset.saveCustomer(null, customerDto));
+  }
+
+  @Override
+  public ResponseEntity<CustomerDto> updateCustomer(Long customerId, CustomerDto customerDto) {
+    return ResponseEntity.of(
+        dataset.customer(customerId).map(known -> dataset.saveCustomer(customerId, customerDto)));
+  }
+
+  @Override
+  public ResponseEntity<Void> deleteCustomer(Long customerId) {
+    return dataset.deleteCustomer(customerId)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
+  }
+}
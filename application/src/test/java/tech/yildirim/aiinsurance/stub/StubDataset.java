@@ -0,0 +1,302 @@
+package tech.yildirim.aiinsurance.stub;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.CustomerDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+import tech.yildirim.aiinsurance.model.ClaimType;
+import tech.yildirim.aiinsurance.stub.StubProperties.Dataset;
+
+/**
+ * The customers, policies and claims served by the {@link BackendStub}.
+ *
+ * <p>Generated entities are derived from their ID and the seed whenever they are requested:
+ * customer {@code c} owns the policies {@code (c - 1) * policiesPerCustomer + 1} onwards, policy
+ * {@code p} has the type {@code AUTO}, {@code HOME} or {@code HEALTH} in turn and owns the claims
+ * {@code (p - 1) * claimsPerPolicy + 1} onwards, all of the policy's type. Created and updated
+ * entities are kept in memory and take precedence over generated ones; deleted IDs are remembered.
+ */
+@Component
+class StubDataset {
+
+  private static final String[] FIRST_NAMES = {
+    "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hans", "Ida", "Jonas"
+  };
+  private static final String[] LAST_NAMES = {
+    "Meyer", "Schmidt", "Weber", "Fischer", "Wagner", "Becker", "Hoffmann", "Koch", "Yildirim"
+  };
+  private static final PolicyDto.TypeEnum[] POLICY_TYPES = {
+    PolicyDto.TypeEnum.AUTO, PolicyDto.TypeEnum.HOME, PolicyDto.TypeEnum.HEALTH
+  };
+  private static final LocalDate FIRST_START_DATE = LocalDate.of(2020, 1, 1);
+
+  private final Dataset size;
+  private final Map<Long, CustomerDto> customers = new ConcurrentHashMap<>();
+  private final Map<Long, PolicyDto> policies = new ConcurrentHashMap<>();
+  private final Map<Long, ClaimDto> claims = new ConcurrentHashMap<>();
+  private final Set<Long> deletedCustomers = ConcurrentHashMap.newKeySet();
+  private final Set<Long> deletedClaims = ConcurrentHashMap.newKeySet();
+  private final AtomicLong lastCustomerId;
+  private final AtomicLong lastPolicyId;
+  private final AtomicLong lastClaimId;
+
+  StubDataset(StubProperties properties) {
+    this.size = properties.dataset();
+    this.lastCustomerId = new AtomicLong(size.customers());
+    this.lastPolicyId = new AtomicLong(size.policies());
+    this.lastClaimId = new AtomicLong(size.claims());
+  }
+
+  // Customers
+
+  Optional<CustomerDto> customer(Long id) {
+    if (id == null || deletedCustomers.contains(id)) {
+      return Optional.empty();
+    }
+    CustomerDto stored = customers.get(id);
+    if (stored != null) {
+      return Optional.of(stored);
+    }
+    return id >= 1 && id <= size.customers() ? Optional.of(generateCustomer(id)) : Optional.empty();
+  }
+
+  List<CustomerDto> customers(String name) {
+    String term = name == null ? null : name.toLowerCase(Locale.ROOT);
+    return LongStream.rangeClosed(1, lastCustomerId.get())
+        .mapToObj(this::customer)
+        .flatMap(Optional::stream)
+        .filter(customer -> term == null || fullName(customer).contains(term))
+        .toList();
+  }
+
+  CustomerDto saveCustomer(Long id, CustomerDto customer) {
+    customer.setId(id == null ? lastCustomerId.incrementAndGet() : id);
+    customers.put(customer.getId(), customer);
+    deletedCustomers.remove(customer.getId());
+    return customer;
+  }
+
+  boolean deleteCustomer(Long id) {
+    return customer(id).isPresent() && deletedCustomers.add(id);
+  }
+
+  // Policies
+
+  Optional<PolicyDto> policy(Long id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+    PolicyDto stored = policies.get(id);
+    if (stored != null) {
+      return Optional.of(stored);
+    }
+    return id >= 1 && id <= size.policies() ? Optional.of(generatePolicy(id)) : Optional.empty();
+  }
+
+  Optional<PolicyDto> policy(String policyNumber) {
+    Optional<PolicyDto> stored =
+        policies.values().stream()
+            .filter(policy -> policyNumber.equalsIgnoreCase(policy.getPolicyNumber()))
+            .findFirst();
+    if (stored.isPresent()) {
+      return stored;
+    }
+    try {
+      return policy(Long.valueOf(policyNumber.toUpperCase(Locale.ROOT).replaceFirst("^POL-", "")));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  List<PolicyDto> policies() {
+    return LongStream.rangeClosed(1, lastPolicyId.get())
+        .mapToObj(this::policy)
+        .flatMap(Optional::stream)
+        .toList();
+  }
+
+  List<PolicyDto> policiesOf(Long customerId) {
+    Map<Long, PolicyDto> owned = new LinkedHashMap<>();
+    if (customerId <= size.customers()) {
+      long first = (customerId - 1) * size.policiesPerCustomer() + 1;
+      for (long id = first; id < first + size.policiesPerCustomer(); id++) {
+        owned.put(id, policy(id).orElseThrow());
+      }
+    }
+    policies.values().stream()
+        .filter(policy -> customerId.equals(policy.getCustomerId()))
+        .forEach(policy -> owned.put(policy.getId(), policy));
+    owned.values().removeIf(policy -> !customerId.equals(policy.getCustomerId()));
+    return List.copyOf(owned.values());
+  }
+
+  PolicyDto savePolicy(Long id, PolicyDto policy) {
+    policy.setId(id == null ? lastPolicyId.incrementAndGet() : id);
+    if (policy.getPolicyNumber() == null) {
+      policy.setPolicyNumber("POL-" + policy.getId());
+    }
+    policies.put(policy.getId(), policy);
+    return policy;
+  }
+
+  // Claims
+
+  <T extends ClaimDto> Optional<T> claim(Class<T> type, Long id) {
+    if (id == null || deletedClaims.contains(id)) {
+      return Optional.empty();
+    }
+    ClaimDto claim = claims.get(id);
+    if (claim == null && id >= 1 && id <= size.claims()) {
+      claim = generateClaim(id);
+    }
+    return type.isInstance(claim) ? Optional.of(type.cast(claim)) : Optional.empty();
+  }
+
+  <T extends ClaimDto> List<T> claimsOf(
+      Class<T> type, Long policyId, Integer page, Integer pageSize, String status) {
+    int limit = pageSize == null || pageSize <= 0 ? 20 : pageSize;
+    Stream<Long> generated = Stream.empty();
+    if (policyId >= 1 && policyId <= size.policies()) {
+      long first = (policyId - 1) * size.claimsPerPolicy() + 1;
+      generated = LongStream.range(first, first + size.claimsPerPolicy()).boxed();
+    }
+    Stream<Long> stored =
+        claims.values().stream()
+            .filter(claim -> policyId.equals(claim.getPolicyId()))
+            .map(ClaimDto::getId);
+    return Stream.concat(generated, stored)
+        .distinct()
+        .map(id -> claim(type, id))
+        .flatMap(Optional::stream)
+        .filter(claim -> policyId.equals(claim.getPolicyId()) && hasStatus(claim, status))
+        .skip((long) (page == null ? 0 : page) * limit)
+        .limit(limit)
+        .toList();
+  }
+
+  <T extends ClaimDto> List<T> claims(
+      Class<T> type, Integer page, Integer pageSize, String status) {
+    int limit = pageSize == null || pageSize <= 0 ? 20 : pageSize;
+    return LongStream.rangeClosed(1, lastClaimId.get())
+        .mapToObj(id -> claim(type, id))
+        .flatMap(Optional::stream)
+        .filter(claim -> hasStatus(claim, status))
+        .skip((long) (page == null ? 0 : page) * limit)
+        .limit(limit)
+        .toList();
+  }
+
+  <T extends ClaimDto> T saveClaim(Long id, T claim) {
+    claim.setId(id == null ? lastClaimId.incrementAndGet() : id);
+    claims.put(claim.getId(), claim);
+    deletedClaims.remove(claim.getId());
+    return claim;
+  }
+
+  boolean deleteClaim(Class<? extends ClaimDto> type, Long id) {
+    return claim(type, id).isPresent() && deletedClaims.add(id);
+  }
+
+  // Generation
+
+  private CustomerDto generateCustomer(long id) {
+    SplittableRandom random = random(1, id);
+    CustomerDto customer = new CustomerDto();
+    customer.setId(id);
+    customer.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+    customer.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+    customer.setEmail(
+        (customer.getFirstName() + "." + customer.getLastName() + id + "@example.com")
+            .toLowerCase(Locale.ROOT));
+    return customer;
+  }
+
+  private PolicyDto generatePolicy(long id) {
+    SplittableRandom random = random(2, id);
+    PolicyDto policy = new PolicyDto();
+    policy.setId(id);
+    policy.setPolicyNumber("POL-" + id);
+    policy.setCustomerId((id - 1) / size.policiesPerCustomer() + 1);
+    policy.setType(policyType(id));
+    policy.setStatus(PolicyDto.StatusEnum.ACTIVE);
+    policy.setPremium(amount(random, 300, 3000));
+    policy.setStartDate(FIRST_START_DATE.plusDays(random.nextInt(1800)));
+    policy.setEndDate(policy.getStartDate().plusYears(1));
+    return policy;
+  }
+
+  private ClaimDto generateClaim(long id) {
+    long policyId = (id - 1) / size.claimsPerPolicy() + 1;
+    SplittableRandom random = random(3, id);
+    ClaimDto claim =
+        switch (ClaimType.valueOf(policyType(policyId).name())) {
+          case AUTO -> {
+            AutoClaimDto auto = new AutoClaimDto();
+            auto.setClaimType(ClaimDto.ClaimTypeEnum.AUTO_CLAIM_DTO);
+            auto.setLicensePlate("B-" + (char) ('A' + random.nextInt(26)) + "-" + (id % 10000));
+            auto.setVehicleVin("WVW" + String.format("%014d", id));
+            auto.setAccidentLocation("Main Street " + random.nextInt(1, 200));
+            auto.setDescription("Collision damage");
+            yield auto;
+          }
+          case HOME -> {
+            HomeClaimDto home = new HomeClaimDto();
+            home.setClaimType(ClaimDto.ClaimTypeEnum.HOME_CLAIM_DTO);
+            home.setTypeOfDamage(random.nextBoolean() ? "Water damage" : "Fire damage");
+            home.setDamagedItems("Flooring, furniture");
+            home.setDescription("Damage to the insured property");
+            yield home;
+          }
+          case HEALTH -> {
+            HealthClaimDto health = new HealthClaimDto();
+            health.setClaimType(ClaimDto.ClaimTypeEnum.HEALTH_CLAIM_DTO);
+            health.setMedicalProvider("City Hospital " + random.nextInt(1, 50));
+            health.setProcedureCode("P" + random.nextInt(1000, 10000));
+            health.setDescription("Outpatient treatment");
+            yield health;
+          }
+        };
+    claim.setId(id);
+    claim.setPolicyId(policyId);
+    claim.setEstimatedAmount(amount(random, 100, 20000));
+    claim.setDateOfIncident(FIRST_START_DATE.plusDays(random.nextInt(2000)));
+    return claim;
+  }
+
+  private static PolicyDto.TypeEnum policyType(long policyId) {
+    return POLICY_TYPES[(int) ((policyId - 1) % POLICY_TYPES.length)];
+  }
+
+  private SplittableRandom random(long kind, long id) {
+    return new SplittableRandom(
+        size.seed() * 0x9E3779B97F4A7C15L + kind * 0xBF58476D1CE4E5B9L + id);
+  }
+
+  private static BigDecimal amount(SplittableRandom random, int min, int max) {
+    return BigDecimal.valueOf(random.nextLong(min * 100L, max * 100L), 2);
+  }
+
+  private static String fullName(CustomerDto customer) {
+    return (customer.getFirstName() + " " + customer.getLastName()).toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean hasStatus(ClaimDto claim, String status) {
+    return status == null || status.equalsIgnoreCase(String.valueOf(claim.getStatus()));
+  }
+}
@@ -0,0 +1,77 @@
+package tech.yildirim.aiinsurance.stub;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.aiinsurance.api.generated.clients.PoliciesApi;
+import tech.yildirim.aiinsurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.ClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HealthClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.aiinsurance.api.generated.model.PolicyDto;
+
+/**
+ * Policy operations of the {@link BackendStub}. Request mappings are inherited from the generated
+ * {@link PoliciesApi}; operations not overridden here answer {@code 501 Not Implemented}.
+ */
+@RestController
+@RequiredArgsConstructor
+class StubPoliciesController implements PoliciesApi {
+
+  private final StubDataset dataset;
+
+  @Override
+  public ResponseEntity<PolicyDto> getPolicyById(Long id) {
+    return ResponseEntity.of(dataset.policy(id));
+  }
+
+  @Override
+  public ResponseEntity<PolicyDto> getPolicyByPolicyNumber(String policyNumber) {
+    return ResponseEntity.of(dataset.policy(policyNumber));
+  }
+
+  @Override
+  public ResponseEntity<List<PolicyDto>> getAllPolicies() {
+    return ResponseEntity.ok(dataset.policies());
+  }
+
+  @Override
+  public ResponseEntity<PolicyDto> createPolicy(PolicyDto policyDto) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(dataset.savePolicy(null, policyDto));
+  }
+
+  @Override
+  public ResponseEntity<PolicyDto> updatePolicy(Long id, PolicyDto policyDto) {
+    return ResponseEntity.of(dataset.policy(id).map(known -> dataset.savePolicy(id, policyDto)));
+  }
+
+  @Override
+  public ResponseEntity<List<AutoClaimDto>> getAutoClaimsByPolicyId(
+      Long policyId, Integer page, Integer size, String status) {
+    return claimsOf(AutoClaimDto.class, policyId, page, size, status);
+  }
+
+  @Override
+  public ResponseEntity<List<HomeClaimDto>> getHomeClaimsByPolicyId(
+      Long policyId, Integer page, Integer size, String status) {
+    return claimsOf(HomeClaimDto.class, policyId, page, size, status);
+  }
+
+  @Override
+  public ResponseEntity<List<HealthClaimDto>> getHealthClaimsByPolicyId(
+      Long policyId, Integer page, Integer size, String status) {
+    return claimsOf(HealthClaimDto.class, policyId, page, size, status);
+  }
+
+  private <T extends ClaimDto> ResponseEntity<List<T>> claimsOf(
+      Class<T> type, Long policyId, Integer page, Integer size, String status) {
+    Optional<List<T>> claims =
+        dataset
+            .policy(policyId)
+            .map(policy -> dataset.claimsOf(type, policyId, page, size, status));
+    return ResponseEntity.of(claims);
+  }
+}
@@ -0,0 +1,70 @@
+package tech.yildirim.aiinsurance.stub;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the {@link BackendStub}, bound from the {@code stub.*} properties.
+ *
+ * @param dataset the size and seed of the generated data
+ * @param latency the latency added to every request
+ * @param errorRate the fraction of requests answered with {@code errorStatus}, from 0 to 1
+ * @param errorStatus the HTTP status of injected errors
+ */
+@ConfigurationProperties("stub")
+public record StubProperties(
+    @DefaultValue Dataset dataset,
+    @DefaultValue Latency latency,
+    @DefaultValue("0") double errorRate,
+    @DefaultValue("503") int errorStatus) {
+
+  /**
+   * The generated data. Entities are derived from their ID and the seed when requested, so the
+   * dataset costs no memory regardless of its size; only created, updated and deleted entities are
+   * kept.
+   *
+   * @param customers the number of customers, with IDs from 1
+   * @param policiesPerCustomer the number of policies of every customer
+   * @param claimsPerPolicy the number of claims of every policy, of the policy's type
+   * @param seed the seed all generated values derive from
+   */
+  public record Dataset(
+      @DefaultValue("1000") long customers,
+      @DefaultValue("3") int policiesPerCustomer,
+      @DefaultValue("3") int claimsPerPolicy,
+      @DefaultValue("42") long seed) {
+
+    /** Returns the total number of generated policies. */
+    public long policies() {
+      return customers * policiesPerCustomer;
+    }
+
+    /** Returns the total number of generated claims, of all types. */
+    public long claims() {
+      return policies() * claimsPerPolicy;
+    }
+  }
+
+  /** Shape of the latency distribution. */
+  public enum Distribution {
+    /** No added latency. */
+    NONE,
+    /** Every request takes {@code median}. */
+    FIXED,
+    /** Log-normal latency with the given {@code median} and 99th percentile {@code p99}. */
+    LOG_NORMAL
+  }
+
+  /**
+   * Latency added before a request is handled.
+   *
+   * @param distribution the shape of the distribution
+   * @param median the median latency
+   * @param p99 the 99th percentile latency, used by {@link Distribution#LOG_NORMAL}
+   */
+  public record Latency(
+      @DefaultValue("none") Distribution distribution,
+      @DefaultValue("20ms") Duration median,
+      @DefaultValue("200ms") Duration p99) {}
+}